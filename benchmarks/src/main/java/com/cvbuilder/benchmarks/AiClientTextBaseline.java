@@ -0,0 +1,439 @@
+package com.cvbuilder.benchmarks;
+
+import com.cvbuilder.util.SkillMatcher;
+
+import java.util.*;
+
+/**
+ * AiClient'taki metin son işleme metotlarının birebir kopyası.
+ * AiClient bir Spring bean'i ve bu metotlar private olduğundan benchmark doğrudan çağıramaz;
+ * gövdeler değiştirilmeden alınmıştır (yalnızca "private" yerine "static").
+ * AiTextPostProcessor'a taşınmadan önceki hâlidir; TextPostProcessingBaselineBenchmark ile karşılaştırma tabanıdır.
+ */
+final class AiClientTextBaseline {
+
+    // Açıklamalarda korunması gereken teknoloji isimleri; otomat bir kez derlenir
+    private static final SkillMatcher TECH_TERM_MATCHER = SkillMatcher.of(Map.ofEntries(
+            Map.entry("java", "java"), Map.entry("python", "python"), Map.entry("javascript", "javascript"),
+            Map.entry("typescript", "typescript"), Map.entry("react", "react"), Map.entry("angular", "angular"),
+            Map.entry("vue", "vue"), Map.entry("node.js", "node.js"), Map.entry("nodejs", "node.js"),
+            Map.entry("spring", "spring"), Map.entry("spring boot", "spring boot"), Map.entry("django", "django"),
+            Map.entry("flask", "flask"), Map.entry("express", "express"), Map.entry("laravel", "laravel"),
+            Map.entry("php", "php"), Map.entry("c#", "c#"), Map.entry("c++", "c++"), Map.entry("c", "c"),
+            Map.entry("sql", "sql"), Map.entry("mysql", "mysql"), Map.entry("postgresql", "postgresql"),
+            Map.entry("mongodb", "mongodb"), Map.entry("redis", "redis"), Map.entry("oracle", "oracle"),
+            Map.entry("sqlite", "sqlite"), Map.entry("html", "html"), Map.entry("css", "css"),
+            Map.entry("sass", "sass"), Map.entry("less", "less"), Map.entry("bootstrap", "bootstrap"),
+            Map.entry("tailwind", "tailwind"), Map.entry("docker", "docker"), Map.entry("kubernetes", "kubernetes"),
+            Map.entry("aws", "aws"), Map.entry("azure", "azure"), Map.entry("gcp", "gcp"),
+            Map.entry("jenkins", "jenkins"), Map.entry("git", "git"), Map.entry("github", "github"),
+            Map.entry("gitlab", "gitlab"), Map.entry("rest", "rest"), Map.entry("restful", "restful"),
+            Map.entry("api", "api"), Map.entry("graphql", "graphql"), Map.entry("soap", "soap"),
+            Map.entry("microservice", "microservice"), Map.entry("microservices", "microservices"),
+            Map.entry("backend", "backend"), Map.entry("frontend", "frontend"), Map.entry("fullstack", "fullstack"),
+            Map.entry("full-stack", "fullstack"), Map.entry("full stack", "fullstack"),
+            Map.entry("android", "android"), Map.entry("ios", "ios"), Map.entry("swift", "swift"),
+            Map.entry("kotlin", "kotlin"), Map.entry("flutter", "flutter"), Map.entry("react native", "react native"),
+            Map.entry("machine learning", "machine learning"), Map.entry("ml", "ml"), Map.entry("ai", "ai"),
+            Map.entry("deep learning", "deep learning"), Map.entry("tensorflow", "tensorflow"),
+            Map.entry("pytorch", "pytorch"), Map.entry("agile", "agile"), Map.entry("scrum", "scrum"),
+            Map.entry("devops", "devops"), Map.entry("ci/cd", "ci/cd"), Map.entry("cicd", "ci/cd")));
+
+    /**
+     * AI metninden kalıntıları temizle (ATS uyumlu, doğal metin)
+     */
+    static String cleanAIText(String text) {
+        if (text == null || text.isBlank()) return "";
+        
+        // "Aşağıdaki metin, anlamını bozmadan..." gibi ön ek metinlerini temizle
+        text = removeAIPrefixText(text);
+        
+        // AI kalıntılarını temizle (daha kapsamlı)
+        text = text.replaceAll("(?i)\\b(ai|yapay zeka|artificial intelligence|oluşturuldu|üretildi|generated|created by|created with|automatically generated)\\b", "");
+        text = text.replaceAll("(?i)\\b(bu metin|bu özet|bu cv|bu özgeçmiş|this text|this summary|this cv|this resume)\\b", "");
+        text = text.replaceAll("(?i)\\b(lütfen|please|not:|note:|important:|dikkat:|attention:)\\b", "");
+        text = text.replaceAll("(?i)\\b(as an ai|as a language model|i am an ai|ben bir ai|yapay zeka olarak)\\b", "");
+        text = text.replaceAll("(?i)\\b(here is|işte|aşağıda|below is|following is)\\b", "");
+        
+        // Markdown formatlarını temizle
+        text = text.replaceAll("```[\\w]*", "");
+        text = text.replaceAll("\\*\\*", "");
+        text = text.replaceAll("##+", "");
+        text = text.replaceAll("^#+\\s*", "");
+        text = text.replaceAll("\\*", "");
+        text = text.replaceAll("_", "");
+        text = text.replaceAll("`", "");
+        
+        // HTML etiketlerini temizle
+        text = text.replaceAll("<[^>]+>", "");
+        
+        // Özel karakterleri temizle (bazıları)
+        text = text.replaceAll("→", "");
+        text = text.replaceAll("•", "");
+        text = text.replaceAll("✓", "");
+        
+        // Fazla boşlukları ve satır sonlarını temizle
+        text = text.replaceAll("\\s+", " ");
+        text = text.replaceAll("\\n+", " ");
+        text = text.replaceAll("\\r+", "");
+        
+        // Başta ve sonda gereksiz karakterleri temizle
+        text = text.replaceAll("^[\"'\\(\\)\\[\\]\\{\\}\\s]+", "");
+        text = text.replaceAll("[\"'\\(\\)\\[\\]\\{\\}\\s]+$", "");
+        
+        // Cümle başlarında gereksiz kelimeleri temizle
+        text = text.replaceAll("^\\s*(özet|summary|cv|özgeçmiş|resume):\\s*", "");
+        
+        return text.trim();
+    }
+
+    /**
+     * AI yanıtından "Aşağıdaki metin, anlamını bozmadan..." gibi ön ek metinlerini temizle
+     */
+    static String removeAIPrefixText(String text) {
+        if (text == null || text.isBlank()) return text;
+        
+        // "Aşağıdaki metin" ile başlayan açıklama metinlerini temizle
+        text = text.replaceAll("(?i)^.*?aşağıdaki metin[^:]*:\\s*", "");
+        text = text.replaceAll("(?i)^.*?aşağıdaki metni[^:]*:\\s*", "");
+        text = text.replaceAll("(?i)^.*?anlamını bozmadan[^:]*:\\s*", "");
+        text = text.replaceAll("(?i)^.*?profesyonel bir dille[^:]*:\\s*", "");
+        text = text.replaceAll("(?i)^.*?düzeltildi[^:]*:\\s*", "");
+        text = text.replaceAll("(?i)^.*?düzeltilmiştir[^:]*:\\s*", "");
+        
+        // İki nokta üst üste sonrasındaki metni al (eğer varsa)
+        int colonIndex = text.indexOf(':');
+        if (colonIndex > 0 && colonIndex < text.length() / 2) {
+            // Eğer iki nokta üst üste metnin ilk yarısındaysa, muhtemelen açıklama var
+            String beforeColon = text.substring(0, colonIndex).toLowerCase();
+            if (beforeColon.contains("metin") || beforeColon.contains("düzelt") || beforeColon.contains("profesyonel")) {
+                text = text.substring(colonIndex + 1).trim();
+            }
+        }
+        
+        return text.trim();
+    }
+
+    /**
+     * Açıklama metinlerindeki format sorunlarını temizle (süslü parantez, JSON kalıntıları vb.)
+     */
+    static String cleanDescription(String text) {
+        if (text == null || text.isBlank()) return "";
+        
+        // Süslü parantezleri ve JSON kalıntılarını temizle
+        text = text.replaceAll("\\{[^}]*\\}", ""); // Parantez içindeki her şeyi sil
+        text = text.replace("{", "").replace("}", ""); // Kalan parantezleri sil
+        text = text.replaceAll("\\[[^\\]]*\\]", "");
+        text = text.replaceAll("\"([^\"]*)\"", "$1"); // Tırnak içindeki metinleri koru ama tırnakları kaldır
+        
+        // Fazla boşlukları temizle
+        text = text.replaceAll("\\s+", " ").trim();
+        
+        // Başta ve sonda gereksiz karakterleri temizle
+        text = text.replaceAll("^[,\\s:;\\-]+", "");
+        text = text.replaceAll("[,\\s:;\\-]+$", "");
+        
+        return text.trim();
+    }
+
+    /**
+     * Cümle sayısını kontrol et ve gerekirse ayarla
+     */
+    static String ensureSentenceCount(String text, int min, int max) {
+        if (text == null || text.isEmpty()) return text;
+        
+        String[] sentences = text.split("[.!?]+");
+        int count = sentences.length;
+        
+        if (count < min) {
+            // Eksik cümleler ekle (çeşitli cümlelerle)
+            StringBuilder sb = new StringBuilder(text.trim());
+            if (!sb.toString().endsWith(".") && !sb.toString().endsWith("!") && !sb.toString().endsWith("?")) {
+                sb.append(".");
+            }
+            
+            String[] additionalSentences = {
+                " Bu alanda sürekli kendimi geliştirmeye devam ediyorum.",
+                " Teknik yetkinliğimi artırmak için sürekli öğreniyorum.",
+                " Projelerde başarılı sonuçlar elde etmek için çalışıyorum.",
+                " Takım çalışması ve iletişim becerilerimi geliştiriyorum.",
+                " Yeni teknolojilere adapte olma konusunda hızlıyım.",
+                " Problem çözme ve analitik düşünme yeteneklerimi kullanıyorum.",
+                " Detaylara dikkat eden ve sonuç odaklı çalışan bir profesyonelim.",
+                " Organizasyonlara değer katmayı hedefliyorum.",
+                " Kariyerimde ilerlemek için sürekli çalışıyorum.",
+                " Teknik bilgimi pratik projelerde uyguluyorum."
+            };
+            
+            for (int i = count; i < min && i - count < additionalSentences.length; i++) {
+                sb.append(additionalSentences[(i - count) % additionalSentences.length]);
+            }
+            
+            // Eğer hala eksikse, genel cümleler ekle
+            while (sb.toString().split("[.!?]+").length < min) {
+                sb.append(" Bu konuda deneyimli ve yetkin bir profesyonelim.");
+            }
+            
+            return sb.toString();
+        } else if (count > max) {
+            // Fazla cümleleri kısalt
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < max; i++) {
+                if (i > 0) sb.append(" ");
+                String sentence = sentences[i].trim();
+                sb.append(sentence);
+                if (!sentence.endsWith(".") && !sentence.endsWith("!") && !sentence.endsWith("?")) {
+                    sb.append(".");
+                }
+            }
+            return sb.toString();
+        }
+        
+        return text;
+    }
+
+    /**
+     * En az belirtilen sayıda cümle olduğundan emin ol
+     */
+    static String ensureMinimumSentences(String text, int minSentences) {
+        if (text == null || text.isBlank()) return text;
+        
+        String[] sentences = text.split("[.!?]+");
+        int count = sentences.length;
+        
+        if (count < minSentences) {
+            StringBuilder sb = new StringBuilder(text.trim());
+            // Eksik cümleleri ekle
+            for (int i = count; i < minSentences; i++) {
+                if (!sb.toString().endsWith(".") && !sb.toString().endsWith("!") && !sb.toString().endsWith("?")) {
+                    sb.append(".");
+                }
+                sb.append(" Bu görevde başarılı sonuçlar elde ettim.");
+            }
+            return sb.toString();
+        }
+        
+        return text;
+    }
+
+    /**
+     * Tam olarak 2 mantıklı cümle olduğundan emin ol (proje/deneyim için)
+     * İyileştirilmiş versiyon: Daha iyi temizleme ve minimum karakter kontrolü
+     */
+    static String ensureExactlyTwoSentences(String text) {
+        if (text == null || text.isBlank()) {
+            Random random = new Random();
+            String[] fallbackPairs = {
+                "İlgili alanda teknik sorumluluklar üstlenerek projelerin başarıyla tamamlanmasına katkı sağladım. Süreç boyunca modern teknolojileri kullanarak verimli çözümler ürettim.",
+                "Farklı projelerde yer alarak deneyim kazandım. Bu süreçte teknik bilgimi pratiğe dönüştürdüm ve başarılı sonuçlar elde ettim.",
+                "Görevlerim sırasında problem çözme yeteneklerimi geliştirdim. Ekip çalışması ve teknik uygulamalar konularında değerli deneyimler kazandım."
+            };
+            return fallbackPairs[random.nextInt(fallbackPairs.length)];
+        }
+        
+        // Önce tüm metni temizle (Görünmez karakterler, süslü parantezler vb.)
+        text = cleanDescription(text);
+        
+        // Cümleleri ayır (Nokta, Ünlem, Soru işareti sonrası boşluk)
+        String[] sentences = text.split("(?<=[.!?])\\s+");
+        List<String> validSentences = new ArrayList<>();
+        
+        for (String s : sentences) {
+            String trimmed = s.trim()
+                .replaceAll("^[-•*\\s]+", "") // Liste işaretlerini temizle
+                .replaceAll("\\s+", " ");    // Fazla boşlukları temizle
+            
+            // Cümle en az 25 karakter olmalı ki anlamlı olsun
+            if (trimmed.length() > 25) {
+                if (!trimmed.matches(".*[.!?]$")) {
+                    trimmed += ".";
+                }
+                validSentences.add(trimmed);
+            }
+        }
+        
+        if (validSentences.isEmpty()) {
+            Random random = new Random();
+            String[] fallbackPairs = {
+                "İlgili alanda teknik sorumluluklar üstlenerek projelerin başarıyla tamamlanmasına katkı sağladım. Süreç boyunca modern teknolojileri kullanarak verimli çözümler ürettim.",
+                "Farklı projelerde yer alarak deneyim kazandım. Bu süreçte teknik bilgimi pratiğe dönüştürdüm ve başarılı sonuçlar elde ettim.",
+                "Görevlerim sırasında problem çözme yeteneklerimi geliştirdim. Ekip çalışması ve teknik uygulamalar konularında değerli deneyimler kazandım."
+            };
+            return fallbackPairs[random.nextInt(fallbackPairs.length)];
+        }
+        
+        // Tam 2 cümle oluştur
+        if (validSentences.size() >= 2) {
+            String first = validSentences.get(0);
+            String second = validSentences.get(1);
+            // İlk cümlenin sonunda nokta yoksa ekle
+            if (!first.matches(".*[.!?]$")) {
+                first += ".";
+            }
+            // İkinci cümlenin sonunda nokta yoksa ekle
+            if (!second.matches(".*[.!?]$")) {
+                second += ".";
+            }
+            return first + " " + second;
+        } else {
+            // Tek cümle varsa yanına anlamlı bir devam cümlesi ekle
+            String first = validSentences.get(0);
+            if (!first.matches(".*[.!?]$")) {
+                first += ".";
+            }
+            String second = generateSecondSentence(first);
+            if (!second.matches(".*[.!?]$")) {
+                second += ".";
+            }
+            return first + " " + second;
+        }
+    }
+
+    /**
+     * İlk cümleye göre mantıklı ikinci cümle oluştur - Çeşitli varyasyonlar
+     */
+    static String generateSecondSentence(String firstSentence) {
+        Random random = new Random();
+        String lower = firstSentence.toLowerCase();
+        
+        // İlk cümleye göre uygun ikinci cümle varyasyonları
+        if (lower.contains("geliştirdim") || lower.contains("geliştirme")) {
+            String[] variations = {
+                "Bu süreçte teknik yetkinliğimi artırdım ve projenin başarıyla tamamlanmasına katkı sağladım.",
+                "Geliştirme sürecinde çeşitli teknik zorluklarla karşılaştım ve bunları başarıyla çözdüm.",
+                "Bu deneyim sayesinde modern geliştirme pratiklerini öğrendim ve uyguladım.",
+                "Projelerin başarıyla tamamlanması için etkili çözümler ürettim ve değerli deneyimler kazandım."
+            };
+            return variations[random.nextInt(variations.length)];
+        } else if (lower.contains("çalıştım") || lower.contains("görev")) {
+            String[] variations = {
+                "Bu deneyim sayesinde problem çözme ve takım çalışması konularında kendimi geliştirdim.",
+                "Görevlerim sırasında teknik bilgimi pratiğe dönüştürdüm ve başarılı sonuçlar elde ettim.",
+                "Bu süreçte ekip içi işbirliği ve teknik problem çözme konularında deneyim kazandım.",
+                "Çalıştığım projelerde aktif rol alarak farklı teknolojileri öğrendim ve uyguladım."
+            };
+            return variations[random.nextInt(variations.length)];
+        } else if (lower.contains("proje") || lower.contains("projesi")) {
+            String[] variations = {
+                "Projenin başarıyla tamamlanmasına katkı sağladım ve bu süreçte değerli deneyimler kazandım.",
+                "Bu projede çeşitli teknik görevler üstlendim ve başarılı sonuçlar elde ettim.",
+                "Projenin geliştirilmesi sırasında yaratıcı çözümler ürettim ve teknik yetkinliğimi artırdım.",
+                "Projede aktif olarak çalışarak modern teknolojileri öğrendim ve uyguladım."
+            };
+            return variations[random.nextInt(variations.length)];
+        } else if (lower.contains("teknoloji") || lower.contains("teknolojiler")) {
+            String[] variations = {
+                "Bu teknolojileri kullanarak kaliteli çözümler ürettim ve projelerin başarıyla tamamlanmasına katkı sağladım.",
+                "Teknolojileri etkin bir şekilde uygulayarak teknik yetkinliğimi geliştirdim ve başarılı sonuçlar elde ettim.",
+                "Bu araçları kullanarak çeşitli projelerde yer aldım ve değerli deneyimler kazandım.",
+                "Modern teknolojilerle çalışarak problem çözme yeteneklerimi geliştirdim ve etkili çözümler ürettim."
+            };
+            return variations[random.nextInt(variations.length)];
+        } else {
+            String[] variations = {
+                "Bu süreçte başarılı sonuçlar elde ettim ve deneyimlerimi artırdım.",
+                "Çalışmalarım sırasında teknik bilgimi geliştirdim ve önemli başarılar elde ettim.",
+                "Bu deneyim sayesinde farklı projelerde yer alarak kendimi geliştirdim.",
+                "Süreç boyunca aktif rol alarak değerli deneyimler kazandım ve başarılı sonuçlar elde ettim."
+            };
+            return variations[random.nextInt(variations.length)];
+        }
+    }
+
+    /**
+     * Orijinal açıklamadan teknik terimleri çıkar (Java, Python, backend, frontend, API vb.)
+     */
+    static String extractTechnicalTerms(String text) {
+        if (text == null || text.isBlank()) return "";
+        
+        // Teknoloji isimlerini tek geçişte bul (kelime sınırları otomat içinde kontrol edilir);
+        // orijinal metinde nasıl yazılmışsa öyle alınır
+        Map<String, String> found = new LinkedHashMap<>();
+        for (SkillMatcher.Match match : TECH_TERM_MATCHER.findAll(text)) {
+            found.putIfAbsent(match.getCanonical(), match.getText());
+        }
+        Set<String> techTerms = new LinkedHashSet<>(found.values());
+        String lowerText = text.toLowerCase();
+        
+        // "ile", "kullanarak" gibi ifadelerden sonra gelen terimleri bul
+        java.util.regex.Pattern pattern = java.util.regex.Pattern.compile(
+            "\\b([a-zA-Z]+(?:\\s+[a-zA-Z]+)?)\\s+(ile|kullanarak|ile\\s+backend|ile\\s+frontend)",
+            java.util.regex.Pattern.CASE_INSENSITIVE
+        );
+        java.util.regex.Matcher matcher = pattern.matcher(text);
+        while (matcher.find()) {
+            String term = matcher.group(1).trim();
+            // Teknoloji listesinde var mı kontrol et
+            if (TECH_TERM_MATCHER.containsAny(term)) {
+                techTerms.add(term);
+            }
+        }
+        
+        // "backend", "frontend" gibi tek başına geçen terimleri de bul
+        if (lowerText.contains("backend") || lowerText.contains("frontend")) {
+            if (lowerText.contains("backend")) techTerms.add("backend");
+            if (lowerText.contains("frontend")) techTerms.add("frontend");
+        }
+        
+        return String.join(", ", techTerms);
+    }
+
+    /**
+     * Cümlede teknik terimlerin geçtiğinden emin ol, yoksa ekle
+     */
+    static String ensureTechnicalTermsInDescription(String desc, String techTerms) {
+        if (techTerms == null || techTerms.isBlank() || desc == null || desc.isBlank()) {
+            return desc;
+        }
+        
+        String lowerDesc = desc.toLowerCase();
+        String[] terms = techTerms.split("[,;]");
+        List<String> missingTerms = new ArrayList<>();
+        
+        for (String term : terms) {
+            String trimmed = term.trim();
+            if (!trimmed.isEmpty() && !lowerDesc.contains(trimmed.toLowerCase())) {
+                missingTerms.add(trimmed);
+            }
+        }
+        
+        if (!missingTerms.isEmpty()) {
+            // Eksik teknik terimleri doğal bir şekilde cümleye ekle
+            String termsToAdd = String.join(", ", missingTerms.subList(0, Math.min(3, missingTerms.size())));
+            
+            // Cümle sonuna ekle veya ikinci cümleye ekle
+            if (desc.contains(".")) {
+                String[] sentences = desc.split("\\.", 2);
+                if (sentences.length >= 2) {
+                    // İkinci cümleye ekle
+                    String secondSentence = sentences[1].trim();
+                    if (!secondSentence.isEmpty()) {
+                        desc = sentences[0].trim() + ". " + secondSentence + " Bu süreçte " + termsToAdd + " teknolojilerini/becerilerini kullandım.";
+                    } else {
+                        desc = desc.trim() + " Bu görevde " + termsToAdd + " teknolojilerini/becerilerini aktif olarak kullandım.";
+                    }
+                } else {
+                    desc = desc.trim() + " Bu görevde " + termsToAdd + " teknolojilerini/becerilerini aktif olarak kullandım.";
+                }
+            } else {
+                desc = desc.trim() + ". Bu görevde " + termsToAdd + " teknolojilerini/becerilerini aktif olarak kullandım.";
+            }
+        }
+        
+        return desc;
+    }
+
+    static String findIntersection(String text, String skills) {
+        if (text == null || skills == null || skills.isBlank()) return "";
+        Set<String> match = new HashSet<>();
+        String tLower = text.toLowerCase(new Locale("tr", "TR"));
+        for (String s : skills.split("[,;]")) {
+            String sTrim = s.trim().toLowerCase(new Locale("tr", "TR"));
+            if (!sTrim.isEmpty() && tLower.contains(sTrim)) match.add(s.trim());
+        }
+        return String.join(", ", match);
+    }
+
+    private AiClientTextBaseline() {
+    }
+}
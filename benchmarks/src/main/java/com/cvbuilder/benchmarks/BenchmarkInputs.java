@@ -0,0 +1,33 @@
+package com.cvbuilder.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * src/main/resources/inputs altındaki örnek girdileri yükler (içerikler README'de listelenir).
+ * Metin örnekleri .txt (load), sağlayıcı yanıtı örnekleri .json (loadJson) uzantılıdır.
+ */
+public final class BenchmarkInputs {
+
+    private BenchmarkInputs() {
+    }
+
+    public static String load(String name) {
+        return read("/inputs/" + name + ".txt");
+    }
+
+    public static String loadJson(String name) {
+        return read("/inputs/" + name + ".json");
+    }
+
+    private static String read(String resource) {
+        try (InputStream in = BenchmarkInputs.class.getResourceAsStream(resource)) {
+            if (in == null) throw new IllegalArgumentException("Girdi bulunamadı: " + resource);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
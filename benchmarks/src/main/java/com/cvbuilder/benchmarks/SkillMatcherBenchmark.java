@@ -0,0 +1,120 @@
+package com.cvbuilder.benchmarks;
+
+import com.cvbuilder.util.SkillMatcher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SkillMatcher (Aho-Corasick, tek geçiş) ile terim başına contains/indexOf döngüsü.
+ * İki sözlük ölçülür: AiClient'ın teknoloji terimleri (~70 terim) ve CustomJobAnalysisService'in
+ * skillDatabase anahtarları. Döngü sürümleri SkillMatcher'dan önceki kodun kopyasıdır.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SkillMatcherBenchmark {
+
+    // AiClient.extractTechnicalTerms'teki eski commonTechs listesi
+    private static final String[] TECH_TERMS = {
+        "java", "python", "javascript", "typescript", "react", "angular", "vue", "node.js", "nodejs",
+        "spring", "spring boot", "django", "flask", "express", "laravel", "php", "c#", "c++", "c",
+        "sql", "mysql", "postgresql", "mongodb", "redis", "oracle", "sqlite",
+        "html", "css", "sass", "less", "bootstrap", "tailwind",
+        "docker", "kubernetes", "aws", "azure", "gcp", "jenkins", "git", "github", "gitlab",
+        "rest", "restful", "api", "graphql", "soap", "microservice", "microservices",
+        "backend", "frontend", "fullstack", "full-stack", "full stack",
+        "android", "ios", "swift", "kotlin", "flutter", "react native",
+        "machine learning", "ml", "ai", "deep learning", "tensorflow", "pytorch",
+        "agile", "scrum", "devops", "ci/cd", "cicd"
+    };
+
+    // CustomJobAnalysisService.createSkillDatabase anahtarları
+    private static final String[] SKILL_KEYS = {
+        "c#", "python", "delphi", "c++", "java", "javascript", "erp", "infor", "sap", "oracle", "oop",
+        "object oriented", "sql", "mysql", "postgresql", "mongodb", ".net", "spring", "spring boot",
+        "react", "angular", "vue", "docker", "kubernetes", "aws", "azure", "git", "yazılım geliştirme",
+        "software development", "analiz", "problem çözme", "takım çalışması"
+    };
+
+    private static final SkillMatcher TECH_MATCHER = matcherOf(TECH_TERMS);
+    private static final SkillMatcher SKILL_MATCHER = matcherOf(SKILL_KEYS);
+
+    @Param({"job-posting-tr", "tr-long", "en-long"})
+    public String input;
+
+    private String text;
+
+    @Setup
+    public void setUp() {
+        text = BenchmarkInputs.load(input);
+    }
+
+    @Benchmark
+    public Set<String> techTermsSkillMatcher() {
+        Set<String> found = new HashSet<>();
+        for (SkillMatcher.Match match : TECH_MATCHER.findAll(text)) {
+            found.add(match.getText());
+        }
+        return found;
+    }
+
+    @Benchmark
+    public Set<String> techTermsContainsLoop() {
+        // AiClient.extractTechnicalTerms'in eski terim döngüsü
+        Set<String> techTerms = new HashSet<>();
+        String lowerText = text.toLowerCase();
+        for (String tech : TECH_TERMS) {
+            String techLower = tech.toLowerCase();
+            if (lowerText.contains(techLower)) {
+                int index = lowerText.indexOf(techLower);
+                if (index >= 0) {
+                    boolean validStart = (index == 0 || !Character.isLetterOrDigit(text.charAt(index - 1)));
+                    int endIndex = Math.min(index + tech.length(), text.length());
+                    boolean validEnd = (endIndex == text.length() || !Character.isLetterOrDigit(text.charAt(endIndex)));
+                    if (validStart && validEnd) {
+                        techTerms.add(text.substring(index, endIndex));
+                    }
+                }
+            }
+        }
+        return techTerms;
+    }
+
+    @Benchmark
+    public Map<String, Integer> skillKeysSkillMatcher() {
+        Map<String, Integer> found = new LinkedHashMap<>();
+        for (SkillMatcher.Match match : SKILL_MATCHER.findAll(text)) {
+            found.putIfAbsent(match.getCanonical(), match.getStart());
+        }
+        return found;
+    }
+
+    @Benchmark
+    public Map<String, Integer> skillKeysContainsLoop() {
+        // CustomJobAnalysisService.extractSkillsFromText'in eski döngüsü (contains + isPreferredSkill içindeki indexOf)
+        Map<String, Integer> found = new LinkedHashMap<>();
+        String lowerText = text.toLowerCase();
+        for (String skillKey : SKILL_KEYS) {
+            if (lowerText.contains(skillKey)) {
+                found.putIfAbsent(skillKey, text.toLowerCase().indexOf(skillKey));
+            }
+        }
+        return found;
+    }
+
+    private static SkillMatcher matcherOf(String[] terms) {
+        Map<String, String> dictionary = new LinkedHashMap<>();
+        for (String term : terms) {
+            dictionary.put(term, term);
+        }
+        return SkillMatcher.of(dictionary);
+    }
+}
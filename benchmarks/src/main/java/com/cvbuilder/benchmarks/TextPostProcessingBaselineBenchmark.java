@@ -0,0 +1,80 @@
+package com.cvbuilder.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TextPostProcessingBenchmark ile aynı ölçümler, AiTextPostProcessor'a taşınmadan önceki
+ * AiClient kopyası (AiClientTextBaseline) üzerinde. İki sınıfın sonuçları yan yana karşılaştırılır.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TextPostProcessingBaselineBenchmark {
+
+    // İlanın "Gerekli Yetenekler" alanına benzer virgüllü liste
+    private static final String JOB_SKILLS = "Java, Spring Boot, PostgreSQL, Redis, Docker, Kubernetes, AWS, Kafka, "
+            + "React, TypeScript, REST, GraphQL, CI/CD, Jenkins, Scrum, JUnit, Mockito, Mikroservis";
+
+    @Param({"tr-short", "tr-long", "tr-malformed", "en-short", "en-long", "en-malformed"})
+    public String input;
+
+    private String text;
+    private String techTerms;
+
+    @Setup
+    public void setUp() {
+        text = BenchmarkInputs.load(input);
+        techTerms = "Java, Spring Boot, Kafka, Terraform, Elasticsearch";
+    }
+
+    @Benchmark
+    public String cleanAIText() {
+        return AiClientTextBaseline.cleanAIText(text);
+    }
+
+    @Benchmark
+    public String removeAIPrefixText() {
+        return AiClientTextBaseline.removeAIPrefixText(text);
+    }
+
+    @Benchmark
+    public String cleanDescription() {
+        return AiClientTextBaseline.cleanDescription(text);
+    }
+
+    // Özet akışındaki ayar (10-12 cümle)
+    @Benchmark
+    public String ensureSentenceCount() {
+        return AiClientTextBaseline.ensureSentenceCount(text, 10, 12);
+    }
+
+    @Benchmark
+    public String ensureMinimumSentences() {
+        return AiClientTextBaseline.ensureMinimumSentences(text, 3);
+    }
+
+    @Benchmark
+    public String ensureExactlyTwoSentences() {
+        return AiClientTextBaseline.ensureExactlyTwoSentences(text);
+    }
+
+    @Benchmark
+    public String extractTechnicalTerms() {
+        return AiClientTextBaseline.extractTechnicalTerms(text);
+    }
+
+    @Benchmark
+    public String ensureTechnicalTermsInDescription() {
+        return AiClientTextBaseline.ensureTechnicalTermsInDescription(text, techTerms);
+    }
+
+    @Benchmark
+    public String findIntersection() {
+        return AiClientTextBaseline.findIntersection(text, JOB_SKILLS);
+    }
+}
@@ -0,0 +1,82 @@
+package com.cvbuilder.benchmarks;
+
+import com.cvbuilder.util.AiTextPostProcessor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI çıktısı son işleme metotları ve teknik terim çıkarımı.
+ * Her metot tüm örnek girdilerle ölçülür; ayırma oranı için "-prof gc" ile çalıştırın
+ * (gc.alloc.rate.norm = işlem başına ayrılan bayt).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TextPostProcessingBenchmark {
+
+    // İlanın "Gerekli Yetenekler" alanına benzer virgüllü liste
+    private static final String JOB_SKILLS = "Java, Spring Boot, PostgreSQL, Redis, Docker, Kubernetes, AWS, Kafka, "
+            + "React, TypeScript, REST, GraphQL, CI/CD, Jenkins, Scrum, JUnit, Mockito, Mikroservis";
+
+    @Param({"tr-short", "tr-long", "tr-malformed", "en-short", "en-long", "en-malformed"})
+    public String input;
+
+    private String text;
+    private String techTerms;
+
+    @Setup
+    public void setUp() {
+        text = BenchmarkInputs.load(input);
+        techTerms = "Java, Spring Boot, Kafka, Terraform, Elasticsearch";
+    }
+
+    @Benchmark
+    public String cleanAIText() {
+        return AiTextPostProcessor.cleanAIText(text);
+    }
+
+    @Benchmark
+    public String removeAIPrefixText() {
+        return AiTextPostProcessor.removeAIPrefixText(text);
+    }
+
+    @Benchmark
+    public String cleanDescription() {
+        return AiTextPostProcessor.cleanDescription(text);
+    }
+
+    // Özet akışındaki ayar (10-12 cümle)
+    @Benchmark
+    public String ensureSentenceCount() {
+        return AiTextPostProcessor.ensureSentenceCount(text, 10, 12);
+    }
+
+    @Benchmark
+    public String ensureMinimumSentences() {
+        return AiTextPostProcessor.ensureMinimumSentences(text, 3);
+    }
+
+    @Benchmark
+    public String ensureExactlyTwoSentences() {
+        return AiTextPostProcessor.ensureExactlyTwoSentences(text);
+    }
+
+    @Benchmark
+    public String extractTechnicalTerms() {
+        return AiTextPostProcessor.extractTechnicalTerms(text);
+    }
+
+    @Benchmark
+    public String ensureTechnicalTermsInDescription() {
+        return AiTextPostProcessor.ensureTechnicalTermsInDescription(text, techTerms);
+    }
+
+    @Benchmark
+    public String findIntersection() {
+        return AiTextPostProcessor.findIntersection(text, JOB_SKILLS);
+    }
+}
@@ -0,0 +1,90 @@
+package com.cvbuilder.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * TranslationService'in ProviderResponseDecoder öncesi yanıt ayrıştırmasının kopyası (readTree + regex kontrolleri).
+ * Log satırları çıkarılmıştır; ayrıştırma adımları ve sırası değiştirilmemiştir.
+ * ResponseDecodingBenchmark'ta karşılaştırma tabanıdır.
+ */
+final class ReadTreeResponseBaseline {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private ReadTreeResponseBaseline() {
+    }
+
+    static String parseResponseSafe(String responseBody) {
+        if (responseBody == null || responseBody.trim().isEmpty()) {
+            return "";
+        }
+        String trimmed = responseBody.trim();
+        if (trimmed.matches("^[\\s\\{\\}\\[\\]\\(\\)]*$")) {
+            return "";
+        }
+        if (trimmed.equals("{") || (trimmed.startsWith("{") && !trimmed.contains("}"))) {
+            return "";
+        }
+        if (trimmed.length() <= 2 && trimmed.matches("^[\\{\\}\\[\\]\\s]*$")) {
+            return "";
+        }
+
+        try {
+            JsonNode root = OBJECT_MAPPER.readTree(responseBody);
+
+            // OpenAI / Groq / DeepSeek Format
+            if (root.has("choices") && root.get("choices").isArray() && root.get("choices").size() > 0) {
+                JsonNode firstChoice = root.get("choices").get(0);
+                if (firstChoice.has("message") && firstChoice.get("message").has("content")) {
+                    String content = firstChoice.get("message").get("content").asText();
+                    if (content == null || content.trim().isEmpty()) {
+                        return "";
+                    }
+                    String cleanedContent = content.trim();
+                    if (cleanedContent.matches("^[\\s\\{\\}\\[\\]\\(\\)]*$") || cleanedContent.length() <= 2) {
+                        return "";
+                    }
+                    return cleanedContent;
+                }
+            }
+
+            // Gemini Format
+            if (root.has("candidates") && root.get("candidates").isArray() && root.get("candidates").size() > 0) {
+                JsonNode firstCandidate = root.get("candidates").get(0);
+                if (firstCandidate.has("content") && firstCandidate.get("content").has("parts")
+                    && firstCandidate.get("content").get("parts").isArray()
+                    && firstCandidate.get("content").get("parts").size() > 0) {
+                    JsonNode firstPart = firstCandidate.get("content").get("parts").get(0);
+                    if (firstPart.has("text")) {
+                        String text = firstPart.get("text").asText();
+                        if (text == null || text.trim().isEmpty()) {
+                            return "";
+                        }
+                        String cleanedText = text.trim();
+                        if (cleanedText.matches("^[\\s\\{\\}\\[\\]\\(\\)]*$") || cleanedText.length() <= 2) {
+                            return "";
+                        }
+                        return cleanedText;
+                    }
+                }
+            }
+            return "";
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    static String extractGeminiDelta(String payload) throws Exception {
+        JsonNode parts = OBJECT_MAPPER.readTree(payload).path("candidates").path(0).path("content").path("parts");
+        StringBuilder sb = new StringBuilder();
+        for (JsonNode part : parts) {
+            sb.append(part.path("text").asText(""));
+        }
+        return sb.toString();
+    }
+
+    static String extractOpenAiDelta(String payload) throws Exception {
+        return OBJECT_MAPPER.readTree(payload).path("choices").path(0).path("delta").path("content").asText("");
+    }
+}
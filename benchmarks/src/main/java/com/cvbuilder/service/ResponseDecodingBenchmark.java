@@ -0,0 +1,63 @@
+package com.cvbuilder.service;
+
+import com.cvbuilder.benchmarks.BenchmarkInputs;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sağlayıcı yanıtı ayrıştırma: ProviderResponseDecoder (JsonParser, ağaç kurulmaz) ile
+ * eski readTree tabanlı kod (ReadTreeResponseBaseline). Tam yanıt ve streaming parçası ayrı ölçülür.
+ * Girdiler gerçek OpenAI/Groq ve Gemini yanıt şeklindedir (usage, safetyRatings vb. alanlar dahil).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseDecodingBenchmark {
+
+    @Param({"openai", "gemini"})
+    public String provider;
+
+    private String response;
+    private String chunk;
+    private String[] deltaPath;
+
+    @Setup
+    public void setUp() {
+        response = BenchmarkInputs.loadJson("response-" + provider);
+        chunk = BenchmarkInputs.loadJson("chunk-" + provider);
+        deltaPath = "gemini".equals(provider) ? ProviderResponseDecoder.GEMINI_DELTA : ProviderResponseDecoder.OPENAI_DELTA;
+    }
+
+    @Benchmark
+    public String responseDecoder() throws IOException {
+        // TranslationService.parseResponseSafe ile aynı adımlar (log hariç)
+        if (ProviderResponseDecoder.isBlankOrBracketsOnly(response)) return "";
+        String content = ProviderResponseDecoder.extract(response,
+                ProviderResponseDecoder.OPENAI_MESSAGE, ProviderResponseDecoder.GEMINI_TEXT);
+        if (content == null) return "";
+        String cleaned = content.trim();
+        return cleaned.length() <= 2 || ProviderResponseDecoder.isBlankOrBracketsOnly(cleaned) ? "" : cleaned;
+    }
+
+    @Benchmark
+    public String responseReadTree() {
+        return ReadTreeResponseBaseline.parseResponseSafe(response);
+    }
+
+    @Benchmark
+    public String chunkDecoder() throws IOException {
+        return ProviderResponseDecoder.extract(chunk, deltaPath);
+    }
+
+    @Benchmark
+    public String chunkReadTree() throws Exception {
+        return "gemini".equals(provider)
+                ? ReadTreeResponseBaseline.extractGeminiDelta(chunk)
+                : ReadTreeResponseBaseline.extractOpenAiDelta(chunk);
+    }
+}
@@ -0,0 +1,132 @@
+package com.cvbuilder.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * AI çağrıları için sınırlı (bounded) thread havuzları.
+ * - aiTaskExecutor: CV üretimindeki bağımsız bölümler (özet, deneyim, proje, eğitim, kariyer tavsiyesi)
+ * - aiCallExecutor: Tekil LLM çağrıları (başka görevi beklemeyen "yaprak" işler)
+ * - cvJobExecutor: Asenkron CV üretim işleri (havuz doluysa iş reddedilir, istek thread'inde çalışmaz)
+ * - jobIngestExecutor: Toplu ilan URL aktarımı (sayfa çekme + analiz). Site sınırı havuz dışında, alan adı
+ *   kuyruklarında beklenir; kuyruk kapasitesi aşılacaksa toplu iş en baştan reddedilir
+ * - chatSummaryExecutor: Sohbet özetini güncelleyen arka plan işleri (havuz doluysa güncelleme atlanır,
+ *   bir sonraki tur telafi eder; istek thread'inde çalışmaz)
+ * - skillAggregateExecutor: Pazar analizi alanlarının beceri sayılarını ilk kez dolduran işler (havuz doluysa
+ *   doldurma atlanır, alan bir sonraki analizde tekrar istenir; o sırada sayılar ilanlardan hesaplanır)
+ * İç içe bekleme yapan bölüm görevleri ile yaprak çağrılar ayrı havuzlarda tutulur ki
+ * havuz kendi kuyruğunu beklerken kilitlenmesin. Bean'ler alan adıyla enjekte edilir.
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Value("${ai.executor.core-size:8}")
+    private int corePoolSize;
+
+    @Value("${ai.executor.max-size:32}")
+    private int maxPoolSize;
+
+    @Value("${ai.executor.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${ai.call-executor.core-size:16}")
+    private int callCorePoolSize;
+
+    @Value("${ai.call-executor.max-size:64}")
+    private int callMaxPoolSize;
+
+    @Value("${ai.call-executor.queue-capacity:500}")
+    private int callQueueCapacity;
+
+    @Value("${cv.jobs.core-size:2}")
+    private int jobCorePoolSize;
+
+    @Value("${cv.jobs.max-size:4}")
+    private int jobMaxPoolSize;
+
+    @Value("${cv.jobs.queue-capacity:50}")
+    private int jobQueueCapacity;
+
+    @Value("${job.ingest.core-size:8}")
+    private int ingestCorePoolSize;
+
+    @Value("${job.ingest.max-size:8}")
+    private int ingestMaxPoolSize;
+
+    @Value("${job.ingest.queue-capacity:2000}")
+    private int ingestQueueCapacity;
+
+    @Value("${chatbot.memory.executor.core-size:2}")
+    private int summaryCorePoolSize;
+
+    @Value("${chatbot.memory.executor.max-size:2}")
+    private int summaryMaxPoolSize;
+
+    @Value("${chatbot.memory.executor.queue-capacity:100}")
+    private int summaryQueueCapacity;
+
+    @Value("${market.skills.executor.core-size:1}")
+    private int skillSeedCorePoolSize;
+
+    @Value("${market.skills.executor.max-size:2}")
+    private int skillSeedMaxPoolSize;
+
+    @Value("${market.skills.executor.queue-capacity:50}")
+    private int skillSeedQueueCapacity;
+
+    @Bean(name = "aiTaskExecutor")
+    public ThreadPoolTaskExecutor aiTaskExecutor() {
+        return buildExecutor("ai-task-", corePoolSize, maxPoolSize, queueCapacity);
+    }
+
+    @Bean(name = "aiCallExecutor")
+    public ThreadPoolTaskExecutor aiCallExecutor() {
+        return buildExecutor("ai-call-", callCorePoolSize, callMaxPoolSize, callQueueCapacity);
+    }
+
+    @Bean(name = "cvJobExecutor")
+    public ThreadPoolTaskExecutor cvJobExecutor() {
+        ThreadPoolTaskExecutor executor = buildExecutor("cv-job-", jobCorePoolSize, jobMaxPoolSize, jobQueueCapacity);
+        // Kuyruk doluysa iş reddedilir (CallerRuns istek thread'ini bloklardı)
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    @Bean(name = "jobIngestExecutor")
+    public ThreadPoolTaskExecutor jobIngestExecutor() {
+        ThreadPoolTaskExecutor executor = buildExecutor("job-ingest-", ingestCorePoolSize, ingestMaxPoolSize, ingestQueueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    @Bean(name = "chatSummaryExecutor")
+    public ThreadPoolTaskExecutor chatSummaryExecutor() {
+        ThreadPoolTaskExecutor executor = buildExecutor("chat-summary-", summaryCorePoolSize, summaryMaxPoolSize, summaryQueueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    @Bean(name = "skillAggregateExecutor")
+    public ThreadPoolTaskExecutor skillAggregateExecutor() {
+        ThreadPoolTaskExecutor executor = buildExecutor("skill-seed-", skillSeedCorePoolSize, skillSeedMaxPoolSize, skillSeedQueueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    private ThreadPoolTaskExecutor buildExecutor(String prefix, int core, int max, int queue) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(core);
+        executor.setMaxPoolSize(max);
+        executor.setQueueCapacity(queue);
+        executor.setThreadNamePrefix(prefix);
+        // Havuz doluysa görevi çağıran thread çalıştırır (istek kaybolmaz, doğal geri basınç)
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
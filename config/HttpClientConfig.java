@@ -0,0 +1,29 @@
+package com.cvbuilder.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * AI sağlayıcıları için paylaşılan, non-blocking JDK HttpClient.
+ * HTTP/2 destekleyen sağlayıcılarda tek bağlantı üzerinden çoklu istek (multiplexing) yapılır,
+ * bağlantılar istekler arasında yeniden kullanılır.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${ai.http.connect-timeout-seconds:30}")
+    private long connectTimeoutSeconds;
+
+    @Bean
+    public HttpClient aiHttpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofSeconds(connectTimeoutSeconds))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+}
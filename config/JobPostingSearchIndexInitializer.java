@@ -0,0 +1,53 @@
+package com.cvbuilder.config;
+
+import com.cvbuilder.repository.JobPostingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+
+/**
+ * Uygulama açılışında job_postings için tam metin arama (GIN) index'ini oluşturur.
+ * Hibernate ddl-auto ifade (expression) index'i oluşturamadığı için SQL ile yapılır.
+ * Veritabanı PostgreSQL değilse veya oluşturma başarısız olursa sadece uyarı yazılır;
+ * isFullTextSearchReady() false kalır ve arama LIKE tabanlı fallback'e geçer.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobPostingSearchIndexInitializer implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${job.search.create-index:true}")
+    private boolean createIndex;
+
+    private volatile boolean fullTextSearchReady = false;
+
+    public boolean isFullTextSearchReady() {
+        return fullTextSearchReady;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!createIndex) return;
+        try {
+            String product = jdbcTemplate.execute((Connection c) -> c.getMetaData().getDatabaseProductName());
+            if (product == null || !product.toLowerCase().contains("postgres")) {
+                log.info("Tam metin arama index'i atlandı (veritabanı: {})", product);
+                return;
+            }
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_job_postings_fts ON job_postings USING GIN ("
+                    + JobPostingRepository.SEARCH_DOCUMENT + ")");
+            fullTextSearchReady = true;
+            log.info("Tam metin arama index'i hazır: idx_job_postings_fts");
+        } catch (Exception e) {
+            log.warn("Tam metin arama index'i oluşturulamadı: {}", e.getMessage());
+        }
+    }
+}
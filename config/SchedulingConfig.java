@@ -0,0 +1,13 @@
+package com.cvbuilder.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Periyodik bakım işleri (@Scheduled) için zamanlayıcıyı açar.
+ * - CvGenerationJobService: saklama süresi dolan bitmiş CV üretim işlerini siler
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,15 +1,28 @@
 package com.cvbuilder.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    // Yönetim uç noktaları (/api/admin/**) için HTTP Basic hesabı. Şifre "{bcrypt}..." gibi kodlanmış
+    // olabilir; önek yoksa düz metin kabul edilir. Şifre tanımlı değilse bu uç noktalar herkese kapalıdır.
+    @Value("${admin.username:admin}")
+    private String adminUsername;
+
+    @Value("${admin.password:}")
+    private String adminPassword;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
 
@@ -24,10 +37,25 @@ public class SecurityConfig {
                                 "/api/auth/health",
                                 "/api/auth/test"
                         ).permitAll()
+                        // 🔒 AI anahtar havuzu ve scraper durumu sadece yöneticiye
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         // Geri kalan her şeye da şimdilik izin ver
                         .anyRequest().permitAll()
-                );
+                )
+                .httpBasic(Customizer.withDefaults());
 
         return http.build();
     }
+
+    @Bean
+    public UserDetailsService adminUserDetailsService() {
+        if (adminPassword == null || adminPassword.isBlank()) {
+            return new InMemoryUserDetailsManager();
+        }
+        String password = adminPassword.startsWith("{") ? adminPassword : "{noop}" + adminPassword;
+        return new InMemoryUserDetailsManager(User.withUsername(adminUsername)
+                .password(password)
+                .roles("ADMIN")
+                .build());
+    }
 }
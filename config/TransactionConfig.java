@@ -0,0 +1,28 @@
+package com.cvbuilder.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Programatik transaction şablonları.
+ * Uzun süren AI çağrıları transaction dışında tutulur; veritabanı işleri kısa
+ * okuma (readOnlyTransactionTemplate) ve yazma (transactionTemplate) bloklarında yapılır.
+ * Bean'ler alan adıyla enjekte edilir.
+ */
+@Configuration
+public class TransactionConfig {
+
+    @Bean(name = "transactionTemplate")
+    public TransactionTemplate transactionTemplate(PlatformTransactionManager transactionManager) {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    @Bean(name = "readOnlyTransactionTemplate")
+    public TransactionTemplate readOnlyTransactionTemplate(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+}
@@ -0,0 +1,37 @@
+package com.cvbuilder.controller;
+
+import com.cvbuilder.external.JobScraperClient;
+import com.cvbuilder.service.TranslationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * AI altyapısının (anahtar havuzları, gecikmeler, önbellek) ve ilan çekicinin çalışma durumu.
+ * Sadece ADMIN rolüne açıktır (bkz. SecurityConfig); API anahtarlarının hiçbir parçası dönmez.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final TranslationService translationService;
+    private final JobScraperClient jobScraperClient;
+
+    @GetMapping("/ai-status")
+    public ResponseEntity<Map<String, Object>> aiStatus() {
+        return ResponseEntity.ok(translationService.getProviderStats());
+    }
+
+    // Domain başına öğrenilmiş selector'lar ve isabet sayıları
+    @GetMapping("/scraper-status")
+    public ResponseEntity<Map<String, Object>> scraperStatus() {
+        return ResponseEntity.ok(jobScraperClient.getSelectorStats());
+    }
+}
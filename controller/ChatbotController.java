@@ -5,8 +5,11 @@ import com.cvbuilder.dto.ChatResponse;
 import com.cvbuilder.service.ChatbotService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -19,6 +22,9 @@ public class ChatbotController {
 
     private final ChatbotService chatbotService;
 
+    @Value("${chatbot.stream.timeout-seconds:180}")
+    private long streamTimeoutSeconds;
+
     @PostMapping("/message")
     public ResponseEntity<?> sendMessage(
             @RequestBody ChatRequest request,
@@ -46,6 +52,31 @@ public class ChatbotController {
         }
     }
 
+    // Streaming yanıt: "token" olayları parça parça, "done" olayı kayıtlı mesajla gelir
+    @PostMapping(value = "/message/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamMessage(
+            @RequestBody ChatRequest request,
+            @RequestHeader(value = "X-USER-ID", required = false) Long userIdFromHeader
+    ) {
+        Long userId = request.getUserId() != null ? request.getUserId() : userIdFromHeader;
+        if (userId == null) {
+            log.warn("Chatbot streaming isteği reddedildi: userId bulunamadı");
+            return ResponseEntity.badRequest().body("Kullanıcı ID'si bulunamadı");
+        }
+        if (request.getMessage() == null || request.getMessage().isBlank()) {
+            return ResponseEntity.badRequest().body("Mesaj boş olamaz");
+        }
+
+        request.setUserId(userId);
+        try {
+            SseEmitter emitter = chatbotService.streamMessage(request, streamTimeoutSeconds * 1000L);
+            return ResponseEntity.ok(emitter);
+        } catch (Exception e) {
+            log.error("Chatbot streaming başlatılamadı: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body("Mesaj işlenirken bir hata oluştu: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/history")
     public ResponseEntity<List<ChatResponse>> getChatHistory(
             @RequestHeader(value = "X-USER-ID", required = false) Long userId
@@ -58,6 +89,23 @@ public class ChatbotController {
         return ResponseEntity.ok(history);
     }
 
+    // Keyset sayfalı geçmiş: ilk istek cursor'suz, sonrakiler yanıttaki nextCursor ile
+    @GetMapping("/history/page")
+    public ResponseEntity<?> getChatHistoryPage(
+            @RequestHeader(value = "X-USER-ID", required = false) Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "30") int size
+    ) {
+        if (userId == null) {
+            return ResponseEntity.badRequest().body("Kullanıcı ID'si bulunamadı");
+        }
+        try {
+            return ResponseEntity.ok(chatbotService.getChatHistoryPage(userId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @DeleteMapping("/history")
     public ResponseEntity<Void> clearChatHistory(
             @RequestHeader(value = "X-USER-ID", required = false) Long userId
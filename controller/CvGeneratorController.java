@@ -1,13 +1,18 @@
 package com.cvbuilder.controller;
 
+import com.cvbuilder.dto.CvGenerationJobStatus;
 import com.cvbuilder.dto.GeneratedCvResponse;
 import com.cvbuilder.external.AiClient; // EKLENDİ
+import com.cvbuilder.service.CvGenerationJobService;
 import com.cvbuilder.service.CvGeneratorService;
 import com.cvbuilder.service.TranslationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
 
@@ -21,6 +26,7 @@ public class CvGeneratorController {
     private final TranslationService translationService;
     private final CvGeneratorService cvGeneratorService;
     private final AiClient aiClient; // EKLENDİ: Direkt AI servisine erişim için
+    private final CvGenerationJobService cvGenerationJobService;
 
     // 1) CV OLUŞTURMA ENDPOINT'İ
     @PostMapping("/create")
@@ -92,4 +98,76 @@ public class CvGeneratorController {
         String advice = aiClient.getCareerAdvice(title);
         return ResponseEntity.ok(advice);
     }
-}
\ No newline at end of file
+
+    // 4) ASENKRON CV OLUŞTURMA: iş ID'si hemen döner, üretim arka planda çalışır
+    @PostMapping("/jobs")
+    public ResponseEntity<?> submitCvJob(
+            @RequestHeader(value = "X-USER-ID", required = false) String userIdHeader,
+            @RequestParam(required = false) Long jobId
+    ) {
+        Long userId = parseUserId(userIdHeader);
+        if (userId == null) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "Geçersiz kullanıcı ID",
+                "message", "X-USER-ID header eksik veya sayısal değil"
+            ));
+        }
+        try {
+            CvGenerationJobStatus status = cvGenerationJobService.submit(userId, jobId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+        } catch (RuntimeException e) {
+            log.warn("CV işi kuyruğa alınamadı: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+                "error", "CV işi başlatılamadı",
+                "message", e.getMessage()
+            ));
+        }
+    }
+
+    // 5) İŞ DURUMU (POLLING)
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<?> getCvJob(
+            @PathVariable String jobId,
+            @RequestHeader(value = "X-USER-ID", required = false) String userIdHeader
+    ) {
+        Long userId = parseUserId(userIdHeader);
+        if (userId == null) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "Geçersiz kullanıcı ID",
+                "message", "X-USER-ID header eksik veya sayısal değil"
+            ));
+        }
+        return cvGenerationJobService.getStatus(jobId, userId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
+                    "error", "İş bulunamadı",
+                    "message", "Bu ID ile bir CV işi yok veya süresi dolmuş: " + jobId
+                )));
+    }
+
+    // 6) İŞ İLERLEMESİ (SSE): "status" ve "progress" olayları gönderilir
+    // Not: Tarayıcı EventSource header gönderemediği için kullanıcı ID'si ?userId= ile de verilebilir
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamCvJob(
+            @PathVariable String jobId,
+            @RequestHeader(value = "X-USER-ID", required = false) String userIdHeader,
+            @RequestParam(value = "userId", required = false) Long userIdParam
+    ) {
+        Long userId = userIdHeader != null ? parseUserId(userIdHeader) : userIdParam;
+        if (userId == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return cvGenerationJobService.subscribe(jobId, userId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private Long parseUserId(String userIdHeader) {
+        if (userIdHeader == null || userIdHeader.isBlank()) return null;
+        try {
+            return Long.parseLong(userIdHeader.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
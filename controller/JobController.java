@@ -1,14 +1,19 @@
 package com.cvbuilder.controller;
 
+import com.cvbuilder.dto.BulkIngestionRequest;
+import com.cvbuilder.dto.BulkIngestionStatus;
 import com.cvbuilder.dto.JobAnalysisRequest;
 import com.cvbuilder.dto.JobAnalysisResponse;
 import com.cvbuilder.entity.JobPosting;
+import com.cvbuilder.service.BulkJobIngestionService;
 import com.cvbuilder.service.JobAnalysisService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -21,6 +26,7 @@ import java.util.Map;
 public class JobController {
 
     private final JobAnalysisService jobAnalysisService;
+    private final BulkJobIngestionService bulkJobIngestionService;
 
     // ✅ SADECE: TEKİL İLAN ANALİZİ (URL)
     @PostMapping("/analyze-by-url")
@@ -50,6 +56,52 @@ public class JobController {
         }
     }
 
+    // ✅ TOPLU İLAN AKTARIMI (URL LİSTESİ): iş ID'si hemen döner, ilanlar arka planda çekilip analiz edilir
+    @PostMapping("/bulk-ingest")
+    public ResponseEntity<?> bulkIngest(@RequestBody BulkIngestionRequest request) {
+        Long userId = request.getUserId();
+        int urlCount = request.getUrls() != null ? request.getUrls().size() : 0;
+
+        log.info("Job bulk-ingest request - URL sayısı: {}, UserID: {}", urlCount, userId);
+
+        if (userId == null) {
+            return ResponseEntity.badRequest().body(Map.of("message", "userId boş olamaz"));
+        }
+
+        if (urlCount == 0) {
+            return ResponseEntity.badRequest().body(Map.of("message", "urls boş olamaz"));
+        }
+
+        try {
+            BulkIngestionStatus status = bulkJobIngestionService.submit(userId, request.getUrls());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+        } catch (RuntimeException e) {
+            log.warn("Toplu ilan aktarımı başlatılamadı: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of(
+                    "message", "Toplu ilan aktarımı başlatılamadı",
+                    "detail", e.getMessage()
+            ));
+        }
+    }
+
+    // ✅ TOPLU AKTARIM DURUMU (POLLING)
+    @GetMapping("/bulk-ingest/{batchId}")
+    public ResponseEntity<?> getBulkIngest(@PathVariable String batchId, @RequestParam Long userId) {
+        return bulkJobIngestionService.getStatus(batchId, userId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
+                        "message", "Toplu aktarım bulunamadı veya süresi dolmuş: " + batchId
+                )));
+    }
+
+    // ✅ TOPLU AKTARIM İLERLEMESİ (SSE): "status" ve her URL için "item" olayları
+    @GetMapping(value = "/bulk-ingest/{batchId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamBulkIngest(@PathVariable String batchId, @RequestParam Long userId) {
+        return bulkJobIngestionService.subscribe(batchId, userId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     // ✅ KULLANICI İLANLARINI GETİR
     @GetMapping("/user/{userId}")
     public ResponseEntity<?> getUserJobs(@PathVariable Long userId) {
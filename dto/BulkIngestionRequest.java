@@ -0,0 +1,11 @@
+package com.cvbuilder.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkIngestionRequest {
+    private Long userId;
+    private List<String> urls;
+}
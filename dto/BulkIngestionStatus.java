@@ -0,0 +1,38 @@
+package com.cvbuilder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkIngestionStatus {
+    private String batchId;
+    private String status; // RUNNING, COMPLETED
+    private int total;
+    private int succeeded;
+    private int failed;
+    private int skipped;
+    private int progressPercent;
+    private List<Item> items;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Item {
+        private String url;
+        private String status; // QUEUED, FETCHING, ANALYZING, DONE, EXISTING, DUPLICATE, FAILED
+        private Long jobId;
+        private String position;
+        private String error;
+    }
+}
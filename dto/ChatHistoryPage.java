@@ -0,0 +1,18 @@
+package com.cvbuilder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatHistoryPage {
+    private List<ChatResponse> messages; // eskiden yeniye sıralı
+    private String nextCursor;           // daha eski mesajlar için (yoksa null)
+    private boolean hasMore;
+}
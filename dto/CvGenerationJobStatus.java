@@ -0,0 +1,26 @@
+package com.cvbuilder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CvGenerationJobStatus {
+    private String jobId;
+    private String status; // QUEUED, RUNNING, COMPLETED, FAILED
+    private List<String> completedSections;
+    private List<String> fallbackSections;
+    private int totalSections;
+    private int progressPercent;
+    private GeneratedCvResponse result;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
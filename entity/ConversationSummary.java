@@ -0,0 +1,37 @@
+package com.cvbuilder.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Kullanıcı başına sohbetin sıkıştırılmış (özetlenmiş) hali.
+ * coveredUntilMessageId: özete dahil edilen en son chat mesajının ID'si.
+ */
+@Entity
+@Table(name = "conversation_summaries")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConversationSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, unique = true)
+    private Long userId;
+
+    @Column(columnDefinition = "TEXT")
+    private String summary;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long coveredUntilMessageId = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private LocalDateTime updatedAt = LocalDateTime.now();
+}
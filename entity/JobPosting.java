@@ -23,6 +23,10 @@ public class JobPosting {
     
     @Column(columnDefinition = "TEXT")
     private String url;
+
+    // Tekrar eden ilan kontrolü için (takip parametreleri atılmış, sıralanmış query)
+    @Column(columnDefinition = "TEXT")
+    private String canonicalUrl;
     
     
     // Eski kodunda 'position' vardı, ikisi karışmasın diye 'title'ı ekliyoruz:
@@ -0,0 +1,61 @@
+package com.cvbuilder.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Çekilmiş ilan sayfasının ayrıştırılmış içeriği ve HTTP doğrulayıcıları (ETag / Last-Modified).
+ * Aynı ilan tekrar analiz edildiğinde sayfa yeniden indirilip parse edilmez;
+ * tazelik süresi dolmuşsa koşullu GET ile doğrulanır.
+ */
+@Entity
+@Table(name = "scraped_pages")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScrapedPage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Kanonik URL'in SHA-256 özeti (TEXT kolon üzerinde unique index yerine)
+    @Column(name = "url_hash", nullable = false, unique = true, length = 64)
+    private String urlHash;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String canonicalUrl;
+
+    private String etag;
+
+    private String lastModified;
+
+    @Column(columnDefinition = "TEXT")
+    private String pageTitle;
+
+    @Column(columnDefinition = "TEXT")
+    private String jobContent;
+
+    @Column(columnDefinition = "TEXT")
+    private String location;
+
+    @Column(columnDefinition = "TEXT")
+    private String company;
+
+    @Column(columnDefinition = "TEXT")
+    private String position;
+
+    // Yapısal veriden (JSON-LD / microdata) gelen ek alanlar, JSON olarak
+    @Column(columnDefinition = "TEXT")
+    private String extraFields;
+
+    @Column(nullable = false)
+    private LocalDateTime fetchedAt;
+
+    // Son başarılı indirme veya 304 doğrulaması
+    @Column(nullable = false)
+    private LocalDateTime validatedAt;
+}
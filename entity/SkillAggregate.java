@@ -0,0 +1,41 @@
+package com.cvbuilder.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+
+/**
+ * Alan (pazar analizinde aranan normalize metin) + beceri + ay bazında ilan sayısı.
+ * Alan, pozisyonu bu metni içeren ilanları kapsar; ilan kaydedildikçe artırılır.
+ * Pazar analizi ham ilan metni yerine bu tablodan okur.
+ */
+@Entity
+@Table(name = "skill_aggregates",
+        uniqueConstraints = @UniqueConstraint(name = "uk_skill_aggregates_area_skill_bucket",
+                columnNames = {"area_key", "skill", "bucket_month"}),
+        indexes = @Index(name = "idx_skill_aggregates_area_bucket", columnList = "area_key, bucket_month"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SkillAggregate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "area_key", nullable = false)
+    private String areaKey;
+
+    @Column(nullable = false)
+    private String skill;
+
+    // Ayın ilk günü
+    @Column(name = "bucket_month", nullable = false)
+    private LocalDate bucketMonth;
+
+    @Column(name = "posting_count", nullable = false)
+    @Builder.Default
+    private Long postingCount = 0L;
+}
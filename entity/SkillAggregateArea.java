@@ -0,0 +1,39 @@
+package com.cvbuilder.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Beceri sayıları tutulan alan (pazar analizinde aranan, normalize edilmiş metin).
+ * Alan ilk analiz edildiğinde kaydedilir, arka planda mevcut ilanlardan bir kez doldurulur;
+ * sonra ilan kayıtlarıyla artırılır. seededAt boşsa doldurma henüz bitmemiştir ve sayılar okunmaz.
+ */
+@Entity
+@Table(name = "skill_aggregate_areas")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SkillAggregateArea {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "area_key", nullable = false, unique = true)
+    private String areaKey;
+
+    // Doldurma sırasında sayılan ilan sayısı
+    @Column(name = "seeded_postings", nullable = false)
+    @Builder.Default
+    private Long seededPostings = 0L;
+
+    @Column(name = "seeded_at")
+    private LocalDateTime seededAt;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
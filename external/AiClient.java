@@ -9,13 +9,21 @@ import com.cvbuilder.entity.UserProfile;
 import com.cvbuilder.entity.UserSkill;
 import com.cvbuilder.repository.JobPostingRepository;
 import com.cvbuilder.service.TranslationService;
+import com.cvbuilder.util.AiTextPostProcessor;
+import com.cvbuilder.util.SkillListParser;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -26,6 +34,64 @@ public class AiClient {
     private final TranslationService translationService;
     private final JobPostingRepository jobPostingRepository; // mevcut kodun içinde var, ileride kullanılıyor olabilir
     private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor aiCallExecutor;
+    private final MarketPromptBuilder marketPromptBuilder;
+
+    // Aday-ilan uyum raporu talimatları; ayrı rapor çağrısı ve tek geçişli analiz aynı metni kullanır
+    private static final String RECRUITER_REPORT_INSTRUCTIONS = """
+SEN DÜNYA STANDARTLARINDA BİR KIDEMLİ TEKNİK RECRUITER VE STRATEJİK İŞ ANALİSTİSİN.
+Görevin, adayın profilini bir büyüteç altına alarak iş ilanıyla "Semantik (Anlamsal)" bir karşılaştırma yapmaktır.
+
+### ANALİZ TALİMATLARI:
+1. **Derin Karşılaştırma:** Sadece anahtar kelime eşleşmesine bakma. Adayın iş deneyimlerindeki sorumluluklarını, iş ilanındaki "Sorumluluklar" maddeleriyle eşleştir.
+2. **Kritiklik Seviyesi:** İlandaki teknolojileri "Kritik", "Destekleyici" ve "Yumuşak Beceriler" olarak sınıflandır ve analizi buna göre yap.
+3. **Dil ve Kültür:** Adayın dil seviyesinin (Örn: B2), ilandaki teknik dökümantasyon okuma veya toplantı yönetme ihtiyacını karşılayıp karşılamayacağını yorumla.
+4. **Çıkarım Yap:** Eğer aday "Spring Boot" biliyorsa, onun "Microservices" ve "Java" ekosistemine hakim olduğunu varsayarak yetkinlik skorunu buna göre işle.
+5) ÇIKARIM YAP (INFERENCE): Eğer aday "Veritabanı süreçlerini yönettim" diyorsa, doğrudan belirtmese bile 'SQL' bildiğini varsay ve bunu "Eşleşenler" kısmında "Tecrübeden çıkarılmıştır" notuyla belirt.
+6) GRUPLAMA YAP: "Microsoft Office", "Excel" ve "Powerpoint" gibi yetenekleri tek tek saymak yerine "Ofis Teknolojileri Uyumlu" şeklinde stratejik bir başlıkta birleştir.
+7) SKORLAMA: Adayın bu işi yapıp yapamayacağına dair 100 üzerinden bir 'Yeterlilik Skoru' belirle.
+
+---
+### ÇIKTI FORMATI:
+
+### 📊 Detaylı Teknik Uyumluluk Analizi
+- [Stratejik Yorum]: Adayın kariyer yolculuğu bu pozisyonun evrimiyle ne kadar örtüşüyor? (En az 5 cümlelik, teknik derinliği olan bir paragraf).
+- [ATS Puanı Tahmini]: 100 üzerinden bir uyum skoru ver ve nedenini açıkla.
+
+### ✅ Eşleşen Teknik Yetkinlikler ve Deneyim Transferi
+- (Adayın sahip olduğu bir yeteneğin, ilandaki tam olarak hangi problemi çözeceğini açıkla. Örn: "Adayın X projesindeki tecrübesi, ilandaki Y sisteminin kurulması için kritik önemde.")
+- (En az 6 detaylı madde)
+
+### ⚠️ Kritik Yetkinlik Boşlukları ve Operasyonel Riskler
+- (Sadece eksik listesi değil; bu eksiğin işe alım sonrası oryantasyon süresini nasıl etkileyeceğini belirt.)
+- (En az 6 detaylı madde)
+
+### 💡 Mülakat İçin Teknik Soru Önerileri
+- (Adayın profilinde belirsiz kalan veya ilanda çok kritik olan noktalar için adaya sorulması gereken 3 teknik soru hazırla.)
+
+### 🎯 Teknik Sonuç ve Başvuru Durumu
+- **DURUM:** [UYGUN / KISMEN UYGUN / RİSKLİ / UYGUN DEĞİL]
+- **GEREKÇE:** (Verilere dayalı, nihai profesyonel karar özeti.)
+---
+""";
+
+    // Tek geçişli analizde JSON bölümü ile rapor bölümünü ayıran satır
+    private static final String REPORT_SEPARATOR = "===RAPOR===";
+
+    // Paralel özet çağrılarının her biri için en uzun bekleme süresi
+    @Value("${ai.summary.deadline-seconds:90}")
+    private long summaryDeadlineSeconds;
+
+    // Deneyim/proje açıklamalarını tek LLM çağrısında toplu işleme
+    @Value("${ai.cv.batch-items:true}")
+    private boolean batchItemsEnabled;
+
+    @Value("${ai.cv.batch-size:10}")
+    private int batchSize;
+
+    // Toplu açıklama parçalarının hepsi için ortak en uzun bekleme süresi
+    @Value("${ai.cv.batch-deadline-seconds:60}")
+    private long batchDeadlineSeconds;
 
     /**
      * İŞ İLANI DETAYLI ANALİZİ - GÖRSELDEKİ TÜM EKSİK BİLGİLER İÇİN
@@ -98,41 +164,83 @@ public class AiClient {
         String userContext = formatUserProfile(user);
         String jobText = safe(rawJobText);
 
-        String prompt = """
-              SEN DÜNYA STANDARTLARINDA BİR KIDEMLİ TEKNİK RECRUITER VE STRATEJİK İŞ ANALİSTİSİN.
-Görevin, adayın profilini bir büyüteç altına alarak iş ilanıyla "Semantik (Anlamsal)" bir karşılaştırma yapmaktır. 
+        String prompt = RECRUITER_REPORT_INSTRUCTIONS + """
 
-### ANALİZ TALİMATLARI:
-1. **Derin Karşılaştırma:** Sadece anahtar kelime eşleşmesine bakma. Adayın iş deneyimlerindeki sorumluluklarını, iş ilanındaki "Sorumluluklar" maddeleriyle eşleştir. 
-2. **Kritiklik Seviyesi:** İlandaki teknolojileri "Kritik", "Destekleyici" ve "Yumuşak Beceriler" olarak sınıflandır ve analizi buna göre yap.
-3. **Dil ve Kültür:** Adayın dil seviyesinin (Örn: B2), ilandaki teknik dökümantasyon okuma veya toplantı yönetme ihtiyacını karşılayıp karşılamayacağını yorumla.
-4. **Çıkarım Yap:** Eğer aday "Spring Boot" biliyorsa, onun "Microservices" ve "Java" ekosistemine hakim olduğunu varsayarak yetkinlik skorunu buna göre işle.
-5) ÇIKARIM YAP (INFERENCE): Eğer aday "Veritabanı süreçlerini yönettim" diyorsa, doğrudan belirtmese bile 'SQL' bildiğini varsay ve bunu "Eşleşenler" kısmında "Tecrübeden çıkarılmıştır" notuyla belirt.
-6) GRUPLAMA YAP: "Microsoft Office", "Excel" ve "Powerpoint" gibi yetenekleri tek tek saymak yerine "Ofis Teknolojileri Uyumlu" şeklinde stratejik bir başlıkta birleştir.
-7) SKORLAMA: Adayın bu işi yapıp yapamayacağına dair 100 üzerinden bir 'Yeterlilik Skoru' belirle.
+[Aday Profili]
+%s
 
----
-### ÇIKTI FORMATI:
+[İş İlanı]
+%s
+                """.formatted(userContext, jobText);
 
-### 📊 Detaylı Teknik Uyumluluk Analizi
-- [Stratejik Yorum]: Adayın kariyer yolculuğu bu pozisyonun evrimiyle ne kadar örtüşüyor? (En az 5 cümlelik, teknik derinliği olan bir paragraf).
-- [ATS Puanı Tahmini]: 100 üzerinden bir uyum skoru ver ve nedenini açıkla.
+        try {
+            return translationService.generateContent(prompt);
+        } catch (Exception e) {
+            log.error("AI Analiz Hatası: ", e);
+            return "Analiz servisine şu anda ulaşılamıyor.";
+        }
+    }
 
-### ✅ Eşleşen Teknik Yetkinlikler ve Deneyim Transferi
-- (Adayın sahip olduğu bir yeteneğin, ilandaki tam olarak hangi problemi çözeceğini açıkla. Örn: "Adayın X projesindeki tecrübesi, ilandaki Y sisteminin kurulması için kritik önemde.")
-- (En az 6 detaylı madde)
+    /**
+     * Tek geçişli ilan analizi sonucu: ilan alanları (JSON) ve aday uyum raporu (Markdown).
+     * Yanıtın kullanılamayan bölümü null'dır; çağıran sadece o bölümü ayrıca isteyebilir.
+     */
+    public static class ComprehensiveJobAnalysis {
+        private final String json;
+        private final String report;
 
-### ⚠️ Kritik Yetkinlik Boşlukları ve Operasyonel Riskler
-- (Sadece eksik listesi değil; bu eksiğin işe alım sonrası oryantasyon süresini nasıl etkileyeceğini belirt.)
-- (En az 6 detaylı madde)
+        ComprehensiveJobAnalysis(String json, String report) {
+            this.json = json;
+            this.report = report;
+        }
 
-### 💡 Mülakat İçin Teknik Soru Önerileri
-- (Adayın profilinde belirsiz kalan veya ilanda çok kritik olan noktalar için adaya sorulması gereken 3 teknik soru hazırla.)
+        public String getJson() {
+            return json;
+        }
 
-### 🎯 Teknik Sonuç ve Başvuru Durumu
-- **DURUM:** [UYGUN / KISMEN UYGUN / RİSKLİ / UYGUN DEĞİL]
-- **GEREKÇE:** (Verilere dayalı, nihai profesyonel karar özeti.)
----
+        public String getReport() {
+            return report;
+        }
+    }
+
+    /**
+     * TEK GEÇİŞLİ İLAN ANALİZİ: analyzeJobPostingDetailed + analyzeJobSubmission + analyzeJobPostingUniversal
+     * çıktılarını tek çağrıda üretir; ilan metni prompt'a üç kez yerine bir kez girer.
+     * Çağrı başarısızsa null döner. Yanıt geldiyse bölümleri ayrı ayrı doğrulanır; ayıraç yoksa veya bir bölüm
+     * geçersizse o bölüm null olur (ayıraç yoksa yanıtın tamamı rapor sayılmaz, sadece JSON aranır).
+     */
+    public ComprehensiveJobAnalysis analyzeJobComprehensive(UserProfile user, String rawJobText) {
+        String userContext = formatUserProfile(user);
+        String jobText = safe(rawJobText);
+
+        String prompt = """
+                SEN KIDEMLİ BİR TEKNİK RECRUITER VE VERİ AYIKLAMA SİSTEMİSİN.
+                Aşağıdaki iş ilanı için TEK YANITTA iki bölüm üret.
+
+                BÖLÜM 1 - SADECE JSON (açıklama yok, kod bloğu yok). Metinde olmayan alanı boş bırak.
+                location (şehir/ilçe), workType (Hibrit, Uzaktan, Tam Zamanlı...) ve experienceLevel
+                (Stajyer, Junior, Senior, yıl aralığı...) bilgilerini metnin tamamında özellikle ara.
+                {
+                  "position": "İş başlığı",
+                  "company": "Şirket adı",
+                  "location": "Konum bilgisi (örn: İstanbul, Türkiye)",
+                  "workType": "Çalışma modeli",
+                  "experienceLevel": "Aranan tecrübe",
+                  "educationLevel": "Eğitim kriteri",
+                  "militaryStatus": "Askerlik durumu",
+                  "languages": ["..."],
+                  "salary": "...",
+                  "summary": "İşin 2 cümlelik özeti",
+                  "technicalSkills": ["skill1", "skill2"],
+                  "responsibilities": ["görev1", "görev2"]
+                }
+
+                JSON'dan sonra tek başına bir satıra şu ayıracı yaz: %s
+
+                BÖLÜM 2 - ADAY UYUM RAPORU (Markdown), aşağıdaki talimatlara göre:
+
+                """.formatted(REPORT_SEPARATOR)
+                + RECRUITER_REPORT_INSTRUCTIONS + """
 
 [Aday Profili]
 %s
@@ -142,10 +250,26 @@ Görevin, adayın profilini bir büyüteç altına alarak iş ilanıyla "Semanti
                 """.formatted(userContext, jobText);
 
         try {
-            return translationService.generateContent(prompt);
+            String response = translationService.generateContent(prompt);
+            if (response == null || response.isBlank()) return null;
+            int separator = response.indexOf(REPORT_SEPARATOR);
+            if (separator < 0) log.warn("Tek geçişli ilan analizinde rapor ayıracı bulunamadı");
+            String jsonPart = separator >= 0 ? response.substring(0, separator) : response;
+            String report = separator >= 0 ? response.substring(separator + REPORT_SEPARATOR.length()).trim() : "";
+            return new ComprehensiveJobAnalysis(validJsonObject(jsonPart), report.isEmpty() ? null : report);
         } catch (Exception e) {
-            log.error("AI Analiz Hatası: ", e);
-            return "Analiz servisine şu anda ulaşılamıyor.";
+            log.error("Tek geçişli ilan analizi hatası: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String validJsonObject(String text) {
+        try {
+            String json = extractJsonFromResponse(text.replaceAll("```json|```", ""));
+            return objectMapper.readTree(json).isObject() ? json : null;
+        } catch (Exception e) {
+            log.warn("Tek geçişli ilan analizinin JSON bölümü okunamadı: {}", e.getMessage());
+            return null;
         }
     }
 
@@ -220,26 +344,6 @@ Görevin, adayın profilini bir büyüteç altına alarak iş ilanıyla "Semanti
         }
     }
 
-    public String formatAllJobPostingsForAI(List<JobPosting> allJobs) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("TOPLAM İLAN SAYISI: ").append(allJobs == null ? 0 : allJobs.size()).append("\n\n");
-
-        if (allJobs == null) return sb.toString();
-
-        for (int i = 0; i < Math.min(allJobs.size(), 100); i++) {
-            JobPosting job = allJobs.get(i);
-            sb.append("--- İLAN ").append(i + 1).append(" ---\n");
-            sb.append("POZİSYON: ").append(safe(job.getPosition())).append("\n");
-            sb.append("GEREKLİ BECERİLER: ").append(safe(job.getRequiredSkills())).append("\n");
-            String cleaned = safe(job.getCleanedText());
-            sb.append("AÇIKLAMA: ")
-              .append(cleaned.substring(0, Math.min(500, cleaned.length())))
-              .append("...\n\n");
-        }
-
-        return sb.toString();
-    }
-
     private String formatUserProfileForMarketAnalysis(UserProfile user) {
         if (user == null) return "Profil bilgisi bulunamadı.";
 
@@ -455,32 +559,49 @@ Görevin, adayın profilini bir büyüteç altına alarak iş ilanıyla "Semanti
             "Kariyer gelişimi ve öğrenme isteğini öne çıkar - En az 10 cümle yaz"
         };
 
-        for (int i = 0; i < 5; i++) {
-            try {
-                String specificPrompt = prompt + "\n\nÖZEL TALİMAT: " + perspectives[i];
-                String aiResponse = translationService.generateContent(specificPrompt);
-                
-                if (aiResponse != null && !aiResponse.isBlank()) {
-                    String cleaned = cleanAIText(aiResponse);
-                    // İlk 2 özet için 15 cümle, diğerleri için 10-12 cümle
-                    if (i < 2) {
-                        cleaned = ensureSentenceCount(cleaned, 15, 20);
-                    } else {
-                        cleaned = ensureSentenceCount(cleaned, 10, 12);
-                    }
-                    if (!cleaned.isEmpty() && cleaned.length() > 100) {
-                        aiSummaries.add(cleaned);
-                    }
+        // 5 perspektif aynı anda gönderilir (non-blocking); toplam süre ≈ en yavaş tek çağrı.
+        // Sağlayıcı çağrıları ayrı tutulur ki süresi dolanın HTTP isteği iptal edilebilsin
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < perspectives.length; i++) {
+            final int slot = i;
+            final String specificPrompt = prompt + "\n\nÖZEL TALİMAT: " + perspectives[i];
+            CompletableFuture<String> call = translationService.generateContentAsync(specificPrompt);
+            calls.add(call);
+            futures.add(call.thenApplyAsync(aiResponse -> {
+                if (aiResponse == null || aiResponse.isBlank()) return null;
+                String cleaned = AiTextPostProcessor.cleanAIText(aiResponse);
+                // İlk 2 özet için 15 cümle, diğerleri için 10-12 cümle
+                if (slot < 2) {
+                    cleaned = AiTextPostProcessor.ensureSentenceCount(cleaned, 15, 20);
+                } else {
+                    cleaned = AiTextPostProcessor.ensureSentenceCount(cleaned, 10, 12);
                 }
-            } catch (Exception e) {
-                log.warn("AI özet {} oluşturulamadı: {}", i + 1, e.getMessage());
-            }
+                return (!cleaned.isEmpty() && cleaned.length() > 100) ? cleaned : null;
+            }, aiCallExecutor));
         }
 
-        // Eğer yeterli özet oluşturulamadıysa, fallback ekle
-        while (aiSummaries.size() < 5) {
-            String fallback = generateDetailedFallbackSummary(title, years, skills, aiSummaries.size());
-            aiSummaries.add(fallback);
+        // Tüm çağrılar ortak bir son tarihe (deadline) kadar beklenir;
+        // süresi dolan veya başarısız olan slotlar fallback ile doldurulur
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(summaryDeadlineSeconds);
+        for (int i = 0; i < futures.size(); i++) {
+            CompletableFuture<String> future = futures.get(i);
+            String result = null;
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                result = future.get(remaining, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // Aynı prompt'u bekleyen başka çağıran yoksa uçuştaki HTTP isteği de iptal edilir
+                calls.get(i).cancel(true);
+                log.warn("AI özet {} süre aşımına uğradı ({} sn), istek iptal edildi, fallback kullanılıyor", i + 1, summaryDeadlineSeconds);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                calls.get(i).cancel(true);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.warn("AI özet {} oluşturulamadı: {}", i + 1, cause.getMessage());
+            }
+            aiSummaries.add(result != null ? result : generateDetailedFallbackSummary(title, years, skills, i));
         }
 
         return aiSummaries.subList(0, Math.min(5, aiSummaries.size()));
@@ -603,110 +724,6 @@ Görevin, adayın profilini bir büyüteç altına alarak iş ilanıyla "Semanti
         return variations[index % variations.length];
     }
 
-    /**
-     * AI metninden kalıntıları temizle (ATS uyumlu, doğal metin)
-     */
-    private String cleanAIText(String text) {
-        if (text == null || text.isBlank()) return "";
-        
-        // "Aşağıdaki metin, anlamını bozmadan..." gibi ön ek metinlerini temizle
-        text = removeAIPrefixText(text);
-        
-        // AI kalıntılarını temizle (daha kapsamlı)
-        text = text.replaceAll("(?i)\\b(ai|yapay zeka|artificial intelligence|oluşturuldu|üretildi|generated|created by|created with|automatically generated)\\b", "");
-        text = text.replaceAll("(?i)\\b(bu metin|bu özet|bu cv|bu özgeçmiş|this text|this summary|this cv|this resume)\\b", "");
-        text = text.replaceAll("(?i)\\b(lütfen|please|not:|note:|important:|dikkat:|attention:)\\b", "");
-        text = text.replaceAll("(?i)\\b(as an ai|as a language model|i am an ai|ben bir ai|yapay zeka olarak)\\b", "");
-        text = text.replaceAll("(?i)\\b(here is|işte|aşağıda|below is|following is)\\b", "");
-        
-        // Markdown formatlarını temizle
-        text = text.replaceAll("```[\\w]*", "");
-        text = text.replaceAll("\\*\\*", "");
-        text = text.replaceAll("##+", "");
-        text = text.replaceAll("^#+\\s*", "");
-        text = text.replaceAll("\\*", "");
-        text = text.replaceAll("_", "");
-        text = text.replaceAll("`", "");
-        
-        // HTML etiketlerini temizle
-        text = text.replaceAll("<[^>]+>", "");
-        
-        // Özel karakterleri temizle (bazıları)
-        text = text.replaceAll("→", "");
-        text = text.replaceAll("•", "");
-        text = text.replaceAll("✓", "");
-        
-        // Fazla boşlukları ve satır sonlarını temizle
-        text = text.replaceAll("\\s+", " ");
-        text = text.replaceAll("\\n+", " ");
-        text = text.replaceAll("\\r+", "");
-        
-        // Başta ve sonda gereksiz karakterleri temizle
-        text = text.replaceAll("^[\"'\\(\\)\\[\\]\\{\\}\\s]+", "");
-        text = text.replaceAll("[\"'\\(\\)\\[\\]\\{\\}\\s]+$", "");
-        
-        // Cümle başlarında gereksiz kelimeleri temizle
-        text = text.replaceAll("^\\s*(özet|summary|cv|özgeçmiş|resume):\\s*", "");
-        
-        return text.trim();
-    }
-
-    /**
-     * Cümle sayısını kontrol et ve gerekirse ayarla
-     */
-    private String ensureSentenceCount(String text, int min, int max) {
-        if (text == null || text.isEmpty()) return text;
-        
-        String[] sentences = text.split("[.!?]+");
-        int count = sentences.length;
-        
-        if (count < min) {
-            // Eksik cümleler ekle (çeşitli cümlelerle)
-            StringBuilder sb = new StringBuilder(text.trim());
-            if (!sb.toString().endsWith(".") && !sb.toString().endsWith("!") && !sb.toString().endsWith("?")) {
-                sb.append(".");
-            }
-            
-            String[] additionalSentences = {
-                " Bu alanda sürekli kendimi geliştirmeye devam ediyorum.",
-                " Teknik yetkinliğimi artırmak için sürekli öğreniyorum.",
-                " Projelerde başarılı sonuçlar elde etmek için çalışıyorum.",
-                " Takım çalışması ve iletişim becerilerimi geliştiriyorum.",
-                " Yeni teknolojilere adapte olma konusunda hızlıyım.",
-                " Problem çözme ve analitik düşünme yeteneklerimi kullanıyorum.",
-                " Detaylara dikkat eden ve sonuç odaklı çalışan bir profesyonelim.",
-                " Organizasyonlara değer katmayı hedefliyorum.",
-                " Kariyerimde ilerlemek için sürekli çalışıyorum.",
-                " Teknik bilgimi pratik projelerde uyguluyorum."
-            };
-            
-            for (int i = count; i < min && i - count < additionalSentences.length; i++) {
-                sb.append(additionalSentences[(i - count) % additionalSentences.length]);
-            }
-            
-            // Eğer hala eksikse, genel cümleler ekle
-            while (sb.toString().split("[.!?]+").length < min) {
-                sb.append(" Bu konuda deneyimli ve yetkin bir profesyonelim.");
-            }
-            
-            return sb.toString();
-        } else if (count > max) {
-            // Fazla cümleleri kısalt
-            StringBuilder sb = new StringBuilder();
-            for (int i = 0; i < max; i++) {
-                if (i > 0) sb.append(" ");
-                String sentence = sentences[i].trim();
-                sb.append(sentence);
-                if (!sentence.endsWith(".") && !sentence.endsWith("!") && !sentence.endsWith("?")) {
-                    sb.append(".");
-                }
-            }
-            return sb.toString();
-        }
-        
-        return text;
-    }
-
     /**
      * Kullanıcı profilini özet için formatla
      */
@@ -774,14 +791,18 @@ Görevin, adayın profilini bir büyüteç altına alarak iş ilanıyla "Semanti
         String jobSkills = (job != null) ? safe(job.getRequiredSkills()) : "";
         String jobContext = (job != null) ? buildJobContextForOptimization(job) : "";
 
+        if (batchItemsEnabled && profile.getExperiences().size() > 1) {
+            return optimizeExperiencesBatched(profile.getExperiences(), jobSkills);
+        }
+
         return profile.getExperiences().stream().map(exp -> {
             String originalDesc = safe(exp.getDescription());
             String desc = originalDesc;
             // Veri formatı sorunlarını temizle
-            desc = cleanDescription(desc);
+            desc = AiTextPostProcessor.cleanDescription(desc);
             
             // Orijinal açıklamadan teknik terimleri çıkar
-            String extractedTechs = extractTechnicalTerms(originalDesc);
+            String extractedTechs = AiTextPostProcessor.extractTechnicalTerms(originalDesc);
             
             // Eğer açıklama yoksa veya çok kısaysa AI ile oluştur
             if (desc.isEmpty() || desc.length() < 20 || desc.equals("{") || desc.startsWith("{")) {
@@ -792,15 +813,15 @@ Görevin, adayın profilini bir büyüteç altına alarak iş ilanıyla "Semanti
                     desc = fixGrammarStrict(desc);
                     // Eğer teknik terimler kaybolduysa ekle
                     if (!extractedTechs.isEmpty() && !desc.toLowerCase().contains(extractedTechs.toLowerCase())) {
-                        desc = ensureTechnicalTermsInDescription(desc, extractedTechs);
+                        desc = AiTextPostProcessor.ensureTechnicalTermsInDescription(desc, extractedTechs);
                     }
                 }
             }
 
             // Tam olarak 2 cümle olmalı (mantıklı ve deneyimi yansıtan)
-            desc = ensureExactlyTwoSentences(desc);
+            desc = AiTextPostProcessor.ensureExactlyTwoSentences(desc);
 
-            String matched = findIntersection(desc, jobSkills);
+            String matched = AiTextPostProcessor.findIntersection(desc, jobSkills);
             if (!matched.isEmpty() && !desc.contains(matched)) {
                 desc += " Bu görevde " + matched + " yetkinliklerini aktif olarak kullandım.";
             }
@@ -818,15 +839,19 @@ Görevin, adayın profilini bir büyüteç altına alarak iş ilanıyla "Semanti
         if (profile == null || profile.getProjects() == null) return Collections.emptyList();
         String jobSkills = (job != null) ? safe(job.getRequiredSkills()) : "";
         String jobContext = (job != null) ? buildJobContextForOptimization(job) : "";
+
+        if (batchItemsEnabled && profile.getProjects().size() > 1) {
+            return optimizeProjectsBatched(profile.getProjects(), jobSkills);
+        }
         
         return profile.getProjects().stream().map(p -> {
             String originalDesc = safe(p.getDescription());
             String desc = originalDesc;
             // Veri formatı sorunlarını temizle
-            desc = cleanDescription(desc);
+            desc = AiTextPostProcessor.cleanDescription(desc);
             
             // Orijinal açıklamadan teknik terimleri çıkar
-            String extractedTechs = extractTechnicalTerms(originalDesc);
+            String extractedTechs = AiTextPostProcessor.extractTechnicalTerms(originalDesc);
             
             // Eğer açıklama yoksa veya çok kısaysa AI ile oluştur
             if (desc.isEmpty() || desc.length() < 20 || desc.equals("{") || desc.startsWith("{")) {
@@ -835,12 +860,12 @@ Görevin, adayın profilini bir büyüteç altına alarak iş ilanıyla "Semanti
                 desc = fixGrammarStrict(desc);
                 // Eğer teknik terimler kaybolduysa ekle
                 if (!extractedTechs.isEmpty() && !desc.toLowerCase().contains(extractedTechs.toLowerCase())) {
-                    desc = ensureTechnicalTermsInDescription(desc, extractedTechs);
+                    desc = AiTextPostProcessor.ensureTechnicalTermsInDescription(desc, extractedTechs);
                 }
             }
             
             // Tam olarak 2 cümle olmalı (mantıklı ve projeyi yansıtan)
-            desc = ensureExactlyTwoSentences(desc);
+            desc = AiTextPostProcessor.ensureExactlyTwoSentences(desc);
             
             return new OptimizedCvItem(
                     safe(p.getProjectName()), "Proje",
@@ -850,6 +875,244 @@ Görevin, adayın profilini bir büyüteç altına alarak iş ilanıyla "Semanti
         }).collect(Collectors.toList());
     }
 
+    // =========================================================
+    // TOPLU (BATCH) AÇIKLAMA ÜRETİMİ
+    // =========================================================
+
+    /**
+     * Toplu isteğe giren tek kayıt.
+     * generate=true: açıklama yok/çok kısa, context'e göre yeni açıklama yazılır.
+     * generate=false: mevcut açıklama (text) dil bilgisi açısından düzeltilir.
+     */
+    private static class BatchItem {
+        final String id;
+        final boolean generate;
+        final String text;
+        final String techs;
+
+        BatchItem(String id, boolean generate, String text, String techs) {
+            this.id = id;
+            this.generate = generate;
+            this.text = text;
+            this.techs = techs;
+        }
+    }
+
+    private boolean needsGeneratedDescription(String desc) {
+        return desc.isEmpty() || desc.length() < 20 || desc.equals("{") || desc.startsWith("{");
+    }
+
+    /**
+     * Tüm deneyimleri tek (veya birkaç) LLM çağrısıyla işler; yanıtta eksik kalan kayıt
+     * tekil moddaki fallback ile tamamlanır.
+     */
+    private List<OptimizedCvItem> optimizeExperiencesBatched(List<com.cvbuilder.entity.UserExperience> experiences, String jobSkills) {
+        List<BatchItem> items = new ArrayList<>();
+        for (int i = 0; i < experiences.size(); i++) {
+            com.cvbuilder.entity.UserExperience exp = experiences.get(i);
+            String originalDesc = safe(exp.getDescription());
+            String desc = AiTextPostProcessor.cleanDescription(originalDesc);
+            String extractedTechs = AiTextPostProcessor.extractTechnicalTerms(originalDesc);
+            boolean generate = needsGeneratedDescription(desc);
+            String techs = !extractedTechs.isEmpty() ? extractedTechs : safe(exp.getTechnologies());
+            items.add(new BatchItem("exp-" + i, generate, generate ? buildExperienceContext(exp) : desc, techs));
+        }
+
+        Map<String, String> rewritten = rewriteDescriptionsInBatch("iş deneyimi", items, jobSkills);
+
+        List<OptimizedCvItem> result = new ArrayList<>();
+        for (int i = 0; i < experiences.size(); i++) {
+            com.cvbuilder.entity.UserExperience exp = experiences.get(i);
+            BatchItem item = items.get(i);
+            String desc;
+            if (item.generate) {
+                desc = acceptGeneratedDescription(rewritten.get(item.id));
+                if (desc == null) {
+                    desc = buildDetailedExperienceFallback(safe(exp.getPosition()), safe(exp.getCompany()), item.techs, jobSkills);
+                }
+            } else {
+                desc = acceptPolishedDescription(rewritten.get(item.id), item.text, AiTextPostProcessor.extractTechnicalTerms(safe(exp.getDescription())));
+            }
+
+            desc = AiTextPostProcessor.ensureExactlyTwoSentences(desc);
+            String matched = AiTextPostProcessor.findIntersection(desc, jobSkills);
+            if (!matched.isEmpty() && !desc.contains(matched)) {
+                desc += " Bu görevde " + matched + " yetkinliklerini aktif olarak kullandım.";
+            }
+
+            result.add(new OptimizedCvItem(
+                    safe(exp.getPosition()),
+                    safe(exp.getCompany()),
+                    formatDateRange(exp.getStartDate(), exp.getEndDate()),
+                    Collections.singletonList(desc)
+            ));
+        }
+        return result;
+    }
+
+    private List<OptimizedCvItem> optimizeProjectsBatched(List<com.cvbuilder.entity.UserProject> projects, String jobSkills) {
+        List<BatchItem> items = new ArrayList<>();
+        for (int i = 0; i < projects.size(); i++) {
+            com.cvbuilder.entity.UserProject p = projects.get(i);
+            String originalDesc = safe(p.getDescription());
+            String desc = AiTextPostProcessor.cleanDescription(originalDesc);
+            String extractedTechs = AiTextPostProcessor.extractTechnicalTerms(originalDesc);
+            boolean generate = needsGeneratedDescription(desc);
+            String techs = !extractedTechs.isEmpty() ? extractedTechs : safe(p.getTechnologies());
+            items.add(new BatchItem("proj-" + i, generate, generate ? buildProjectContext(p) : desc, techs));
+        }
+
+        Map<String, String> rewritten = rewriteDescriptionsInBatch("proje", items, jobSkills);
+
+        List<OptimizedCvItem> result = new ArrayList<>();
+        for (int i = 0; i < projects.size(); i++) {
+            com.cvbuilder.entity.UserProject p = projects.get(i);
+            BatchItem item = items.get(i);
+            String desc;
+            if (item.generate) {
+                desc = acceptGeneratedDescription(rewritten.get(item.id));
+                if (desc == null) {
+                    desc = buildDetailedProjectFallback(safe(p.getProjectName()), item.techs, jobSkills);
+                }
+            } else {
+                desc = acceptPolishedDescription(rewritten.get(item.id), item.text, AiTextPostProcessor.extractTechnicalTerms(safe(p.getDescription())));
+            }
+
+            result.add(new OptimizedCvItem(
+                    safe(p.getProjectName()), "Proje",
+                    formatDateRange(p.getStartDate(), (p.getIsOngoing() != null && p.getIsOngoing()) ? null : p.getEndDate()),
+                    Collections.singletonList(AiTextPostProcessor.ensureExactlyTwoSentences(desc))
+            ));
+        }
+        return result;
+    }
+
+    /**
+     * Üretilen açıklama tekil moddaki kabul kuralına uyuyorsa döner, uymuyorsa null (fallback kullanılır).
+     */
+    private String acceptGeneratedDescription(String aiText) {
+        if (aiText == null || aiText.isBlank()) return null;
+        String cleaned = AiTextPostProcessor.cleanAIText(aiText);
+        return (!cleaned.isEmpty() && cleaned.length() > 30) ? AiTextPostProcessor.ensureExactlyTwoSentences(cleaned) : null;
+    }
+
+    /**
+     * Düzeltilmiş metin yoksa orijinal metin korunur (fixGrammarStrict ile aynı davranış).
+     */
+    private String acceptPolishedDescription(String aiText, String original, String extractedTechs) {
+        String desc = (aiText == null || aiText.isBlank()) ? original : AiTextPostProcessor.removeAIPrefixText(aiText.trim());
+        if (!extractedTechs.isEmpty() && !desc.toLowerCase().contains(extractedTechs.toLowerCase())) {
+            desc = AiTextPostProcessor.ensureTechnicalTermsInDescription(desc, extractedTechs);
+        }
+        return desc;
+    }
+
+    /**
+     * Kayıtları JSON şemalı tek prompt ile gönderir, {id -> açıklama} döner.
+     * Kayıt sayısı ai.cv.batch-size'ı aşarsa parçalara bölünür ve parçalar paralel gönderilir.
+     * Hata, süre aşımı veya bozuk JSON durumunda ilgili parçanın kayıtları haritada yer almaz.
+     * Parçalar ai.cv.batch-deadline-seconds ile belirlenen tek bir ortak son tarihe kadar beklenir.
+     */
+    private Map<String, String> rewriteDescriptionsInBatch(String itemLabel, List<BatchItem> items, String jobSkills) {
+        Map<String, String> result = new HashMap<>();
+        if (items.isEmpty()) return result;
+
+        int chunkSize = Math.max(1, batchSize);
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            List<BatchItem> chunk = items.subList(from, Math.min(items.size(), from + chunkSize));
+            calls.add(translationService.generateContentAsync(buildBatchPrompt(itemLabel, chunk, jobSkills)));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(batchDeadlineSeconds);
+        for (int i = 0; i < calls.size(); i++) {
+            CompletableFuture<String> call = calls.get(i);
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                result.putAll(parseBatchResponse(call.get(remaining, TimeUnit.NANOSECONDS)));
+            } catch (TimeoutException e) {
+                call.cancel(true);
+                log.warn("Toplu {} açıklama isteği süre aşımına uğradı ({} sn), tekil fallback kullanılacak", itemLabel, batchDeadlineSeconds);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                calls.subList(i, calls.size()).forEach(pending -> pending.cancel(true));
+                break;
+            } catch (Exception e) {
+                log.warn("Toplu {} açıklama isteği başarısız, tekil fallback kullanılacak: {}", itemLabel, e.getMessage());
+            }
+        }
+        log.info("Toplu {} açıklaması: {} kayıt, {} yanıt alındı", itemLabel, items.size(), result.size());
+        return result;
+    }
+
+    private String buildBatchPrompt(String itemLabel, List<BatchItem> items, String jobSkills) {
+        List<Map<String, Object>> input = new ArrayList<>();
+        for (BatchItem item : items) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", item.id);
+            row.put("mode", item.generate ? "generate" : "polish");
+            row.put(item.generate ? "context" : "text", item.text);
+            if (!item.techs.isEmpty()) row.put("techs", item.techs);
+            input.add(row);
+        }
+
+        String inputJson;
+        try {
+            inputJson = objectMapper.writeValueAsString(input);
+        } catch (Exception e) {
+            throw new RuntimeException("JSON Hatası: " + e.getMessage(), e);
+        }
+
+        return String.format("""
+            SEN PROFESYONEL BİR CV YAZARISIN. Aşağıdaki JSON listesindeki her %s kaydı için CV açıklaması hazırla.
+
+            KURALLAR:
+            1. Her kayıt için SADECE 2 CÜMLE yaz - ne eksik ne fazla.
+            2. Birinci şahıs kullan (yaptım, geliştirdim, çalıştım, uyguladım, yönettim).
+            3. mode = "generate" ise "context" bilgisine göre yeni açıklama yaz: ilk cümlede görev ve sorumluluklar,
+               ikinci cümlede kullanılan teknolojiler ve başarılar.
+            4. mode = "polish" ise "text" alanındaki metni anlamını bozmadan imla kurallarına uygun, akıcı ve profesyonel hale getir.
+            5. "techs" alanı varsa bu teknik terimleri cümle içinde doğal şekilde kullan, liste halinde yazma.
+            6. Her kayıt için FARKLI cümle yapıları kullan - aynı kalıpları tekrarlama.
+            7. Açıklamalarda markdown, liste veya başlık kullanma.
+
+            İSTENEN BECERİLER:
+            %s
+
+            GİRDİ:
+            %s
+
+            ÇIKTI: SADECE aşağıdaki şemada geçerli bir JSON dizi döndür, başka hiçbir şey yazma.
+            Her girdi id'si için tam olarak bir eleman olmalı:
+            [{"id": "<girdideki id>", "description": "<2 cümlelik açıklama>"}]
+            """, itemLabel, jobSkills.isEmpty() ? "Belirtilmemiş" : jobSkills, inputJson);
+    }
+
+    private Map<String, String> parseBatchResponse(String response) {
+        Map<String, String> result = new HashMap<>();
+        if (response == null) return result;
+        int start = response.indexOf('[');
+        int end = response.lastIndexOf(']');
+        if (start < 0 || end <= start) {
+            log.warn("Toplu açıklama yanıtında JSON dizi bulunamadı");
+            return result;
+        }
+        try {
+            List<Map<String, Object>> rows = objectMapper.readValue(response.substring(start, end + 1),
+                    new TypeReference<List<Map<String, Object>>>() {});
+            for (Map<String, Object> row : rows) {
+                Object id = row.get("id");
+                Object description = row.get("description");
+                if (id != null && description instanceof String text && !text.isBlank()) {
+                    result.put(id.toString(), text);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Toplu açıklama yanıtı ayrıştırılamadı: {}", e.getMessage());
+        }
+        return result;
+    }
+
     public List<UserEducationDTO> optimizeEducation(UserProfile profile, JobPosting job) {
         if (profile == null || profile.getEducations() == null) return Collections.emptyList();
         return profile.getEducations().stream().map(e -> {
@@ -858,9 +1121,9 @@ Görevin, adayın profilini bir büyüteç altına alarak iş ilanıyla "Semanti
             String degree = safe(e.getDegree());
             
             // Önce süslü parantezleri ve bozuk verileri temizle
-            schoolName = cleanDescription(schoolName);
-            department = cleanDescription(department);
-            degree = cleanDescription(degree);
+            schoolName = AiTextPostProcessor.cleanDescription(schoolName);
+            department = AiTextPostProcessor.cleanDescription(department);
+            degree = AiTextPostProcessor.cleanDescription(degree);
             
             // Sonra grammar düzeltmesi yap
             if (!schoolName.isEmpty()) schoolName = fixGrammarStrict(schoolName);
@@ -915,25 +1178,26 @@ Görevin, adayın profilini bir büyüteç altına alarak iş ilanıyla "Semanti
     }
 
     public String analyzeMarketWithAI(String area, List<JobPosting> allJobs, UserProfile userProfile) {
-        String allJobsFormatted = formatAllJobPostingsForAI(allJobs);
+        // İlan metinleri yerine token bütçesine sığan istatistikler + kısa örnekler
+        String jobCorpus = marketPromptBuilder.build(area, allJobs);
         String userContext = formatUserProfileForMarketAnalysis(userProfile);
 
         String prompt = """
             SEN ÜST DÜZEY BİR TEKNOLOJİ PAZAR ANALİSTİSİN.
-            Aşağıda veritabanındaki tüm iş ilanları ve bir adayın profili var.
+            Aşağıda '%s' alanındaki iş ilanlarından derlenmiş istatistikler, örnek ilanlar ve bir adayın profili var.
 
             GÖREVİN:
-            1. '%s' alanıyla ilgili TÜM iş ilanlarını BUL (sadece başlık değil, içerikteki becerilere göre)
-            2. Bu ilanlardaki BECERİ TRENDLERİNİ analiz et
+            1. İstatistiklerdeki BECERİ TRENDLERİNİ, kıdem ve çalışma şekli dağılımını analiz et
+            2. Oranları ilan sayılarına dayandır (örn: "120 ilanın 85'inde Python")
             3. Adayın mevcut becerileriyle KARŞILAŞTIR
             4. Kişiselleştirilmiş GELİŞİM YOL HARİTASI oluştur
 
-            [TÜM İLAN VERİLERİ]
+            [İLAN İSTATİSTİKLERİ VE ÖRNEK İLANLAR]
             %s
 
             [ADAY PROFİLİ]
             %s
-            """.formatted(area, allJobsFormatted, userContext);
+            """.formatted(area, jobCorpus, userContext);
 
         try {
             return translationService.generateContent(prompt);
@@ -974,14 +1238,8 @@ Görevin, adayın profilini bir büyüteç altına alarak iş ilanıyla "Semanti
 
         Map<String, Integer> skillFrequency = new HashMap<>();
         for (JobPosting job : jobs) {
-            if (job.getRequiredSkills() != null) {
-                String[] skills = job.getRequiredSkills().split("[,;]");
-                for (String skill : skills) {
-                    String trimmed = skill.trim();
-                    if (!trimmed.isEmpty()) {
-                        skillFrequency.put(trimmed, skillFrequency.getOrDefault(trimmed, 0) + 1);
-                    }
-                }
+            for (String skill : SkillListParser.distinct(job.getRequiredSkills())) {
+                skillFrequency.merge(skill, 1, Integer::sum);
             }
         }
 
@@ -1186,7 +1444,7 @@ Görevin, adayın profilini bir büyüteç altına alarak iş ilanıyla "Semanti
             if (res != null) {
                 res = res.trim();
                 // AI'nın eklediği açıklama metinlerini temizle
-                res = removeAIPrefixText(res);
+                res = AiTextPostProcessor.removeAIPrefixText(res);
                 return res;
             }
             return text;
@@ -1195,44 +1453,6 @@ Görevin, adayın profilini bir büyüteç altına alarak iş ilanıyla "Semanti
         }
     }
     
-    /**
-     * AI yanıtından "Aşağıdaki metin, anlamını bozmadan..." gibi ön ek metinlerini temizle
-     */
-    private String removeAIPrefixText(String text) {
-        if (text == null || text.isBlank()) return text;
-        
-        // "Aşağıdaki metin" ile başlayan açıklama metinlerini temizle
-        text = text.replaceAll("(?i)^.*?aşağıdaki metin[^:]*:\\s*", "");
-        text = text.replaceAll("(?i)^.*?aşağıdaki metni[^:]*:\\s*", "");
-        text = text.replaceAll("(?i)^.*?anlamını bozmadan[^:]*:\\s*", "");
-        text = text.replaceAll("(?i)^.*?profesyonel bir dille[^:]*:\\s*", "");
-        text = text.replaceAll("(?i)^.*?düzeltildi[^:]*:\\s*", "");
-        text = text.replaceAll("(?i)^.*?düzeltilmiştir[^:]*:\\s*", "");
-        
-        // İki nokta üst üste sonrasındaki metni al (eğer varsa)
-        int colonIndex = text.indexOf(':');
-        if (colonIndex > 0 && colonIndex < text.length() / 2) {
-            // Eğer iki nokta üst üste metnin ilk yarısındaysa, muhtemelen açıklama var
-            String beforeColon = text.substring(0, colonIndex).toLowerCase();
-            if (beforeColon.contains("metin") || beforeColon.contains("düzelt") || beforeColon.contains("profesyonel")) {
-                text = text.substring(colonIndex + 1).trim();
-            }
-        }
-        
-        return text.trim();
-    }
-
-    private String findIntersection(String text, String skills) {
-        if (text == null || skills == null || skills.isBlank()) return "";
-        Set<String> match = new HashSet<>();
-        String tLower = text.toLowerCase(new Locale("tr", "TR"));
-        for (String s : skills.split("[,;]")) {
-            String sTrim = s.trim().toLowerCase(new Locale("tr", "TR"));
-            if (!sTrim.isEmpty() && tLower.contains(sTrim)) match.add(s.trim());
-        }
-        return String.join(", ", match);
-    }
-
     private String toTitleCase(String input) {
         if (input == null || input.isEmpty()) return "";
         return Arrays.stream(input.trim().split("\\s+"))
@@ -1245,142 +1465,40 @@ Görevin, adayın profilini bir büyüteç altına alarak iş ilanıyla "Semanti
     }
 
     /**
-     * Orijinal açıklamadan teknik terimleri çıkar (Java, Python, backend, frontend, API vb.)
-     */
-    private String extractTechnicalTerms(String text) {
-        if (text == null || text.isBlank()) return "";
-        
-        // Yaygın teknik terimler ve teknolojiler
-        Set<String> techTerms = new HashSet<>();
-        String lowerText = text.toLowerCase();
-        String originalText = text;
-        
-        // Teknoloji isimleri listesi
-        String[] commonTechs = {
-            "java", "python", "javascript", "typescript", "react", "angular", "vue", "node.js", "nodejs",
-            "spring", "spring boot", "django", "flask", "express", "laravel", "php", "c#", "c++", "c",
-            "sql", "mysql", "postgresql", "mongodb", "redis", "oracle", "sqlite",
-            "html", "css", "sass", "less", "bootstrap", "tailwind",
-            "docker", "kubernetes", "aws", "azure", "gcp", "jenkins", "git", "github", "gitlab",
-            "rest", "restful", "api", "graphql", "soap", "microservice", "microservices",
-            "backend", "frontend", "fullstack", "full-stack", "full stack",
-            "android", "ios", "swift", "kotlin", "flutter", "react native",
-            "machine learning", "ml", "ai", "deep learning", "tensorflow", "pytorch",
-            "agile", "scrum", "devops", "ci/cd", "cicd"
-        };
-        
-        // Teknoloji isimlerini bul
-        for (String tech : commonTechs) {
-            String techLower = tech.toLowerCase();
-            if (lowerText.contains(techLower)) {
-                // Orijinal metinde nasıl yazılmışsa öyle al
-                int index = lowerText.indexOf(techLower);
-                if (index >= 0) {
-                    // Kelime sınırlarını kontrol et
-                    boolean validStart = (index == 0 || !Character.isLetterOrDigit(originalText.charAt(index - 1)));
-                    int endIndex = Math.min(index + tech.length(), originalText.length());
-                    boolean validEnd = (endIndex == originalText.length() || !Character.isLetterOrDigit(originalText.charAt(endIndex)));
-                    
-                    if (validStart && validEnd) {
-                        String original = originalText.substring(index, endIndex);
-                        techTerms.add(original);
-                    }
-                }
-            }
-        }
-        
-        // "ile", "kullanarak" gibi ifadelerden sonra gelen terimleri bul
-        java.util.regex.Pattern pattern = java.util.regex.Pattern.compile(
-            "\\b([a-zA-Z]+(?:\\s+[a-zA-Z]+)?)\\s+(ile|kullanarak|ile\\s+backend|ile\\s+frontend)",
-            java.util.regex.Pattern.CASE_INSENSITIVE
-        );
-        java.util.regex.Matcher matcher = pattern.matcher(text);
-        while (matcher.find()) {
-            String term = matcher.group(1).trim();
-            // Teknoloji listesinde var mı kontrol et
-            String termLower = term.toLowerCase();
-            for (String tech : commonTechs) {
-                if (termLower.equals(tech.toLowerCase()) || termLower.contains(tech.toLowerCase())) {
-                    techTerms.add(term);
-                    break;
-                }
-            }
-        }
-        
-        // "backend", "frontend" gibi tek başına geçen terimleri de bul
-        if (lowerText.contains("backend") || lowerText.contains("frontend")) {
-            if (lowerText.contains("backend")) techTerms.add("backend");
-            if (lowerText.contains("frontend")) techTerms.add("frontend");
-        }
-        
-        return String.join(", ", techTerms);
-    }
-    
-    /**
-     * Cümlede teknik terimlerin geçtiğinden emin ol, yoksa ekle
+     * Deneyim için prompt bağlamı (pozisyon, şirket, konum, teknolojiler, tarih)
      */
-    private String ensureTechnicalTermsInDescription(String desc, String techTerms) {
-        if (techTerms == null || techTerms.isBlank() || desc == null || desc.isBlank()) {
-            return desc;
-        }
-        
-        String lowerDesc = desc.toLowerCase();
-        String[] terms = techTerms.split("[,;]");
-        List<String> missingTerms = new ArrayList<>();
-        
-        for (String term : terms) {
-            String trimmed = term.trim();
-            if (!trimmed.isEmpty() && !lowerDesc.contains(trimmed.toLowerCase())) {
-                missingTerms.add(trimmed);
-            }
-        }
-        
-        if (!missingTerms.isEmpty()) {
-            // Eksik teknik terimleri doğal bir şekilde cümleye ekle
-            String termsToAdd = String.join(", ", missingTerms.subList(0, Math.min(3, missingTerms.size())));
-            
-            // Cümle sonuna ekle veya ikinci cümleye ekle
-            if (desc.contains(".")) {
-                String[] sentences = desc.split("\\.", 2);
-                if (sentences.length >= 2) {
-                    // İkinci cümleye ekle
-                    String secondSentence = sentences[1].trim();
-                    if (!secondSentence.isEmpty()) {
-                        desc = sentences[0].trim() + ". " + secondSentence + " Bu süreçte " + termsToAdd + " teknolojilerini/becerilerini kullandım.";
-                    } else {
-                        desc = desc.trim() + " Bu görevde " + termsToAdd + " teknolojilerini/becerilerini aktif olarak kullandım.";
-                    }
-                } else {
-                    desc = desc.trim() + " Bu görevde " + termsToAdd + " teknolojilerini/becerilerini aktif olarak kullandım.";
-                }
-            } else {
-                desc = desc.trim() + ". Bu görevde " + termsToAdd + " teknolojilerini/becerilerini aktif olarak kullandım.";
-            }
-        }
-        
-        return desc;
+    private String buildExperienceContext(com.cvbuilder.entity.UserExperience exp) {
+        String position = safe(exp.getPosition());
+        String company = safe(exp.getCompany());
+        String technologies = safe(exp.getTechnologies());
+        String city = safe(exp.getCity());
+        String employmentType = safe(exp.getEmploymentType());
+
+        StringBuilder contextBuilder = new StringBuilder();
+        contextBuilder.append("Pozisyon: ").append(position.isEmpty() ? "Teknik Pozisyon" : position).append("\n");
+        contextBuilder.append("Şirket: ").append(company.isEmpty() ? "Bir şirket" : company).append("\n");
+        if (!city.isEmpty()) contextBuilder.append("Konum: ").append(city).append("\n");
+        if (!employmentType.isEmpty()) contextBuilder.append("Çalışma Tipi: ").append(employmentType).append("\n");
+        if (!technologies.isEmpty()) contextBuilder.append("Kullanılan Teknolojiler: ").append(technologies).append("\n");
+        contextBuilder.append("Tarih: ").append(formatDateRange(exp.getStartDate(), exp.getEndDate()));
+        return contextBuilder.toString();
     }
-    
+
     /**
-     * Açıklama metinlerindeki format sorunlarını temizle (süslü parantez, JSON kalıntıları vb.)
+     * Proje için prompt bağlamı (proje adı, teknolojiler, link, tarih)
      */
-    private String cleanDescription(String text) {
-        if (text == null || text.isBlank()) return "";
-        
-        // Süslü parantezleri ve JSON kalıntılarını temizle
-        text = text.replaceAll("\\{[^}]*\\}", ""); // Parantez içindeki her şeyi sil
-        text = text.replace("{", "").replace("}", ""); // Kalan parantezleri sil
-        text = text.replaceAll("\\[[^\\]]*\\]", "");
-        text = text.replaceAll("\"([^\"]*)\"", "$1"); // Tırnak içindeki metinleri koru ama tırnakları kaldır
-        
-        // Fazla boşlukları temizle
-        text = text.replaceAll("\\s+", " ").trim();
-        
-        // Başta ve sonda gereksiz karakterleri temizle
-        text = text.replaceAll("^[,\\s:;\\-]+", "");
-        text = text.replaceAll("[,\\s:;\\-]+$", "");
-        
-        return text.trim();
+    private String buildProjectContext(com.cvbuilder.entity.UserProject proj) {
+        String projectName = safe(proj.getProjectName());
+        String technologies = safe(proj.getTechnologies());
+        String url = safe(proj.getUrl());
+
+        StringBuilder contextBuilder = new StringBuilder();
+        contextBuilder.append("Proje Adı: ").append(projectName.isEmpty() ? "Bir proje" : projectName).append("\n");
+        if (!technologies.isEmpty()) contextBuilder.append("Kullanılan Teknolojiler: ").append(technologies).append("\n");
+        if (!url.isEmpty()) contextBuilder.append("Proje Linki: ").append(url).append("\n");
+        contextBuilder.append("Tarih: ").append(formatDateRange(proj.getStartDate(),
+            (proj.getIsOngoing() != null && proj.getIsOngoing()) ? null : proj.getEndDate()));
+        return contextBuilder.toString();
     }
 
     /**
@@ -1390,19 +1508,9 @@ Görevin, adayın profilini bir büyüteç altına alarak iş ilanıyla "Semanti
         String position = safe(exp.getPosition());
         String company = safe(exp.getCompany());
         String technologies = safe(exp.getTechnologies());
-        String city = safe(exp.getCity());
-        String employmentType = safe(exp.getEmploymentType());
         
         // Profil bilgilerini kullanarak detaylı açıklama oluştur
-        StringBuilder contextBuilder = new StringBuilder();
-        contextBuilder.append("Pozisyon: ").append(position.isEmpty() ? "Teknik Pozisyon" : position).append("\n");
-        contextBuilder.append("Şirket: ").append(company.isEmpty() ? "Bir şirket" : company).append("\n");
-        if (!city.isEmpty()) contextBuilder.append("Konum: ").append(city).append("\n");
-        if (!employmentType.isEmpty()) contextBuilder.append("Çalışma Tipi: ").append(employmentType).append("\n");
-        if (!technologies.isEmpty()) contextBuilder.append("Kullanılan Teknolojiler: ").append(technologies).append("\n");
-        contextBuilder.append("Tarih: ").append(formatDateRange(exp.getStartDate(), exp.getEndDate()));
-        
-        String experienceContext = contextBuilder.toString();
+        String experienceContext = buildExperienceContext(exp);
         
         // Orijinal açıklamadan gelen teknik terimleri önceliklendir
         String techsToUse = !originalTechs.isEmpty() ? originalTechs : technologies;
@@ -1455,9 +1563,9 @@ Görevin, adayın profilini bir büyüteç altına alarak iş ilanıyla "Semanti
             
             String aiResponse = translationService.generateContent(prompt);
             if (aiResponse != null && !aiResponse.isBlank()) {
-                String cleaned = cleanAIText(aiResponse);
+                String cleaned = AiTextPostProcessor.cleanAIText(aiResponse);
                 if (!cleaned.isEmpty() && cleaned.length() > 30) {
-                    return ensureExactlyTwoSentences(cleaned);
+                    return AiTextPostProcessor.ensureExactlyTwoSentences(cleaned);
                 }
             }
         } catch (Exception e) {
@@ -1545,17 +1653,9 @@ Görevin, adayın profilini bir büyüteç altına alarak iş ilanıyla "Semanti
     private String generateProjectDescription(com.cvbuilder.entity.UserProject proj, String jobContext, String jobSkills, String originalTechs) {
         String projectName = safe(proj.getProjectName());
         String technologies = safe(proj.getTechnologies());
-        String url = safe(proj.getUrl());
         
         // Profil bilgilerini kullanarak detaylı açıklama oluştur
-        StringBuilder contextBuilder = new StringBuilder();
-        contextBuilder.append("Proje Adı: ").append(projectName.isEmpty() ? "Bir proje" : projectName).append("\n");
-        if (!technologies.isEmpty()) contextBuilder.append("Kullanılan Teknolojiler: ").append(technologies).append("\n");
-        if (!url.isEmpty()) contextBuilder.append("Proje Linki: ").append(url).append("\n");
-        contextBuilder.append("Tarih: ").append(formatDateRange(proj.getStartDate(), 
-            (proj.getIsOngoing() != null && proj.getIsOngoing()) ? null : proj.getEndDate()));
-        
-        String projectContext = contextBuilder.toString();
+        String projectContext = buildProjectContext(proj);
         
         // Orijinal açıklamadan gelen teknik terimleri önceliklendir
         String techsToUse = !originalTechs.isEmpty() ? originalTechs : technologies;
@@ -1617,9 +1717,9 @@ Görevin, adayın profilini bir büyüteç altına alarak iş ilanıyla "Semanti
             
             String aiResponse = translationService.generateContent(prompt);
             if (aiResponse != null && !aiResponse.isBlank()) {
-                String cleaned = cleanAIText(aiResponse);
+                String cleaned = AiTextPostProcessor.cleanAIText(aiResponse);
                 if (!cleaned.isEmpty() && cleaned.length() > 30) {
-                    return ensureExactlyTwoSentences(cleaned);
+                    return AiTextPostProcessor.ensureExactlyTwoSentences(cleaned);
                 }
             }
         } catch (Exception e) {
@@ -1698,154 +1798,6 @@ Görevin, adayın profilini bir büyüteç altına alarak iş ilanıyla "Semanti
         return projectSentences[random.nextInt(projectSentences.length)];
     }
 
-    /**
-     * En az belirtilen sayıda cümle olduğundan emin ol
-     */
-    private String ensureMinimumSentences(String text, int minSentences) {
-        if (text == null || text.isBlank()) return text;
-        
-        String[] sentences = text.split("[.!?]+");
-        int count = sentences.length;
-        
-        if (count < minSentences) {
-            StringBuilder sb = new StringBuilder(text.trim());
-            // Eksik cümleleri ekle
-            for (int i = count; i < minSentences; i++) {
-                if (!sb.toString().endsWith(".") && !sb.toString().endsWith("!") && !sb.toString().endsWith("?")) {
-                    sb.append(".");
-                }
-                sb.append(" Bu görevde başarılı sonuçlar elde ettim.");
-            }
-            return sb.toString();
-        }
-        
-        return text;
-    }
-
-    /**
-     * Tam olarak 2 mantıklı cümle olduğundan emin ol (proje/deneyim için)
-     * İyileştirilmiş versiyon: Daha iyi temizleme ve minimum karakter kontrolü
-     */
-    private String ensureExactlyTwoSentences(String text) {
-        if (text == null || text.isBlank()) {
-            Random random = new Random();
-            String[] fallbackPairs = {
-                "İlgili alanda teknik sorumluluklar üstlenerek projelerin başarıyla tamamlanmasına katkı sağladım. Süreç boyunca modern teknolojileri kullanarak verimli çözümler ürettim.",
-                "Farklı projelerde yer alarak deneyim kazandım. Bu süreçte teknik bilgimi pratiğe dönüştürdüm ve başarılı sonuçlar elde ettim.",
-                "Görevlerim sırasında problem çözme yeteneklerimi geliştirdim. Ekip çalışması ve teknik uygulamalar konularında değerli deneyimler kazandım."
-            };
-            return fallbackPairs[random.nextInt(fallbackPairs.length)];
-        }
-        
-        // Önce tüm metni temizle (Görünmez karakterler, süslü parantezler vb.)
-        text = cleanDescription(text);
-        
-        // Cümleleri ayır (Nokta, Ünlem, Soru işareti sonrası boşluk)
-        String[] sentences = text.split("(?<=[.!?])\\s+");
-        List<String> validSentences = new ArrayList<>();
-        
-        for (String s : sentences) {
-            String trimmed = s.trim()
-                .replaceAll("^[-•*\\s]+", "") // Liste işaretlerini temizle
-                .replaceAll("\\s+", " ");    // Fazla boşlukları temizle
-            
-            // Cümle en az 25 karakter olmalı ki anlamlı olsun
-            if (trimmed.length() > 25) {
-                if (!trimmed.matches(".*[.!?]$")) {
-                    trimmed += ".";
-                }
-                validSentences.add(trimmed);
-            }
-        }
-        
-        if (validSentences.isEmpty()) {
-            Random random = new Random();
-            String[] fallbackPairs = {
-                "İlgili alanda teknik sorumluluklar üstlenerek projelerin başarıyla tamamlanmasına katkı sağladım. Süreç boyunca modern teknolojileri kullanarak verimli çözümler ürettim.",
-                "Farklı projelerde yer alarak deneyim kazandım. Bu süreçte teknik bilgimi pratiğe dönüştürdüm ve başarılı sonuçlar elde ettim.",
-                "Görevlerim sırasında problem çözme yeteneklerimi geliştirdim. Ekip çalışması ve teknik uygulamalar konularında değerli deneyimler kazandım."
-            };
-            return fallbackPairs[random.nextInt(fallbackPairs.length)];
-        }
-        
-        // Tam 2 cümle oluştur
-        if (validSentences.size() >= 2) {
-            String first = validSentences.get(0);
-            String second = validSentences.get(1);
-            // İlk cümlenin sonunda nokta yoksa ekle
-            if (!first.matches(".*[.!?]$")) {
-                first += ".";
-            }
-            // İkinci cümlenin sonunda nokta yoksa ekle
-            if (!second.matches(".*[.!?]$")) {
-                second += ".";
-            }
-            return first + " " + second;
-        } else {
-            // Tek cümle varsa yanına anlamlı bir devam cümlesi ekle
-            String first = validSentences.get(0);
-            if (!first.matches(".*[.!?]$")) {
-                first += ".";
-            }
-            String second = generateSecondSentence(first);
-            if (!second.matches(".*[.!?]$")) {
-                second += ".";
-            }
-            return first + " " + second;
-        }
-    }
-
-    /**
-     * İlk cümleye göre mantıklı ikinci cümle oluştur - Çeşitli varyasyonlar
-     */
-    private String generateSecondSentence(String firstSentence) {
-        Random random = new Random();
-        String lower = firstSentence.toLowerCase();
-        
-        // İlk cümleye göre uygun ikinci cümle varyasyonları
-        if (lower.contains("geliştirdim") || lower.contains("geliştirme")) {
-            String[] variations = {
-                "Bu süreçte teknik yetkinliğimi artırdım ve projenin başarıyla tamamlanmasına katkı sağladım.",
-                "Geliştirme sürecinde çeşitli teknik zorluklarla karşılaştım ve bunları başarıyla çözdüm.",
-                "Bu deneyim sayesinde modern geliştirme pratiklerini öğrendim ve uyguladım.",
-                "Projelerin başarıyla tamamlanması için etkili çözümler ürettim ve değerli deneyimler kazandım."
-            };
-            return variations[random.nextInt(variations.length)];
-        } else if (lower.contains("çalıştım") || lower.contains("görev")) {
-            String[] variations = {
-                "Bu deneyim sayesinde problem çözme ve takım çalışması konularında kendimi geliştirdim.",
-                "Görevlerim sırasında teknik bilgimi pratiğe dönüştürdüm ve başarılı sonuçlar elde ettim.",
-                "Bu süreçte ekip içi işbirliği ve teknik problem çözme konularında deneyim kazandım.",
-                "Çalıştığım projelerde aktif rol alarak farklı teknolojileri öğrendim ve uyguladım."
-            };
-            return variations[random.nextInt(variations.length)];
-        } else if (lower.contains("proje") || lower.contains("projesi")) {
-            String[] variations = {
-                "Projenin başarıyla tamamlanmasına katkı sağladım ve bu süreçte değerli deneyimler kazandım.",
-                "Bu projede çeşitli teknik görevler üstlendim ve başarılı sonuçlar elde ettim.",
-                "Projenin geliştirilmesi sırasında yaratıcı çözümler ürettim ve teknik yetkinliğimi artırdım.",
-                "Projede aktif olarak çalışarak modern teknolojileri öğrendim ve uyguladım."
-            };
-            return variations[random.nextInt(variations.length)];
-        } else if (lower.contains("teknoloji") || lower.contains("teknolojiler")) {
-            String[] variations = {
-                "Bu teknolojileri kullanarak kaliteli çözümler ürettim ve projelerin başarıyla tamamlanmasına katkı sağladım.",
-                "Teknolojileri etkin bir şekilde uygulayarak teknik yetkinliğimi geliştirdim ve başarılı sonuçlar elde ettim.",
-                "Bu araçları kullanarak çeşitli projelerde yer aldım ve değerli deneyimler kazandım.",
-                "Modern teknolojilerle çalışarak problem çözme yeteneklerimi geliştirdim ve etkili çözümler ürettim."
-            };
-            return variations[random.nextInt(variations.length)];
-        } else {
-            String[] variations = {
-                "Bu süreçte başarılı sonuçlar elde ettim ve deneyimlerimi artırdım.",
-                "Çalışmalarım sırasında teknik bilgimi geliştirdim ve önemli başarılar elde ettim.",
-                "Bu deneyim sayesinde farklı projelerde yer alarak kendimi geliştirdim.",
-                "Süreç boyunca aktif rol alarak değerli deneyimler kazandım ve başarılı sonuçlar elde ettim."
-            };
-            return variations[random.nextInt(variations.length)];
-        }
-    }
-
     /**
      * Optimizasyon için iş ilanı bağlamı oluştur
      */
@@ -1,20 +1,41 @@
 package com.cvbuilder.external;
 
+import com.cvbuilder.entity.ScrapedPage;
+import com.cvbuilder.service.ScrapedPageCache;
 import org.jsoup.Connection;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
 import org.jsoup.select.Elements;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.NodeFilter;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.NodeVisitor;
+import org.jsoup.select.QueryParser;
 import org.springframework.stereotype.Component;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class JobScraperClient {
 
+    private final ScrapedPageCache scrapedPageCache;
+    private final StructuredJobDataExtractor structuredJobDataExtractor;
+
     private static final Map<String, String[]> SITE_SELECTORS = new HashMap<>();
     
     static {
@@ -45,13 +66,128 @@ public class JobScraperClient {
         });
     }
 
+    // Site özel selector'lar bulunamazsa denenen genel selector'lar (öncelik sırasıyla)
+    private static final String[] ALTERNATIVE_SELECTORS = {
+        "div[class*='content']",
+        "div[class*='detail']",
+        "div[class*='description']",
+        "section",
+        "article",
+        "div.main",
+        "div.container",
+        "div.wrapper"
+    };
+
+    // Body metninden çıkarılan gereksiz elementler
+    private static final String[] REMOVE_SELECTORS = {
+        "nav", "header", "footer", "script", "style", 
+        "iframe", "aside", ".nav", ".menu", ".sidebar", 
+        ".ads", ".advertisement", ".footer", ".header",
+        ".social", ".share", ".comment", ".modal",
+        "link", "meta", "noscript", "svg", "path"
+    };
+
+    // Yapısal veriden sonuç map'ine aynen aktarılan alanlar
+    private static final String[] STRUCTURED_EXTRA_FIELDS = {
+        "salary", "workType", "experienceLevel", "educationLevel", "skills", "responsibilities", "datePosted"
+    };
+
+    private static final int MIN_SITE_CONTENT_LENGTH = 100;
+    private static final int MIN_ALTERNATIVE_CONTENT_LENGTH = 300;
+    // Bir selector tam geçişte art arda bu kadar kez kazandıktan sonra o domain için önce tek başına denenir
+    private static final int LEARNED_SELECTOR_MIN_HITS = 2;
+    // Öğrenilmiş selector varken her N. ilanda yine tam geçiş yapılır (daha öncelikli selector tekrar tutuyor mu?)
+    private static final int LEARNED_RECHECK_INTERVAL = 20;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // Selector'lar açılışta bir kez derlenir
+    private static final Map<String, CompiledSelector[]> SITE_EVALUATORS = new HashMap<>();
+    private static final CompiledSelector[] ALTERNATIVE_EVALUATORS = compile(ALTERNATIVE_SELECTORS, false);
+    private static final Evaluator REMOVE_EVALUATOR = QueryParser.parse(String.join(", ", REMOVE_SELECTORS));
+
+    static {
+        SITE_SELECTORS.forEach((domain, selectors) -> SITE_EVALUATORS.put(domain, compile(selectors, true)));
+    }
+
+    // Domain -> hangi selector kaç kez kazandı
+    private final Map<String, DomainSelectorStats> selectorStats = new ConcurrentHashMap<>();
+
+    /**
+     * Derlenmiş selector.
+     * siteSpecific: eşleşen tüm elementlerin metni birleştirilir;
+     * değilse yeterince uzun metni olan ilk element alınır.
+     */
+    private static final class CompiledSelector {
+        final String css;
+        final Evaluator evaluator;
+        final boolean siteSpecific;
+
+        CompiledSelector(String css, boolean siteSpecific) {
+            this.css = css;
+            this.evaluator = QueryParser.parse(css);
+            this.siteSpecific = siteSpecific;
+        }
+    }
+
+    /**
+     * Yalnızca tam geçişin kazananı (öncelik sırasındaki ilk yeterli selector) kaydedilir; öğrenilmiş
+     * selector'ın kendi isabetleri sayılmaz. Böylece kazanan hep öncelik sırasına göre belirlenir ve
+     * periyodik tam geçişte farklı bir selector kazanırsa öğrenilen bırakılır.
+     */
+    private static final class DomainSelectorStats {
+        final Map<String, AtomicLong> hits = new ConcurrentHashMap<>();
+        final AtomicLong fullPasses = new AtomicLong();
+        final AtomicLong learnedHits = new AtomicLong();
+        final AtomicLong learnedMisses = new AtomicLong();
+        final AtomicLong learnedUses = new AtomicLong();
+        volatile CompiledSelector preferred;
+        private CompiledSelector lastWinner;
+        private int winStreak;
+
+        synchronized void recordWin(CompiledSelector selector) {
+            hits.computeIfAbsent(selector.css, k -> new AtomicLong()).incrementAndGet();
+            winStreak = selector == lastWinner ? winStreak + 1 : 1;
+            lastWinner = selector;
+            preferred = winStreak >= LEARNED_SELECTOR_MIN_HITS ? selector : null;
+        }
+
+        /**
+         * Öğrenilmiş selector; yoksa veya sıradaki kontrol tam geçişle yapılacaksa null.
+         */
+        CompiledSelector learned() {
+            CompiledSelector selector = preferred;
+            if (selector == null) return null;
+            return learnedUses.incrementAndGet() % LEARNED_RECHECK_INTERVAL == 0 ? null : selector;
+        }
+    }
+
+    private static CompiledSelector[] compile(String[] selectors, boolean siteSpecific) {
+        List<CompiledSelector> compiled = new ArrayList<>();
+        for (String css : selectors) {
+            try {
+                compiled.add(new CompiledSelector(css, siteSpecific));
+            } catch (Exception e) {
+                log.warn("⚠️ Selector derlenemedi '{}': {}", css, e.getMessage());
+            }
+        }
+        return compiled.toArray(new CompiledSelector[0]);
+    }
+
     public Map<String, String> fetchJobData(String url) {
         Map<String, String> result = new HashMap<>();
+
+        // Önbellekte taze kayıt varsa ağa çıkılmaz
+        Optional<ScrapedPage> cached = scrapedPageCache.find(url);
+        if (cached.isPresent() && scrapedPageCache.isFresh(cached.get())) {
+            log.info("📦 İlan önbellekten alındı: {}", url);
+            return scrapedPageCache.toResult(cached.get());
+        }
+
         log.info("🌐 İlan çekiliyor: {}", url);
         
         try {
             // Daha detaylı header'lar ekleyelim
-            Connection.Response response = Jsoup.connect(url)
+            Connection connection = Jsoup.connect(url)
                     .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/121.0.0.0 Safari/537.36 Edg/121.0.0.0")
                     .header("Accept-Language", "tr-TR,tr;q=0.9,en-US;q=0.8,en;q=0.7")
                     .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,image/avif,image/webp,image/apng,*/*;q=0.8,application/signed-exchange;v=b3;q=0.7")
@@ -62,8 +198,34 @@ public class JobScraperClient {
                     .ignoreHttpErrors(true)
                     .followRedirects(true)
                     .timeout(30000)
-                    .maxBodySize(0) // Sınırı kaldır
-                    .execute();
+                    .maxBodySize(0); // Sınırı kaldır
+
+            // Süresi dolmuş kayıt: koşullu GET (değişmediyse sunucu gövdesiz 304 döner)
+            if (cached.isPresent()) {
+                if (cached.get().getEtag() != null) connection.header("If-None-Match", cached.get().getEtag());
+                if (cached.get().getLastModified() != null) connection.header("If-Modified-Since", cached.get().getLastModified());
+            }
+
+            Connection.Response response = connection.execute();
+
+            if (response.statusCode() == 304 && cached.isPresent()) {
+                log.info("📦 İlan değişmemiş (304), önbellekteki içerik kullanılıyor: {}", url);
+                scrapedPageCache.markValidated(cached.get());
+                return scrapedPageCache.toResult(cached.get());
+            }
+
+            // İlan kaldırılmış: eski kayıt silinir, bir daha sunulmaz
+            if (cached.isPresent() && isGone(response.statusCode())) {
+                log.info("🗑️ İlan sayfası {} döndü, önbellekteki kayıt silindi: {}", response.statusCode(), url);
+                scrapedPageCache.evict(cached.get());
+                cached = Optional.empty();
+            }
+
+            // Geçici sunucu hatasında (5xx/429) eski kayıt varsa hata sayfası yerine onunla devam edilir
+            if (cached.isPresent() && isTransientError(response.statusCode())) {
+                log.warn("⚠️ İlan sayfası {} döndü, önbellekteki eski içerik kullanılıyor: {}", response.statusCode(), url);
+                return scrapedPageCache.toResult(cached.get());
+            }
 
             Document doc = response.parse();
             result.put("pageTitle", doc.title());
@@ -72,26 +234,32 @@ public class JobScraperClient {
             log.debug("📄 Sayfa URL: {}", response.url());
             log.debug("📄 Status Code: {}", response.statusCode());
             
-            // Debug için tüm meta tag'ları loglayalım
-            Elements allMeta = doc.select("meta");
-            log.debug("📊 Toplam meta tag sayısı: {}", allMeta.size());
+            // Debug için tüm meta tag'ları loglayalım (ayrı bir DOM taraması olduğu için sadece debug'da)
+            if (log.isDebugEnabled()) {
+                Elements allMeta = doc.select("meta");
+                log.debug("📊 Toplam meta tag sayısı: {}", allMeta.size());
+            }
             
-            // 1. Siteye özel selector ile içerik çekme
-            String jobContent = extractJobSpecificContent(doc, url);
+            // 0. schema.org JobPosting (JSON-LD / microdata) varsa selector'lara gerek kalmaz
+            Map<String, String> structured = structuredJobDataExtractor.extract(doc);
+            String structuredContent = buildStructuredContent(structured);
             
-            // 2. Eğer özel içerik boşsa veya çok kısaysa yedek mekanizmalar
-            if (jobContent == null || jobContent.trim().length() < 100) {
-                log.warn("⚠️ Özel selector sonuç vermedi, alternatif yöntemler deneniyor...");
-                
-                // Alternatif 1: Ana içerik seçimi
-                jobContent = tryAlternativeSelectors(doc);
+            // 1. Siteye özel + alternatif selector'lar (öğrenilmiş selector veya tek DOM geçişi)
+            String jobContent = structuredContent.length() >= 100 ? structuredContent : extractWithSelectors(doc, url);
+            if (!structured.isEmpty()) {
+                log.debug("✅ Yapısal ilan verisi bulundu: {}", structured.keySet());
+            }
+            
+            // 2. Eğer içerik boşsa veya çok kısaysa yedek mekanizmalar
+            if (jobContent.trim().length() < 100) {
+                log.warn("⚠️ Selector'lar sonuç vermedi, alternatif yöntemler deneniyor...");
                 
-                // Alternatif 2: Meta description
+                // Alternatif 1: Meta description
                 if (jobContent.length() < 100) {
                     jobContent = extractMetaDescription(doc);
                 }
                 
-                // Alternatif 3: Body temizleme (son çare)
+                // Alternatif 2: Body temizleme (son çare)
                 if (jobContent.length() < 100) {
                     jobContent = cleanBodyText(doc.body());
                 }
@@ -104,73 +272,201 @@ public class JobScraperClient {
             }
 
             result.put("jobContent", jobContent);
-            result.put("location", extractFromMeta(doc, "location", "place", "og:description"));
-            result.put("company", extractFromMeta(doc, "company", "organization", "og:title"));
+            result.put("location", structured.getOrDefault("location", extractFromMeta(doc, "location", "place", "og:description")));
+            result.put("company", structured.getOrDefault("company", extractFromMeta(doc, "company", "organization", "og:title")));
+            
+            // Pozisyon bilgisini yapısal veriden, yoksa title'dan çıkarmaya çalış
+            result.put("position", structured.getOrDefault("position", extractPositionFromTitle(doc.title(), jobContent)));
             
-            // Pozisyon bilgisini title'dan çıkarmaya çalış
-            result.put("position", extractPositionFromTitle(doc.title(), jobContent));
+            // Yapısal veriden gelen diğer alanlar (analizde LLM'e sorulmaz)
+            if (structured.containsKey("position") && structured.containsKey("description")) {
+                result.put("structuredData", "true");
+            }
+            for (String key : STRUCTURED_EXTRA_FIELDS) {
+                if (structured.containsKey(key)) result.put(key, structured.get(key));
+            }
             
             log.info("✅ İlan içeriği başarıyla çekildi (Karakter sayısı: {})", jobContent.length());
+
+            // Sadece başarılı ve anlamlı içerik önbelleğe alınır (hata sayfaları değil)
+            if (response.statusCode() == 200 && jobContent.length() >= 50) {
+                scrapedPageCache.store(url, result, response.header("ETag"), response.header("Last-Modified"));
+            }
             return result;
 
         } catch (IOException e) {
+            // Ağ hatasında eski (bayat) kayıt varsa onunla devam edilir
+            if (cached.isPresent()) {
+                log.warn("⚠️ İlan çekilemedi, önbellekteki eski içerik kullanılıyor: {}", e.getMessage());
+                return scrapedPageCache.toResult(cached.get());
+            }
             log.error("❌ İlan çekme hatası: {}", e.getMessage(), e);
             throw new RuntimeException("İlan verisi çekilemedi: " + e.getMessage());
         }
     }
+
+    private static boolean isGone(int status) {
+        return status == 404 || status == 410;
+    }
+
+    private static boolean isTransientError(int status) {
+        return status == 429 || status >= 500;
+    }
     
-    private String extractJobSpecificContent(Document doc, String url) {
+    /**
+     * Önce domain için öğrenilmiş (tam geçişte art arda kazanan) selector tek başına denenir.
+     * Sonuç vermezse veya periyodik kontrol sırası geldiyse tüm aday selector'lar (siteye özel + alternatif)
+     * DOM'un tek geçişinde değerlendirilir ve öncelik sırasına göre ilk yeterli sonuç alınır; kazanan
+     * selector kaydedilir. Siteye özel bir selector eşleştiyse genel (alternatif) kazanan öğrenilmez.
+     */
+    private String extractWithSelectors(Document doc, String url) {
         String domain = extractDomain(url);
-        
-        if (SITE_SELECTORS.containsKey(domain)) {
-            for (String selector : SITE_SELECTORS.get(domain)) {
-                try {
-                    Elements elements = doc.select(selector);
-                    if (!elements.isEmpty()) {
-                        StringBuilder content = new StringBuilder();
-                        for (Element element : elements) {
-                            content.append(element.text()).append("\n\n");
-                        }
-                        log.debug("✅ Selector bulundu: '{}' - {} element", selector, elements.size());
-                        return content.toString().trim();
-                    }
-                } catch (Exception e) {
-                    log.warn("⚠️ Selector hatası '{}': {}", selector, e.getMessage());
-                }
+        DomainSelectorStats stats = selectorStats.computeIfAbsent(domain, d -> new DomainSelectorStats());
+
+        CompiledSelector learned = stats.learned();
+        if (learned != null) {
+            String content = contentOf(learned, doc.select(learned.evaluator));
+            if (isSufficient(learned, content)) {
+                stats.learnedHits.incrementAndGet();
+                log.debug("✅ Öğrenilmiş selector kullanıldı: '{}' ({})", learned.css, domain);
+                return content;
             }
+            stats.learnedMisses.incrementAndGet();
         }
-        
-        return "";
+
+        CompiledSelector[] siteSelectors = SITE_EVALUATORS.getOrDefault(domain, new CompiledSelector[0]);
+        CompiledSelector[] candidates = new CompiledSelector[siteSelectors.length + ALTERNATIVE_EVALUATORS.length];
+        System.arraycopy(siteSelectors, 0, candidates, 0, siteSelectors.length);
+        System.arraycopy(ALTERNATIVE_EVALUATORS, 0, candidates, siteSelectors.length, ALTERNATIVE_EVALUATORS.length);
+
+        stats.fullPasses.incrementAndGet();
+        List<Elements> matches = matchAll(doc, candidates);
+
+        // Siteye özel: ilk eşleşen selector (içerik kısa olsa da eski davranıştaki gibi aday olarak tutulur)
+        String siteContent = "";
+        for (int i = 0; i < siteSelectors.length; i++) {
+            if (matches.get(i).isEmpty()) continue;
+            String content = contentOf(siteSelectors[i], matches.get(i));
+            if (content.isEmpty()) continue;
+            log.debug("✅ Selector bulundu: '{}' - {} element", siteSelectors[i].css, matches.get(i).size());
+            if (isSufficient(siteSelectors[i], content)) stats.recordWin(siteSelectors[i]);
+            siteContent = content;
+            break;
+        }
+        if (siteContent.length() >= MIN_SITE_CONTENT_LENGTH) return siteContent;
+
+        for (int i = siteSelectors.length; i < candidates.length; i++) {
+            String content = contentOf(candidates[i], matches.get(i));
+            if (isSufficient(candidates[i], content)) {
+                log.debug("✅ Alternatif selector bulundu: '{}' - {} karakter", candidates[i].css, content.length());
+                if (siteContent.isEmpty()) stats.recordWin(candidates[i]);
+                return content;
+            }
+        }
+        return siteContent.isEmpty() ? "" : siteContent;
     }
-    
-    private String tryAlternativeSelectors(Document doc) {
-        String[] altSelectors = {
-            "div[class*='content']",
-            "div[class*='detail']",
-            "div[class*='description']",
-            "section",
-            "article",
-            "div.main",
-            "div.container",
-            "div.wrapper"
-        };
-        
-        for (String selector : altSelectors) {
-            Elements elements = doc.select(selector);
-            if (!elements.isEmpty()) {
-                // Büyük metin bloklarını filtrele
-                for (Element element : elements) {
-                    String text = element.text();
-                    if (text.length() > 300) { // Anlamlı içerik
-                        log.debug("✅ Alternatif selector bulundu: '{}' - {} karakter", selector, text.length());
-                        return text;
+
+    /**
+     * Tüm selector'ları DOM'un tek bir geçişinde değerlendirir (her selector için ayrı tarama yapılmaz).
+     * Eşleşmeler belge sırasındadır (doc.select ile aynı).
+     */
+    private List<Elements> matchAll(Document doc, CompiledSelector[] selectors) {
+        List<Elements> matches = new ArrayList<>(selectors.length);
+        for (int i = 0; i < selectors.length; i++) matches.add(new Elements());
+        if (selectors.length == 0) return matches;
+
+        NodeTraversor.traverse(new NodeVisitor() {
+            @Override
+            public void head(Node node, int depth) {
+                if (!(node instanceof Element)) return;
+                Element element = (Element) node;
+                for (int i = 0; i < selectors.length; i++) {
+                    try {
+                        if (selectors[i].evaluator.matches(doc, element)) matches.get(i).add(element);
+                    } catch (Exception e) {
+                        log.warn("⚠️ Selector hatası '{}': {}", selectors[i].css, e.getMessage());
                     }
                 }
             }
+
+            @Override
+            public void tail(Node node, int depth) {
+            }
+        }, doc);
+        return matches;
+    }
+
+    private String contentOf(CompiledSelector selector, Elements elements) {
+        if (elements.isEmpty()) return "";
+        if (selector.siteSpecific) {
+            StringBuilder content = new StringBuilder();
+            for (Element element : elements) {
+                content.append(element.text()).append("\n\n");
+            }
+            return content.toString().trim();
+        }
+        // Büyük metin bloklarını filtrele
+        for (Element element : elements) {
+            String text = element.text();
+            if (text.length() > MIN_ALTERNATIVE_CONTENT_LENGTH) return text; // Anlamlı içerik
         }
-        
         return "";
     }
+
+    private boolean isSufficient(CompiledSelector selector, String content) {
+        return selector.siteSpecific
+                ? content.length() >= MIN_SITE_CONTENT_LENGTH
+                : content.length() > MIN_ALTERNATIVE_CONTENT_LENGTH;
+    }
+
+    /**
+     * Domain başına selector istatistikleri (admin ekranı için).
+     */
+    public Map<String, Object> getSelectorStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        selectorStats.forEach((domain, stats) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            CompiledSelector learned = stats.preferred;
+            row.put("learnedSelector", learned != null ? learned.css : null);
+            row.put("learnedHits", stats.learnedHits.get());
+            row.put("learnedMisses", stats.learnedMisses.get());
+            row.put("fullPasses", stats.fullPasses.get());
+            Map<String, Long> hits = new LinkedHashMap<>();
+            stats.hits.forEach((css, count) -> hits.put(css, count.get()));
+            row.put("selectorHits", hits);
+            result.put(domain, row);
+        });
+        return result;
+    }
+    
+    /**
+     * Yapısal veriden analiz metni: başlık satırları + ilan açıklaması.
+     * Açıklama yoksa boş döner (selector'lara düşülür).
+     */
+    private String buildStructuredContent(Map<String, String> structured) {
+        String description = structured.get("description");
+        if (description == null || description.isBlank()) return "";
+        StringBuilder content = new StringBuilder();
+        appendLine(content, "Pozisyon", structured.get("position"));
+        appendLine(content, "Şirket", structured.get("company"));
+        appendLine(content, "Konum", structured.get("location"));
+        appendLine(content, "Çalışma Şekli", structured.get("workType"));
+        appendLine(content, "Maaş", structured.get("salary"));
+        appendLine(content, "Deneyim", structured.get("experienceLevel"));
+        appendLine(content, "Eğitim", structured.get("educationLevel"));
+        appendLine(content, "Beceriler", structured.get("skills"));
+        if (content.length() > 0) content.append("\n");
+        content.append(description);
+        String responsibilities = structured.get("responsibilities");
+        if (responsibilities != null && !responsibilities.isBlank()) {
+            content.append("\n\nGörevler: ").append(responsibilities);
+        }
+        return content.toString().trim();
+    }
+
+    private void appendLine(StringBuilder content, String label, String value) {
+        if (value != null && !value.isBlank()) content.append(label).append(": ").append(value).append("\n");
+    }
     
     private String extractMetaDescription(Document doc) {
         Element metaDesc = doc.select("meta[name=description]").first();
@@ -186,33 +482,39 @@ public class JobScraperClient {
         return "";
     }
     
+    /**
+     * Body metnini klonlamadan çıkarır: gereksiz elementlerin alt ağaçları atlanır,
+     * kalan metin düğümleri tek geçişte toplanır.
+     */
     private String cleanBodyText(Element body) {
         if (body == null) return "";
         
-        // Klon oluştur
-        Element content = body.clone();
-        
-        // Gereksiz elementleri temizle
-        String[] removeSelectors = {
-            "nav", "header", "footer", "script", "style", 
-            "iframe", "aside", ".nav", ".menu", ".sidebar", 
-            ".ads", ".advertisement", ".footer", ".header",
-            ".social", ".share", ".comment", ".modal",
-            "link", "meta", "noscript", "svg", "path"
-        };
-        
-        for (String selector : removeSelectors) {
-            content.select(selector).remove();
-        }
-        
-        // Metni al ve temizle
-        String text = content.text();
-        
-        // Çok kısa satırları ve gereksiz boşlukları temizle
-        text = text.replaceAll("(?m)^[ \\t\\x0B\\f]*$", "\n"); // Boş satırları normalize et
-        text = text.replaceAll("\\s+", " "); // Fazla boşlukları temizle
+        StringBuilder text = new StringBuilder();
+        NodeTraversor.filter(new NodeFilter() {
+            @Override
+            public FilterResult head(Node node, int depth) {
+                if (node instanceof Element) {
+                    Element element = (Element) node;
+                    if (element != body && REMOVE_EVALUATOR.matches(body, element)) {
+                        return FilterResult.SKIP_ENTIRELY;
+                    }
+                    // Blok elementler ve <br> kelimeleri ayırır (Element.text() davranışı)
+                    if (element.isBlock() || "br".equals(element.normalName())) text.append(' ');
+                } else if (node instanceof TextNode) {
+                    text.append(((TextNode) node).getWholeText());
+                }
+                return FilterResult.CONTINUE;
+            }
+
+            @Override
+            public FilterResult tail(Node node, int depth) {
+                if (node instanceof Element && ((Element) node).isBlock()) text.append(' ');
+                return FilterResult.CONTINUE;
+            }
+        }, body);
         
-        return text.trim();
+        // Fazla boşlukları temizle
+        return WHITESPACE.matcher(text).replaceAll(" ").trim();
     }
     
     private String extractFromMeta(Document doc, String... keys) {
@@ -0,0 +1,196 @@
+package com.cvbuilder.external;
+
+import com.cvbuilder.entity.JobPosting;
+import com.cvbuilder.util.SkillListParser;
+import com.cvbuilder.util.SkillMatcher;
+import com.cvbuilder.util.TokenEstimator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Pazar analizi prompt'u için ilan derlemi.
+ * Ham ilan metinlerini art arda eklemek yerine:
+ * 1. Neredeyse aynı ilanlar (aynı ilanın farklı sitelerdeki kopyaları vb.) elenir,
+ * 2. Beceri sayıları, kıdem dağılımı, çalışma şekli ve sık pozisyonlar önceden toplanır,
+ * 3. Kalan bütçeye sığdığı kadar kısa örnek ilan eklenir.
+ * Çıktı yapılandırılabilir token bütçesini (TokenEstimator ile) aşmaz.
+ */
+@Slf4j
+@Component
+public class MarketPromptBuilder {
+
+    private static final SkillMatcher SENIORITY_MATCHER = SkillMatcher.of(Map.ofEntries(
+            Map.entry("stajyer", "Stajyer"), Map.entry("intern", "Stajyer"), Map.entry("internship", "Stajyer"),
+            Map.entry("junior", "Junior"), Map.entry("jr", "Junior"), Map.entry("yeni mezun", "Junior"),
+            Map.entry("entry level", "Junior"), Map.entry("mid-level", "Mid"), Map.entry("mid level", "Mid"),
+            Map.entry("orta seviye", "Mid"), Map.entry("senior", "Senior"), Map.entry("sr", "Senior"),
+            Map.entry("kıdemli", "Senior"), Map.entry("lead", "Lead"), Map.entry("tech lead", "Lead"),
+            Map.entry("takım lideri", "Lead"), Map.entry("principal", "Lead"), Map.entry("architect", "Lead"),
+            Map.entry("mimar", "Lead")));
+
+    private static final SkillMatcher WORK_TYPE_MATCHER = SkillMatcher.of(Map.ofEntries(
+            Map.entry("uzaktan", "Uzaktan"), Map.entry("remote", "Uzaktan"),
+            Map.entry("hibrit", "Hibrit"), Map.entry("hybrid", "Hibrit"),
+            Map.entry("ofisten", "Ofis"), Map.entry("on-site", "Ofis"), Map.entry("onsite", "Ofis"),
+            Map.entry("iş yerinde", "Ofis"), Map.entry("yarı zamanlı", "Yarı Zamanlı"),
+            Map.entry("part time", "Yarı Zamanlı"), Map.entry("part-time", "Yarı Zamanlı")));
+
+    private static final String UNSPECIFIED = "Belirtilmemiş";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}+#.]+");
+
+    // İlan derleminin (profil ve talimatlar hariç) en fazla kaplayacağı token
+    @Value("${market.prompt.token-budget:3000}")
+    private int tokenBudget;
+
+    @Value("${market.prompt.top-skills:25}")
+    private int topSkills;
+
+    @Value("${market.prompt.top-positions:10}")
+    private int topPositions;
+
+    // Örnek ilan başına açıklama kesiti
+    @Value("${market.prompt.excerpt-tokens:60}")
+    private int excerptTokens;
+
+    @Value("${market.prompt.max-samples:15}")
+    private int maxSamples;
+
+    // Kelime üçlülerinin Jaccard benzerliği bu değer ve üzerindeyse ilanlar aynı sayılır
+    @Value("${market.prompt.near-duplicate-threshold:0.85}")
+    private double nearDuplicateThreshold;
+
+    public String build(String area, List<JobPosting> jobs) {
+        List<JobPosting> all = jobs != null ? jobs : List.of();
+        List<JobPosting> unique = removeNearDuplicates(all);
+        int total = unique.size();
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("ALAN: ").append(area).append("\n");
+        sb.append("ANALİZ EDİLEN İLAN: ").append(total);
+        if (all.size() > total) {
+            sb.append(" (").append(all.size() - total).append(" tekrar eden ilan çıkarıldı)");
+        }
+        sb.append("\n");
+        if (total == 0) return sb.toString();
+
+        Map<String, Integer> skillCounts = new HashMap<>();
+        Map<String, Integer> seniorityCounts = new HashMap<>();
+        Map<String, Integer> workTypeCounts = new HashMap<>();
+        Map<String, Integer> positionCounts = new HashMap<>();
+        for (JobPosting job : unique) {
+            for (String skill : SkillListParser.distinct(job.getRequiredSkills())) {
+                skillCounts.merge(skill, 1, Integer::sum);
+            }
+            seniorityCounts.merge(seniorityOf(job), 1, Integer::sum);
+            Set<String> workTypes = WORK_TYPE_MATCHER.findCanonical(job.getCleanedText());
+            if (workTypes.isEmpty()) workTypes = Set.of(UNSPECIFIED);
+            for (String workType : workTypes) workTypeCounts.merge(workType, 1, Integer::sum);
+            String position = safe(job.getPosition());
+            if (!position.isEmpty()) positionCounts.merge(position, 1, Integer::sum);
+        }
+
+        appendDistribution(sb, "BECERİ TALEBİ (ilan sayısı ve oranı)", skillCounts, topSkills, total);
+        appendDistribution(sb, "KIDEM DAĞILIMI", seniorityCounts, Integer.MAX_VALUE, total);
+        appendDistribution(sb, "ÇALIŞMA ŞEKLİ", workTypeCounts, Integer.MAX_VALUE, total);
+        appendDistribution(sb, "SIK GEÇEN POZİSYONLAR", positionCounts, topPositions, total);
+
+        // İstatistikler önce gelir; örnek ilanlar kalan bütçe kadar eklenir
+        StringBuilder sampleSection = new StringBuilder("\nÖRNEK İLANLAR:\n");
+        int used = TokenEstimator.estimate(sb.toString()) + TokenEstimator.estimate(sampleSection.toString());
+        int samples = 0;
+        for (JobPosting job : unique) {
+            if (samples >= maxSamples) break;
+            String sample = "- " + safe(job.getPosition())
+                    + " | Beceriler: " + TokenEstimator.truncate(safe(job.getRequiredSkills()), excerptTokens / 2)
+                    + " | " + TokenEstimator.truncate(WHITESPACE.matcher(safe(job.getCleanedText())).replaceAll(" "), excerptTokens) + "\n";
+            int cost = TokenEstimator.estimate(sample);
+            if (used + cost > tokenBudget) break;
+            sampleSection.append(sample);
+            used += cost;
+            samples++;
+        }
+        if (samples > 0) sb.append(sampleSection);
+
+        String corpus = TokenEstimator.truncate(sb.toString(), tokenBudget);
+        log.debug("Pazar analizi derlemi: {} ilan ({} tekrar elendi), {} örnek, ~{} token",
+                total, all.size() - total, samples, TokenEstimator.estimate(corpus));
+        return corpus;
+    }
+
+    private void appendDistribution(StringBuilder sb, String title, Map<String, Integer> counts, int limit, int total) {
+        if (counts.isEmpty()) return;
+        sb.append("\n").append(title).append(":\n");
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .forEach(entry -> sb.append("- ").append(entry.getKey())
+                        .append(": ").append(entry.getValue())
+                        .append(" (%").append(Math.round(entry.getValue() * 100.0 / total)).append(")\n"));
+    }
+
+    /**
+     * Kıdem önce pozisyon başlığından, yoksa ilan metninden okunur (ilk geçen seviye).
+     */
+    private String seniorityOf(JobPosting job) {
+        Set<String> fromTitle = SENIORITY_MATCHER.findCanonical(job.getPosition());
+        if (!fromTitle.isEmpty()) return fromTitle.iterator().next();
+        Set<String> fromText = SENIORITY_MATCHER.findCanonical(job.getCleanedText());
+        return fromText.isEmpty() ? UNSPECIFIED : fromText.iterator().next();
+    }
+
+    /**
+     * Pozisyon + beceriler + metnin başından kelime üçlüleri çıkarılır; benzerliği eşiği geçen
+     * ilanlardan ilki (arama sıralamasında öndeki) tutulur.
+     */
+    private List<JobPosting> removeNearDuplicates(List<JobPosting> jobs) {
+        List<JobPosting> kept = new ArrayList<>();
+        List<Set<String>> keptShingles = new ArrayList<>();
+        for (JobPosting job : jobs) {
+            Set<String> shingles = shingles(job);
+            boolean duplicate = false;
+            for (Set<String> other : keptShingles) {
+                if (jaccard(shingles, other) >= nearDuplicateThreshold) {
+                    duplicate = true;
+                    break;
+                }
+            }
+            if (!duplicate) {
+                kept.add(job);
+                keptShingles.add(shingles);
+            }
+        }
+        return kept;
+    }
+
+    private Set<String> shingles(JobPosting job) {
+        String text = safe(job.getPosition()) + " " + safe(job.getRequiredSkills()) + " "
+                + TokenEstimator.truncate(safe(job.getCleanedText()), 200);
+        String[] words = WORD_SEPARATOR.split(SkillMatcher.fold(text));
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 2 < words.length; i++) {
+            result.add(words[i] + " " + words[i + 1] + " " + words[i + 2]);
+        }
+        if (result.isEmpty()) result.add(String.join(" ", words));
+        return result;
+    }
+
+    private double jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() && b.isEmpty()) return 1.0;
+        Set<String> smaller = a.size() <= b.size() ? a : b;
+        Set<String> larger = smaller == a ? b : a;
+        int intersection = 0;
+        for (String s : smaller) {
+            if (larger.contains(s)) intersection++;
+        }
+        return (double) intersection / (a.size() + b.size() - intersection);
+    }
+
+    private String safe(String text) {
+        return (text == null || text.equalsIgnoreCase("null")) ? "" : text.trim();
+    }
+}
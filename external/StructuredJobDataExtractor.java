@@ -0,0 +1,272 @@
+package com.cvbuilder.external;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Sayfadaki schema.org JobPosting yapısal verisini okur.
+ * Önce <script type="application/ld+json"> blokları (dizi ve @graph dahil), yoksa microdata
+ * (itemtype=".../JobPosting") denenir. İlan sitelerinin çoğu bu veriyi SEO için yayınladığından
+ * pozisyon, şirket, konum, maaş ve çalışma şekli LLM'e sorulmadan elde edilir.
+ *
+ * Dönen anahtarlar (bulunanlar): position, company, location, salary, workType, experienceLevel,
+ * educationLevel, skills, responsibilities, datePosted, description (düz metin).
+ * Hiçbir şey bulunamazsa boş map döner.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StructuredJobDataExtractor {
+
+    private static final Map<String, String> EMPLOYMENT_TYPES = Map.of(
+            "FULL_TIME", "Tam Zamanlı",
+            "PART_TIME", "Yarı Zamanlı",
+            "CONTRACTOR", "Sözleşmeli",
+            "TEMPORARY", "Geçici",
+            "INTERN", "Stajyer",
+            "VOLUNTEER", "Gönüllü",
+            "PER_DIEM", "Günlük",
+            "OTHER", "Diğer");
+
+    private final ObjectMapper objectMapper;
+
+    public Map<String, String> extract(Document doc) {
+        Map<String, String> fromJsonLd = extractJsonLd(doc);
+        if (!fromJsonLd.isEmpty()) return fromJsonLd;
+        return extractMicrodata(doc);
+    }
+
+    // =========================================================
+    // JSON-LD
+    // =========================================================
+
+    private Map<String, String> extractJsonLd(Document doc) {
+        for (Element script : doc.select("script[type=application/ld+json]")) {
+            String json = script.data();
+            if (json == null || !json.contains("JobPosting")) continue;
+            try {
+                JsonNode job = findJobPosting(objectMapper.readTree(json.trim()));
+                if (job != null) return fromJsonLd(job);
+            } catch (Exception e) {
+                log.debug("JSON-LD okunamadı: {}", e.getMessage());
+            }
+        }
+        return new LinkedHashMap<>();
+    }
+
+    private JsonNode findJobPosting(JsonNode node) {
+        if (node == null) return null;
+        if (node.isArray()) {
+            for (JsonNode child : node) {
+                JsonNode found = findJobPosting(child);
+                if (found != null) return found;
+            }
+            return null;
+        }
+        if (!node.isObject()) return null;
+        if (isJobPostingType(node.get("@type"))) return node;
+        JsonNode found = findJobPosting(node.get("@graph"));
+        return found != null ? found : findJobPosting(node.get("mainEntity"));
+    }
+
+    private boolean isJobPostingType(JsonNode type) {
+        if (type == null) return false;
+        if (type.isArray()) {
+            for (JsonNode t : type) {
+                if (isJobPostingType(t)) return true;
+            }
+            return false;
+        }
+        return type.asText("").endsWith("JobPosting");
+    }
+
+    private Map<String, String> fromJsonLd(JsonNode job) {
+        Map<String, String> result = new LinkedHashMap<>();
+        put(result, "position", firstNonBlank(text(job.get("title")), text(job.get("name"))));
+        put(result, "company", nameOf(job.get("hiringOrganization")));
+        put(result, "location", locationOf(job.get("jobLocation")));
+        put(result, "salary", salaryOf(job.get("baseSalary")));
+
+        List<String> workTypes = new ArrayList<>();
+        for (String type : texts(job.get("employmentType"))) {
+            for (String part : type.split(",")) {
+                String key = part.trim().toUpperCase(Locale.ROOT).replace('-', '_').replace(' ', '_');
+                if (!key.isEmpty()) workTypes.add(EMPLOYMENT_TYPES.getOrDefault(key, part.trim()));
+            }
+        }
+        if ("TELECOMMUTE".equalsIgnoreCase(text(job.get("jobLocationType")))) workTypes.add("Uzaktan");
+        put(result, "workType", String.join(", ", new LinkedHashSet<>(workTypes)));
+
+        put(result, "experienceLevel", requirementOf(job.get("experienceRequirements"), "monthsOfExperience"));
+        put(result, "educationLevel", requirementOf(job.get("educationRequirements"), "credentialCategory"));
+        put(result, "skills", String.join(", ", texts(job.get("skills"))));
+        put(result, "responsibilities", htmlToText(String.join("\n", texts(job.get("responsibilities")))));
+        put(result, "datePosted", text(job.get("datePosted")));
+        put(result, "description", htmlToText(text(job.get("description"))));
+        return result;
+    }
+
+    private String nameOf(JsonNode node) {
+        if (node == null || node.isNull()) return "";
+        if (node.isArray()) return node.size() > 0 ? nameOf(node.get(0)) : "";
+        if (node.isObject()) return text(node.get("name"));
+        return text(node);
+    }
+
+    private String locationOf(JsonNode node) {
+        if (node == null || node.isNull()) return "";
+        Set<String> locations = new LinkedHashSet<>();
+        List<JsonNode> places = new ArrayList<>();
+        if (node.isArray()) node.forEach(places::add);
+        else places.add(node);
+
+        for (JsonNode place : places) {
+            JsonNode address = place.isObject() ? place.get("address") : place;
+            if (address == null || address.isNull()) continue;
+            if (!address.isObject()) {
+                put(locations, text(address));
+                continue;
+            }
+            List<String> parts = new ArrayList<>();
+            for (String field : List.of("addressLocality", "addressRegion", "addressCountry")) {
+                String value = nameOf(address.get(field));
+                if (!value.isBlank() && !parts.contains(value)) parts.add(value);
+            }
+            put(locations, String.join(", ", parts));
+        }
+        return String.join(" / ", locations);
+    }
+
+    private String salaryOf(JsonNode node) {
+        if (node == null || node.isNull()) return "";
+        if (!node.isObject()) return text(node);
+        String currency = text(node.get("currency"));
+        JsonNode value = node.get("value");
+        String amount;
+        String unit = "";
+        if (value != null && value.isObject()) {
+            String min = text(value.get("minValue"));
+            String max = text(value.get("maxValue"));
+            String exact = text(value.get("value"));
+            amount = !min.isEmpty() && !max.isEmpty() ? min + " - " + max : firstNonBlank(exact, firstNonBlank(min, max));
+            unit = text(value.get("unitText"));
+        } else {
+            amount = text(value);
+        }
+        if (amount.isEmpty()) return "";
+        StringBuilder sb = new StringBuilder(amount);
+        if (!currency.isEmpty()) sb.append(' ').append(currency);
+        if (!unit.isEmpty()) sb.append(" / ").append(unit);
+        return sb.toString();
+    }
+
+    private String requirementOf(JsonNode node, String detailField) {
+        if (node == null || node.isNull()) return "";
+        List<String> values = new ArrayList<>();
+        List<JsonNode> items = new ArrayList<>();
+        if (node.isArray()) node.forEach(items::add);
+        else items.add(node);
+        for (JsonNode item : items) {
+            if (item.isObject()) {
+                String detail = text(item.get(detailField));
+                if (!detail.isEmpty() && "monthsOfExperience".equals(detailField)) detail = detail + " ay";
+                put(values, firstNonBlank(detail, text(item.get("description"))));
+            } else {
+                put(values, htmlToText(text(item)));
+            }
+        }
+        return String.join(", ", values);
+    }
+
+    private List<String> texts(JsonNode node) {
+        List<String> values = new ArrayList<>();
+        if (node == null || node.isNull()) return values;
+        if (node.isArray()) {
+            for (JsonNode child : node) put(values, child.isObject() ? text(child.get("name")) : text(child));
+        } else {
+            put(values, text(node));
+        }
+        return values;
+    }
+
+    private String text(JsonNode node) {
+        if (node == null || node.isNull() || node.isContainerNode()) return "";
+        return node.asText("").trim();
+    }
+
+    // =========================================================
+    // MICRODATA
+    // =========================================================
+
+    private Map<String, String> extractMicrodata(Document doc) {
+        Map<String, String> result = new LinkedHashMap<>();
+        Element job = doc.selectFirst("[itemscope][itemtype*=schema.org/JobPosting]");
+        if (job == null) return result;
+
+        put(result, "position", itemValue(job.selectFirst("[itemprop=title]")));
+        Element organization = job.selectFirst("[itemprop=hiringOrganization]");
+        if (organization != null) {
+            String name = itemValue(organization.selectFirst("[itemprop=name]"));
+            put(result, "company", name.isEmpty() ? itemValue(organization) : name);
+        }
+        Element location = job.selectFirst("[itemprop=jobLocation]");
+        if (location != null) {
+            List<String> parts = new ArrayList<>();
+            for (String field : List.of("addressLocality", "addressRegion", "addressCountry")) {
+                put(parts, itemValue(location.selectFirst("[itemprop=" + field + "]")));
+            }
+            put(result, "location", parts.isEmpty() ? itemValue(location) : String.join(", ", parts));
+        }
+        put(result, "salary", itemValue(job.selectFirst("[itemprop=baseSalary]")));
+        String employmentType = itemValue(job.selectFirst("[itemprop=employmentType]"));
+        put(result, "workType", EMPLOYMENT_TYPES.getOrDefault(employmentType.toUpperCase(Locale.ROOT), employmentType));
+        put(result, "experienceLevel", itemValue(job.selectFirst("[itemprop=experienceRequirements]")));
+        put(result, "educationLevel", itemValue(job.selectFirst("[itemprop=educationRequirements]")));
+        put(result, "skills", itemValue(job.selectFirst("[itemprop=skills]")));
+        put(result, "responsibilities", itemValue(job.selectFirst("[itemprop=responsibilities]")));
+        put(result, "datePosted", itemValue(job.selectFirst("[itemprop=datePosted]")));
+        put(result, "description", itemValue(job.selectFirst("[itemprop=description]")));
+        return result;
+    }
+
+    private String itemValue(Element element) {
+        if (element == null) return "";
+        if (element.hasAttr("content")) return element.attr("content").trim();
+        if (element.hasAttr("datetime")) return element.attr("datetime").trim();
+        return element.text().trim();
+    }
+
+    // =========================================================
+    // YARDIMCILAR
+    // =========================================================
+
+    /**
+     * description alanı çoğunlukla HTML (bazen entity olarak kaçışlı) gelir.
+     */
+    private String htmlToText(String html) {
+        if (html == null || html.isBlank()) return "";
+        String unescaped = html.contains("&lt;") ? Parser.unescapeEntities(html, false) : html;
+        return Jsoup.parse(unescaped).text().trim();
+    }
+
+    private void put(Map<String, String> map, String key, String value) {
+        if (value != null && !value.isBlank()) map.put(key, value.trim());
+    }
+
+    private void put(Collection<String> values, String value) {
+        if (value != null && !value.isBlank() && !values.contains(value.trim())) values.add(value.trim());
+    }
+
+    private String firstNonBlank(String primary, String fallback) {
+        return primary != null && !primary.isBlank() ? primary : (fallback == null ? "" : fallback);
+    }
+}
@@ -1,26 +1,36 @@
 package com.cvbuilder.repository;
 
 import com.cvbuilder.entity.ChatMessage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
-    
-    List<ChatMessage> findByUserIdOrderByCreatedAtAsc(Long userId);
-    
-    @Query("SELECT cm FROM ChatMessage cm WHERE cm.user.id = :userId ORDER BY cm.createdAt DESC")
-    List<ChatMessage> findRecentMessagesByUserId(@Param("userId") Long userId);
+
+    // Keyset (cursor) sayfalama: (createdAt, id) sırası idx_chat_messages_user_created index'i ile okunur,
+    // limit SQL'e Pageable ile iner (OFFSET kullanılmaz)
+    @Query("SELECT cm FROM ChatMessage cm WHERE cm.user.id = :userId ORDER BY cm.createdAt DESC, cm.id DESC")
+    List<ChatMessage> findLatestByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT cm FROM ChatMessage cm WHERE cm.user.id = :userId " +
+           "AND (cm.createdAt < :createdAt OR (cm.createdAt = :createdAt AND cm.id < :id)) " +
+           "ORDER BY cm.createdAt DESC, cm.id DESC")
+    List<ChatMessage> findPageBefore(@Param("userId") Long userId,
+                                     @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id,
+                                     Pageable pageable);
+
+    // Konuşma özetine henüz eklenmemiş, son (verbatim) pencereden eski mesajlar
+    @Query("SELECT cm FROM ChatMessage cm WHERE cm.user.id = :userId AND cm.id > :afterId AND cm.id < :beforeId " +
+           "ORDER BY cm.id ASC")
+    List<ChatMessage> findBetweenIds(@Param("userId") Long userId,
+                                     @Param("afterId") Long afterId,
+                                     @Param("beforeId") Long beforeId,
+                                     Pageable pageable);
     
     void deleteByUserId(Long userId);
 }
-
-
-
-
-
-
-
-
@@ -0,0 +1,13 @@
+package com.cvbuilder.repository;
+
+import com.cvbuilder.entity.ConversationSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface ConversationSummaryRepository extends JpaRepository<ConversationSummary, Long> {
+
+    Optional<ConversationSummary> findByUserId(Long userId);
+
+    void deleteByUserId(Long userId);
+}
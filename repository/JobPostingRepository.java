@@ -3,24 +3,59 @@ package com.cvbuilder.repository;
 import com.cvbuilder.entity.JobPosting;
 import com.cvbuilder.entity.User;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface JobPostingRepository extends JpaRepository<JobPosting, Long> {
 
+    // PostgreSQL tam metin arama dokümanı. idx_job_postings_fts GIN index'i bu ifade üzerine kurulur;
+    // index'in kullanılması için sorgudaki ifade birebir aynı olmalıdır.
+    String SEARCH_DOCUMENT =
+            "(setweight(to_tsvector('simple', coalesce(position, '')), 'A') || " +
+            "setweight(to_tsvector('simple', coalesce(required_skills, '')), 'B') || " +
+            "setweight(to_tsvector('simple', coalesce(cleaned_text, '')), 'C'))";
+
+    // Alanla ilgili ilanlar, alaka sırasına göre (pozisyon > beceriler > metin), ilk N tanesi.
+    // tsQuery to_tsquery girdisidir; kelimelerin önekle de eşleşmesi için TsQueryBuilder.prefixQuery ile üretilir
+    @Query(value = "SELECT * FROM job_postings WHERE " + SEARCH_DOCUMENT + " @@ to_tsquery('simple', :tsQuery) " +
+                   "ORDER BY ts_rank(" + SEARCH_DOCUMENT + ", to_tsquery('simple', :tsQuery)) DESC, created_at DESC " +
+                   "LIMIT :limit", nativeQuery = true)
+    List<JobPosting> searchRanked(@Param("tsQuery") String tsQuery, @Param("limit") int limit);
+
+    // Tam metin arama kullanılamadığında (PostgreSQL dışı veritabanı) sınırlı LIKE araması
+    @Query("SELECT jp FROM JobPosting jp WHERE lower(jp.position) LIKE lower(concat('%', :area, '%')) " +
+           "OR lower(jp.requiredSkills) LIKE lower(concat('%', :area, '%')) " +
+           "OR lower(jp.cleanedText) LIKE lower(concat('%', :area, '%')) " +
+           "ORDER BY jp.createdAt DESC")
+    List<JobPosting> searchByAreaLike(@Param("area") String area, Pageable pageable);
+
     // Bir kullanıcıya ait tüm iş ilanları
     List<JobPosting> findByUserId(Long userId);
 
     // Aynı URL daha önce eklenmiş mi kontrol etmek için
     List<JobPosting> findByUserIdAndUrl(Long userId, String url);
 
+    // Eski kayıtlarda canonicalUrl boş olabilir; onlar ham URL ile eşleşir
+    @Query("SELECT j FROM JobPosting j WHERE j.user.id = :userId AND (j.canonicalUrl = :canonicalUrl OR j.url = :url)")
+    List<JobPosting> findByUserIdAndUrlOrCanonicalUrl(@Param("userId") Long userId, @Param("url") String url,
+                                                      @Param("canonicalUrl") String canonicalUrl);
+
 	List<JobPosting> findTop100ByPositionContainingIgnoreCaseOrderByCreatedAtDesc(String area);
 	
 	// Pazar analizi için en az 200 ilan getirmek için
 	List<JobPosting> findTop200ByPositionContainingIgnoreCaseOrderByCreatedAtDesc(String area);
 
+    // Beceri sayılarını doldurmak için: findTop200ByPositionContainingIgnoreCase ile aynı eşleşme,
+    // sadece [id, requiredSkills, createdAt] sütunları, id sırasıyla sayfa sayfa (afterId'den sonrası)
+    @Query("SELECT jp.id, jp.requiredSkills, jp.createdAt FROM JobPosting jp " +
+           "WHERE upper(jp.position) LIKE upper(concat('%', :area, '%')) AND jp.id > :afterId ORDER BY jp.id")
+    List<Object[]> findSkillRowsByPosition(@Param("area") String area, @Param("afterId") Long afterId, Pageable pageable);
+
 	List<JobPosting> findByUserIdOrderByCreatedAtDesc(Long userId);
 
 	Optional<User> findFirstByUser_IdOrderByCreatedAtDesc(Long id);
@@ -0,0 +1,23 @@
+package com.cvbuilder.repository;
+
+import com.cvbuilder.entity.ScrapedPage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface ScrapedPageRepository extends JpaRepository<ScrapedPage, Long> {
+
+    Optional<ScrapedPage> findByUrlHash(String urlHash);
+
+    @Modifying
+    @Query("UPDATE ScrapedPage p SET p.validatedAt = :validatedAt WHERE p.urlHash = :urlHash")
+    int markValidated(@Param("urlHash") String urlHash, @Param("validatedAt") LocalDateTime validatedAt);
+
+    @Modifying
+    @Query("DELETE FROM ScrapedPage p WHERE p.urlHash = :urlHash")
+    int deleteByUrlHash(@Param("urlHash") String urlHash);
+}
@@ -0,0 +1,20 @@
+package com.cvbuilder.repository;
+
+import com.cvbuilder.entity.SkillAggregateArea;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface SkillAggregateAreaRepository extends JpaRepository<SkillAggregateArea, Long> {
+
+    Optional<SkillAggregateArea> findByAreaKey(String areaKey);
+
+    // Pozisyonu alan metnini içeren takip edilen alanlar (findSkillRowsByPosition ile aynı upper + içerir
+    // karşılaştırması), kilit sırası sabit olsun diye anahtara göre sıralı
+    @Query("SELECT a.areaKey FROM SkillAggregateArea a " +
+           "WHERE locate(upper(a.areaKey), upper(:position)) > 0 ORDER BY a.areaKey")
+    List<String> findAreaKeysMatchingPosition(@Param("position") String position);
+}
@@ -0,0 +1,34 @@
+package com.cvbuilder.repository;
+
+import com.cvbuilder.entity.SkillAggregate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SkillAggregateRepository extends JpaRepository<SkillAggregate, Long> {
+
+    // Tek ifadede artır ya da ekle (eş zamanlı kayıtlarda unique ihlali olmaz). Sadece PostgreSQL
+    @Modifying
+    @Query(value = "INSERT INTO skill_aggregates (area_key, skill, bucket_month, posting_count) " +
+                   "VALUES (:areaKey, :skill, :bucketMonth, :delta) " +
+                   "ON CONFLICT (area_key, skill, bucket_month) " +
+                   "DO UPDATE SET posting_count = skill_aggregates.posting_count + EXCLUDED.posting_count",
+           nativeQuery = true)
+    int increment(@Param("areaKey") String areaKey, @Param("skill") String skill,
+                  @Param("bucketMonth") LocalDate bucketMonth, @Param("delta") long delta);
+
+    @Modifying
+    @Query("DELETE FROM SkillAggregate s WHERE s.areaKey = :areaKey")
+    int deleteByAreaKey(@Param("areaKey") String areaKey);
+
+    // [skill, toplam] satırları, en çok geçenden başlayarak (area_key + bucket_month index'i kullanılır)
+    @Query("SELECT s.skill, SUM(s.postingCount) FROM SkillAggregate s " +
+           "WHERE s.areaKey = :areaKey AND s.bucketMonth >= :since " +
+           "GROUP BY s.skill ORDER BY SUM(s.postingCount) DESC")
+    List<Object[]> findTopSkills(@Param("areaKey") String areaKey, @Param("since") LocalDate since, Pageable pageable);
+}
@@ -0,0 +1,20 @@
+package com.cvbuilder.service;
+
+/**
+ * Zincirdeki AI sağlayıcıları (öncelik sırasına göre).
+ */
+public enum AiProvider {
+    GEMINI("Gemini"),
+    GROQ("Groq"),
+    DEEPSEEK("DeepSeek");
+
+    private final String displayName;
+
+    AiProvider(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,212 @@
+package com.cvbuilder.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * LLM yanıt önbelleği (content-addressed).
+ * Anahtar: SHA-256(model imzası + normalize edilmiş prompt).
+ * Toplam boyut (byte) sınırlıdır; sınır aşılınca en az kullanılan (LRU) kayıtlar silinir,
+ * süresi (TTL) dolan kayıtlar okunurken düşürülür.
+ * ai.cache.persist-path verilirse kapanışta diske yazılır, açılışta geri yüklenir.
+ */
+@Slf4j
+@Component
+public class AiResponseCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Value("${ai.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ai.cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    @Value("${ai.cache.ttl-minutes:720}")
+    private long ttlMinutes;
+
+    @Value("${ai.cache.persist-path:}")
+    private String persistPath;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // accessOrder=true -> iterasyon sırası en eskiden en yeni kullanılana (LRU)
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long currentBytes = 0;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Diske yazılabilmesi için alanları public tutulan basit kayıt.
+     */
+    public static class Entry {
+        public String value;
+        public long expiresAtMillis;
+
+        public Entry() {
+        }
+
+        Entry(String value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        long sizeInBytes(String key) {
+            // Java String ~2 byte/karakter + kayıt başına sabit ek yük
+            return 2L * (key.length() + (value != null ? value.length() : 0)) + 64;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Prompt'u normalize edip model imzasıyla birlikte SHA-256 anahtarına çevirir.
+     * Sadece boşluk farkı olan promptlar aynı anahtarı üretir.
+     */
+    public String buildKey(String modelSignature, String prompt) {
+        String normalized = prompt == null ? "" : WHITESPACE.matcher(prompt.trim()).replaceAll(" ");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((modelSignature == null ? "" : modelSignature).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(normalized.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 desteklenmiyor", e);
+        }
+    }
+
+    public Optional<String> get(String key) {
+        if (!enabled || key == null) return Optional.empty();
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAtMillis < System.currentTimeMillis()) {
+                removeEntry(key);
+                entry = null;
+            }
+            if (entry == null) {
+                misses.incrementAndGet();
+                return Optional.empty();
+            }
+            hits.incrementAndGet();
+            return Optional.of(entry.value);
+        }
+    }
+
+    public void put(String key, String value) {
+        if (!enabled || key == null || value == null || value.isBlank()) return;
+        Entry entry = new Entry(value, System.currentTimeMillis() + ttlMinutes * 60_000L);
+        long size = entry.sizeInBytes(key);
+        if (size > maxBytes) return; // Tek başına sınırı aşan yanıt önbelleğe alınmaz
+
+        synchronized (this) {
+            removeEntry(key);
+            entries.put(key, entry);
+            currentBytes += size;
+            evictIfNeeded();
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        currentBytes = 0;
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        long h = hits.get();
+        long m = misses.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("entries", entries.size());
+        stats.put("bytes", currentBytes);
+        stats.put("maxBytes", maxBytes);
+        stats.put("hits", h);
+        stats.put("misses", m);
+        stats.put("evictions", evictions.get());
+        stats.put("hitRatio", h + m == 0 ? 0.0 : (double) h / (h + m));
+        return stats;
+    }
+
+    private void removeEntry(String key) {
+        Entry old = entries.remove(key);
+        if (old != null) currentBytes -= old.sizeInBytes(key);
+    }
+
+    private void evictIfNeeded() {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Entry> eldest = it.next();
+            currentBytes -= eldest.getValue().sizeInBytes(eldest.getKey());
+            it.remove();
+            if (eldest.getValue().expiresAtMillis >= now) evictions.incrementAndGet();
+        }
+    }
+
+    // =========================================================
+    // DİSK KALICILIĞI (OPSİYONEL)
+    // =========================================================
+
+    @PostConstruct
+    public void load() {
+        if (!enabled || persistPath == null || persistPath.isBlank()) return;
+        Path path = Paths.get(persistPath);
+        if (!Files.exists(path)) return;
+        try {
+            Map<String, Entry> snapshot = objectMapper.readValue(path.toFile(), new TypeReference<LinkedHashMap<String, Entry>>() {});
+            long now = System.currentTimeMillis();
+            synchronized (this) {
+                snapshot.forEach((key, entry) -> {
+                    if (entry != null && entry.value != null && entry.expiresAtMillis >= now) {
+                        entries.put(key, entry);
+                        currentBytes += entry.sizeInBytes(key);
+                    }
+                });
+                evictIfNeeded();
+            }
+            log.info("AI yanıt önbelleği diskten yüklendi: {} kayıt", entries.size());
+        } catch (Exception e) {
+            log.warn("AI yanıt önbelleği diskten okunamadı ({}): {}", persistPath, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void save() {
+        if (!enabled || persistPath == null || persistPath.isBlank()) return;
+        Map<String, Entry> snapshot;
+        synchronized (this) {
+            snapshot = new LinkedHashMap<>(entries);
+        }
+        try {
+            Path path = Paths.get(persistPath);
+            if (path.getParent() != null) Files.createDirectories(path.getParent());
+            // Önce geçici dosyaya yaz, sonra taşı (yarım dosya kalmasın)
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            objectMapper.writeValue(tmp.toFile(), snapshot);
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+            log.info("AI yanıt önbelleği diske yazıldı: {} kayıt", snapshot.size());
+        } catch (Exception e) {
+            log.warn("AI yanıt önbelleği diske yazılamadı ({}): {}", persistPath, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.cvbuilder.service;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bir sağlayıcının API anahtar havuzu.
+ * Her anahtar için:
+ * - Token bucket (GCRA ile, tek CAS): dakikalık istek kotasını aşmadan gönderim
+ * - Cooldown: 429 alındığında Retry-After kadar anahtar devre dışı
+ * - Sağlık puanı: hata oranı ve gecikmenin üstel hareketli ortalaması (EWMA)
+ * Seçim kilitsizdir; uygun anahtarlar arasından en yüksek puanlı olan alınır.
+ */
+public class ApiKeyPool {
+
+    private static final double EWMA_ALPHA = 0.2;
+
+    private final AiProvider provider;
+    private final List<KeyState> keys;
+    private final long defaultCooldownMillis;
+    private final AtomicInteger rotation = new AtomicInteger(0);
+
+    public ApiKeyPool(AiProvider provider, List<String> rawKeys, int requestsPerMinute, int burst, long defaultCooldownSeconds) {
+        this.provider = provider;
+        this.defaultCooldownMillis = TimeUnit.SECONDS.toMillis(Math.max(1, defaultCooldownSeconds));
+        long intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, requestsPerMinute);
+        List<KeyState> states = new ArrayList<>();
+        for (String key : rawKeys) {
+            states.add(new KeyState(key, intervalNanos, Math.max(1, burst)));
+        }
+        this.keys = List.copyOf(states);
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    public boolean isEmpty() {
+        return keys.isEmpty();
+    }
+
+    /**
+     * Kotası ve cooldown'u uygun anahtarlar arasından en sağlıklısını seçer ve bir token harcar.
+     * Eşit puanlarda yük dağılsın diye tarama dönen bir başlangıç noktasından yapılır.
+     *
+     * @param exclude bu istek içinde zaten denenmiş anahtarlar
+     * @return uygun anahtar yoksa boş
+     */
+    public Optional<KeyState> acquire(Set<KeyState> exclude) {
+        int n = keys.size();
+        if (n == 0) return Optional.empty();
+
+        long nowMillis = System.currentTimeMillis();
+        int start = Math.floorMod(rotation.getAndIncrement(), n);
+
+        // En fazla n deneme: en iyi aday token alamazsa (yarış) sıradakine geçilir
+        Set<KeyState> skipped = new HashSet<>(exclude);
+        for (int attempt = 0; attempt < n; attempt++) {
+            KeyState best = null;
+            double bestScore = -1;
+            for (int i = 0; i < n; i++) {
+                KeyState state = keys.get((start + i) % n);
+                if (skipped.contains(state) || state.isCoolingDown(nowMillis) || !state.hasCapacity()) continue;
+                double score = state.healthScore();
+                if (score > bestScore) {
+                    best = state;
+                    bestScore = score;
+                }
+            }
+            if (best == null) return Optional.empty();
+            if (best.tryAcquire()) return Optional.of(best);
+            skipped.add(best);
+        }
+        return Optional.empty();
+    }
+
+    public void recordSuccess(KeyState state, long latencyMillis) {
+        state.successCount.incrementAndGet();
+        state.updateEwma(0.0, latencyMillis);
+    }
+
+    public void recordFailure(KeyState state, long latencyMillis) {
+        state.errorCount.incrementAndGet();
+        state.updateEwma(1.0, latencyMillis);
+    }
+
+    /**
+     * 429 yanıtı: anahtar Retry-After süresi (yoksa varsayılan süre) boyunca seçilmez.
+     */
+    public void recordRateLimited(KeyState state, String retryAfterHeader) {
+        state.rateLimitedCount.incrementAndGet();
+        state.updateEwma(1.0, -1);
+        long cooldown = parseRetryAfterMillis(retryAfterHeader).orElse(defaultCooldownMillis);
+        state.cooldownUntilMillis.accumulateAndGet(System.currentTimeMillis() + cooldown, Math::max);
+    }
+
+    /**
+     * Retry-After: saniye ("30") ya da HTTP tarihi ("Wed, 21 Oct 2015 07:28:00 GMT") olabilir.
+     */
+    static Optional<Long> parseRetryAfterMillis(String header) {
+        if (header == null || header.isBlank()) return Optional.empty();
+        String value = header.trim();
+        try {
+            return Optional.of(TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(value))));
+        } catch (NumberFormatException ignored) {
+            // tarih formatı denenecek
+        }
+        try {
+            ZonedDateTime at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Optional.of(Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toMillis()));
+        } catch (Exception ignored) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Admin ekranı için havuz durumu. Anahtarlar sadece havuzdaki sıralarıyla (1'den başlar) gösterilir;
+     * anahtarın hiçbir parçası dönmez.
+     */
+    public List<Map<String, Object>> snapshot() {
+        long nowMillis = System.currentTimeMillis();
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            KeyState state = keys.get(i);
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("provider", provider.getDisplayName());
+            row.put("keyIndex", i + 1);
+            row.put("healthScore", Math.round(state.healthScore() * 1000) / 1000.0);
+            row.put("errorRate", Math.round(state.errorEwma() * 1000) / 1000.0);
+            row.put("latencyMs", Math.round(state.latencyEwma()));
+            row.put("cooldownRemainingMs", Math.max(0, state.cooldownUntilMillis.get() - nowMillis));
+            row.put("hasCapacity", state.hasCapacity());
+            row.put("success", state.successCount.get());
+            row.put("errors", state.errorCount.get());
+            row.put("rateLimited", state.rateLimitedCount.get());
+            result.add(row);
+        }
+        return result;
+    }
+
+    /**
+     * Tek bir anahtarın durumu. Tüm alanlar atomik; güncellemeler CAS ile yapılır.
+     */
+    public static final class KeyState {
+        private final String key;
+        private final long intervalNanos;
+        private final long burstToleranceNanos;
+
+        // GCRA: bir sonraki isteğin "teorik varış zamanı"
+        private final AtomicLong theoreticalArrivalNanos;
+        private final AtomicLong cooldownUntilMillis = new AtomicLong(0);
+        // double değerler bit olarak saklanır (lock-free EWMA)
+        private final AtomicLong errorEwmaBits = new AtomicLong(Double.doubleToLongBits(0.0));
+        private final AtomicLong latencyEwmaBits = new AtomicLong(Double.doubleToLongBits(0.0));
+
+        private final AtomicLong successCount = new AtomicLong();
+        private final AtomicLong errorCount = new AtomicLong();
+        private final AtomicLong rateLimitedCount = new AtomicLong();
+
+        KeyState(String key, long intervalNanos, int burst) {
+            this.key = key;
+            this.intervalNanos = intervalNanos;
+            this.burstToleranceNanos = intervalNanos * (burst - 1L);
+            this.theoreticalArrivalNanos = new AtomicLong(System.nanoTime());
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        boolean isCoolingDown(long nowMillis) {
+            return cooldownUntilMillis.get() > nowMillis;
+        }
+
+        boolean hasCapacity() {
+            long now = System.nanoTime();
+            return theoreticalArrivalNanos.get() - now <= burstToleranceNanos;
+        }
+
+        boolean tryAcquire() {
+            while (true) {
+                long now = System.nanoTime();
+                long tat = theoreticalArrivalNanos.get();
+                long base = tat - now > 0 ? tat : now;
+                if (base - now > burstToleranceNanos) return false;
+                if (theoreticalArrivalNanos.compareAndSet(tat, base + intervalNanos)) return true;
+            }
+        }
+
+        double errorEwma() {
+            return Double.longBitsToDouble(errorEwmaBits.get());
+        }
+
+        double latencyEwma() {
+            return Double.longBitsToDouble(latencyEwmaBits.get());
+        }
+
+        /**
+         * Puan 0-1 arası: hata oranı düşük ve gecikmesi az olan anahtar öne çıkar.
+         */
+        double healthScore() {
+            return (1.0 - errorEwma()) / (1.0 + latencyEwma() / 10_000.0);
+        }
+
+        void updateEwma(double errorSample, long latencyMillis) {
+            accumulateEwma(errorEwmaBits, errorSample);
+            if (latencyMillis >= 0) accumulateEwma(latencyEwmaBits, latencyMillis);
+        }
+
+        private static void accumulateEwma(AtomicLong bits, double sample) {
+            bits.getAndUpdate(current -> {
+                double value = Double.longBitsToDouble(current);
+                return Double.doubleToLongBits(value + EWMA_ALPHA * (sample - value));
+            });
+        }
+    }
+}
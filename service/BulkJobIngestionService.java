@@ -0,0 +1,402 @@
+package com.cvbuilder.service;
+
+import com.cvbuilder.dto.BulkIngestionStatus;
+import com.cvbuilder.dto.JobAnalysisResponse;
+import com.cvbuilder.entity.JobPosting;
+import com.cvbuilder.external.JobScraperClient;
+import com.cvbuilder.repository.JobPostingRepository;
+import com.cvbuilder.util.DomainRateLimiter;
+import com.cvbuilder.util.UrlCanonicalizer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Toplu ilan URL aktarımı.
+ * URL'ler alan adı (host) başına kuyruklara alınır. Bir kuyruktan havuza (jobIngestExecutor) ancak
+ * DomainRateLimiter izin verdiğinde iş gönderilir; site sınırı dolu ya da bekleme aralığı sürüyorsa
+ * URL kuyrukta kalır ve zamanlayıcı/izin bırakılması ile tekrar dağıtılır. Böylece havuz thread'leri
+ * hiçbir zaman site sınırı için beklemez. Başarıyla çekilen ilanlar normal analiz akışına (analiz + kayıt)
+ * girer. İlerleme polling veya SSE ile izlenir.
+ * Bekleyen URL sayısı job.ingest.queue-capacity ile sınırlıdır; sığmayan toplu iş en baştan reddedilir.
+ * Toplu işler bellekte tutulur; tamamlananlar saklama süresi dolunca silinir. Boşta kalan site
+ * kuyrukları ve site sınırı durumları da yeni toplu iş geldiğinde temizlenir.
+ * Daha önce kaydedilmiş ilan kontrolü kanonik URL ile yapılır (takip parametreleri, sondaki "/" vb. fark etmez).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkJobIngestionService {
+
+    // Havuz doluyken kuyruktaki URL'nin tekrar deneneceği süre
+    private static final long EXECUTOR_RETRY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final JobScraperClient scraper;
+    private final JobAnalysisService jobAnalysisService;
+    private final JobPostingRepository jobPostingRepository;
+    private final ThreadPoolTaskExecutor jobIngestExecutor;
+    private final SseBroadcaster sseBroadcaster;
+
+    @Value("${job.ingest.max-urls:500}")
+    private int maxUrls;
+
+    // Tüm toplu işlerde aynı anda bekleyen/işlenen en fazla URL sayısı
+    @Value("${job.ingest.queue-capacity:2000}")
+    private int pendingCapacity;
+
+    @Value("${job.ingest.per-domain-concurrency:2}")
+    private int perDomainConcurrency;
+
+    @Value("${job.ingest.per-domain-interval-ms:1000}")
+    private long perDomainIntervalMillis;
+
+    @Value("${job.ingest.retention-minutes:60}")
+    private long retentionMinutes;
+
+    @Value("${job.ingest.sse-timeout-seconds:1800}")
+    private long sseTimeoutSeconds;
+
+    // Tüm toplu işler ortak: aynı siteye farklı kullanıcılardan gelen istekler de sınırlanır
+    private DomainRateLimiter domainRateLimiter;
+
+    private final Map<String, Batch> batches = new ConcurrentHashMap<>();
+    private final Map<String, DomainQueue> domainQueues = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingUrls = new AtomicInteger();
+
+    @PostConstruct
+    void init() {
+        domainRateLimiter = new DomainRateLimiter(perDomainConcurrency, perDomainIntervalMillis);
+    }
+
+    private static final class Item {
+        final String url;
+        volatile String status;
+        volatile Long jobId;
+        volatile String position;
+        volatile String error;
+
+        Item(String url, String status) {
+            this.url = url;
+            this.status = status;
+        }
+
+        boolean isFinished() {
+            return !"QUEUED".equals(status) && !"FETCHING".equals(status) && !"ANALYZING".equals(status);
+        }
+    }
+
+    private static final class Batch {
+        final String id;
+        final Long userId;
+        final List<Item> items;
+        final AtomicInteger remaining = new AtomicInteger();
+        final LocalDateTime createdAt = LocalDateTime.now();
+        volatile LocalDateTime updatedAt = createdAt;
+
+        Batch(String id, Long userId, List<Item> items) {
+            this.id = id;
+            this.userId = userId;
+            this.items = items;
+        }
+
+        boolean isFinished() {
+            return remaining.get() <= 0;
+        }
+    }
+
+    private static final class Pending {
+        final Batch batch;
+        final Item item;
+
+        Pending(Batch batch, Item item) {
+            this.batch = batch;
+            this.item = item;
+        }
+    }
+
+    /**
+     * Bir sitenin sırası gelmemiş URL'leri. Erişim kuyruk nesnesi üzerinden senkronizedir.
+     */
+    private static final class DomainQueue {
+        final Deque<Pending> pending = new ArrayDeque<>();
+        boolean retryScheduled;
+        // Boşta kalıp map'ten silinmek üzere işaretlendi; yeni URL eklenmez
+        boolean retired;
+
+        synchronized boolean retireIfIdle() {
+            if (pending.isEmpty() && !retryScheduled) retired = true;
+            return retired;
+        }
+    }
+
+    /**
+     * URL listesi kuyruğa alınır; tekrar eden ve geçersiz URL'ler hemen işaretlenir.
+     * Bekleyen URL'ler kapasiteyi aşacaksa toplu işin tamamı reddedilir (kısmen kabul edilmez).
+     */
+    public BulkIngestionStatus submit(Long userId, List<String> urls) {
+        if (urls == null || urls.isEmpty()) {
+            throw new RuntimeException("URL listesi boş olamaz");
+        }
+        if (urls.size() > maxUrls) {
+            throw new RuntimeException("Tek seferde en fazla " + maxUrls + " URL gönderilebilir");
+        }
+        evictExpiredBatches();
+        evictIdleDomains();
+
+        List<Item> items = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (String raw : urls) {
+            String url = raw == null ? "" : raw.trim();
+            if (url.isEmpty()) continue;
+            Item item = new Item(url, "QUEUED");
+            if (!url.startsWith("http://") && !url.startsWith("https://")) {
+                item.status = "FAILED";
+                item.error = "Geçersiz URL";
+            } else if (!seen.add(UrlCanonicalizer.canonicalize(url))) {
+                item.status = "DUPLICATE";
+            }
+            items.add(item);
+        }
+
+        int queued = (int) items.stream().filter(i -> "QUEUED".equals(i.status)).count();
+        if (!reservePending(queued)) {
+            throw new RuntimeException("Sistem şu an yoğun, lütfen biraz sonra tekrar deneyin.");
+        }
+
+        Batch batch = new Batch(UUID.randomUUID().toString(), userId, List.copyOf(items));
+        batch.remaining.set(queued);
+        batches.put(batch.id, batch);
+
+        Set<String> domains = new LinkedHashSet<>();
+        for (Item item : batch.items) {
+            if (!"QUEUED".equals(item.status)) continue;
+            String domain = UrlCanonicalizer.host(item.url);
+            enqueue(domain, new Pending(batch, item));
+            domains.add(domain);
+        }
+        domains.forEach(this::dispatch);
+        log.info("Toplu ilan aktarımı başlatıldı - BatchId: {}, UserId: {}, URL: {}", batch.id, userId, items.size());
+        return toStatus(batch);
+    }
+
+    public Optional<BulkIngestionStatus> getStatus(String batchId, Long userId) {
+        evictExpiredBatches();
+        return findOwned(batchId, userId).map(this::toStatus);
+    }
+
+    /**
+     * SSE aboneliği: önce mevcut durum, sonra her URL bittiğinde "item" ve "status" olayları.
+     */
+    public Optional<SseEmitter> subscribe(String batchId, Long userId) {
+        Optional<Batch> found = findOwned(batchId, userId);
+        if (found.isEmpty()) return Optional.empty();
+
+        Batch batch = found.get();
+        SseEmitter emitter = sseBroadcaster.subscribe(topic(batch.id), Duration.ofSeconds(sseTimeoutSeconds).toMillis());
+        sseBroadcaster.sendTo(emitter, "status", toStatus(batch));
+        if (batch.isFinished()) emitter.complete();
+        return Optional.of(emitter);
+    }
+
+    private void enqueue(String domain, Pending pending) {
+        while (true) {
+            DomainQueue queue = domainQueues.computeIfAbsent(domain, d -> new DomainQueue());
+            synchronized (queue) {
+                if (!queue.retired) {
+                    queue.pending.add(pending);
+                    return;
+                }
+            }
+            domainQueues.remove(domain, queue);
+        }
+    }
+
+    private boolean reservePending(int count) {
+        while (true) {
+            int current = pendingUrls.get();
+            if (current + count > pendingCapacity) return false;
+            if (pendingUrls.compareAndSet(current, current + count)) return true;
+        }
+    }
+
+    /**
+     * Sitenin kuyruğundan, site sınırının izin verdiği kadar URL'yi havuza gönderir. Bloklamaz:
+     * eş zamanlılık doluysa bir izin bırakılınca, bekleme aralığı sürüyorsa süre dolunca tekrar çağrılır.
+     * Havuz doluysa URL kuyruğun başına geri konur ve kısa süre sonra tekrar denenir (kabul edilmiş iş düşürülmez).
+     */
+    private void dispatch(String domain) {
+        DomainQueue queue = domainQueues.get(domain);
+        if (queue == null) return;
+
+        synchronized (queue) {
+            while (!queue.pending.isEmpty()) {
+                long waitNanos = domainRateLimiter.tryAcquire(domain);
+                if (waitNanos == DomainRateLimiter.SATURATED) break;
+                if (waitNanos > 0) {
+                    scheduleRetry(queue, domain, waitNanos);
+                    break;
+                }
+                Pending next = queue.pending.poll();
+                try {
+                    jobIngestExecutor.execute(() -> process(next.batch, next.item, domain));
+                } catch (TaskRejectedException e) {
+                    domainRateLimiter.release(domain);
+                    queue.pending.addFirst(next);
+                    scheduleRetry(queue, domain, EXECUTOR_RETRY_NANOS);
+                    break;
+                }
+            }
+        }
+    }
+
+    // Çağıran kuyruğun kilidini tutar
+    private void scheduleRetry(DomainQueue queue, String domain, long delayNanos) {
+        if (queue.retryScheduled) return;
+        queue.retryScheduled = true;
+        CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS).execute(() -> {
+            synchronized (queue) {
+                queue.retryScheduled = false;
+            }
+            dispatch(domain);
+        });
+    }
+
+    private void process(Batch batch, Item item, String domain) {
+        boolean permitReleased = false;
+        try {
+            List<JobPosting> existing = jobPostingRepository.findByUserIdAndUrlOrCanonicalUrl(
+                    batch.userId, item.url, UrlCanonicalizer.canonicalize(item.url));
+            if (!existing.isEmpty()) {
+                item.jobId = existing.get(0).getId();
+                item.position = existing.get(0).getPosition();
+                item.status = "EXISTING";
+                return;
+            }
+
+            item.status = "FETCHING";
+            Map<String, String> scrapedData;
+            try {
+                scrapedData = scraper.fetchJobData(item.url);
+            } finally {
+                releasePermit(domain);
+                permitReleased = true;
+            }
+            String jobContent = scrapedData.get("jobContent");
+            if (jobContent == null || jobContent.trim().length() < 50) {
+                item.status = "FAILED";
+                item.error = "İlan içeriği çekilemedi";
+                return;
+            }
+
+            // Site sınırı sadece sayfa çekmeyi kapsar; analiz izin bırakıldıktan sonra yapılır
+            item.status = "ANALYZING";
+            JobAnalysisResponse response = jobAnalysisService.analyzeJobContent(batch.userId, item.url, scrapedData);
+            item.jobId = response.getJobId();
+            item.position = response.getPosition();
+            item.status = "DONE";
+        } catch (Exception e) {
+            item.status = "FAILED";
+            item.error = e.getMessage();
+            log.warn("Toplu aktarımda ilan işlenemedi - BatchId: {}, URL: {}: {}", batch.id, item.url, e.getMessage());
+        } finally {
+            if (!permitReleased) releasePermit(domain);
+            finishItem(batch, item);
+        }
+    }
+
+    private void releasePermit(String domain) {
+        domainRateLimiter.release(domain);
+        dispatch(domain);
+    }
+
+    private void finishItem(Batch batch, Item item) {
+        pendingUrls.decrementAndGet();
+        batch.updatedAt = LocalDateTime.now();
+        sseBroadcaster.publish(topic(batch.id), "item", toItem(item));
+        if (batch.remaining.decrementAndGet() <= 0) {
+            log.info("Toplu ilan aktarımı tamamlandı - BatchId: {}", batch.id);
+            sseBroadcaster.complete(topic(batch.id), "status", toStatus(batch));
+        } else {
+            sseBroadcaster.publish(topic(batch.id), "status", toStatus(batch));
+        }
+    }
+
+    private Optional<Batch> findOwned(String batchId, Long userId) {
+        Batch batch = batchId == null ? null : batches.get(batchId);
+        if (batch == null) return Optional.empty();
+        // Kullanıcı belirtilmeyen veya başka kullanıcıya ait iş "bulunamadı" olarak döner
+        if (userId == null || !userId.equals(batch.userId)) return Optional.empty();
+        return Optional.of(batch);
+    }
+
+    private BulkIngestionStatus toStatus(Batch batch) {
+        int succeeded = 0;
+        int failed = 0;
+        int skipped = 0;
+        int finished = 0;
+        List<BulkIngestionStatus.Item> items = new ArrayList<>(batch.items.size());
+        for (Item item : batch.items) {
+            if (item.isFinished()) finished++;
+            if ("DONE".equals(item.status)) succeeded++;
+            else if ("FAILED".equals(item.status)) failed++;
+            else if ("EXISTING".equals(item.status) || "DUPLICATE".equals(item.status)) skipped++;
+            items.add(toItem(item));
+        }
+        int total = batch.items.size();
+
+        return BulkIngestionStatus.builder()
+                .batchId(batch.id)
+                .status(batch.isFinished() ? "COMPLETED" : "RUNNING")
+                .total(total)
+                .succeeded(succeeded)
+                .failed(failed)
+                .skipped(skipped)
+                .progressPercent(total == 0 ? 100 : finished * 100 / total)
+                .items(items)
+                .createdAt(batch.createdAt)
+                .updatedAt(batch.updatedAt)
+                .build();
+    }
+
+    private BulkIngestionStatus.Item toItem(Item item) {
+        return BulkIngestionStatus.Item.builder()
+                .url(item.url)
+                .status(item.status)
+                .jobId(item.jobId)
+                .position(item.position)
+                .error(item.error)
+                .build();
+    }
+
+    private void evictExpiredBatches() {
+        LocalDateTime threshold = LocalDateTime.now().minusMinutes(retentionMinutes);
+        batches.values().removeIf(batch -> batch.isFinished() && batch.updatedAt.isBefore(threshold));
+    }
+
+    /**
+     * Bekleyen URL'si ve zamanlanmış denemesi olmayan site kuyruklarını ve boştaki site sınırı durumlarını siler.
+     */
+    private void evictIdleDomains() {
+        for (Map.Entry<String, DomainQueue> entry : domainQueues.entrySet()) {
+            if (entry.getValue().retireIfIdle()) domainQueues.remove(entry.getKey(), entry.getValue());
+        }
+        domainRateLimiter.evictIdle();
+    }
+
+    private String topic(String batchId) {
+        return "job-ingest:" + batchId;
+    }
+}
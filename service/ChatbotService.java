@@ -1,5 +1,6 @@
 package com.cvbuilder.service;
 
+import com.cvbuilder.dto.ChatHistoryPage;
 import com.cvbuilder.dto.ChatRequest;
 import com.cvbuilder.dto.ChatResponse;
 import com.cvbuilder.entity.ChatMessage;
@@ -9,11 +10,21 @@ import com.cvbuilder.repository.ChatMessageRepository;
 import com.cvbuilder.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -24,6 +35,15 @@ public class ChatbotService {
     private final ChatMessageRepository chatMessageRepository;
     private final UserRepository userRepository;
     private final TranslationService translationService;
+    private final ConversationMemoryService conversationMemoryService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    @Value("${chatbot.history.max-messages:200}")
+    private int historyMaxMessages;
+
+    @Value("${chatbot.history.max-page-size:100}")
+    private int historyMaxPageSize;
 
     @Transactional
     public ChatResponse sendMessage(ChatRequest request) {
@@ -32,21 +52,19 @@ public class ChatbotService {
         User user = userRepository.findById(request.getUserId())
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + request.getUserId()));
 
-        // Son 10 mesajı al (context için)
-        List<ChatMessage> recentMessages = chatMessageRepository.findRecentMessagesByUserId(request.getUserId());
-        List<ChatMessage> contextMessages = recentMessages.stream()
-                .limit(10)
-                .collect(Collectors.toList());
+        // Sohbet bağlamı: dönen özet + token bütçesine sığan son mesajlar
+        ConversationMemoryService.ConversationContext context = conversationMemoryService.buildContext(request.getUserId());
 
         // AI'ya gönderilecek prompt'u oluştur
-        String prompt = buildChatPrompt(user, request.getMessage(), contextMessages);
+        String prompt = buildChatPrompt(user, request.getMessage(), context);
         log.debug("Chatbot prompt oluşturuldu, uzunluk: {}", prompt.length());
 
         // AI'dan yanıt al
         String aiResponse;
         try {
             log.info("AI servisine istek gönderiliyor...");
-            aiResponse = translationService.generateContent(prompt);
+            // Sohbet yanıtları önbelleğe alınmaz: aynı soruya her turda yeni yanıt üretilir
+            aiResponse = translationService.generateContent(prompt, false);
             log.info("AI yanıtı alındı, uzunluk: {}", aiResponse != null ? aiResponse.length() : 0);
             
             // Boş veya null yanıt kontrolü
@@ -78,6 +96,14 @@ public class ChatbotService {
                 .createdAt(LocalDateTime.now())
                 .build();
         ChatMessage saved = chatMessageRepository.save(assistantMessage);
+        // Özet güncellemesi bu turun mesajlarını görmeli: transaction commit edildikten sonra başlatılır
+        Long userId = user.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                conversationMemoryService.onTurnCompleted(userId);
+            }
+        });
 
         return ChatResponse.builder()
                 .id(saved.getId())
@@ -88,26 +114,167 @@ public class ChatbotService {
                 .build();
     }
 
+    /**
+     * Streaming sohbet: yanıt parçaları SSE "token" olayları olarak gönderilir (hata durumunda "failed").
+     * Akış bitince mesajlar kaydedilir ve "done" olayı ile kayıtlı yanıt gönderilir.
+     * İstemci bağlantıyı kapatırsa üretim yine tamamlanıp geçmişe kaydedilir.
+     */
+    public SseEmitter streamMessage(ChatRequest request, long timeoutMillis) {
+        log.info("Chatbot streaming mesajı alındı - User: {}", request.getUserId());
+
+        // Kısa okuma transaction'ı: kullanıcı ve bağlam mesajlarından prompt oluşturulur
+        String prompt = readOnlyTransactionTemplate.execute(status -> {
+            User user = userRepository.findById(request.getUserId())
+                    .orElseThrow(() -> new RuntimeException("User not found with id: " + request.getUserId()));
+            return buildChatPrompt(user, request.getMessage(), conversationMemoryService.buildContext(request.getUserId()));
+        });
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        AtomicBoolean clientGone = new AtomicBoolean(false);
+        emitter.onCompletion(() -> clientGone.set(true));
+        emitter.onTimeout(() -> clientGone.set(true));
+        emitter.onError(e -> clientGone.set(true));
+
+        StringBuilder partial = new StringBuilder();
+        translationService.generateContentStream(prompt, token -> {
+            synchronized (partial) {
+                partial.append(token);
+            }
+            if (!clientGone.get()) sendEvent(emitter, clientGone, "token", token);
+        }, false).whenComplete((fullText, error) -> {
+            String aiResponse;
+            if (error == null && fullText != null && !fullText.isBlank()) {
+                aiResponse = fullText;
+            } else {
+                log.error("AI streaming hatası: {}", error != null ? error.getMessage() : "boş yanıt");
+                synchronized (partial) {
+                    aiResponse = partial.length() > 0 ? partial.toString()
+                            : "Üzgünüm, şu anda yanıt veremiyorum. Lütfen daha sonra tekrar deneyin.";
+                }
+                if (!clientGone.get()) sendEvent(emitter, clientGone, "failed", aiResponse);
+            }
+
+            try {
+                ChatResponse saved = saveExchange(request.getUserId(), request.getMessage(), aiResponse);
+                conversationMemoryService.onTurnCompleted(request.getUserId());
+                if (!clientGone.get()) sendEvent(emitter, clientGone, "done", saved);
+                emitter.complete();
+            } catch (Exception e) {
+                log.error("Streaming sohbet kaydı başarısız: {}", e.getMessage(), e);
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    private void sendEvent(SseEmitter emitter, AtomicBoolean clientGone, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            clientGone.set(true);
+            log.debug("Streaming istemcisi ayrıldı: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Kullanıcı mesajı ve asistan yanıtı tek kısa transaction'da kaydedilir.
+     */
+    private ChatResponse saveExchange(Long userId, String message, String aiResponse) {
+        return transactionTemplate.execute(status -> {
+            User userRef = userRepository.getReferenceById(userId);
+            chatMessageRepository.save(ChatMessage.builder()
+                    .user(userRef)
+                    .message(message)
+                    .response("")
+                    .role("user")
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            ChatMessage saved = chatMessageRepository.save(ChatMessage.builder()
+                    .user(userRef)
+                    .message("")
+                    .response(aiResponse)
+                    .role("assistant")
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            return ChatResponse.builder()
+                    .id(saved.getId())
+                    .message(message)
+                    .response(aiResponse)
+                    .createdAt(saved.getCreatedAt())
+                    .role("assistant")
+                    .build();
+        });
+    }
+
+    /**
+     * Son mesajlar (eskiden yeniye). Tüm geçmiş yerine en fazla chatbot.history.max-messages kadar döner.
+     */
     public List<ChatResponse> getChatHistory(Long userId) {
-        List<ChatMessage> messages = chatMessageRepository.findByUserIdOrderByCreatedAtAsc(userId);
-        return messages.stream()
-                .map(msg -> ChatResponse.builder()
-                        .id(msg.getId())
-                        .message(msg.getMessage())
-                        .response(msg.getResponse())
-                        .createdAt(msg.getCreatedAt())
-                        .role(msg.getRole())
-                        .build())
-                .collect(Collectors.toList());
+        List<ChatMessage> messages = new ArrayList<>(
+                chatMessageRepository.findLatestByUserId(userId, PageRequest.of(0, historyMaxMessages)));
+        Collections.reverse(messages);
+        return messages.stream().map(this::toChatResponse).collect(Collectors.toList());
+    }
+
+    /**
+     * Keyset sayfalı geçmiş: cursor verilmezse en yeni sayfa, verilirse o mesajdan daha eskiler döner.
+     */
+    public ChatHistoryPage getChatHistoryPage(Long userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, historyMaxPageSize));
+        // hasMore'u ayrı COUNT sorgusu olmadan anlamak için bir fazla kayıt istenir
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<ChatMessage> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = chatMessageRepository.findLatestByUserId(userId, limit);
+        } else {
+            int sep = cursor.lastIndexOf('_');
+            if (sep <= 0) throw new IllegalArgumentException("Geçersiz cursor: " + cursor);
+            LocalDateTime createdAt;
+            Long id;
+            try {
+                createdAt = LocalDateTime.parse(cursor.substring(0, sep));
+                id = Long.parseLong(cursor.substring(sep + 1));
+            } catch (Exception e) {
+                throw new IllegalArgumentException("Geçersiz cursor: " + cursor);
+            }
+            rows = chatMessageRepository.findPageBefore(userId, createdAt, id, limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ChatMessage> page = new ArrayList<>(hasMore ? rows.subList(0, pageSize) : rows);
+        String nextCursor = null;
+        if (hasMore) {
+            ChatMessage oldest = page.get(page.size() - 1);
+            nextCursor = oldest.getCreatedAt() + "_" + oldest.getId();
+        }
+        Collections.reverse(page);
+
+        return ChatHistoryPage.builder()
+                .messages(page.stream().map(this::toChatResponse).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private ChatResponse toChatResponse(ChatMessage msg) {
+        return ChatResponse.builder()
+                .id(msg.getId())
+                .message(msg.getMessage())
+                .response(msg.getResponse())
+                .createdAt(msg.getCreatedAt())
+                .role(msg.getRole())
+                .build();
     }
 
     @Transactional
     public void clearChatHistory(Long userId) {
         chatMessageRepository.deleteByUserId(userId);
+        conversationMemoryService.clear(userId);
         log.info("Chat geçmişi temizlendi - User: {}", userId);
     }
 
-    private String buildChatPrompt(User user, String currentMessage, List<ChatMessage> contextMessages) {
+    private String buildChatPrompt(User user, String currentMessage, ConversationMemoryService.ConversationContext context) {
         StringBuilder prompt = new StringBuilder();
         
         prompt.append("SEN YARDIMCI BİR ASİSTANSIN. Kullanıcıya her konuda yardımcı olabilirsin.\n\n");
@@ -137,17 +304,16 @@ public class ChatbotService {
             prompt.append("\n");
         }
 
-        // Önceki mesaj geçmişi (context)
-        if (!contextMessages.isEmpty()) {
-            prompt.append("ÖNCEKİ KONUŞMA GEÇMİŞİ:\n");
-            for (ChatMessage msg : contextMessages) {
-                if ("user".equals(msg.getRole()) && msg.getMessage() != null && !msg.getMessage().isEmpty()) {
-                    prompt.append("Kullanıcı: ").append(msg.getMessage()).append("\n");
-                }
-                if ("assistant".equals(msg.getRole()) && msg.getResponse() != null && !msg.getResponse().isEmpty()) {
-                    prompt.append("Asistan: ").append(msg.getResponse()).append("\n");
-                }
-            }
+        // Önceki konuşmanın özeti (eski mesajlar)
+        if (context.getSummary() != null && !context.getSummary().isBlank()) {
+            prompt.append("ÖNCEKİ KONUŞMANIN ÖZETİ:\n");
+            prompt.append(context.getSummary()).append("\n\n");
+        }
+
+        // Son mesajlar (aynen)
+        if (!context.getRecentLines().isEmpty()) {
+            prompt.append("SON MESAJLAR:\n");
+            context.getRecentLines().forEach(line -> prompt.append(line).append("\n"));
             prompt.append("\n");
         }
 
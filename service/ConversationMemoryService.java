@@ -0,0 +1,244 @@
+package com.cvbuilder.service;
+
+import com.cvbuilder.entity.ChatMessage;
+import com.cvbuilder.entity.ConversationSummary;
+import com.cvbuilder.repository.ChatMessageRepository;
+import com.cvbuilder.repository.ConversationSummaryRepository;
+import com.cvbuilder.util.TokenEstimator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sohbet hafızası: kullanıcı başına dönen (rolling) bir özet + son birkaç mesaj.
+ * Prompt'a tüm geçmiş yerine özet ve token bütçesine sığan son mesajlar girer;
+ * böylece prompt boyutu konuşma uzunluğundan bağımsız olarak sınırlı kalır.
+ * Prompt'a girmeyen (sayı veya token bütçesi dışında kalan) mesajlar her turdan sonra, tur commit edildikten
+ * sonra ayrı bir havuzda (chatSummaryExecutor) özete katlanır. AI özeti üretemezse özetin kapsadığı sınır
+ * ilerletilmez; mesajlar atılmaz, bir sonraki turda tekrar katlanmaya çalışılır.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ConversationMemoryService {
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final ConversationSummaryRepository conversationSummaryRepository;
+    private final TranslationService translationService;
+    private final ThreadPoolTaskExecutor chatSummaryExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    // Prompt'a aynen giren son mesaj sayısı ve toplam token bütçesi
+    @Value("${chatbot.memory.recent-messages:6}")
+    private int recentMessages;
+
+    @Value("${chatbot.memory.recent-token-budget:1200}")
+    private int recentTokenBudget;
+
+    @Value("${chatbot.memory.message-token-limit:400}")
+    private int messageTokenLimit;
+
+    @Value("${chatbot.memory.summary-token-budget:400}")
+    private int summaryTokenBudget;
+
+    // Tek güncellemede özete katlanacak en fazla mesaj
+    @Value("${chatbot.memory.fold-batch-size:20}")
+    private int foldBatchSize;
+
+    // Aynı kullanıcı için eş zamanlı iki özet güncellemesi yapılmaz
+    private final Set<Long> updatesInProgress = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Prompt için sohbet bağlamı: özet ve son mesajlar (eskiden yeniye, satır formatında).
+     */
+    public static class ConversationContext {
+        private final String summary;
+        private final List<String> recentLines;
+
+        ConversationContext(String summary, List<String> recentLines) {
+            this.summary = summary;
+            this.recentLines = recentLines;
+        }
+
+        public String getSummary() {
+            return summary;
+        }
+
+        public List<String> getRecentLines() {
+            return recentLines;
+        }
+    }
+
+    /**
+     * Mevcut transaction içinde (veya kendi kısa okumasıyla) çağrılabilir.
+     */
+    public ConversationContext buildContext(Long userId) {
+        String summary = conversationSummaryRepository.findByUserId(userId)
+                .map(ConversationSummary::getSummary)
+                .orElse("");
+
+        return new ConversationContext(summary, recentWindow(userId).lines);
+    }
+
+    /**
+     * Tur commit edildikten sonra çağrılır; prompt'a girmeyen mesajları arka planda özete ekler.
+     * Havuz doluysa güncelleme atlanır (bir sonraki tur telafi eder), çağıran thread'de çalışmaz.
+     */
+    public void onTurnCompleted(Long userId) {
+        if (!updatesInProgress.add(userId)) return;
+        try {
+            chatSummaryExecutor.execute(() -> {
+                try {
+                    foldOldMessagesIntoSummary(userId);
+                } catch (Exception e) {
+                    log.warn("Sohbet özeti güncellenemedi - User: {}: {}", userId, e.getMessage());
+                } finally {
+                    updatesInProgress.remove(userId);
+                }
+            });
+        } catch (Exception e) {
+            updatesInProgress.remove(userId);
+            log.warn("Sohbet özeti güncellemesi kuyruğa alınamadı - User: {}: {}", userId, e.getMessage());
+        }
+    }
+
+    public void clear(Long userId) {
+        conversationSummaryRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * En yeniden geriye doğru, mesaj sayısı ve token bütçesi dolana kadar prompt'a girecek satırlar.
+     * startId pencereye giren en eski mesajın id'sidir; ondan eski her mesaj özete katlanmalıdır.
+     */
+    private RecentWindow recentWindow(Long userId) {
+        List<ChatMessage> latest = chatMessageRepository.findLatestByUserId(userId, PageRequest.of(0, Math.max(1, recentMessages)));
+        LinkedList<String> lines = new LinkedList<>();
+        // Hiçbir mesaj bütçeye sığmazsa en yenisi dahil hepsi özete girer
+        Long startId = latest.isEmpty() ? null : latest.get(0).getId() + 1;
+        int used = 0;
+        for (ChatMessage msg : latest) {
+            String line = formatLine(msg);
+            if (line != null) {
+                int tokens = TokenEstimator.estimate(line);
+                if (used + tokens > recentTokenBudget) break;
+                lines.addFirst(line);
+                used += tokens;
+            }
+            startId = msg.getId();
+        }
+        return new RecentWindow(lines, startId);
+    }
+
+    private static final class RecentWindow {
+        final List<String> lines;
+        // null: kullanıcının hiç mesajı yok
+        final Long startId;
+
+        RecentWindow(List<String> lines, Long startId) {
+            this.lines = lines;
+            this.startId = startId;
+        }
+    }
+
+    private void foldOldMessagesIntoSummary(Long userId) {
+        Long windowStartId = recentWindow(userId).startId;
+        if (windowStartId == null) return;
+        // Birikmiş mesajlar parti parti, pencereye kadar katlanır
+        boolean folded;
+        do {
+            folded = foldBatch(userId, windowStartId);
+        } while (folded);
+    }
+
+    /**
+     * Pencereden eski, özete girmemiş bir parti mesajı özete ekler; katlanacak mesaj kalmadıysa false döner.
+     */
+    private boolean foldBatch(Long userId, long windowStartId) {
+        // Okuma: mevcut özet ve özete girmemiş mesajlar
+        ConversationSummary current = conversationSummaryRepository.findByUserId(userId).orElse(null);
+        long coveredUntil = current != null ? current.getCoveredUntilMessageId() : 0L;
+
+        List<ChatMessage> toFold = chatMessageRepository.findBetweenIds(userId, coveredUntil, windowStartId,
+                PageRequest.of(0, Math.max(1, foldBatchSize)));
+        if (toFold.isEmpty()) return false;
+
+        StringBuilder newLines = new StringBuilder();
+        for (ChatMessage msg : toFold) {
+            String line = formatLine(msg);
+            if (line != null) newLines.append(line).append("\n");
+        }
+        long lastFoldedId = toFold.get(toFold.size() - 1).getId();
+        String previousSummary = current != null && current.getSummary() != null ? current.getSummary() : "";
+
+        // AI çağrısı transaction dışında. AI başarısızsa sınır ilerletilmez: mesajlar kaybolmaz,
+        // bir sonraki tur aynı partiyi tekrar dener
+        String updatedSummary = newLines.length() == 0 ? previousSummary : summarize(previousSummary, newLines.toString());
+        if (updatedSummary == null) return false;
+        String bounded = TokenEstimator.truncate(updatedSummary, summaryTokenBudget);
+
+        Boolean advanced = transactionTemplate.execute(status -> {
+            ConversationSummary entity = conversationSummaryRepository.findByUserId(userId)
+                    .orElseGet(() -> ConversationSummary.builder().userId(userId).build());
+            // Bu arada başka bir güncelleme daha ileri gittiyse üzerine yazma
+            if (entity.getCoveredUntilMessageId() != null && entity.getCoveredUntilMessageId() >= lastFoldedId) return false;
+            entity.setSummary(bounded);
+            entity.setCoveredUntilMessageId(lastFoldedId);
+            entity.setUpdatedAt(LocalDateTime.now());
+            conversationSummaryRepository.save(entity);
+            return true;
+        });
+        log.debug("Sohbet özeti güncellendi - User: {}, {} mesaj eklendi, özet ~{} token",
+                userId, toFold.size(), TokenEstimator.estimate(bounded));
+        return Boolean.TRUE.equals(advanced);
+    }
+
+    /**
+     * Özeti yeni mesajlarla günceller; AI yanıt vermezse null döner.
+     */
+    private String summarize(String previousSummary, String newMessages) {
+        int maxWords = Math.max(40, (int) (summaryTokenBudget * 0.6));
+        String prompt = String.format("""
+                Aşağıda bir kullanıcı ile asistan arasındaki sohbetin mevcut özeti ve yeni mesajlar var.
+                Bunları birleştirerek GÜNCEL ve KISA bir özet yaz.
+
+                KURALLAR:
+                1. En fazla %d kelime.
+                2. Kullanıcının hedefleri, tercihleri, verdiği önemli bilgiler ve açık kalan sorular korunmalı.
+                3. Selamlaşma ve tekrarları at.
+                4. SADECE özet metnini döndür, başlık veya açıklama ekleme.
+
+                MEVCUT ÖZET:
+                %s
+
+                YENİ MESAJLAR:
+                %s
+                """, maxWords, previousSummary.isBlank() ? "(yok)" : previousSummary, newMessages);
+        try {
+            String result = translationService.generateContent(prompt);
+            if (result != null && !result.isBlank()) return result.trim();
+        } catch (Exception e) {
+            log.warn("Sohbet özeti AI ile oluşturulamadı: {}", e.getMessage());
+            return null;
+        }
+        log.warn("Sohbet özeti AI ile oluşturulamadı: boş yanıt");
+        return null;
+    }
+
+    private String formatLine(ChatMessage msg) {
+        if ("user".equals(msg.getRole()) && msg.getMessage() != null && !msg.getMessage().isEmpty()) {
+            return "Kullanıcı: " + TokenEstimator.truncate(msg.getMessage(), messageTokenLimit);
+        }
+        if ("assistant".equals(msg.getRole()) && msg.getResponse() != null && !msg.getResponse().isEmpty()) {
+            return "Asistan: " + TokenEstimator.truncate(msg.getResponse(), messageTokenLimit);
+        }
+        return null;
+    }
+}
@@ -6,6 +6,7 @@ import com.cvbuilder.entity.User;
 import com.cvbuilder.entity.UserSkill;
 import com.cvbuilder.entity.UserProfile;
 import com.cvbuilder.repository.UserRepository;
+import com.cvbuilder.util.SkillMatcher;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +23,8 @@ public class CustomJobAnalysisService {
 
     private final UserRepository userRepository;
     private final Map<String, SkillCategory> skillDatabase = createSkillDatabase();
+    // skillDatabase anahtarları + alternatif yazımlar; bir kez derlenir, her satır tek geçişte taranır
+    private final SkillMatcher skillMatcher = createSkillMatcher();
     
     // Regex Patterns
     private final Pattern experiencePattern =
@@ -198,27 +201,21 @@ public class CustomJobAnalysisService {
     }
 
     private void extractSkillsFromText(String text, JobRequirements requirements) {
-        String lowerText = text.toLowerCase();
-        
-        for (String skillKey : skillDatabase.keySet()) {
-            if (lowerText.contains(skillKey)) {
-                if (isPreferredSkill(text, skillKey)) {
-                    if (!requirements.getPreferredSkills().contains(skillKey)) {
-                        requirements.getPreferredSkills().add(skillKey);
-                    }
-                } else {
-                    if (!requirements.getRequiredSkills().contains(skillKey)) {
-                        requirements.getRequiredSkills().add(skillKey);
-                    }
+        for (SkillMatcher.Match match : skillMatcher.findAll(text)) {
+            String skillKey = match.getCanonical();
+            if (isPreferredSkill(text, match.getStart())) {
+                if (!requirements.getPreferredSkills().contains(skillKey)) {
+                    requirements.getPreferredSkills().add(skillKey);
+                }
+            } else {
+                if (!requirements.getRequiredSkills().contains(skillKey)) {
+                    requirements.getRequiredSkills().add(skillKey);
                 }
             }
         }
     }
 
-    private boolean isPreferredSkill(String text, String skill) {
-        int skillIndex = text.toLowerCase().indexOf(skill);
-        if (skillIndex == -1) return false;
-
+    private boolean isPreferredSkill(String text, int skillIndex) {
         String surroundingText = text.substring(
                 Math.max(0, skillIndex - 50),
                 Math.min(text.length(), skillIndex + 50)
@@ -464,6 +461,34 @@ public class CustomJobAnalysisService {
     }
 
     // ========= SABİT VERİTABANI =========
+    private SkillMatcher createSkillMatcher() {
+        Map<String, String> terms = new LinkedHashMap<>();
+        skillDatabase.keySet().forEach(key -> terms.put(key, key));
+
+        // Alternatif yazımlar (alias) -> skillDatabase anahtarı
+        terms.put("csharp", "c#");
+        terms.put("c sharp", "c#");
+        terms.put("cpp", "c++");
+        terms.put("js", "javascript");
+        terms.put("nesne yönelimli", "oop");
+        terms.put("object-oriented", "object oriented");
+        terms.put("postgres", "postgresql");
+        terms.put("mongo", "mongodb");
+        terms.put("dotnet", ".net");
+        terms.put("springboot", "spring boot");
+        terms.put("reactjs", "react");
+        terms.put("react.js", "react");
+        terms.put("vuejs", "vue");
+        terms.put("vue.js", "vue");
+        terms.put("k8s", "kubernetes");
+        terms.put("amazon web services", "aws");
+        terms.put("microsoft azure", "azure");
+        terms.put("software engineering", "software development");
+        terms.put("teamwork", "takım çalışması");
+        terms.put("problem solving", "problem çözme");
+        return SkillMatcher.of(terms);
+    }
+
     private Map<String, SkillCategory> createSkillDatabase() {
         Map<String, SkillCategory> db = new HashMap<>();
         
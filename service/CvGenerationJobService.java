@@ -0,0 +1,178 @@
+package com.cvbuilder.service;
+
+import com.cvbuilder.dto.CvGenerationJobStatus;
+import com.cvbuilder.dto.GeneratedCvResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Asenkron CV üretim işleri.
+ * İstek hemen bir iş ID'si ile döner; üretim sınırlı bir worker havuzunda çalışır.
+ * İstemci durumu sorgulayabilir (polling) veya SSE ile bölüm bazlı ilerlemeyi dinleyebilir.
+ * İş kayıtları bellekte tutulur; tamamlanan işler saklama süresi dolunca periyodik temizlikte silinir.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CvGenerationJobService {
+
+    private final CvGeneratorService cvGeneratorService;
+    private final ThreadPoolTaskExecutor cvJobExecutor;
+    private final SseBroadcaster sseBroadcaster;
+
+    @Value("${cv.jobs.retention-minutes:30}")
+    private long retentionMinutes;
+
+    @Value("${cv.jobs.sse-timeout-seconds:600}")
+    private long sseTimeoutSeconds;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    private static final class Job {
+        final String id;
+        final Long userId;
+        final Long jobPostingId;
+        final LocalDateTime createdAt = LocalDateTime.now();
+        final Set<String> completedSections = Collections.synchronizedSet(new LinkedHashSet<>());
+        final Set<String> fallbackSections = Collections.synchronizedSet(new LinkedHashSet<>());
+        volatile String status = "QUEUED";
+        volatile LocalDateTime updatedAt = createdAt;
+        volatile GeneratedCvResponse result;
+        volatile String error;
+
+        Job(String id, Long userId, Long jobPostingId) {
+            this.id = id;
+            this.userId = userId;
+            this.jobPostingId = jobPostingId;
+        }
+
+        boolean isFinished() {
+            return "COMPLETED".equals(status) || "FAILED".equals(status);
+        }
+    }
+
+    /**
+     * Yeni iş kuyruğa alınır. Havuz ve kuyruk doluysa RuntimeException fırlatılır.
+     */
+    public CvGenerationJobStatus submit(Long userId, Long jobPostingId) {
+        evictExpiredJobs();
+
+        Job job = new Job(UUID.randomUUID().toString(), userId, jobPostingId);
+        jobs.put(job.id, job);
+        try {
+            cvJobExecutor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.id);
+            throw new RuntimeException("Sistem şu an yoğun, lütfen biraz sonra tekrar deneyin.");
+        }
+        log.info("CV üretim işi kuyruğa alındı - JobId: {}, UserId: {}", job.id, userId);
+        return toStatus(job);
+    }
+
+    public Optional<CvGenerationJobStatus> getStatus(String jobId, Long userId) {
+        evictExpiredJobs();
+        return findOwned(jobId, userId).map(this::toStatus);
+    }
+
+    /**
+     * SSE aboneliği: önce mevcut durum gönderilir, iş zaten bittiyse bağlantı hemen kapatılır.
+     */
+    public Optional<SseEmitter> subscribe(String jobId, Long userId) {
+        Optional<Job> found = findOwned(jobId, userId);
+        if (found.isEmpty()) return Optional.empty();
+
+        Job job = found.get();
+        SseEmitter emitter = sseBroadcaster.subscribe(topic(job.id), Duration.ofSeconds(sseTimeoutSeconds).toMillis());
+        sseBroadcaster.sendTo(emitter, "status", toStatus(job));
+        if (job.isFinished()) emitter.complete();
+        return Optional.of(emitter);
+    }
+
+    private void run(Job job) {
+        job.status = "RUNNING";
+        touch(job);
+        sseBroadcaster.publish(topic(job.id), "status", toStatus(job));
+
+        try {
+            GeneratedCvResponse response = cvGeneratorService.generateCvForJob(job.userId, job.jobPostingId,
+                    (section, success) -> {
+                        job.completedSections.add(section);
+                        if (!success) job.fallbackSections.add(section);
+                        touch(job);
+                        sseBroadcaster.publish(topic(job.id), "progress", toStatus(job));
+                    });
+            job.result = response;
+            job.status = "COMPLETED";
+            log.info("CV üretim işi tamamlandı - JobId: {}, CV ID: {}", job.id, response.getCvId());
+        } catch (Exception e) {
+            job.error = e.getMessage();
+            job.status = "FAILED";
+            log.error("CV üretim işi başarısız - JobId: {}: {}", job.id, e.getMessage(), e);
+        }
+        touch(job);
+        sseBroadcaster.complete(topic(job.id), "status", toStatus(job));
+    }
+
+    private Optional<Job> findOwned(String jobId, Long userId) {
+        Job job = jobId == null ? null : jobs.get(jobId);
+        if (job == null) return Optional.empty();
+        // Kullanıcı belirtilmeyen veya başka kullanıcıya ait iş "bulunamadı" olarak döner
+        if (userId == null || !userId.equals(job.userId)) return Optional.empty();
+        return Optional.of(job);
+    }
+
+    private CvGenerationJobStatus toStatus(Job job) {
+        List<String> completed;
+        synchronized (job.completedSections) {
+            completed = new ArrayList<>(job.completedSections);
+        }
+        List<String> fallback;
+        synchronized (job.fallbackSections) {
+            fallback = new ArrayList<>(job.fallbackSections);
+        }
+        int total = CvGeneratorService.SECTIONS.size();
+        int percent = "COMPLETED".equals(job.status) ? 100 : Math.min(99, completed.size() * 100 / total);
+
+        return CvGenerationJobStatus.builder()
+                .jobId(job.id)
+                .status(job.status)
+                .completedSections(completed)
+                .fallbackSections(fallback)
+                .totalSections(total)
+                .progressPercent(percent)
+                .result(job.result)
+                .error(job.error)
+                .createdAt(job.createdAt)
+                .updatedAt(job.updatedAt)
+                .build();
+    }
+
+    private void touch(Job job) {
+        job.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Bitmiş ve saklama süresi dolmuş işleri siler. Okuma/gönderme sırasında da çağrılır; zamanlanmış
+     * çağrı sayesinde hiç sorgulanmayan işler de bellekte kalmaz.
+     */
+    @Scheduled(fixedDelayString = "${cv.jobs.sweep-interval-ms:60000}")
+    void evictExpiredJobs() {
+        LocalDateTime threshold = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.isFinished() && job.updatedAt.isBefore(threshold));
+    }
+
+    private String topic(String jobId) {
+        return "cv-job:" + jobId;
+    }
+}
@@ -0,0 +1,17 @@
+package com.cvbuilder.service;
+
+/**
+ * CV üretimi sırasında bölüm bazlı ilerleme bildirimi.
+ * Bölümler paralel çalıştığı için çağrılar farklı thread'lerden gelebilir.
+ */
+@FunctionalInterface
+public interface CvGenerationProgressListener {
+
+    CvGenerationProgressListener NOOP = (section, success) -> {};
+
+    /**
+     * @param section bölüm adı (örn: summary, experiences, projects)
+     * @param success false ise bölüm fallback ile tamamlandı
+     */
+    void onSectionCompleted(String section, boolean success);
+}
@@ -2,10 +2,20 @@ package com.cvbuilder.service;
 
 import com.cvbuilder.dto.GeneratedCvResponse;
 
+import java.util.List;
+
 public interface CvGeneratorService {
 
+    // İlerleme bildiriminde kullanılan bölüm adları (sıra önemli değil, bölümler paralel tamamlanır)
+    List<String> SECTIONS = List.of("summary", "experiences", "projects", "education", "careerAdvice", "saved");
+
     // Mevcut metodunuz (aynı kalıyor)
-    GeneratedCvResponse generateCvForJob(Long userId, Long jobPostingId);
+    default GeneratedCvResponse generateCvForJob(Long userId, Long jobPostingId) {
+        return generateCvForJob(userId, jobPostingId, CvGenerationProgressListener.NOOP);
+    }
+
+    // Bölüm bazlı ilerleme bildirimli sürüm (asenkron CV işleri için)
+    GeneratedCvResponse generateCvForJob(Long userId, Long jobPostingId, CvGenerationProgressListener listener);
 
     // [YENİ EKLENDİ - Opsiyonel] Eğer ID vermeden direkt son ilana göre üretmek isterseniz
     // GeneratedCvResponse generateCvForLatestJob(Long userId); 
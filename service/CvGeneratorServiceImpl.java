@@ -8,10 +8,18 @@ import com.cvbuilder.repository.JobPostingRepository;
 import com.cvbuilder.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
@@ -22,23 +30,46 @@ public class CvGeneratorServiceImpl implements CvGeneratorService {
     private final JobPostingRepository jobPostingRepository;
     private final GeneratedCvRepository generatedCvRepository;
     private final AiClient aiClient;
+    private final ThreadPoolTaskExecutor aiTaskExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    // Paralel bölümlerin (özet, deneyim vb.) hepsi için ortak bekleme süresi; bölümler aynı anda başladığından
+    // her bölüm için de üst sınırdır
+    @Value("${cv.generation.section-timeout-seconds:180}")
+    private long sectionTimeoutSeconds;
+
+    /**
+     * Okuma aşamasında alınan, AI aşamasında kullanılan veri.
+     * Profil koleksiyonları yüklenmiş (detached) durumdadır; ilan ise kaydedilmemiş bir kopyadır.
+     */
+    private static final class GenerationSnapshot {
+        final User user;
+        final UserProfile profile;
+        final JobPosting job;
+
+        GenerationSnapshot(User user, UserProfile profile, JobPosting job) {
+            this.user = user;
+            this.profile = profile;
+            this.job = job;
+        }
+    }
 
+    /**
+     * Üç aşamalı akış: kısa okuma transaction'ı (snapshot) -> transaction'sız AI aşaması -> kısa yazma transaction'ı.
+     * AI çağrıları dakikalar sürebildiği için bu sürede veritabanı bağlantısı tutulmaz.
+     */
     @Override
-    @Transactional
-    public GeneratedCvResponse generateCvForJob(Long userId, Long jobPostingId) {
+    public GeneratedCvResponse generateCvForJob(Long userId, Long jobPostingId, CvGenerationProgressListener listener) {
         log.info("🎯 CV Generation started - User: {}, Job ID: {}", userId, jobPostingId);
 
-        // 1) Kullanıcı ve Profil Kontrolü
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
-
-        UserProfile profile = user.getProfile();
-        if (profile == null) {
-            throw new RuntimeException("User profile not found for user id: " + userId);
-        }
+        // 1) Kullanıcı, Profil ve İş İlanı (kısa okuma transaction'ı)
+        GenerationSnapshot snapshot = readOnlyTransactionTemplate.execute(status -> loadSnapshot(userId, jobPostingId));
+        User user = snapshot.user;
+        UserProfile profile = snapshot.profile;
+        JobPosting job = snapshot.job;
 
-        // 2) İş İlanı Çözümleme (JobPosting)
-        JobPosting job = resolveJobPosting(user, jobPostingId);
+        // 2) İş İlanı bağlamı
         String jobRequiredSkills = job != null ? safe(job.getRequiredSkills()) : "";
         String jobContext = buildJobContext(job);
 
@@ -48,76 +79,82 @@ public class CvGeneratorServiceImpl implements CvGeneratorService {
         List<String> userSkills = extractUserSkillNames(profile);
         List<String> prioritizedSkills = prioritizeSkills(userSkills, jobRequiredSkills);
 
-        // 4) AI Optimizasyon Süreçleri
+        // 4) AI Optimizasyon Süreçleri (bağımsız bölümler paralel çalışır, transaction dışında)
+        final JobPosting jobForAi = job;
+        CompletableFuture<List<String>> summariesFuture = track("summary", listener,
+                supplyAsync(() -> aiClient.generateTailoredSummaries(profile, jobContext)));
+        CompletableFuture<List<OptimizedCvItem>> experiencesFuture = track("experiences", listener,
+                supplyAsync(() -> aiClient.optimizeExperiences(profile, jobForAi)));
+        CompletableFuture<List<OptimizedCvItem>> projectsFuture = track("projects", listener,
+                supplyAsync(() -> aiClient.optimizeProjects(profile, jobForAi)));
+        CompletableFuture<List<UserEducationDTO>> educationFuture = track("education", listener,
+                supplyAsync(() -> aiClient.optimizeEducation(profile, jobForAi)));
+        CompletableFuture<String> adviceFuture = track("careerAdvice", listener, supplyAsync(() -> {
+            String targetTitle = (jobForAi != null && jobForAi.getPosition() != null) ? jobForAi.getPosition() : profile.getTitle();
+            return aiClient.getCareerAdvice(targetTitle);
+        }));
+
+        // Bölümler ortak bir son tarihe (deadline) kadar beklenir; toplam bekleme bölüm sayısıyla büyümez
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(sectionTimeoutSeconds);
+
+        // Dil ve sertifikalar AI çağrısı yapmaz, doğrudan hesaplanır
+        List<UserLanguageDTO> optLanguages = aiClient.optimizeLanguages(profile, job);
+        List<UserCertificateDTO> optCertificates = aiClient.optimizeCertificates(profile, job);
+
         // Summary (Özet)
-        List<String> tailoredSummaries = Collections.emptyList();
-        String selectedSummary = "";
-        try {
-            tailoredSummaries = aiClient.generateTailoredSummaries(profile, jobContext);
-            selectedSummary = (tailoredSummaries != null && !tailoredSummaries.isEmpty()) 
-                                    ? tailoredSummaries.get(0) : "";
-        } catch (Exception e) {
-            log.error("Özet oluşturma hatası: {}", e.getMessage());
+        List<String> tailoredSummaries = awaitSection("Özet", summariesFuture, deadline, () -> {
             // Fallback: Basit özet oluştur
             String skills = profile.getSkills() != null && !profile.getSkills().isEmpty()
                     ? profile.getSkills().stream().limit(3).map(s -> s.getSkillName()).collect(java.util.stream.Collectors.joining(", "))
                     : "Mesleki Yetkinlikler";
             int years = (profile.getTotalExperienceYear() != null) ? profile.getTotalExperienceYear() : 0;
-            selectedSummary = String.format("%s deneyime sahip bir %s olarak, %s alanlarındaki yetkinliğimle değer katmayı hedefliyorum.",
-                    years > 0 ? years + " yıl" : "Yeni mezun", safe(profile.getTitle()), skills);
-            tailoredSummaries = Collections.singletonList(selectedSummary);
-        }
+            return Collections.singletonList(String.format("%s deneyime sahip bir %s olarak, %s alanlarındaki yetkinliğimle değer katmayı hedefliyorum.",
+                    years > 0 ? years + " yıl" : "Yeni mezun", safe(profile.getTitle()), skills));
+        });
+        String selectedSummary = (tailoredSummaries != null && !tailoredSummaries.isEmpty())
+                                    ? tailoredSummaries.get(0) : "";
 
-        // Deneyim, Proje, Eğitim, Dil ve Sertifikalar
-        List<OptimizedCvItem> optExperiences = Collections.emptyList();
-        List<OptimizedCvItem> optProjects = Collections.emptyList();
-        try {
-            optExperiences = aiClient.optimizeExperiences(profile, job);
-        } catch (Exception e) {
-            log.error("Deneyim optimizasyonu hatası: {}", e.getMessage());
+        // Deneyim, Proje ve Eğitim
+        List<OptimizedCvItem> optExperiences = awaitSection("Deneyim optimizasyonu", experiencesFuture, deadline, () -> {
             // Fallback: Orijinal deneyimleri kullan
-            if (profile.getExperiences() != null) {
-                optExperiences = profile.getExperiences().stream().map(exp -> 
-                    new com.cvbuilder.dto.OptimizedCvItem(
-                        safe(exp.getPosition()),
-                        safe(exp.getCompany()),
-                        formatDateRange(exp.getStartDate(), exp.getEndDate()),
-                        Collections.singletonList(safe(exp.getDescription()))
-                    )
-                ).collect(java.util.stream.Collectors.toList());
-            }
-        }
-        
-        try {
-            optProjects = aiClient.optimizeProjects(profile, job);
-        } catch (Exception e) {
-            log.error("Proje optimizasyonu hatası: {}", e.getMessage());
+            if (profile.getExperiences() == null) return Collections.emptyList();
+            return profile.getExperiences().stream().map(exp ->
+                new com.cvbuilder.dto.OptimizedCvItem(
+                    safe(exp.getPosition()),
+                    safe(exp.getCompany()),
+                    formatDateRange(exp.getStartDate(), exp.getEndDate()),
+                    Collections.singletonList(safe(exp.getDescription()))
+                )
+            ).collect(java.util.stream.Collectors.toList());
+        });
+
+        List<OptimizedCvItem> optProjects = awaitSection("Proje optimizasyonu", projectsFuture, deadline, () -> {
             // Fallback: Orijinal projeleri kullan
-            if (profile.getProjects() != null) {
-                optProjects = profile.getProjects().stream().map(p -> 
-                    new com.cvbuilder.dto.OptimizedCvItem(
-                        safe(p.getProjectName()),
-                        "Proje",
-                        formatDateRange(p.getStartDate(), (p.getIsOngoing() != null && p.getIsOngoing()) ? null : p.getEndDate()),
-                        Collections.singletonList(safe(p.getDescription()))
-                    )
-                ).collect(java.util.stream.Collectors.toList());
-            }
-        }
-        
-        List<UserEducationDTO> optEducation = aiClient.optimizeEducation(profile, job);
-        List<UserLanguageDTO> optLanguages = aiClient.optimizeLanguages(profile, job);
-        List<UserCertificateDTO> optCertificates = aiClient.optimizeCertificates(profile, job);
+            if (profile.getProjects() == null) return Collections.emptyList();
+            return profile.getProjects().stream().map(p ->
+                new com.cvbuilder.dto.OptimizedCvItem(
+                    safe(p.getProjectName()),
+                    "Proje",
+                    formatDateRange(p.getStartDate(), (p.getIsOngoing() != null && p.getIsOngoing()) ? null : p.getEndDate()),
+                    Collections.singletonList(safe(p.getDescription()))
+                )
+            ).collect(java.util.stream.Collectors.toList());
+        });
+
+        List<UserEducationDTO> optEducation = awaitSection("Eğitim optimizasyonu", educationFuture, deadline, () ->
+                profile.getEducations() == null ? Collections.<UserEducationDTO>emptyList()
+                        : profile.getEducations().stream().map(e -> UserEducationDTO.builder()
+                            .id(e.getId())
+                            .schoolName(safe(e.getSchoolName()))
+                            .department(safe(e.getDepartment()))
+                            .degree(safe(e.getDegree()))
+                            .startYear(safe(e.getStartYear()))
+                            .graduationYear(e.getEndYear())
+                            .gpa(safe(e.getGpa()))
+                            .build()).collect(java.util.stream.Collectors.toList()));
 
         // 5) AI Kariyer Tavsiyesi
-        String careerAdvice = "";
-        try {
-            String targetTitle = (job != null && job.getPosition() != null) ? job.getPosition() : profile.getTitle();
-            careerAdvice = aiClient.getCareerAdvice(targetTitle);
-        } catch (Exception e) {
-            log.warn("⚠️ AI Career advice failed: {}", e.getMessage());
-            careerAdvice = "Kariyer analizi şu an oluşturulamadı.";
-        }
+        String careerAdvice = awaitSection("Kariyer tavsiyesi", adviceFuture, deadline, () -> "Kariyer analizi şu an oluşturulamadı.");
 
         // 6) ATS Dostu İçerik Oluşturma (Veritabanı İçin)
         String fullContentToSave = buildAtsFriendlyContent(
@@ -125,18 +162,17 @@ public class CvGeneratorServiceImpl implements CvGeneratorService {
                 optExperiences, optProjects, optLanguages, optCertificates, optEducation
         );
 
-        // 7) Veritabanına Kayıt
-        JobPosting jobToSave = (job != null && job.getId() != null) ? job : null;
-        GeneratedCv generatedCv = GeneratedCv.builder()
-                .user(user)
-                .jobPosting(jobToSave)
+        // 7) Veritabanına Kayıt (kısa yazma transaction'ı)
+        Long jobIdToSave = (job != null && job.getId() != null) ? job.getId() : null;
+        GeneratedCv generatedCv = transactionTemplate.execute(status -> generatedCvRepository.save(GeneratedCv.builder()
+                .user(userRepository.getReferenceById(userId))
+                .jobPosting(jobIdToSave != null ? jobPostingRepository.getReferenceById(jobIdToSave) : null)
                 .templateName("ATS_SMART_FULL_V3")
                 .content(fullContentToSave)
                 .aiCareerAdvice(careerAdvice)
-                .build();
-
-        generatedCvRepository.save(generatedCv);
+                .build()));
         log.info("💾 CV saved to database - ID: {}", generatedCv.getId());
+        notifySection(listener, "saved", true);
 
         // 8) Response DTO Hazırlama
         return mapToResponse(generatedCv.getId(), selectedSummary, tailoredSummaries, 
@@ -146,6 +182,105 @@ public class CvGeneratorServiceImpl implements CvGeneratorService {
 
     // --- YARDIMCI METOTLAR ---
 
+    /**
+     * Bölüm görevini aiTaskExecutor'da başlatır. Dönen future iptal edilirse görevi çalıştıran thread kesilir;
+     * görev beklediği AI isteğini iptal eder (TranslationService.generateContent) ve fallback'e düşer.
+     */
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Future<?> running = aiTaskExecutor.submit(() -> {
+            try {
+                future.complete(task.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) running.cancel(true);
+        });
+        return future;
+    }
+
+    /**
+     * Bölüm tamamlanınca (bekleme sırasından bağımsız olarak) dinleyiciye bildirir.
+     */
+    private <T> CompletableFuture<T> track(String section, CvGenerationProgressListener listener, CompletableFuture<T> future) {
+        future.whenComplete((result, error) -> notifySection(listener, section, error == null && result != null));
+        return future;
+    }
+
+    private void notifySection(CvGenerationProgressListener listener, String section, boolean success) {
+        try {
+            listener.onSectionCompleted(section, success);
+        } catch (Exception e) {
+            log.warn("İlerleme bildirimi başarısız ({}): {}", section, e.getMessage());
+        }
+    }
+
+    /**
+     * Paralel çalışan bir bölümün sonucunu ortak son tarihe kadar bekler. Hata veya zaman aşımında
+     * bölüme özel fallback döner; zaman aşımında görevin thread'i kesilir (bkz. supplyAsync).
+     */
+    private <T> T awaitSection(String sectionName, CompletableFuture<T> future, long deadline, Supplier<T> fallback) {
+        try {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            T result = future.get(remaining, TimeUnit.NANOSECONDS);
+            return result != null ? result : fallback.get();
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("⚠️ {} zaman aşımına uğradı ({} sn), fallback kullanılıyor", sectionName, sectionTimeoutSeconds);
+            return fallback.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            log.warn("⚠️ {} beklenirken kesildi, fallback kullanılıyor", sectionName);
+            return fallback.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("{} hatası: {}", sectionName, cause.getMessage());
+            return fallback.get();
+        }
+    }
+
+    private GenerationSnapshot loadSnapshot(Long userId, Long jobPostingId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+
+        UserProfile profile = user.getProfile();
+        if (profile == null) {
+            throw new RuntimeException("User profile not found for user id: " + userId);
+        }
+
+        // Lazy koleksiyonlar transaction kapanmadan yüklenir (AI aşaması session dışında ve paralel çalışır)
+        initializeProfileCollections(profile);
+
+        JobPosting job = resolveJobPosting(user, jobPostingId);
+        return new GenerationSnapshot(user, profile, job != null ? copyForGeneration(job) : null);
+    }
+
+    /**
+     * AI aşamasında kullanılan ilan alanlarının kopyası (lazy user ilişkisi taşınmaz).
+     */
+    private JobPosting copyForGeneration(JobPosting job) {
+        return JobPosting.builder()
+                .id(job.getId())
+                .position(job.getPosition())
+                .title(job.getTitle())
+                .requiredSkills(job.getRequiredSkills())
+                .responsibilities(job.getResponsibilities())
+                .niceToHave(job.getNiceToHave())
+                .build();
+    }
+
+    private void initializeProfileCollections(UserProfile profile) {
+        if (profile.getSkills() != null) profile.getSkills().size();
+        if (profile.getExperiences() != null) profile.getExperiences().size();
+        if (profile.getProjects() != null) profile.getProjects().size();
+        if (profile.getEducations() != null) profile.getEducations().size();
+        if (profile.getLanguages() != null) profile.getLanguages().size();
+        if (profile.getCertificates() != null) profile.getCertificates().size();
+    }
+
     private JobPosting resolveJobPosting(User user, Long jobPostingId) {
         if (jobPostingId != null && jobPostingId > 0) {
             return jobPostingRepository.findById(jobPostingId).orElseGet(() -> createDummyJobForUser(user));
@@ -4,6 +4,7 @@ import com.cvbuilder.dto.JobAnalysisResponse;
 import com.cvbuilder.dto.MarketAnalysisResponse;
 import com.cvbuilder.entity.JobPosting;
 import java.util.List;
+import java.util.Map;
 
 public interface JobAnalysisService {
 
@@ -17,6 +18,12 @@ public interface JobAnalysisService {
      */
     JobAnalysisResponse analyzeJobPosting(Long userId, String url);
 
+    /**
+     * Önceden çekilmiş ilan verisini (JobScraperClient.fetchJobData çıktısı) analiz edip kaydeder;
+     * toplu URL aktarımında sayfa tekrar çekilmez.
+     */
+    JobAnalysisResponse analyzeJobContent(Long userId, String url, Map<String, String> scrapedData);
+
     /**
      * Pazar analizi yapar.
      */
@@ -1,5 +1,6 @@
 package com.cvbuilder.service;
 
+import com.cvbuilder.config.JobPostingSearchIndexInitializer;
 import com.cvbuilder.dto.JobAnalysisResponse;
 import com.cvbuilder.dto.MarketAnalysisResponse;
 import com.cvbuilder.entity.JobPosting;
@@ -9,14 +10,23 @@ import com.cvbuilder.external.AiClient;
 import com.cvbuilder.external.JobScraperClient;
 import com.cvbuilder.repository.JobPostingRepository;
 import com.cvbuilder.repository.UserRepository;
+import com.cvbuilder.util.SkillListParser;
+import com.cvbuilder.util.TsQueryBuilder;
+import com.cvbuilder.util.UrlCanonicalizer;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -25,50 +35,97 @@ import java.util.stream.StreamSupport;
 @RequiredArgsConstructor
 public class JobAnalysisServiceImpl implements JobAnalysisService {
 
+    // Analiz çağrısı başarısız olduğunda rapor yerine gösterilen metin (AiClient.analyzeJobSubmission ile aynı)
+    private static final String ANALYSIS_UNAVAILABLE = "Analiz servisine şu anda ulaşılamıyor.";
+
     private final UserRepository userRepository;
     private final JobPostingRepository jobPostingRepository;
     private final JobScraperClient scraper;
     private final AiClient aiClient;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final JobPostingSearchIndexInitializer jobPostingSearchIndexInitializer;
+    private final SkillAggregateService skillAggregateService;
+    private final ThreadPoolTaskExecutor aiCallExecutor;
 
     // Yeni kodun ihtiyacı (universal JSON parse)
     private final ObjectMapper objectMapper;
 
+    // single: ilan alanları + rapor tek LLM çağrısında; concurrent: üç ayrı çağrı paralel
+    @Value("${ai.job-analysis.mode:single}")
+    private String analysisMode;
+
+    // Scraping ve AI çağrıları transaction dışında; DB işleri kısa okuma/yazma bloklarında
     @Override
-    @Transactional
     public JobAnalysisResponse analyzeJobPosting(Long userId, String url) {
-        User user = userRepository.findById(userId).orElseThrow();
         Map<String, String> scrapedData = scraper.fetchJobData(url);
+        return analyzeJobContent(userId, url, scrapedData);
+    }
+
+    @Override
+    public JobAnalysisResponse analyzeJobContent(Long userId, String url, Map<String, String> scrapedData) {
+        UserProfile profile = loadProfileSnapshot(userId);
         String jobContent = scrapedData.getOrDefault("jobContent", scrapedData.getOrDefault("fullText", ""));
-        return runComprehensiveAnalysis(user, jobContent, url);
+        return runComprehensiveAnalysis(userId, profile, jobContent, url, scrapedData);
     }
 
     @Override
-    @Transactional
     public JobAnalysisResponse analyzeJobByRawText(Long userId, String jobContent) {
-        User user = userRepository.findById(userId).orElseThrow();
-        return runComprehensiveAnalysis(user, jobContent, "Manuel Giriş");
+        UserProfile profile = loadProfileSnapshot(userId);
+        return runComprehensiveAnalysis(userId, profile, jobContent, "Manuel Giriş", Map.of());
     }
 
-    private JobAnalysisResponse runComprehensiveAnalysis(User user, String jobContent, String url) {
+    /**
+     * Kısa okuma transaction'ı: kullanıcı doğrulanır, profilin analizde kullanılan koleksiyonları yüklenir.
+     * Dönen profil detached durumdadır (profil yoksa null).
+     */
+    private UserProfile loadProfileSnapshot(Long userId) {
+        return readOnlyTransactionTemplate.execute(status -> {
+            User user = userRepository.findById(userId).orElseThrow();
+            UserProfile profile = user.getProfile();
+            if (profile != null) {
+                if (profile.getSkills() != null) profile.getSkills().size();
+                if (profile.getExperiences() != null) profile.getExperiences().size();
+                if (profile.getEducations() != null) profile.getEducations().size();
+                if (profile.getLanguages() != null) profile.getLanguages().size();
+            }
+            return profile;
+        });
+    }
+
+    /**
+     * @param knownFields sayfanın yapısal verisinden (JSON-LD) gelen alanlar; structuredData=true ise
+     *                    alan ayıklama (detailed) LLM çağrısı yapılmaz, bu alanlar doğrudan kullanılır
+     */
+    private JobAnalysisResponse runComprehensiveAnalysis(Long userId, UserProfile profile, String jobContent, String url,
+                                                         Map<String, String> knownFields) {
         if (jobContent == null || jobContent.length() < 50) {
             return JobAnalysisResponse.builder().formattedAnalysis("İçerik çekilemedi.").build();
         }
 
         // ==============================
-        // 1) ESKİ AKIŞ (DETAILED + REPORT)
+        // 1) AI ANALİZİ (DETAILED + REPORT + UNIVERSAL)
+        // - single modda tek çağrı (yanıtın kullanılamayan bölümü tek başına tekrar istenir);
+        //   concurrent modda üç çağrı paralel
         // ==============================
-        Map<String, Object> aiDetailed = aiClient.analyzeJobPostingDetailed(jobContent);
-        String detailedReport = aiClient.analyzeJobSubmission(user.getProfile(), jobContent);
+        boolean structured = "true".equals(knownFields.get("structuredData"));
+        AnalysisOutputs outputs = "single".equalsIgnoreCase(analysisMode)
+                ? runSinglePass(profile, jobContent)
+                : runConcurrently(profile, jobContent, structured);
+
+        Map<String, Object> aiDetailed = structured ? detailedFromKnownFields(knownFields) : outputs.detailed;
+        String detailedReport = outputs.report;
 
         // Detailed içinden güvenli listeler (ClassCastException fix)
         List<String> jobSkillsDetailed = safeGetList(aiDetailed, "technicalSkills");
         List<String> responsibilitiesDetailed = safeGetList(aiDetailed, "responsibilities");
 
         // ==============================
-        // 2) YENİ AKIŞ (UNIVERSAL JSON)
+        // 2) UNIVERSAL JSON
         // ==============================
-        String jsonResult = aiClient.analyzeJobPostingUniversal(jobContent);
-        JobAiResult aiUniversal = parseAiResult(jsonResult);
+        JobAiResult aiUniversal = parseAiResult(outputs.universalJson);
+        // Yapısal veride kesin olarak bilinen alanlar LLM tahmininin önüne geçer
+        if (structured) applyKnownFields(aiUniversal, knownFields);
 
         // ==============================
         // VERİ BİRLEŞTİRME: Tüm kaynaklardan gelen verileri birleştir
@@ -96,7 +153,7 @@ public class JobAnalysisServiceImpl implements JobAnalysisService {
         // ==============================
         // 3) BEcERİ EŞLEŞME (Eski mantık korunur)
         // ==============================
-        List<String> userSkills = getUserSkillsNormalized(user);
+        List<String> userSkills = getUserSkillsNormalized(profile);
         List<String> matched = new ArrayList<>();
         List<String> missing = new ArrayList<>();
 
@@ -112,7 +169,12 @@ public class JobAnalysisServiceImpl implements JobAnalysisService {
         // - hem eski alanlar (cleanedText, analysisReport)
         // - hem yeni alanlar (requiredSkills, responsibilities)
         // ==============================
-        JobPosting jp = saveJobPosting(user, url, aiDetailed, aiUniversal, jobContent, detailedReport, matched, responsibilities);
+        JobPosting jp = transactionTemplate.execute(status -> {
+            JobPosting saved = saveJobPosting(userRepository.getReferenceById(userId), url, aiDetailed, aiUniversal, jobContent, detailedReport, matched, responsibilities);
+            // Pazar analizi için önceden toplanmış beceri sayıları ilanla aynı transaction'da güncellenir
+            skillAggregateService.recordAdded(saved);
+            return saved;
+        });
 
         // ==============================
         // 5) DTO DOLDURMA (Eski + Yeni)
@@ -146,6 +208,71 @@ public class JobAnalysisServiceImpl implements JobAnalysisService {
                 .build();
     }
 
+    private static class AnalysisOutputs {
+        final Map<String, Object> detailed;
+        final String report;
+        final String universalJson;
+
+        AnalysisOutputs(Map<String, Object> detailed, String report, String universalJson) {
+            this.detailed = detailed;
+            this.report = report;
+            this.universalJson = universalJson;
+        }
+    }
+
+    /**
+     * Tek çağrı: aynı JSON hem detailed map'i hem universal sonucu besler.
+     * Yanıtın sadece bir bölümü kullanılamazsa yalnız o bölüm ayrı çağrıyla istenir (en fazla iki çağrı).
+     * Çağrının kendisi başarısızsa sağlayıcı zinciri zaten denenmiştir; ek çağrı yapılmaz, varsayılanlar döner.
+     */
+    private AnalysisOutputs runSinglePass(UserProfile profile, String jobContent) {
+        AiClient.ComprehensiveJobAnalysis result = aiClient.analyzeJobComprehensive(profile, jobContent);
+        if (result == null) {
+            log.warn("Tek geçişli ilan analizi başarısız, varsayılan çıktılar kullanılıyor");
+            return new AnalysisOutputs(new HashMap<>(), ANALYSIS_UNAVAILABLE, "{}");
+        }
+
+        String json = result.getJson();
+        Map<String, Object> detailed = json != null ? readDetailed(json) : null;
+        if (detailed == null) {
+            log.warn("Tek geçişli analizin JSON bölümü kullanılamadı, sadece ilan alanları tekrar isteniyor");
+            json = aiClient.analyzeJobPostingUniversal(jobContent);
+            detailed = readDetailed(json);
+            if (detailed == null) detailed = new HashMap<>();
+        }
+
+        String report = result.getReport();
+        if (report == null) {
+            log.warn("Tek geçişli analizin rapor bölümü kullanılamadı, sadece rapor tekrar isteniyor");
+            report = aiClient.analyzeJobSubmission(profile, jobContent);
+        }
+        return new AnalysisOutputs(detailed, report, json);
+    }
+
+    private Map<String, Object> readDetailed(String json) {
+        try {
+            return objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+        } catch (Exception e) {
+            log.warn("İlan analizi JSON'u okunamadı: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Üç ayrı çağrı aynı anda: toplam süre ≈ en yavaş tek çağrı.
+     * Yapısal veri varsa detailed çağrısı hiç yapılmaz.
+     */
+    private AnalysisOutputs runConcurrently(UserProfile profile, String jobContent, boolean skipDetailed) {
+        CompletableFuture<Map<String, Object>> detailed = skipDetailed
+                ? CompletableFuture.completedFuture(new HashMap<>())
+                : CompletableFuture.supplyAsync(() -> aiClient.analyzeJobPostingDetailed(jobContent), aiCallExecutor);
+        CompletableFuture<String> universal =
+                CompletableFuture.supplyAsync(() -> aiClient.analyzeJobPostingUniversal(jobContent), aiCallExecutor);
+        // Rapor çağıran thread'de üretilir; AiClient metotları hatada varsayılan değer döndürür
+        String report = aiClient.analyzeJobSubmission(profile, jobContent);
+        return new AnalysisOutputs(detailed.join(), report, universal.join());
+    }
+
     // ==============================
     // UNIVERSAL JSON PARSE (Yeni kod)
     // ==============================
@@ -200,6 +327,42 @@ public class JobAnalysisServiceImpl implements JobAnalysisService {
         return result;
     }
 
+    /**
+     * Yapısal veriden, analyzeJobPostingDetailed çıktısıyla aynı şekilde bir map üretir.
+     */
+    private Map<String, Object> detailedFromKnownFields(Map<String, String> known) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("position", known.getOrDefault("position", "Belirtilmemiş"));
+        map.put("company", known.getOrDefault("company", "Bilinmiyor"));
+        map.put("location", known.getOrDefault("location", "Belirtilmemiş"));
+        map.put("workType", known.getOrDefault("workType", "Belirtilmemiş"));
+        map.put("experienceLevel", known.getOrDefault("experienceLevel", "Belirtilmemiş"));
+        map.put("educationLevel", known.getOrDefault("educationLevel", "Belirtilmemiş"));
+        map.put("technicalSkills", splitKnownList(known.get("skills")));
+        map.put("responsibilities", new ArrayList<String>());
+        map.put("summary", "");
+        return map;
+    }
+
+    private void applyKnownFields(JobAiResult result, Map<String, String> known) {
+        result.position = firstNonBlank(known.get("position"), result.position);
+        result.company = firstNonBlank(known.get("company"), result.company);
+        result.location = firstNonBlank(known.get("location"), result.location);
+        result.workType = firstNonBlank(known.get("workType"), result.workType);
+        result.salary = firstNonBlank(known.get("salary"), result.salary);
+        result.experienceLevel = firstNonBlank(result.experienceLevel, known.getOrDefault("experienceLevel", ""));
+        result.educationLevel = firstNonBlank(result.educationLevel, known.getOrDefault("educationLevel", ""));
+    }
+
+    private List<String> splitKnownList(String value) {
+        List<String> items = new ArrayList<>();
+        if (value == null || value.isBlank()) return items;
+        for (String part : value.split(",")) {
+            if (!part.trim().isEmpty()) items.add(part.trim());
+        }
+        return items;
+    }
+
     private String getText(JsonNode node, String field) {
         if (node == null || field == null) return "";
         if (!node.has(field) || node.get(field).isNull()) return "";
@@ -259,6 +422,7 @@ public class JobAnalysisServiceImpl implements JobAnalysisService {
         return jobPostingRepository.save(JobPosting.builder()
                 .user(user)
                 .url(url)
+                .canonicalUrl(url == null ? null : UrlCanonicalizer.canonicalize(url))
                 .position(firstNonBlank(aiUniversal.position, safeGetString(aiDetailed, "position", "Belirtilmemiş")))
                 .cleanedText(safeText)
 
@@ -271,9 +435,9 @@ public class JobAnalysisServiceImpl implements JobAnalysisService {
                 .build());
     }
 
-    private List<String> getUserSkillsNormalized(User user) {
-        if (user.getProfile() == null || user.getProfile().getSkills() == null) return new ArrayList<>();
-        return user.getProfile().getSkills().stream()
+    private List<String> getUserSkillsNormalized(UserProfile profile) {
+        if (profile == null || profile.getSkills() == null) return new ArrayList<>();
+        return profile.getSkills().stream()
                 .map(s -> s.getSkillName().toLowerCase(Locale.forLanguageTag("tr")).trim())
                 .collect(Collectors.toList());
     }
@@ -360,25 +524,16 @@ public class JobAnalysisServiceImpl implements JobAnalysisService {
         List<JobPosting> relevantJobs = jobPostingRepository
                 .findTop200ByPositionContainingIgnoreCaseOrderByCreatedAtDesc(analysisArea);
 
-        // Eğer yeterli ilan yoksa (100'den az), tüm ilanları çekip filtreleme yapabiliriz
+        // Eğer yeterli ilan yoksa (100'den az), içerikte (beceriler + metin) indeksli arama yapılır
+        boolean positionSearch = true;
         if (relevantJobs.isEmpty() || relevantJobs.size() < 100) {
-            log.warn("Position'a göre yeterli ilan bulunamadı ({}), tüm ilanlar kontrol ediliyor (en az 100 ilan hedefleniyor)...", relevantJobs.size());
-            // Tüm ilanları çek ve içerikte area'yı ara
-            List<JobPosting> allJobs = jobPostingRepository.findAll();
-            relevantJobs = filterJobsByArea(allJobs, analysisArea);
-            // En az 100 ilan alabilmek için limit'i 200'e çıkar
-            relevantJobs = relevantJobs.stream()
-                    .sorted((a, b) -> {
-                        Date dateA = a.getCreatedAt() != null ? a.getCreatedAt() : new Date(0);
-                        Date dateB = b.getCreatedAt() != null ? b.getCreatedAt() : new Date(0);
-                        return dateB.compareTo(dateA);
-                    })
-                    .limit(200)
-                    .collect(Collectors.toList());
+            log.warn("Position'a göre yeterli ilan bulunamadı ({}), içerik araması yapılıyor (en az 100 ilan hedefleniyor)...", relevantJobs.size());
+            relevantJobs = searchJobsByArea(analysisArea, 200);
+            positionSearch = false;
         }
 
         // Kullanıcının mevcut becerilerini al
-        List<String> userSkills = getUserSkillsNormalized(user);
+        List<String> userSkills = getUserSkillsNormalized(profile);
         
         Map<String, Integer> skillFrequency;
         List<String> missingSkills;
@@ -463,8 +618,15 @@ public class JobAnalysisServiceImpl implements JobAnalysisService {
                 profile.getEducations().size(); // Initialize
             }
 
-            // Veritabanından beceri frekanslarını hesapla
-            skillFrequency = calculateSkillFrequency(relevantJobs);
+            // Beceri frekansları, ilanlar pozisyon aramasından geldiyse aynı ilanları (aynı eşleşme, en eski ilanın
+            // ayından bu yana) kapsayan önceden toplanmış sayılardan okunur; içerik aramasında veya sayılar yoksa
+            // ilanlardan hesaplanır
+            skillFrequency = positionSearch
+                    ? skillAggregateService.topSkills(analysisArea, relevantJobs.get(relevantJobs.size() - 1).getCreatedAt(), 20)
+                    : Collections.emptyMap();
+            if (skillFrequency.isEmpty()) {
+                skillFrequency = calculateSkillFrequency(relevantJobs);
+            }
 
             // Kullanıcının eksik becerilerini belirle
             missingSkills = findMissingSkills(userSkills, skillFrequency);
@@ -509,21 +671,17 @@ public class JobAnalysisServiceImpl implements JobAnalysisService {
     }
 
     /**
-     * İş ilanlarını area'ya göre filtreler (position, requiredSkills, cleanedText alanlarında arama yapar)
+     * Alanla ilgili ilanları veritabanında arar (tüm tabloyu belleğe çekmeden).
+     * PostgreSQL'de GIN index'li tam metin arama ile alaka sıralı ilk N ilan döner (kelimeler önek olarak da
+     * eşleşir, bkz. TsQueryBuilder); tam metin arama kullanılamazsa sınırlı LIKE sorgusuna düşülür.
      */
-    private List<JobPosting> filterJobsByArea(List<JobPosting> allJobs, String area) {
-        String areaLower = area.toLowerCase(Locale.forLanguageTag("tr"));
-        return allJobs.stream()
-                .filter(job -> {
-                    String position = job.getPosition() != null ? job.getPosition().toLowerCase(Locale.forLanguageTag("tr")) : "";
-                    String skills = job.getRequiredSkills() != null ? job.getRequiredSkills().toLowerCase(Locale.forLanguageTag("tr")) : "";
-                    String text = job.getCleanedText() != null ? job.getCleanedText().toLowerCase(Locale.forLanguageTag("tr")) : "";
-                    
-                    return position.contains(areaLower) || 
-                           skills.contains(areaLower) || 
-                           text.contains(areaLower);
-                })
-                .collect(Collectors.toList());
+    private List<JobPosting> searchJobsByArea(String area, int limit) {
+        // Hatalı bir native sorgu transaction'ı bozacağı için deneme-yanılma yerine açılıştaki kontrol kullanılır
+        if (jobPostingSearchIndexInitializer.isFullTextSearchReady()) {
+            String tsQuery = TsQueryBuilder.prefixQuery(area);
+            return tsQuery.isEmpty() ? Collections.emptyList() : jobPostingRepository.searchRanked(tsQuery, limit);
+        }
+        return jobPostingRepository.searchByAreaLike(area, PageRequest.of(0, limit));
     }
 
     /**
@@ -533,20 +691,9 @@ public class JobAnalysisServiceImpl implements JobAnalysisService {
         Map<String, Integer> frequency = new HashMap<>();
         
         for (JobPosting job : jobs) {
-            if (job.getRequiredSkills() == null || job.getRequiredSkills().trim().isEmpty()) {
-                continue;
-            }
-            
-            // RequiredSkills'i parse et (virgül, noktalı virgül veya yeni satırla ayrılmış olabilir)
-            String[] skills = job.getRequiredSkills().split("[,;\\n\\r]+");
-            
-            for (String skill : skills) {
-                String trimmed = skill.trim();
-                if (!trimmed.isEmpty() && trimmed.length() > 1) {
-                    // Normalize et (küçük harfe çevir)
-                    String normalized = trimmed.toLowerCase(Locale.forLanguageTag("tr"));
-                    frequency.put(normalized, frequency.getOrDefault(normalized, 0) + 1);
-                }
+            // RequiredSkills'i parse et; beceri ilan başına bir kez sayılır (önceden toplanmış sayılarla aynı kural)
+            for (String skill : SkillListParser.distinct(job.getRequiredSkills())) {
+                frequency.merge(skill, 1, Integer::sum);
             }
         }
         
@@ -0,0 +1,146 @@
+package com.cvbuilder.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Sağlayıcı yanıtlarından metin içeriğini Jackson streaming API (JsonParser) ile okur.
+ * Ara ağaç (JsonNode) kurulmaz: yalnızca istenen yol izlenir, diğer alanlar skipChildren ile atlanır,
+ * hedef alan bulunduğu anda okuma biter.
+ * Yol adımları alan adı, "0" (dizinin ilk elemanı) veya "*" (tüm elemanlar, metinler birleştirilir) olabilir.
+ */
+final class ProviderResponseDecoder {
+
+    // OpenAI / Groq / DeepSeek
+    static final String[] OPENAI_MESSAGE = {"choices", "0", "message", "content"};
+    static final String[] OPENAI_DELTA = {"choices", "0", "delta", "content"};
+    // Gemini (streaming parçalarında birden fazla part gelebilir)
+    static final String[] GEMINI_TEXT = {"candidates", "0", "content", "parts", "0", "text"};
+    static final String[] GEMINI_DELTA = {"candidates", "0", "content", "parts", "*", "text"};
+
+    // Thread-safe; parser'lar buradan üretilir
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private ProviderResponseDecoder() {
+    }
+
+    /**
+     * Verilen yollardan ilk bulunan metni döner; hiçbiri yoksa null.
+     * Geçersiz JSON için IOException fırlatır (hedef alan ondan önce bulunduysa metin döner).
+     */
+    static String extract(String json, String[]... paths) throws IOException {
+        if (json == null) return null;
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) return null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                parser.nextToken();
+                String[] path = pathStartingWith(paths, name);
+                if (path == null) {
+                    parser.skipChildren();
+                    continue;
+                }
+                StringBuilder out = new StringBuilder();
+                if (collect(parser, path, 1, out)) return out.toString();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Metin boş mu veya sadece boşluk ve parantezlerden mi oluşuyor ("{", "[]", "( )" gibi)?
+     */
+    static boolean isBlankOrBracketsOnly(String text) {
+        if (text == null) return true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isWhitespace(c) && c != '{' && c != '}' && c != '[' && c != ']' && c != '(' && c != ')') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String[] pathStartingWith(String[][] paths, String name) {
+        for (String[] path : paths) {
+            if (path[0].equals(name)) return path;
+        }
+        return null;
+    }
+
+    /**
+     * Parser mevcut değerin ilk token'ında durur. Hedef bulunamazsa değer tamamen tüketilmiş olarak döner;
+     * bulunursa (true) hemen döner ve kalan token'lar okunmaz ("*" adımı hariç: dizinin tüm elemanları toplanır).
+     */
+    private static boolean collect(JsonParser parser, String[] path, int depth, StringBuilder out) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (depth == path.length) {
+            if (token == JsonToken.VALUE_STRING) {
+                out.append(parser.getText());
+                return true;
+            }
+            parser.skipChildren();
+            return false;
+        }
+
+        String step = path[depth];
+        if ("0".equals(step)) {
+            if (token != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                return false;
+            }
+            token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) return false;
+            if (collect(parser, path, depth + 1, out)) return true;
+            // İlk eleman hedefi içermiyorsa dizinin kalanı atlanır
+            while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+                parser.skipChildren();
+            }
+            return false;
+        }
+
+        if ("*".equals(step)) {
+            if (token != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                return false;
+            }
+            JsonStreamContext arrayContext = parser.getParsingContext();
+            boolean found = false;
+            while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+                if (collect(parser, path, depth + 1, out)) {
+                    found = true;
+                    skipTo(parser, arrayContext);
+                }
+            }
+            return found;
+        }
+
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            if (step.equals(name)) {
+                if (collect(parser, path, depth + 1, out)) return true;
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Erken dönen collect'ten sonra elemanın kalan token'larını okuyup verilen dizi seviyesine döner.
+     */
+    private static void skipTo(JsonParser parser, JsonStreamContext context) throws IOException {
+        while (parser.getParsingContext() != context) {
+            if (parser.nextToken() == null) return;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.cvbuilder.service;
+
+import com.cvbuilder.entity.ScrapedPage;
+import com.cvbuilder.repository.ScrapedPageRepository;
+import com.cvbuilder.util.UrlCanonicalizer;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Çekilmiş ilan sayfaları için kalıcı önbellek (kanonik URL anahtarlı).
+ * - Tazelik süresi içinde: ağa çıkılmadan kayıtlı içerik döner.
+ * - Süre dolmuşsa: ETag / Last-Modified ile koşullu GET yapılır; 304 gelirse kayıt tazelenir.
+ * Önbellek hataları ilan çekmeyi engellemez, sadece loglanır.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScrapedPageCache {
+
+    // Kendi kolonu olan alanlar; diğerleri extraFields içinde JSON olarak saklanır
+    private static final Set<String> BASE_FIELDS = Set.of("pageTitle", "jobContent", "location", "company", "position");
+
+    private final ScrapedPageRepository scrapedPageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${scraper.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${scraper.cache.fresh-minutes:60}")
+    private long freshMinutes;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Optional<ScrapedPage> find(String url) {
+        if (!enabled) return Optional.empty();
+        try {
+            return scrapedPageRepository.findByUrlHash(hash(UrlCanonicalizer.canonicalize(url)));
+        } catch (Exception e) {
+            log.warn("Sayfa önbelleği okunamadı ({}): {}", url, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public boolean isFresh(ScrapedPage page) {
+        return page.getValidatedAt() != null
+                && Duration.between(page.getValidatedAt(), LocalDateTime.now()).toMinutes() < freshMinutes;
+    }
+
+    /**
+     * 304 Not Modified sonrası: içerik aynı, sadece doğrulama zamanı ilerler.
+     */
+    public void markValidated(ScrapedPage page) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    scrapedPageRepository.markValidated(page.getUrlHash(), LocalDateTime.now()));
+        } catch (Exception e) {
+            log.warn("Sayfa önbelleği güncellenemedi ({}): {}", page.getCanonicalUrl(), e.getMessage());
+        }
+    }
+
+    /**
+     * Kaldırılmış ilan (404/410): kayıt silinir, bayat içerik olarak da sunulmaz.
+     */
+    public void evict(ScrapedPage page) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> scrapedPageRepository.deleteByUrlHash(page.getUrlHash()));
+        } catch (Exception e) {
+            log.warn("Sayfa önbellekten silinemedi ({}): {}", page.getCanonicalUrl(), e.getMessage());
+        }
+    }
+
+    public void store(String url, Map<String, String> data, String etag, String lastModified) {
+        if (!enabled) return;
+        String canonicalUrl = UrlCanonicalizer.canonicalize(url);
+        String urlHash = hash(canonicalUrl);
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                ScrapedPage page = scrapedPageRepository.findByUrlHash(urlHash)
+                        .orElseGet(() -> ScrapedPage.builder().urlHash(urlHash).canonicalUrl(canonicalUrl).build());
+                page.setEtag(blankToNull(etag));
+                page.setLastModified(blankToNull(lastModified));
+                page.setPageTitle(data.get("pageTitle"));
+                page.setJobContent(data.get("jobContent"));
+                page.setLocation(data.get("location"));
+                page.setCompany(data.get("company"));
+                page.setPosition(data.get("position"));
+                page.setExtraFields(writeExtraFields(data));
+                page.setFetchedAt(now);
+                page.setValidatedAt(now);
+                scrapedPageRepository.save(page);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Aynı sayfa eş zamanlı kaydedildi; diğer kayıt geçerli
+            log.debug("Sayfa önbelleğine eş zamanlı kayıt: {}", canonicalUrl);
+        } catch (Exception e) {
+            log.warn("Sayfa önbelleğe yazılamadı ({}): {}", canonicalUrl, e.getMessage());
+        }
+    }
+
+    public Map<String, String> toResult(ScrapedPage page) {
+        Map<String, String> result = new HashMap<>();
+        result.put("pageTitle", nullToEmpty(page.getPageTitle()));
+        result.put("jobContent", nullToEmpty(page.getJobContent()));
+        result.put("location", nullToEmpty(page.getLocation()));
+        result.put("company", nullToEmpty(page.getCompany()));
+        result.put("position", nullToEmpty(page.getPosition()));
+        readExtraFields(page.getExtraFields()).forEach(result::putIfAbsent);
+        return result;
+    }
+
+    private String writeExtraFields(Map<String, String> data) {
+        Map<String, String> extra = new LinkedHashMap<>();
+        data.forEach((key, value) -> {
+            if (!BASE_FIELDS.contains(key) && value != null) extra.put(key, value);
+        });
+        if (extra.isEmpty()) return null;
+        try {
+            return objectMapper.writeValueAsString(extra);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private Map<String, String> readExtraFields(String json) {
+        if (json == null || json.isBlank()) return Map.of();
+        try {
+            return objectMapper.readValue(json, new TypeReference<LinkedHashMap<String, String>>() {});
+        } catch (Exception e) {
+            log.debug("Önbellekteki ek alanlar okunamadı: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private String hash(String canonicalUrl) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonicalUrl.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 desteklenmiyor", e);
+        }
+    }
+
+    private String blankToNull(String value) {
+        // Kolon sınırını aşan doğrulayıcı saklanmaz (koşullu GET yapılmaz, tam indirme yapılır)
+        return value == null || value.isBlank() || value.length() > 255 ? null : value;
+    }
+
+    private String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,233 @@
+package com.cvbuilder.service;
+
+import com.cvbuilder.entity.JobPosting;
+import com.cvbuilder.entity.SkillAggregate;
+import com.cvbuilder.entity.SkillAggregateArea;
+import com.cvbuilder.repository.JobPostingRepository;
+import com.cvbuilder.repository.SkillAggregateAreaRepository;
+import com.cvbuilder.repository.SkillAggregateRepository;
+import com.cvbuilder.util.SkillListParser;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pazar analizinde aranan alan + beceri + ay bazında önceden toplanmış beceri sayıları.
+ * Bir alanın sayıları pozisyon aramasıyla aynı ilanları kapsar: pozisyonu alan metnini içeren
+ * (büyük/küçük harf duyarsız) ilanlar. Pazar analizi yüzlerce ilanın requiredSkills metnini her istekte
+ * yeniden ayırmak yerine alanın satırlarını (area_key eşitliği, index'li) tek GROUP BY ile okur.
+ * - Alan ilk analiz edildiğinde skill_aggregate_areas'a kaydedilir ve arka planda (skillAggregateExecutor)
+ *   mevcut ilanlardan bir kez doldurulur. Doldurma bitene kadar topSkills boş döner, çağıran ilanlardan hesaplar.
+ * - Sonraki her ilan, kaydıyla aynı transaction içinde pozisyonunu içeren takip edilen alanları artırır.
+ * - Sıralama PostgreSQL advisory lock'larıyla yapılır; böylece ilan ne atlanır ne iki kez sayılır ve birden
+ *   fazla uygulama örneği aynı alanı bir kez doldurur:
+ *   alan kaydı kısa süreli özel kayıt kilidi alır, ilan kayıtları bu kilidi paylaşımlı tutar (kayıttan önce
+ *   başlamış ilanlar commit edilir, sonrakiler yeni alanı görür). Uzun süren doldurma yalnızca kendi alanının
+ *   kilidini (alan anahtarının hash'i) özel alır; sadece o alana giren ilan kayıtları bekler.
+ * Artırım PostgreSQL upsert'i ve advisory lock kullandığından veritabanı PostgreSQL değilse özellik kapalıdır;
+ * topSkills boş döner ve çağıran ilanlardan hesaplar.
+ * Beceriler {@link SkillListParser#distinct} ile ilan başına bir kez sayılır (ilanlardan yapılan hesapla aynı kural).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SkillAggregateService {
+
+    private static final Locale TR = Locale.forLanguageTag("tr");
+    private static final int AREA_KEY_MAX_LENGTH = 255;
+    // Alan kaydı kilidi (tek bigint anahtar)
+    private static final long REGISTRATION_LOCK_KEY = 0x736B696C6C616767L;
+    // Alan kilitleri iki int anahtarlıdır: (sınıf, alan anahtarının hash'i); bigint anahtarlarla çakışmaz
+    private static final int AREA_LOCK_CLASS = 0x736B6167;
+
+    private final SkillAggregateRepository skillAggregateRepository;
+    private final SkillAggregateAreaRepository skillAggregateAreaRepository;
+    private final JobPostingRepository jobPostingRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor skillAggregateExecutor;
+
+    // Bu örnekte doldurması kuyrukta veya sürmekte olan alanlar (aynı alan tekrar kuyruğa girmez)
+    private final Set<String> seedingAreas = ConcurrentHashMap.newKeySet();
+
+    // Sayıları tutulan en fazla alan; aşılınca yeni alanlar ilanlardan hesaplanır
+    @Value("${market.skills.max-tracked-areas:500}")
+    private int maxTrackedAreas;
+
+    @Value("${market.skills.seed-page-size:500}")
+    private int seedPageSize;
+
+    private volatile boolean enabled = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void detectDatabase() {
+        try {
+            String product = jdbcTemplate.execute((Connection c) -> c.getMetaData().getDatabaseProductName());
+            enabled = product != null && product.toLowerCase().contains("postgres");
+            if (!enabled) log.info("Önceden toplanmış beceri sayıları kapalı (veritabanı: {})", product);
+        } catch (Exception e) {
+            log.warn("Veritabanı türü belirlenemedi, beceri sayıları kapalı: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * İlan kaydıyla aynı transaction içinde çağrılmalıdır; sayılar ilanla birlikte commit edilir.
+     */
+    public void recordAdded(JobPosting job) {
+        if (!enabled || job == null || job.getPosition() == null) return;
+        Set<String> skills = SkillListParser.distinct(job.getRequiredSkills());
+        if (skills.isEmpty()) return;
+
+        // Alan kaydı sürüyorsa (kısa) bitmesi beklenir; sonra yeni alan da görülür
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock_shared(" + REGISTRATION_LOCK_KEY + ")");
+        LocalDate bucket = bucketOf(job.getCreatedAt());
+        for (String areaKey : skillAggregateAreaRepository.findAreaKeysMatchingPosition(job.getPosition())) {
+            // Bu alan dolduruluyorsa bitmesi beklenir; diğer alanların doldurması bu kaydı bekletmez
+            lockArea("pg_advisory_xact_lock_shared", areaKey);
+            for (String skill : skills) {
+                skillAggregateRepository.increment(areaKey, skill, bucket, 1);
+            }
+        }
+    }
+
+    /**
+     * Alan için, since tarihinin ayından itibaren eklenen ilanlarda en çok geçen beceriler (sıralı).
+     * since null ise tüm ilanlar sayılır. Alan ilk kez soruluyorsa doldurma arka planda başlatılır ve
+     * bitene kadar boş map döner. Özellik kapalıysa, alan sınırı dolduysa veya veri yoksa da boş map döner.
+     */
+    public Map<String, Integer> topSkills(String area, Date since, int limit) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        String areaKey = normalizeArea(area);
+        if (!enabled || areaKey.isEmpty()) return result;
+
+        Optional<SkillAggregateArea> tracked = skillAggregateAreaRepository.findByAreaKey(areaKey);
+        if (tracked.isEmpty() || tracked.get().getSeededAt() == null) {
+            scheduleSeed(areaKey);
+            return result;
+        }
+
+        LocalDate sinceBucket = since != null ? bucketOf(since) : LocalDate.of(1970, 1, 1);
+        for (Object[] row : skillAggregateRepository.findTopSkills(areaKey, sinceBucket, PageRequest.of(0, Math.max(1, limit)))) {
+            long count = ((Number) row[1]).longValue();
+            if (count > 0) result.put((String) row[0], (int) Math.min(Integer.MAX_VALUE, count));
+        }
+        return result;
+    }
+
+    /**
+     * Doldurma çağıranın (salt okunur olabilen) transaction'ı ve bağlantısı dışında, kendi thread'inde yapılır.
+     */
+    private void scheduleSeed(String areaKey) {
+        if (!seedingAreas.add(areaKey)) return;
+        try {
+            skillAggregateExecutor.execute(() -> {
+                try {
+                    if (register(areaKey)) {
+                        transactionTemplate.executeWithoutResult(status -> seed(areaKey));
+                    }
+                } catch (Exception e) {
+                    log.warn("Beceri sayıları oluşturulamadı - Alan: {}: {}", areaKey, e.getMessage());
+                } finally {
+                    seedingAreas.remove(areaKey);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            seedingAreas.remove(areaKey);
+            log.debug("Beceri sayısı doldurma kuyruğu dolu, sonraki analizde tekrar denenecek - Alan: {}", areaKey);
+        }
+    }
+
+    /**
+     * Alanı doldurulmamış olarak kaydeder (commit edildikten sonra başlayan ilan kayıtları alanı artırır).
+     * Alan zaten kayıtlıysa true, alan sınırı dolduysa false döner.
+     */
+    private boolean register(String areaKey) {
+        Boolean registered = transactionTemplate.execute(status -> {
+            // Kayıttan önce başlamış ilan kayıtlarının commit edilmesi beklenir
+            jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + REGISTRATION_LOCK_KEY + ")");
+            if (skillAggregateAreaRepository.findByAreaKey(areaKey).isPresent()) return true;
+            if (skillAggregateAreaRepository.count() >= maxTrackedAreas) return false;
+            skillAggregateAreaRepository.save(SkillAggregateArea.builder().areaKey(areaKey).build());
+            return true;
+        });
+        return Boolean.TRUE.equals(registered);
+    }
+
+    private void seed(String areaKey) {
+        // Kilit alınınca bu alana giren süren ilan kayıtları commit edilmiş olur, yenileri bu transaction bitene kadar bekler
+        lockArea("pg_advisory_xact_lock", areaKey);
+        // Başka bir uygulama örneği bu arada doldurduysa tekrar yapılmaz
+        SkillAggregateArea area = skillAggregateAreaRepository.findByAreaKey(areaKey).orElse(null);
+        if (area == null || area.getSeededAt() != null) return;
+        // Kayıttan sonra yapılan artırımlar aşağıdaki taramada zaten sayılır
+        skillAggregateRepository.deleteByAreaKey(areaKey);
+
+        // Sayfadaki ilanlar bellekte toplanır, her (beceri, ay) için tek satır yazılır
+        Map<List<Object>, Long> counts = new HashMap<>();
+        long afterId = 0L;
+        long postings = 0L;
+        int pageSize = Math.max(1, seedPageSize);
+        while (true) {
+            List<Object[]> rows = jobPostingRepository.findSkillRowsByPosition(areaKey, afterId, PageRequest.of(0, pageSize));
+            for (Object[] row : rows) {
+                afterId = ((Number) row[0]).longValue();
+                postings++;
+                LocalDate bucket = bucketOf((Date) row[2]);
+                for (String skill : SkillListParser.distinct((String) row[1])) {
+                    counts.merge(List.of(skill, bucket), 1L, Long::sum);
+                }
+            }
+            if (rows.size() < pageSize) break;
+        }
+
+        List<SkillAggregate> aggregates = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> aggregates.add(SkillAggregate.builder()
+                .areaKey(areaKey)
+                .skill((String) key.get(0))
+                .bucketMonth((LocalDate) key.get(1))
+                .postingCount(count)
+                .build()));
+        skillAggregateRepository.saveAll(aggregates);
+        area.setSeededPostings(postings);
+        area.setSeededAt(LocalDateTime.now());
+        skillAggregateAreaRepository.save(area);
+        log.info("Beceri sayıları oluşturuldu - Alan: {}, {} ilan, {} satır", areaKey, postings, aggregates.size());
+    }
+
+    private void lockArea(String function, String areaKey) {
+        jdbcTemplate.execute("SELECT " + function + "(" + AREA_LOCK_CLASS + ", " + areaKey.hashCode() + ")");
+    }
+
+    private String normalizeArea(String value) {
+        if (value == null) return "";
+        String normalized = value.trim().replaceAll("\\s+", " ").toLowerCase(TR);
+        if ("belirtilmemiş".equals(normalized)) return "";
+        return normalized.length() > AREA_KEY_MAX_LENGTH ? normalized.substring(0, AREA_KEY_MAX_LENGTH) : normalized;
+    }
+
+    private LocalDate bucketOf(Date createdAt) {
+        LocalDate date = createdAt != null
+                ? createdAt.toInstant().atZone(ZoneId.systemDefault()).toLocalDate()
+                : LocalDate.now();
+        return bucketOf(date);
+    }
+
+    private LocalDate bucketOf(LocalDate date) {
+        return date.withDayOfMonth(1);
+    }
+}
@@ -0,0 +1,83 @@
+package com.cvbuilder.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Konu (topic) bazlı Server-Sent Events yayıncısı.
+ * Bir konuya birden fazla istemci abone olabilir; kopan bağlantılar otomatik temizlenir.
+ */
+@Slf4j
+@Component
+public class SseBroadcaster {
+
+    private final Map<String, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribe(String topic, long timeoutMillis) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        List<SseEmitter> emitters = subscribers.computeIfAbsent(topic, k -> new CopyOnWriteArrayList<>());
+        emitters.add(emitter);
+
+        Runnable remove = () -> removeEmitter(topic, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        return emitter;
+    }
+
+    /**
+     * Tek bir abonenin kendisine (örn: abone olur olmaz mevcut durumu) olay gönderir.
+     */
+    public void sendTo(SseEmitter emitter, String eventName, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(data));
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    public void publish(String topic, String eventName, Object data) {
+        List<SseEmitter> emitters = subscribers.get(topic);
+        if (emitters == null || emitters.isEmpty()) return;
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name(eventName).data(data));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("SSE gönderimi başarısız, abone çıkarılıyor (topic={}): {}", topic, e.getMessage());
+                removeEmitter(topic, emitter);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    /**
+     * Konuyu kapatır: tüm abonelere son olayı gönderip bağlantıyı sonlandırır.
+     */
+    public void complete(String topic, String eventName, Object data) {
+        publish(topic, eventName, data);
+        List<SseEmitter> emitters = subscribers.remove(topic);
+        if (emitters == null) return;
+        for (SseEmitter emitter : emitters) {
+            emitter.complete();
+        }
+    }
+
+    public int subscriberCount(String topic) {
+        List<SseEmitter> emitters = subscribers.get(topic);
+        return emitters == null ? 0 : emitters.size();
+    }
+
+    private void removeEmitter(String topic, SseEmitter emitter) {
+        subscribers.computeIfPresent(topic, (k, list) -> {
+            list.remove(emitter);
+            return list.isEmpty() ? null : list;
+        });
+    }
+}
@@ -1,19 +1,33 @@
 package com.cvbuilder.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.cvbuilder.util.CircuitBreaker;
+import com.cvbuilder.util.LatencyHistogram;
+import com.cvbuilder.util.SingleFlight;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.*;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * TranslationService
@@ -21,6 +35,9 @@ import java.util.concurrent.atomic.AtomicInteger;
  * 1. Gemini (Multi-Key) -> PRIMARY (ÖNCELİKLİ)
  * 2. Groq (Multi-Key)   -> SECONDARY (FALLBACK 1)
  * 3. DeepSeek (Multi-Key) -> TERTIARY (FALLBACK 2)
+ * Hedging açıkken yavaş kalan sağlayıcı beklenmez; gecikme yüzdeliği aşılınca
+ * sıradaki sağlayıcı da denenir ve ilk başarılı yanıt kullanılır.
+ * Sağlayıcı çağrıları non-blocking JDK HttpClient ile yapılır (CompletableFuture döner).
  */
 @Slf4j
 @Service
@@ -61,18 +78,73 @@ public class TranslationService {
     private List<String> groqKeys;
     private List<String> deepSeekKeys;
 
-    private final AtomicInteger currentGeminiIndex = new AtomicInteger(0);
-    private final AtomicInteger currentGroqIndex = new AtomicInteger(0);
-    private final AtomicInteger currentDeepSeekIndex = new AtomicInteger(0);
+    // Anahtar havuzları: anahtar başına kota, cooldown ve sağlık puanı
+    @Value("${ai.keys.requests-per-minute:30}")
+    private int keyRequestsPerMinute;
+    @Value("${ai.keys.burst:5}")
+    private int keyBurst;
+    @Value("${ai.keys.default-cooldown-seconds:30}")
+    private long keyDefaultCooldownSeconds;
 
-    private final RestTemplate restTemplate;
+    private final Map<AiProvider, ApiKeyPool> keyPools = new EnumMap<>(AiProvider.class);
+
+    // ==========================================
+    // HEDGING CONFIG
+    // ==========================================
+    @Value("${ai.hedging.enabled:true}")
+    private boolean hedgingEnabled;
+    @Value("${ai.hedging.percentile:0.95}")
+    private double hedgePercentile;
+    @Value("${ai.hedging.default-delay-ms:15000}")
+    private long hedgeDefaultDelayMs;
+    @Value("${ai.hedging.min-delay-ms:2000}")
+    private long hedgeMinDelayMs;
+    @Value("${ai.hedging.max-delay-ms:60000}")
+    private long hedgeMaxDelayMs;
+    @Value("${ai.hedging.min-samples:20}")
+    private int hedgeMinSamples;
+
+    // Sağlayıcı ve sonuç bazlı gecikme ölçümleri; hedge gecikmesini sadece başarılı çağrılar belirler
+    private final Map<AiProvider, Map<CallOutcome, LatencyHistogram>> latencyHistograms = new EnumMap<>(AiProvider.class);
+
+    /**
+     * Bir sağlayıcı denemesinin sonucu (gecikme ölçümü etiketi).
+     * CANCELLED: hedge yarışını kaybeden veya çağıranın vazgeçtiği deneme.
+     */
+    private enum CallOutcome { SUCCESS, FAILURE, CANCELLED }
+
+    // ==========================================
+    // CIRCUIT BREAKER CONFIG
+    // ==========================================
+    @Value("${ai.breaker.failure-threshold:5}")
+    private int breakerFailureThreshold;
+    @Value("${ai.breaker.open-seconds:30}")
+    private long breakerOpenSeconds;
+    @Value("${ai.breaker.half-open-probes:1}")
+    private int breakerHalfOpenProbes;
+
+    private final Map<AiProvider, CircuitBreaker> circuitBreakers = new EnumMap<>(AiProvider.class);
+
+    // Eş zamanlı aynı prompt istekleri tek sağlayıcı çağrısında birleştirilir (anahtar: önbellek anahtarı)
+    private final SingleFlight<String, String> inFlightRequests = new SingleFlight<>();
+
+    @Value("${ai.http.read-timeout-seconds:120}")
+    private long readTimeoutSeconds;
+
+    private final HttpClient httpClient;
+    private final AiResponseCache responseCache;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    public TranslationService() {
-        this.restTemplate = new RestTemplateBuilder()
-                .setConnectTimeout(Duration.ofSeconds(30))
-                .setReadTimeout(Duration.ofSeconds(120))
-                .build();
+    public TranslationService(HttpClient aiHttpClient, AiResponseCache responseCache) {
+        this.httpClient = aiHttpClient;
+        this.responseCache = responseCache;
+        for (AiProvider provider : AiProvider.values()) {
+            Map<CallOutcome, LatencyHistogram> histograms = new EnumMap<>(CallOutcome.class);
+            for (CallOutcome outcome : CallOutcome.values()) {
+                histograms.put(outcome, new LatencyHistogram(256));
+            }
+            latencyHistograms.put(provider, histograms);
+        }
     }
 
     @PostConstruct
@@ -100,6 +172,19 @@ public class TranslationService {
         } else {
             log.info("DeepSeek anahtarları yüklendi: {} adet", this.deepSeekKeys.size());
         }
+
+        for (AiProvider provider : AiProvider.values()) {
+            circuitBreakers.put(provider, new CircuitBreaker(provider.getDisplayName(),
+                    breakerFailureThreshold, TimeUnit.SECONDS.toMillis(breakerOpenSeconds), breakerHalfOpenProbes));
+        }
+
+        keyPools.put(AiProvider.GEMINI, newKeyPool(AiProvider.GEMINI, geminiKeys));
+        keyPools.put(AiProvider.GROQ, newKeyPool(AiProvider.GROQ, groqKeys));
+        keyPools.put(AiProvider.DEEPSEEK, newKeyPool(AiProvider.DEEPSEEK, deepSeekKeys));
+    }
+
+    private ApiKeyPool newKeyPool(AiProvider provider, List<String> keys) {
+        return new ApiKeyPool(provider, keys, keyRequestsPerMinute, keyBurst, keyDefaultCooldownSeconds);
     }
 
     private List<String> parseKeys(String raw) {
@@ -113,75 +198,312 @@ public class TranslationService {
         return list;
     }
 
-    private String getNextKey(List<String> keys, AtomicInteger index) {
-        if (keys == null || keys.isEmpty()) throw new RuntimeException("API Key Listesi Boş!");
-        int idx = Math.abs(index.getAndIncrement() % keys.size());
-        return keys.get(idx);
+    /**
+     * Admin ekranı için sağlayıcı durumu: anahtar havuzları (anahtarlar sıra numarasıyla),
+     * sonuç (success/failure/cancelled) bazında gecikme yüzdelikleri ve önbellek.
+     */
+    public Map<String, Object> getProviderStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        List<Map<String, Object>> keys = new ArrayList<>();
+        keyPools.values().forEach(pool -> keys.addAll(pool.snapshot()));
+        stats.put("keys", keys);
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latencyHistograms.forEach((provider, histograms) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            histograms.forEach((outcome, histogram) -> {
+                Map<String, Object> outcomeRow = new LinkedHashMap<>();
+                outcomeRow.put("samples", histogram.sampleCount());
+                outcomeRow.put("total", histogram.totalCount());
+                outcomeRow.put("p50Ms", histogram.percentile(0.50));
+                outcomeRow.put("p95Ms", histogram.percentile(0.95));
+                row.put(outcome.name().toLowerCase(Locale.ROOT), outcomeRow);
+            });
+            row.put("hedgeDelayMs", hedgeDelayMs(provider));
+            latency.put(provider.getDisplayName(), row);
+        });
+        stats.put("latency", latency);
+
+        Map<String, Object> breakers = new LinkedHashMap<>();
+        circuitBreakers.forEach((provider, breaker) -> breakers.put(provider.getDisplayName(), breaker.snapshot()));
+        stats.put("circuitBreakers", breakers);
+        stats.put("cache", responseCache.getStats());
+
+        Map<String, Object> coalescing = new LinkedHashMap<>();
+        coalescing.put("inFlight", inFlightRequests.inFlightCount());
+        coalescing.put("executed", inFlightRequests.executedCount());
+        coalescing.put("coalesced", inFlightRequests.coalescedCount());
+        stats.put("singleFlight", coalescing);
+        return stats;
     }
 
     // =========================================================
     // PUBLIC METHODS (ZİNCİRLEME MANTIK: GEMINI -> GROQ -> DEEPSEEK)
     // =========================================================
 
+    /**
+     * Senkron kullanım için ince sarmalayıcı (mevcut çağıranlar değişmeden çalışır).
+     * Bekleyen thread kesilirse istek iptal edilir (başka bekleyen yoksa HTTP isteği de durur).
+     */
     public String generateContent(String prompt) {
+        return generateContent(prompt, true);
+    }
+
+    /**
+     * cacheable=false: yanıt önbellekten okunmaz ve önbelleğe yazılmaz (örn: sohbet yanıtları).
+     */
+    public String generateContent(String prompt, boolean cacheable) {
+        CompletableFuture<String> future = generateContentAsync(prompt, cacheable);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("AI isteği kesildi", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException re) throw re;
+            throw new RuntimeException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Non-blocking içerik üretimi. Çağıran thread sağlayıcı yanıtını beklerken bloklanmaz.
+     * Aynı (model, prompt) için önbellekteki yanıt varsa sağlayıcıya gidilmez.
+     * Dönen future iptal edilirse ve aynı prompt'u bekleyen başka çağıran yoksa uçuştaki HTTP istekleri de iptal edilir.
+     */
+    public CompletableFuture<String> generateContentAsync(String prompt) {
+        return generateContentAsync(prompt, true);
+    }
+
+    /**
+     * cacheable=false: önbellek atlanır; aynı anda gelen aynı prompt'lar yine tek çağrıda birleştirilir.
+     */
+    public CompletableFuture<String> generateContentAsync(String prompt, boolean cacheable) {
         if (prompt == null || prompt.isBlank()) {
             log.warn("generateContent çağrıldı ancak prompt boş!");
-            return "";
+            return CompletableFuture.completedFuture("");
         }
-        
-        log.info("AI içerik üretimi başlatılıyor, prompt uzunluğu: {}", prompt.length());
-        
-        // 1. GEMINI (Primary - Öncelikli)
-        try {
-            log.debug("Gemini servisi deneniyor...");
-            String response = sendRequestToGemini(prompt);
-            if (response != null && !response.trim().isEmpty()) {
-                log.info("Gemini başarılı, yanıt uzunluğu: {}", response.length());
-                return response;
-            } else {
-                log.warn("Gemini boş yanıt döndü, Groq deneniyor...");
-                throw new RuntimeException("Gemini boş yanıt döndü");
-            }
-        } catch (Exception e1) {
-            log.warn("Gemini başarısız ({}), Groq deneniyor...", e1.getMessage());
 
-            // 2. GROQ (Secondary / Fallback 1)
-            try {
-                log.debug("Groq servisi deneniyor...");
-                String response = sendRequestToGroq(prompt);
-                if (response != null && !response.trim().isEmpty()) {
-                    log.info("Groq başarılı, yanıt uzunluğu: {}", response.length());
-                    return response;
-                } else {
-                    log.warn("Groq boş yanıt döndü, DeepSeek deneniyor...");
-                    throw new RuntimeException("Groq boş yanıt döndü");
+        List<AiProvider> chain = availableProviders();
+        String cacheKey = responseCache.buildKey(modelSignature(chain), prompt);
+        Optional<String> cached = cacheable ? responseCache.get(cacheKey) : Optional.empty();
+        if (cached.isPresent()) {
+            log.debug("AI yanıtı önbellekten döndü, prompt uzunluğu: {}", prompt.length());
+            return CompletableFuture.completedFuture(cached.get());
+        }
+
+        if (chain.isEmpty()) {
+            return CompletableFuture.failedFuture(
+                    new RuntimeException("AI servisine ulaşılamadı. Hiçbir sağlayıcı için anahtar tanımlı değil."));
+        }
+
+        // Aynı prompt için uçuşta istek varsa sağlayıcıya ikinci kez gidilmez, sonuç paylaşılır
+        return inFlightRequests.execute(cacheKey, () -> {
+            log.info("AI içerik üretimi başlatılıyor, prompt uzunluğu: {}", prompt.length());
+            CompletableFuture<String> result = new CompletableFuture<>();
+            HedgedCall call = new HedgedCall(prompt, chain);
+            call.start().whenComplete((response, error) -> {
+                if (result.isDone()) return;
+                if (error == null) {
+                    if (cacheable) responseCache.put(cacheKey, response);
+                    result.complete(response);
+                    return;
                 }
-            } catch (Exception e2) {
-                log.warn("Groq başarısız ({}), DeepSeek deneniyor...", e2.getMessage());
-
-                // 3. DEEPSEEK (Tertiary / Fallback 2 - Optional)
-                try {
-                    if (deepSeekKeys == null || deepSeekKeys.isEmpty()) {
-                        log.warn("DeepSeek anahtarları yok, atlanıyor...");
-                        throw new RuntimeException("DeepSeek yapılandırılmamış");
-                    }
-                    log.debug("DeepSeek servisi deneniyor...");
-                    String response = sendRequestToDeepSeek(prompt);
-                    if (response != null && !response.trim().isEmpty()) {
-                        log.info("DeepSeek başarılı, yanıt uzunluğu: {}", response.length());
-                        return response;
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                log.error("Tüm AI servisleri başarısız oldu! Son hata: {}", cause.getMessage(), cause);
+                result.completeExceptionally(new RuntimeException("AI servisine ulaşılamadı. Lütfen backend konsolunu kontrol edin.", cause));
+            });
+            // Bekleyen kalmadıysa (SingleFlight iptal etti) sağlayıcı istekleri de bırakılır
+            result.whenComplete((response, error) -> {
+                if (result.isCancelled()) call.cancel();
+            });
+            return result;
+        });
+    }
+
+    // =========================================================
+    // HEDGING (GEMINI -> GROQ -> DEEPSEEK YARIŞI)
+    // =========================================================
+
+    /**
+     * Zincirdeki sağlayıcıları sırayla dener. Bir sağlayıcı hata verirse hemen sıradakine geçer;
+     * hedging açıksa, aktif istek sağlayıcının gecikme yüzdeliğini (örn: p95) aşınca aynı prompt
+     * sıradaki sağlayıcıya da gönderilir ve ilk başarılı yanıt kazanır, diğerleri iptal edilir.
+     * Devre kesicisi açık olan sağlayıcı hiç denenmeden atlanır.
+     */
+    private final class HedgedCall {
+        private final String prompt;
+        private final List<AiProvider> chain;
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        private final List<CompletableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+        private int launched = 0;
+        private int started = 0;
+        private int failed = 0;
+        private Throwable lastError;
+
+        HedgedCall(String prompt, List<AiProvider> chain) {
+            this.prompt = prompt;
+            this.chain = chain;
+        }
+
+        CompletableFuture<String> start() {
+            launchNext();
+            return result;
+        }
+
+        private void launchNext() {
+            AiProvider provider = null;
+            boolean exhausted = false;
+            synchronized (this) {
+                if (result.isDone()) return;
+                // Devresi açık sağlayıcılar beklenmeden atlanır
+                while (provider == null && launched < chain.size()) {
+                    AiProvider candidate = chain.get(launched++);
+                    if (circuitBreakers.get(candidate).tryAcquire()) {
+                        provider = candidate;
+                        started++;
                     } else {
-                        log.error("DeepSeek boş yanıt döndü!");
-                        throw new RuntimeException("DeepSeek boş yanıt döndü");
+                        log.info("{} devresi açık, atlanıyor", candidate.getDisplayName());
+                        lastError = new RuntimeException(candidate.getDisplayName() + " devresi açık (geçici olarak devre dışı)");
+                    }
+                }
+                if (provider == null) exhausted = failed >= started;
+            }
+            if (provider == null) {
+                if (exhausted) result.completeExceptionally(lastError);
+                return;
+            }
+
+            AiProvider current = provider;
+            log.debug("{} servisi deneniyor...", current.getDisplayName());
+            long startNanos = System.nanoTime();
+            CompletableFuture<String> attempt = callProviderAsync(current, prompt);
+            attempts.add(attempt);
+            attempt.whenComplete((response, error) -> onAttemptDone(current, startNanos, response, error));
+
+            if (hedgingEnabled && hasMoreProviders()) {
+                long delayMs = hedgeDelayMs(current);
+                CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS).execute(() -> {
+                    if (!result.isDone() && !attempt.isDone()) {
+                        log.info("{} {} ms içinde yanıt vermedi, hedge isteği sıradaki sağlayıcıya gönderiliyor",
+                                current.getDisplayName(), delayMs);
+                        launchNext();
                     }
-                } catch (Exception e3) {
-                    log.error("Tüm AI servisleri başarısız oldu! Son hata: {}", e3.getMessage(), e3);
-                    throw new RuntimeException("AI servisine ulaşılamadı. Lütfen backend konsolunu kontrol edin.", e3);
+                });
+            }
+        }
+
+        private void onAttemptDone(AiProvider provider, long startNanos, String response, Throwable error) {
+            CircuitBreaker breaker = circuitBreakers.get(provider);
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            if (error == null && response != null && !response.trim().isEmpty()) {
+                breaker.onSuccess();
+                recordLatency(provider, CallOutcome.SUCCESS, elapsedMs);
+                if (result.complete(response)) {
+                    log.info("{} başarılı ({} ms), yanıt uzunluğu: {}", provider.getDisplayName(), elapsedMs, response.length());
+                    cancelOthers();
                 }
+                return;
+            }
+            if (error instanceof CancellationException) {
+                breaker.onIgnored(); // Hedge yarışını kaybetti, sağlayıcı hatası sayılmaz
+                recordLatency(provider, CallOutcome.CANCELLED, elapsedMs);
+                return;
+            }
+            recordLatency(provider, CallOutcome.FAILURE, elapsedMs);
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause == null) cause = new ProviderCallException(provider.getDisplayName() + " boş yanıt döndü", false);
+            if (isProviderFault(cause)) {
+                breaker.onFailure();
+            } else {
+                breaker.onIgnored(); // Uygun anahtar yok vb. yerel durum, devreyi açmaz
+            }
+            if (result.isDone()) return; // Geç kalan başarısız deneme
+
+            log.warn("{} başarısız ({})", provider.getDisplayName(), cause.getMessage());
+
+            boolean allFailed;
+            synchronized (this) {
+                failed++;
+                lastError = cause;
+                allFailed = failed >= started && launched >= chain.size();
+            }
+            if (allFailed) {
+                result.completeExceptionally(lastError);
+            } else {
+                launchNext();
+            }
+        }
+
+        /**
+         * Sonuç artık beklenmiyor: yeni deneme başlatılmaz, uçuştaki HTTP istekleri iptal edilir.
+         */
+        void cancel() {
+            if (result.cancel(false)) cancelOthers();
+        }
+
+        private synchronized boolean hasMoreProviders() {
+            return launched < chain.size();
+        }
+
+        private void cancelOthers() {
+            for (CompletableFuture<String> attempt : attempts) {
+                if (!attempt.isDone()) attempt.cancel(true);
             }
         }
     }
 
+    private CompletableFuture<String> callProviderAsync(AiProvider provider, String prompt) {
+        return switch (provider) {
+            case GEMINI -> sendRequestToGeminiAsync(prompt);
+            case GROQ -> sendRequestToGroqAsync(prompt);
+            case DEEPSEEK -> sendRequestToDeepSeekAsync(prompt);
+        };
+    }
+
+    private List<AiProvider> availableProviders() {
+        List<AiProvider> chain = new ArrayList<>();
+        if (geminiKeys != null && !geminiKeys.isEmpty()) chain.add(AiProvider.GEMINI);
+        if (groqKeys != null && !groqKeys.isEmpty()) chain.add(AiProvider.GROQ);
+        if (deepSeekKeys != null && !deepSeekKeys.isEmpty()) chain.add(AiProvider.DEEPSEEK);
+        return chain;
+    }
+
+    /**
+     * Önbellek anahtarının model kısmı: zincirdeki sağlayıcılar ve model adları.
+     * Model değişirse eski yanıtlar otomatik olarak geçersiz kalır.
+     */
+    private String modelSignature(List<AiProvider> chain) {
+        StringBuilder sb = new StringBuilder();
+        for (AiProvider provider : chain) {
+            String model = switch (provider) {
+                case GEMINI -> geminiModel;
+                case GROQ -> groqModel;
+                case DEEPSEEK -> deepSeekModel;
+            };
+            if (sb.length() > 0) sb.append('|');
+            sb.append(provider.name()).append(':').append(model);
+        }
+        return sb.toString();
+    }
+
+    private void recordLatency(AiProvider provider, CallOutcome outcome, long elapsedMs) {
+        latencyHistograms.get(provider).get(outcome).record(elapsedMs);
+    }
+
+    /**
+     * Hedge gecikmesi: sağlayıcının son başarılı çağrılarındaki yüzdelik gecikme.
+     * Yeterli örnek yoksa varsayılan gecikme kullanılır.
+     */
+    private long hedgeDelayMs(AiProvider provider) {
+        LatencyHistogram histogram = latencyHistograms.get(provider).get(CallOutcome.SUCCESS);
+        long delay = histogram.sampleCount() >= hedgeMinSamples
+                ? histogram.percentile(hedgePercentile)
+                : hedgeDefaultDelayMs;
+        return Math.max(hedgeMinDelayMs, Math.min(hedgeMaxDelayMs, delay));
+    }
+
     public Map<String, Object> translateCV(Object userCvData, String targetLang) {
         String languageName = targetLang.equalsIgnoreCase("en") ? "English" : targetLang;
         String jsonInput;
@@ -214,190 +536,421 @@ public class TranslationService {
     // =========================================================
     // CORE: GROQ REQUEST
     // =========================================================
-    private String sendRequestToGroq(String prompt) {
-        if (groqKeys == null || groqKeys.isEmpty()) throw new RuntimeException("Groq keys yok");
-        int maxAttempts = groqKeys.size();
+    private CompletableFuture<String> sendRequestToGroqAsync(String prompt) {
+        if (groqKeys == null || groqKeys.isEmpty()) return CompletableFuture.failedFuture(new ProviderCallException("Groq keys yok", false));
+        String body = toJson(groqRequestBody(prompt));
+
+        return sendWithKeyRotation(AiProvider.GROQ, groqKeys.size(), key ->
+                jsonPost(URI.create(groqUrl), body)
+                        .header("Authorization", "Bearer " + key)
+                        .build());
+    }
 
+    private Map<String, Object> groqRequestBody(String prompt) {
         Map<String, Object> systemMessage = Map.of(
                 "role", "system",
                 "content", "Sen profesyonel bir asistanısın. Cümlelerini her zaman tamamla, gramer olarak doğru yaz ve akıcı Türkçe kullan. Yarım kalan veya bozuk cümleler yazma."
         );
         Map<String, Object> userMessage = Map.of("role", "user", "content", prompt);
-        Map<String, Object> requestBody = Map.of(
-                "model", groqModel,
-                "messages", List.of(systemMessage, userMessage),
-                "temperature", 0.5,
-                "max_tokens", 4000
-        );
-
-        for (int attempt = 0; attempt < maxAttempts; attempt++) {
-            String key = getNextKey(groqKeys, currentGroqIndex);
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("Authorization", "Bearer " + key);
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-
-            try {
-                ResponseEntity<String> response = restTemplate.postForEntity(groqUrl, entity, String.class);
-                log.info("Groq HTTP yanıtı: Status={}, Body uzunluğu={}", 
-                        response.getStatusCode(), response.getBody() != null ? response.getBody().length() : 0);
-                
-                if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                    // Ham yanıtı logla
-                    String rawBody = response.getBody();
-                    log.info("Groq ham yanıt (ilk 1000 karakter): {}", 
-                            rawBody.length() > 1000 ? rawBody.substring(0, 1000) + "..." : rawBody);
-                    
-                    String parsed = parseResponseSafe(rawBody);
-                    log.info("Groq parse edilmiş yanıt uzunluğu: {}, içerik: {}", 
-                            parsed != null ? parsed.length() : 0,
-                            parsed != null && parsed.length() > 0 ? (parsed.length() > 200 ? parsed.substring(0, 200) + "..." : parsed) : "BOŞ");
-                    
-                    if (parsed == null || parsed.trim().isEmpty()) {
-                        log.error("Groq yanıtı parse edildi ama boş! Ham yanıt: {}", rawBody);
-                        throw new RuntimeException("Groq boş yanıt döndü");
-                    }
-                    return parsed;
-                } else {
-                    log.error("Groq başarısız HTTP yanıtı: Status={}, Body={}", 
-                            response.getStatusCode(), 
-                            response.getBody() != null && response.getBody().length() < 500 ? response.getBody() : "çok uzun");
-                    throw new RuntimeException("Groq HTTP hatası: " + response.getStatusCode());
-                }
-            } catch (HttpClientErrorException e) {
-                log.error("Groq HTTP Client Hatası ({}): Status={}, Body={}", 
-                        maskKey(key), e.getStatusCode(), e.getResponseBodyAsString());
-                if (e.getStatusCode().value() == 429) {
-                    log.warn("Groq 429 - Key değişiyor: {}", maskKey(key));
-                    continue;
-                }
-                throw new RuntimeException("Groq HTTP hatası: " + e.getStatusCode() + " - " + e.getResponseBodyAsString());
-            } catch (Exception e) {
-                log.error("Groq Hatası ({}): {}", maskKey(key), e.getMessage(), e);
-                throw e;
-            }
-        }
-        throw new RuntimeException("Tüm Groq anahtarları tükendi.");
+        Map<String, Object> requestBody = new LinkedHashMap<>();
+        requestBody.put("model", groqModel);
+        requestBody.put("messages", List.of(systemMessage, userMessage));
+        requestBody.put("temperature", 0.5);
+        requestBody.put("max_tokens", 4000);
+        return requestBody;
     }
 
     // =========================================================
     // CORE: GEMINI REQUEST
     // =========================================================
-    private String sendRequestToGemini(String prompt) {
-        if (geminiKeys == null || geminiKeys.isEmpty()) throw new RuntimeException("Gemini keys yok");
-        String safeModelName = geminiModel.startsWith("models/") ? geminiModel : "models/" + geminiModel;
-        int maxAttempts = geminiKeys.size();
+    private CompletableFuture<String> sendRequestToGeminiAsync(String prompt) {
+        if (geminiKeys == null || geminiKeys.isEmpty()) return CompletableFuture.failedFuture(new ProviderCallException("Gemini keys yok", false));
+        String body = toJson(geminiRequestBody(prompt));
 
+        return sendWithKeyRotation(AiProvider.GEMINI, geminiKeys.size(), key ->
+                jsonPost(geminiUri("generateContent", key, false), body).build());
+    }
+
+    private Map<String, Object> geminiRequestBody(String prompt) {
         Map<String, Object> part = Map.of("text", prompt);
         Map<String, Object> content = Map.of("parts", List.of(part));
-        Map<String, Object> requestBody = Map.of("contents", List.of(content));
+        return Map.of("contents", List.of(content));
+    }
 
-        for (int attempt = 0; attempt < maxAttempts; attempt++) {
-            String key = getNextKey(geminiKeys, currentGeminiIndex);
-            String apiUrl = UriComponentsBuilder.fromHttpUrl(geminiBaseUrl)
-                    .pathSegment(safeModelName + ":generateContent")
-                    .queryParam("key", key)
-                    .build().toUriString();
+    private URI geminiUri(String method, String key, boolean sse) {
+        String safeModelName = geminiModel.startsWith("models/") ? geminiModel : "models/" + geminiModel;
+        UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(geminiBaseUrl)
+                .pathSegment(safeModelName + ":" + method);
+        if (sse) builder.queryParam("alt", "sse");
+        return builder.queryParam("key", key).build().toUri();
+    }
+
+    // =========================================================
+    // CORE: DEEPSEEK REQUEST
+    // =========================================================
+    private CompletableFuture<String> sendRequestToDeepSeekAsync(String prompt) {
+        if (deepSeekKeys == null || deepSeekKeys.isEmpty()) return CompletableFuture.failedFuture(new ProviderCallException("DeepSeek keys yok", false));
+        String body = toJson(deepSeekRequestBody(prompt));
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
+        // DeepSeek için 429'da anahtar değiştirilmez (tek deneme)
+        return sendWithKeyRotation(AiProvider.DEEPSEEK, 1, key ->
+                jsonPost(URI.create(deepSeekUrl), body)
+                        .header("Authorization", "Bearer " + key)
+                        .build());
+    }
 
-            try {
-                ResponseEntity<String> response = restTemplate.postForEntity(apiUrl, entity, String.class);
-                log.info("Gemini HTTP yanıtı: Status={}, Body uzunluğu={}", 
-                        response.getStatusCode(), response.getBody() != null ? response.getBody().length() : 0);
-                
-                if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                    // Ham yanıtı logla
-                    String rawBody = response.getBody();
-                    log.info("Gemini ham yanıt (ilk 1000 karakter): {}", 
-                            rawBody.length() > 1000 ? rawBody.substring(0, 1000) + "..." : rawBody);
-                    
-                    String parsed = parseResponseSafe(rawBody);
-                    log.info("Gemini parse edilmiş yanıt uzunluğu: {}, içerik: {}", 
-                            parsed != null ? parsed.length() : 0,
-                            parsed != null && parsed.length() > 0 ? (parsed.length() > 200 ? parsed.substring(0, 200) + "..." : parsed) : "BOŞ");
-                    
-                    if (parsed == null || parsed.trim().isEmpty()) {
-                        log.error("Gemini yanıtı parse edildi ama boş! Ham yanıt: {}", rawBody);
-                        throw new RuntimeException("Gemini boş yanıt döndü");
-                    }
-                    return parsed;
-                } else {
-                    log.error("Gemini başarısız HTTP yanıtı: Status={}, Body={}", 
-                            response.getStatusCode(), 
-                            response.getBody() != null && response.getBody().length() < 500 ? response.getBody() : "çok uzun");
-                    throw new RuntimeException("Gemini HTTP hatası: " + response.getStatusCode());
+    private Map<String, Object> deepSeekRequestBody(String prompt) {
+        Map<String, Object> message = Map.of("role", "user", "content", prompt);
+        Map<String, Object> requestBody = new LinkedHashMap<>();
+        requestBody.put("model", deepSeekModel);
+        requestBody.put("messages", List.of(message));
+        return requestBody;
+    }
+
+    // =========================================================
+    // STREAMING (TOKEN TOKEN YANIT)
+    // =========================================================
+
+    /**
+     * Yanıtı sağlayıcıların streaming API'leri ile parça parça üretir; her parça onToken'a iletilir.
+     * Sağlayıcılar zincir sırasıyla denenir (hedging yok). Henüz parça gönderilmeden hata alınırsa
+     * sıradaki sağlayıcıya geçilir; akış ortasında hata olursa future hata ile tamamlanır.
+     * Dönen future tam metinle tamamlanır. Önbellekte yanıt varsa tek parça olarak iletilir.
+     */
+    public CompletableFuture<String> generateContentStream(String prompt, Consumer<String> onToken) {
+        return generateContentStream(prompt, onToken, true);
+    }
+
+    /**
+     * cacheable=false: yanıt önbellekten okunmaz ve önbelleğe yazılmaz.
+     */
+    public CompletableFuture<String> generateContentStream(String prompt, Consumer<String> onToken, boolean cacheable) {
+        if (prompt == null || prompt.isBlank()) {
+            return CompletableFuture.completedFuture("");
+        }
+
+        List<AiProvider> chain = availableProviders();
+        String cacheKey = responseCache.buildKey(modelSignature(chain), prompt);
+        Optional<String> cached = cacheable ? responseCache.get(cacheKey) : Optional.empty();
+        if (cached.isPresent()) {
+            onToken.accept(cached.get());
+            return CompletableFuture.completedFuture(cached.get());
+        }
+        if (chain.isEmpty()) {
+            return CompletableFuture.failedFuture(
+                    new RuntimeException("AI servisine ulaşılamadı. Hiçbir sağlayıcı için anahtar tanımlı değil."));
+        }
+
+        log.info("AI streaming başlatılıyor, prompt uzunluğu: {}", prompt.length());
+        CompletableFuture<String> result = new CompletableFuture<>();
+        AtomicBoolean emitted = new AtomicBoolean(false);
+        Consumer<String> trackingConsumer = token -> {
+            emitted.set(true);
+            onToken.accept(token);
+        };
+        streamFromChain(chain, 0, prompt, trackingConsumer, emitted, null, result);
+        result.whenComplete((text, error) -> {
+            if (error == null && cacheable) responseCache.put(cacheKey, text);
+        });
+        return result;
+    }
+
+    private void streamFromChain(List<AiProvider> chain, int index, String prompt, Consumer<String> onToken,
+                                 AtomicBoolean emitted, Throwable lastError, CompletableFuture<String> result) {
+        if (result.isDone()) return;
+        if (index >= chain.size()) {
+            Throwable cause = lastError != null ? lastError : new RuntimeException("Uygun sağlayıcı yok");
+            result.completeExceptionally(new RuntimeException("AI servisine ulaşılamadı. Lütfen backend konsolunu kontrol edin.", cause));
+            return;
+        }
+
+        AiProvider provider = chain.get(index);
+        CircuitBreaker breaker = circuitBreakers.get(provider);
+        if (!breaker.tryAcquire()) {
+            log.info("{} devresi açık, streaming için atlanıyor", provider.getDisplayName());
+            streamFromChain(chain, index + 1, prompt, onToken, emitted,
+                    new RuntimeException(provider.getDisplayName() + " devresi açık"), result);
+            return;
+        }
+
+        CompletableFuture<String> attempt = streamFromProvider(provider, prompt, onToken);
+        result.whenComplete((r, e) -> {
+            if (result.isCancelled()) attempt.cancel(true);
+        });
+        attempt.whenComplete((text, error) -> {
+            if (error == null) {
+                breaker.onSuccess();
+                result.complete(text);
+                return;
+            }
+            if (error instanceof CancellationException) {
+                breaker.onIgnored();
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (isProviderFault(cause)) {
+                breaker.onFailure();
+            } else {
+                breaker.onIgnored();
+            }
+            if (emitted.get()) {
+                // Parçalar istemciye gitti; başka sağlayıcıyla baştan başlamak yanıtı karıştırır
+                log.error("{} streaming akış ortasında kesildi: {}", provider.getDisplayName(), cause.getMessage());
+                result.completeExceptionally(cause);
+                return;
+            }
+            log.warn("{} streaming başarısız ({}), sıradaki sağlayıcı deneniyor", provider.getDisplayName(), cause.getMessage());
+            streamFromChain(chain, index + 1, prompt, onToken, emitted, cause, result);
+        });
+    }
+
+    private CompletableFuture<String> streamFromProvider(AiProvider provider, String prompt, Consumer<String> onToken) {
+        ApiKeyPool pool = keyPools.get(provider);
+        Optional<ApiKeyPool.KeyState> acquired = pool.acquire(Set.of());
+        if (acquired.isEmpty()) {
+            return CompletableFuture.failedFuture(new ProviderCallException(
+                    provider.getDisplayName() + " için uygun anahtar yok (kota dolu veya beklemede).", false));
+        }
+        ApiKeyPool.KeyState keyState = acquired.get();
+        String key = keyState.getKey();
+
+        HttpRequest request;
+        String[] deltaPath;
+        try {
+            switch (provider) {
+                case GEMINI -> {
+                    request = jsonPost(geminiUri("streamGenerateContent", key, true), toJson(geminiRequestBody(prompt))).build();
+                    deltaPath = ProviderResponseDecoder.GEMINI_DELTA;
                 }
-            } catch (HttpClientErrorException e) {
-                log.error("Gemini HTTP Client Hatası ({}): Status={}, Body={}", 
-                        maskKey(key), e.getStatusCode(), e.getResponseBodyAsString());
-                if (e.getStatusCode().value() == 429) {
-                    log.warn("Gemini 429 - Key değişiyor: {}", maskKey(key));
-                    continue;
+                case GROQ -> {
+                    Map<String, Object> body = groqRequestBody(prompt);
+                    body.put("stream", true);
+                    request = jsonPost(URI.create(groqUrl), toJson(body)).header("Authorization", "Bearer " + key).build();
+                    deltaPath = ProviderResponseDecoder.OPENAI_DELTA;
+                }
+                default -> {
+                    Map<String, Object> body = deepSeekRequestBody(prompt);
+                    body.put("stream", true);
+                    request = jsonPost(URI.create(deepSeekUrl), toJson(body)).header("Authorization", "Bearer " + key).build();
+                    deltaPath = ProviderResponseDecoder.OPENAI_DELTA;
+                }
+            }
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        long startNanos = System.nanoTime();
+        // 2xx yanıtta satırlar geldikçe işlenir; hata yanıtında gövde metin olarak okunur
+        HttpResponse.BodyHandler<String> handler = info -> info.statusCode() >= 200 && info.statusCode() < 300
+                ? HttpResponse.BodySubscribers.fromLineSubscriber(new SseLineSubscriber(deltaPath, onToken),
+                        SseLineSubscriber::fullText, StandardCharsets.UTF_8, "\n")
+                : HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8);
+
+        CompletableFuture<HttpResponse<String>> inflight = httpClient.sendAsync(request, handler);
+        CompletableFuture<String> result = new CompletableFuture<>();
+        result.whenComplete((r, e) -> {
+            if (result.isCancelled()) inflight.cancel(true);
+        });
+
+        inflight.whenComplete((response, error) -> {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                pool.recordFailure(keyState, elapsedMs);
+                result.completeExceptionally(new ProviderCallException(provider.getDisplayName() + " Hatası: " + cause.getMessage(), cause));
+                return;
+            }
+            int status = response.statusCode();
+            String text = response.body();
+            if (status == 429) {
+                pool.recordRateLimited(keyState, response.headers().firstValue("Retry-After").orElse(null));
+                result.completeExceptionally(new ProviderCallException(provider.getDisplayName() + " HTTP hatası: 429", true));
+                return;
+            }
+            if (status < 200 || status >= 300) {
+                pool.recordFailure(keyState, elapsedMs);
+                String errorBody = text != null && text.length() < 500 ? text : "çok uzun";
+                log.error("{} streaming HTTP Hatası ({}): Status={}, Body={}", provider.getDisplayName(), maskKey(key), status, errorBody);
+                result.completeExceptionally(new ProviderCallException(
+                        provider.getDisplayName() + " HTTP hatası: " + status + " - " + errorBody, isProviderFaultStatus(status)));
+                return;
+            }
+            if (text == null || text.isBlank()) {
+                pool.recordFailure(keyState, elapsedMs);
+                result.completeExceptionally(new ProviderCallException(provider.getDisplayName() + " boş yanıt döndü", false));
+                return;
+            }
+            pool.recordSuccess(keyState, elapsedMs);
+            log.info("{} streaming tamamlandı ({} ms), yanıt uzunluğu: {}", provider.getDisplayName(), elapsedMs, text.length());
+            result.complete(text);
+        });
+        return result;
+    }
+
+    /**
+     * SSE satırlarını ("data: {...}") okuyup her parçadaki metni iletir ve tam metni biriktirir.
+     */
+    private final class SseLineSubscriber implements Flow.Subscriber<String> {
+        private final String[] deltaPath;
+        private final Consumer<String> onToken;
+        private final StringBuilder fullText = new StringBuilder();
+
+        SseLineSubscriber(String[] deltaPath, Consumer<String> onToken) {
+            this.deltaPath = deltaPath;
+            this.onToken = onToken;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line == null || !line.startsWith("data:")) return;
+            String payload = line.substring(5).trim();
+            if (payload.isEmpty() || "[DONE]".equals(payload)) return;
+            try {
+                String delta = ProviderResponseDecoder.extract(payload, deltaPath);
+                if (delta != null && !delta.isEmpty()) {
+                    fullText.append(delta);
+                    onToken.accept(delta);
                 }
-                throw new RuntimeException("Gemini HTTP hatası: " + e.getStatusCode() + " - " + e.getResponseBodyAsString());
             } catch (Exception e) {
-                log.error("Gemini Hatası ({}): {}", maskKey(key), e.getMessage(), e);
-                throw e;
+                log.debug("Streaming parçası ayrıştırılamadı: {}", e.getMessage());
             }
         }
-        throw new RuntimeException("Tüm Gemini anahtarları tükendi.");
+
+        @Override
+        public void onError(Throwable throwable) {
+            // Hata, sendAsync future'ı üzerinden bildirilir
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        String fullText() {
+            return fullText.toString();
+        }
     }
 
     // =========================================================
-    // CORE: DEEPSEEK REQUEST
+    // CORE: ORTAK ASYNC GÖNDERİM (429'DA ANAHTAR DEĞİŞTİRME)
     // =========================================================
-    private String sendRequestToDeepSeek(String prompt) {
-        if (deepSeekKeys == null || deepSeekKeys.isEmpty()) throw new RuntimeException("DeepSeek keys yok");
-        
-        Map<String, Object> message = Map.of("role", "user", "content", prompt);
-        Map<String, Object> requestBody = Map.of(
-                "model", deepSeekModel,
-                "messages", List.of(message)
-        );
 
-        String key = getNextKey(deepSeekKeys, currentDeepSeekIndex);
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("Authorization", "Bearer " + key);
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
+    /**
+     * İsteği non-blocking gönderir; anahtar havuzdan sağlık puanına ve kotasına göre seçilir.
+     * 429 alınırsa anahtar Retry-After kadar beklemeye alınır ve başka bir anahtarla tekrar denenir.
+     * Dönen future iptal edilirse uçuştaki HTTP isteği de iptal edilir.
+     */
+    private CompletableFuture<String> sendWithKeyRotation(AiProvider provider, int maxAttempts,
+                                                          Function<String, HttpRequest> requestFactory) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        sendAttempt(provider, keyPools.get(provider), maxAttempts, new HashSet<>(), requestFactory, result);
+        return result;
+    }
+
+    private void sendAttempt(AiProvider provider, ApiKeyPool pool, int maxAttempts, Set<ApiKeyPool.KeyState> tried,
+                             Function<String, HttpRequest> requestFactory, CompletableFuture<String> result) {
+        if (result.isDone()) return;
+        if (tried.size() >= maxAttempts) {
+            // Buraya sadece her anahtar 429 aldıktan sonra gelinir
+            result.completeExceptionally(new ProviderCallException("Tüm " + provider.getDisplayName() + " anahtarları tükendi.", true));
+            return;
+        }
 
+        Optional<ApiKeyPool.KeyState> acquired = pool.acquire(tried);
+        if (acquired.isEmpty()) {
+            // Bekleyip boşuna istek atmak yerine hemen sıradaki sağlayıcıya geçilsin.
+            // Hiç istek atılmadıysa bu yerel havuz reddidir; bu çağrıda 429 alındıysa sağlayıcı hız sınırındadır.
+            result.completeExceptionally(new ProviderCallException(
+                    provider.getDisplayName() + " için uygun anahtar yok (kota dolu veya beklemede).", !tried.isEmpty()));
+            return;
+        }
+        ApiKeyPool.KeyState keyState = acquired.get();
+        tried.add(keyState);
+        String key = keyState.getKey();
+
+        HttpRequest request;
         try {
-            ResponseEntity<String> response = restTemplate.postForEntity(deepSeekUrl, entity, String.class);
-            log.info("DeepSeek HTTP yanıtı: Status={}, Body uzunluğu={}", 
-                    response.getStatusCode(), response.getBody() != null ? response.getBody().length() : 0);
-            
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                // Ham yanıtı logla
-                String rawBody = response.getBody();
-                log.info("DeepSeek ham yanıt (ilk 1000 karakter): {}", 
-                        rawBody.length() > 1000 ? rawBody.substring(0, 1000) + "..." : rawBody);
-                
+            request = requestFactory.apply(key);
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        CompletableFuture<HttpResponse<String>> inflight =
+                httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        result.whenComplete((r, e) -> {
+            if (result.isCancelled()) inflight.cancel(true);
+        });
+
+        inflight.whenComplete((response, error) -> {
+            if (result.isDone()) return;
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                pool.recordFailure(keyState, elapsedMs);
+                log.error("{} Hatası ({}): {}", provider.getDisplayName(), maskKey(key), cause.getMessage());
+                result.completeExceptionally(new ProviderCallException(provider.getDisplayName() + " Hatası: " + cause.getMessage(), cause));
+                return;
+            }
+
+            int status = response.statusCode();
+            String rawBody = response.body();
+            log.debug("{} HTTP yanıtı: Status={}, Body uzunluğu={}",
+                    provider.getDisplayName(), status, rawBody != null ? rawBody.length() : 0);
+
+            if (status == 429) {
+                pool.recordRateLimited(keyState, response.headers().firstValue("Retry-After").orElse(null));
+                if (maxAttempts > 1) {
+                    log.warn("{} 429 - Key değişiyor: {}", provider.getDisplayName(), maskKey(key));
+                    sendAttempt(provider, pool, maxAttempts, tried, requestFactory, result);
+                    return;
+                }
+            }
+
+            if (status >= 200 && status < 300 && rawBody != null) {
+                // Gövde kesitleri sadece debug seviyesinde üretilir
+                if (log.isDebugEnabled()) {
+                    log.debug("{} ham yanıt (ilk 1000 karakter): {}", provider.getDisplayName(), abbreviate(rawBody, 1000));
+                }
+
                 String parsed = parseResponseSafe(rawBody);
-                log.info("DeepSeek parse edilmiş yanıt uzunluğu: {}, içerik: {}", 
-                        parsed != null ? parsed.length() : 0,
-                        parsed != null && parsed.length() > 0 ? (parsed.length() > 200 ? parsed.substring(0, 200) + "..." : parsed) : "BOŞ");
-                
-                if (parsed == null || parsed.trim().isEmpty()) {
-                    log.error("DeepSeek yanıtı parse edildi ama boş! Ham yanıt: {}", rawBody);
-                    throw new RuntimeException("DeepSeek boş yanıt döndü");
+                if (parsed.isEmpty()) {
+                    pool.recordFailure(keyState, elapsedMs);
+                    log.error("{} yanıtı parse edildi ama boş! Ham yanıt (ilk 500 karakter): {}",
+                            provider.getDisplayName(), abbreviate(rawBody, 500));
+                    result.completeExceptionally(new ProviderCallException(provider.getDisplayName() + " boş yanıt döndü", false));
+                    return;
                 }
-                return parsed;
-            } else {
-                log.error("DeepSeek başarısız HTTP yanıtı: Status={}, Body={}", 
-                        response.getStatusCode(), 
-                        response.getBody() != null && response.getBody().length() < 500 ? response.getBody() : "çok uzun");
-                throw new RuntimeException("DeepSeek HTTP hatası: " + response.getStatusCode());
+                pool.recordSuccess(keyState, elapsedMs);
+                result.complete(parsed);
+                return;
             }
-        } catch (HttpClientErrorException e) {
-            log.error("DeepSeek HTTP Client Hatası ({}): Status={}, Body={}", 
-                    maskKey(key), e.getStatusCode(), e.getResponseBodyAsString());
-            throw new RuntimeException("DeepSeek HTTP hatası: " + e.getStatusCode() + " - " + e.getResponseBodyAsString());
+
+            if (status != 429) pool.recordFailure(keyState, elapsedMs);
+            String errorBody = rawBody != null && rawBody.length() < 500 ? rawBody : "çok uzun";
+            log.error("{} HTTP Hatası ({}): Status={}, Body={}", provider.getDisplayName(), maskKey(key), status, errorBody);
+            result.completeExceptionally(new ProviderCallException(
+                    provider.getDisplayName() + " HTTP hatası: " + status + " - " + errorBody, isProviderFaultStatus(status)));
+        });
+    }
+
+    private HttpRequest.Builder jsonPost(URI uri, String body) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(readTimeoutSeconds))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8));
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
         } catch (Exception e) {
-            log.error("DeepSeek Hatası: {}", e.getMessage(), e);
-            throw new RuntimeException("DeepSeek Hatası: " + e.getMessage(), e);
+            throw new RuntimeException("JSON Hatası: " + e.getMessage(), e);
         }
     }
 
@@ -405,115 +958,39 @@ public class TranslationService {
     // HELPERS
     // =========================================================
 
+    /**
+     * Tam (streaming olmayan) yanıttan metin içeriği; geçersiz veya boş içerik için "".
+     */
     private String parseResponseSafe(String responseBody) {
-        if (responseBody == null || responseBody.trim().isEmpty()) {
-            log.warn("parseResponseSafe: responseBody boş!");
+        if (ProviderResponseDecoder.isBlankOrBracketsOnly(responseBody)) {
+            log.warn("parseResponseSafe: Yanıt boş veya sadece parantez/boşluk içeriyor, boş döndürülüyor");
             return "";
         }
-        
-        // Ham yanıtı logla (ilk 500 karakter)
-        log.debug("parseResponseSafe: Ham yanıt (ilk 500 karakter): {}", 
-                responseBody.length() > 500 ? responseBody.substring(0, 500) + "..." : responseBody);
-        
-        // Önce eksik/invalid JSON kontrolü yap
-        String trimmed = responseBody.trim();
-        
-        // Sadece parantez/boşluk kontrolü
-        if (trimmed.matches("^[\\s\\{\\}\\[\\]\\(\\)]*$")) {
-            log.warn("parseResponseSafe: Yanıt sadece parantez/boşluk içeriyor, boş döndürülüyor");
-            return "";
-        }
-        
-        // Eksik JSON kontrolü: Sadece { veya { ile başlayıp kapanmamışsa
-        if (trimmed.equals("{") || (trimmed.startsWith("{") && !trimmed.contains("}"))) {
-            log.warn("parseResponseSafe: Eksik JSON tespit edildi (sadece açılış parantezi veya kapanmamış JSON), boş döndürülüyor. Trimmed: '{}'", trimmed);
-            return "";
-        }
-        
-        // Çok kısa yanıt kontrolü (sadece 1-2 karakter)
-        if (trimmed.length() <= 2 && trimmed.matches("^[\\{\\}\\[\\]\\s]*$")) {
-            log.warn("parseResponseSafe: Yanıt çok kısa ve sadece parantez içeriyor, boş döndürülüyor. Trimmed: '{}'", trimmed);
-            return "";
-        }
-        
+
         try {
-            JsonNode root = objectMapper.readTree(responseBody);
-            
-            // OpenAI / Groq / DeepSeek Format
-            if (root.has("choices") && root.get("choices").isArray() && root.get("choices").size() > 0) {
-                JsonNode firstChoice = root.get("choices").get(0);
-                if (firstChoice.has("message") && firstChoice.get("message").has("content")) {
-                    String content = firstChoice.get("message").get("content").asText();
-                    if (content == null || content.trim().isEmpty()) {
-                        log.warn("Groq/OpenAI/DeepSeek yanıtında content boş!");
-                        return "";
-                    }
-                    // Parse edilen içeriği de kontrol et - sadece parantez içeriyorsa boş döndür
-                    String cleanedContent = content.trim();
-                    if (cleanedContent.matches("^[\\s\\{\\}\\[\\]\\(\\)]*$") || cleanedContent.length() <= 2) {
-                        log.warn("Groq/OpenAI/DeepSeek parse edilen içerik geçersiz (sadece parantez veya çok kısa): '{}'", cleanedContent);
-                        return "";
-                    }
-                    log.info("Groq/OpenAI/DeepSeek formatından yanıt parse edildi, uzunluk: {}, içerik (ilk 200 karakter): {}", 
-                            cleanedContent.length(), cleanedContent.length() > 200 ? cleanedContent.substring(0, 200) + "..." : cleanedContent);
-                    return cleanedContent;
-                } else {
-                    log.warn("Groq/OpenAI/DeepSeek yanıtında message.content bulunamadı! firstChoice: {}", firstChoice.toString());
-                }
-            }
-            
-            // Gemini Format
-            if (root.has("candidates") && root.get("candidates").isArray() && root.get("candidates").size() > 0) {
-                JsonNode firstCandidate = root.get("candidates").get(0);
-                if (firstCandidate.has("content") && firstCandidate.get("content").has("parts") 
-                    && firstCandidate.get("content").get("parts").isArray() 
-                    && firstCandidate.get("content").get("parts").size() > 0) {
-                    JsonNode firstPart = firstCandidate.get("content").get("parts").get(0);
-                    if (firstPart.has("text")) {
-                        String text = firstPart.get("text").asText();
-                        if (text == null || text.trim().isEmpty()) {
-                            log.warn("Gemini yanıtında text boş!");
-                            return "";
-                        }
-                        // Parse edilen içeriği de kontrol et - sadece parantez içeriyorsa boş döndür
-                        String cleanedText = text.trim();
-                        if (cleanedText.matches("^[\\s\\{\\}\\[\\]\\(\\)]*$") || cleanedText.length() <= 2) {
-                            log.warn("Gemini parse edilen içerik geçersiz (sadece parantez veya çok kısa): '{}'", cleanedText);
-                            return "";
-                        }
-                        log.info("Gemini formatından yanıt parse edildi, uzunluk: {}, içerik (ilk 200 karakter): {}", 
-                                cleanedText.length(), cleanedText.length() > 200 ? cleanedText.substring(0, 200) + "..." : cleanedText);
-                        return cleanedText;
-                    } else {
-                        log.warn("Gemini yanıtında parts[0].text bulunamadı! firstPart: {}", firstPart.toString());
-                    }
-                } else {
-                    log.warn("Gemini yanıtında content.parts[0] bulunamadı! firstCandidate: {}", firstCandidate.toString());
-                }
+            String content = ProviderResponseDecoder.extract(responseBody,
+                    ProviderResponseDecoder.OPENAI_MESSAGE, ProviderResponseDecoder.GEMINI_TEXT);
+            if (content == null) {
+                log.warn("Beklenmeyen yanıt formatı! Ham yanıt (ilk 200 karakter): {}", abbreviate(responseBody, 200));
+                return "";
             }
-            
-            // Eğer beklenen format yoksa, ham yanıtı döndürme - boş döndür
-            log.warn("Beklenmeyen yanıt formatı! Ham yanıt (ilk 200 karakter): {}", 
-                    responseBody.length() > 200 ? responseBody.substring(0, 200) + "..." : responseBody);
-            // Beklenmeyen format varsa boş döndür, ham yanıtı döndürme
-            return "";
-        } catch (Exception e) {
-            log.error("Yanıt parse edilemedi: {}", e.getMessage());
-            log.debug("Ham yanıt (ilk 500 karakter): {}", responseBody.length() > 500 ? responseBody.substring(0, 500) + "..." : responseBody);
-            
-            // Parse hatası durumunda, eğer yanıt sadece parantez içeriyorsa boş döndür
-            String trimmedError = responseBody.trim();
-            if (trimmedError.matches("^[\\s\\{\\}\\[\\]\\(\\)]*$") || trimmedError.length() <= 2) {
-                log.warn("Parse hatası ve yanıt geçersiz format (sadece parantez veya çok kısa), boş döndürülüyor. Trimmed: '{}'", trimmedError);
+            String cleaned = content.trim();
+            if (cleaned.length() <= 2 || ProviderResponseDecoder.isBlankOrBracketsOnly(cleaned)) {
+                log.warn("Parse edilen içerik geçersiz (boş, sadece parantez veya çok kısa): '{}'", cleaned);
                 return "";
             }
-            
-            // Parse hatası durumunda boş döndür - ham yanıtı döndürme
-            log.warn("Parse hatası nedeniyle boş yanıt döndürülüyor");
+            return cleaned;
+        } catch (IOException e) {
+            log.warn("Yanıt parse edilemedi: {}", e.getMessage());
+            if (log.isDebugEnabled()) log.debug("Ham yanıt (ilk 500 karakter): {}", abbreviate(responseBody, 500));
             return "";
         }
     }
 
+    private String abbreviate(String text, int maxLength) {
+        return text.length() > maxLength ? text.substring(0, maxLength) + "..." : text;
+    }
+
     private String cleanPossibleCodeFences(String text) {
         if (text == null) return "";
         // Markdown JSON temizleme
@@ -522,6 +999,38 @@ public class TranslationService {
         return cleaned.trim();
     }
 
+    /**
+     * Sağlayıcı çağrısı hatası; devre kesicinin bu hatayı sayıp saymayacağını taşır.
+     * Sadece ağ/taşıma hataları ile 5xx ve 429 yanıtları sağlayıcı arızasıdır. Uygun anahtar olmaması
+     * (yerel ApiKeyPool reddi), diğer 4xx yanıtları ve boş yanıt devreyi açmaz.
+     */
+    private static final class ProviderCallException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final boolean providerFault;
+
+        ProviderCallException(String message, boolean providerFault) {
+            super(message);
+            this.providerFault = providerFault;
+        }
+
+        // Taşıma hatası (bağlantı, zaman aşımı vb.)
+        ProviderCallException(String message, Throwable cause) {
+            super(message, cause);
+            this.providerFault = true;
+        }
+    }
+
+    // Sınıflandırılmamış hatalar temkinli davranılarak sağlayıcı hatası sayılır
+    private static boolean isProviderFault(Throwable cause) {
+        return !(cause instanceof ProviderCallException e) || e.providerFault;
+    }
+
+    // 5xx ve 429 (sağlayıcı hız sınırında) devreyi etkiler; diğer 4xx'ler isteğin kendi hatasıdır
+    private static boolean isProviderFaultStatus(int status) {
+        return status == 429 || status >= 500;
+    }
+
     private String maskKey(String key) {
         if (key == null || key.length() < 8) return "****";
         return key.substring(0, 4) + "..." + key.substring(key.length() - 4);
@@ -0,0 +1,141 @@
+package com.cvbuilder.external;
+
+import com.cvbuilder.entity.ScrapedPage;
+import com.cvbuilder.service.ScrapedPageCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Koşullu GET önbelleği: yerel bir HTTP sunucusuna karşı süresi dolmuş kayıtla çalışır.
+ */
+class JobScraperClientTest {
+
+    private static final String PAGE = "<html><head><title>Yeni İlan</title></head><body>"
+            + "<div class=\"job-description\">" + "Java geliştirici aranıyor. ".repeat(10) + "</div></body></html>";
+
+    private HttpServer server;
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final AtomicReference<String> ifNoneMatch = new AtomicReference<>();
+    private ScrapedPageCache cache;
+    private JobScraperClient client;
+    private String url;
+    private ScrapedPage stale;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ilan", exchange -> {
+            ifNoneMatch.set(exchange.getRequestHeaders().getFirst("If-None-Match"));
+            int code = status.get();
+            if (code == 304) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                byte[] body = PAGE.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+                exchange.getResponseHeaders().add("ETag", "\"v2\"");
+                exchange.sendResponseHeaders(code, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/ilan";
+
+        stale = ScrapedPage.builder().urlHash("hash").canonicalUrl(url).etag("\"v1\"")
+                .fetchedAt(LocalDateTime.now().minusDays(1)).validatedAt(LocalDateTime.now().minusDays(1)).build();
+        cache = mock(ScrapedPageCache.class);
+        when(cache.find(url)).thenReturn(Optional.of(stale));
+        when(cache.isFresh(stale)).thenReturn(false);
+        when(cache.toResult(stale)).thenReturn(Map.of("pageTitle", "Eski İlan"));
+        client = new JobScraperClient(cache, new StructuredJobDataExtractor(new ObjectMapper()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void freshEntryIsServedWithoutRequest() {
+        when(cache.isFresh(stale)).thenReturn(true);
+
+        assertThat(client.fetchJobData(url)).containsEntry("pageTitle", "Eski İlan");
+        assertThat(ifNoneMatch.get()).isNull();
+    }
+
+    @Test
+    void notModifiedRevalidatesCachedEntry() {
+        status.set(304);
+
+        assertThat(client.fetchJobData(url)).containsEntry("pageTitle", "Eski İlan");
+        assertThat(ifNoneMatch.get()).isEqualTo("\"v1\"");
+        verify(cache).markValidated(stale);
+    }
+
+    @Test
+    void changedPageIsParsedAndStored() {
+        assertThat(client.fetchJobData(url)).containsEntry("pageTitle", "Yeni İlan");
+        verify(cache).store(any(), any(), any(), any());
+    }
+
+    @Test
+    void serverErrorServesStaleEntry() {
+        status.set(503);
+
+        assertThat(client.fetchJobData(url)).containsEntry("pageTitle", "Eski İlan");
+        verify(cache, never()).store(anyString(), any(), any(), any());
+    }
+
+    @Test
+    void tooManyRequestsServesStaleEntry() {
+        status.set(429);
+
+        assertThat(client.fetchJobData(url)).containsEntry("pageTitle", "Eski İlan");
+    }
+
+    @Test
+    void removedListingEvictsEntry() {
+        status.set(410);
+
+        assertThat(client.fetchJobData(url)).containsEntry("pageTitle", "Yeni İlan");
+        verify(cache).evict(stale);
+        verify(cache, never()).store(anyString(), any(), any(), any());
+    }
+
+    @Test
+    void otherClientErrorDoesNotServeStaleEntry() {
+        status.set(403);
+
+        assertThat(client.fetchJobData(url)).containsEntry("pageTitle", "Yeni İlan");
+        verify(cache, never()).evict(any());
+    }
+
+    @Test
+    void networkErrorServesStaleEntry() {
+        server.stop(0);
+
+        assertThat(client.fetchJobData(url)).containsEntry("pageTitle", "Eski İlan");
+    }
+}
@@ -0,0 +1,185 @@
+package com.cvbuilder.service;
+
+import com.cvbuilder.entity.ChatMessage;
+import com.cvbuilder.entity.ConversationSummary;
+import com.cvbuilder.repository.ChatMessageRepository;
+import com.cvbuilder.repository.ConversationSummaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Özet devri (rollover): pencereden çıkan mesajlar özete katlanır, AI başarısızsa sınır ilerlemez.
+ * Depolar bellekteki bir mesaj listesi üzerinden taklit edilir; arka plan işi aynı thread'de çalışır.
+ */
+class ConversationMemoryServiceTest {
+
+    private static final Long USER_ID = 7L;
+
+    private final List<ChatMessage> messages = new ArrayList<>();
+    private final AtomicReference<ConversationSummary> stored = new AtomicReference<>();
+    private ConversationSummaryRepository summaryRepository;
+    private TranslationService translationService;
+    private ConversationMemoryService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ChatMessageRepository messageRepository = mock(ChatMessageRepository.class);
+        when(messageRepository.findLatestByUserId(eq(USER_ID), any())).thenAnswer(inv -> {
+            Pageable page = inv.getArgument(1);
+            return messages.stream().sorted(Comparator.comparing(ChatMessage::getId).reversed())
+                    .limit(page.getPageSize()).toList();
+        });
+        when(messageRepository.findBetweenIds(eq(USER_ID), anyLong(), anyLong(), any())).thenAnswer(inv -> {
+            long after = inv.getArgument(1);
+            long before = inv.getArgument(2);
+            Pageable page = inv.getArgument(3);
+            return messages.stream().filter(m -> m.getId() > after && m.getId() < before)
+                    .sorted(Comparator.comparing(ChatMessage::getId)).limit(page.getPageSize()).toList();
+        });
+
+        summaryRepository = mock(ConversationSummaryRepository.class);
+        when(summaryRepository.findByUserId(USER_ID)).thenAnswer(inv -> Optional.ofNullable(stored.get()));
+        when(summaryRepository.save(any())).thenAnswer(inv -> {
+            stored.set(inv.getArgument(0));
+            return inv.getArgument(0);
+        });
+
+        translationService = mock(TranslationService.class);
+
+        ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+        doAnswer(inv -> {
+            ((Runnable) inv.getArgument(0)).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(inv -> ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+
+        service = new ConversationMemoryService(messageRepository, summaryRepository, translationService, executor, transactionTemplate);
+        ReflectionTestUtils.setField(service, "recentMessages", 2);
+        ReflectionTestUtils.setField(service, "recentTokenBudget", 1200);
+        ReflectionTestUtils.setField(service, "messageTokenLimit", 400);
+        ReflectionTestUtils.setField(service, "summaryTokenBudget", 400);
+        ReflectionTestUtils.setField(service, "foldBatchSize", 20);
+    }
+
+    private void addTurn(long userMessageId, String question, String answer) {
+        messages.add(ChatMessage.builder().id(userMessageId).role("user").message(question).response("").build());
+        messages.add(ChatMessage.builder().id(userMessageId + 1).role("assistant").message("").response(answer).build());
+    }
+
+    @Test
+    void contextHoldsSummaryAndRecentMessagesOldestFirst() {
+        stored.set(ConversationSummary.builder().userId(USER_ID).summary("Önceki özet").coveredUntilMessageId(2L).build());
+        addTurn(1, "Merhaba", "Selam");
+        addTurn(3, "Java öğrenmeliyim?", "Evet");
+
+        ConversationMemoryService.ConversationContext context = service.buildContext(USER_ID);
+
+        assertThat(context.getSummary()).isEqualTo("Önceki özet");
+        assertThat(context.getRecentLines()).containsExactly("Kullanıcı: Java öğrenmeliyim?", "Asistan: Evet");
+    }
+
+    @Test
+    void recentMessagesStopAtTokenBudget() {
+        ReflectionTestUtils.setField(service, "recentTokenBudget", 5);
+        addTurn(1, "Bu çok uzun bir kullanıcı sorusu", "Kısa");
+
+        assertThat(service.buildContext(USER_ID).getRecentLines()).containsExactly("Asistan: Kısa");
+    }
+
+    @Test
+    void messagesLeavingTheWindowAreFoldedIntoSummary() {
+        addTurn(1, "Backend geliştirici olmak istiyorum", "Harika");
+        addTurn(3, "Hangi dili öğrenmeliyim?", "Java");
+        when(translationService.generateContent(anyString())).thenReturn("Kullanıcı backend geliştirici olmak istiyor.");
+
+        service.onTurnCompleted(USER_ID);
+
+        ConversationSummary summary = stored.get();
+        assertThat(summary.getSummary()).isEqualTo("Kullanıcı backend geliştirici olmak istiyor.");
+        // Pencere son turu (3, 4) tutar; 1 ve 2 özete girmiştir
+        assertThat(summary.getCoveredUntilMessageId()).isEqualTo(2L);
+        verify(translationService).generateContent(contains("Kullanıcı: Backend geliştirici olmak istiyorum"));
+    }
+
+    @Test
+    void nextRolloverBuildsOnPreviousSummary() {
+        stored.set(ConversationSummary.builder().userId(USER_ID).summary("Eski özet").coveredUntilMessageId(2L).build());
+        addTurn(1, "Merhaba", "Selam");
+        addTurn(3, "Java mı Go mu?", "Java");
+        addTurn(5, "Teşekkürler", "Rica ederim");
+        when(translationService.generateContent(anyString())).thenReturn("Yeni özet");
+
+        service.onTurnCompleted(USER_ID);
+
+        assertThat(stored.get().getCoveredUntilMessageId()).isEqualTo(4L);
+        verify(translationService).generateContent(contains("Eski özet"));
+        verify(translationService, never()).generateContent(contains("Merhaba"));
+    }
+
+    @Test
+    void largeBacklogIsFoldedInBatches() {
+        ReflectionTestUtils.setField(service, "foldBatchSize", 2);
+        addTurn(1, "Soru 1", "Yanıt 1");
+        addTurn(3, "Soru 2", "Yanıt 2");
+        addTurn(5, "Soru 3", "Yanıt 3");
+        addTurn(7, "Soru 4", "Yanıt 4");
+        when(translationService.generateContent(anyString())).thenReturn("Özet");
+
+        service.onTurnCompleted(USER_ID);
+
+        assertThat(stored.get().getCoveredUntilMessageId()).isEqualTo(6L);
+        verify(translationService, times(3)).generateContent(anyString());
+    }
+
+    @Test
+    void failedSummaryDoesNotAdvanceCoverage() {
+        stored.set(ConversationSummary.builder().userId(USER_ID).summary("Eski özet").coveredUntilMessageId(0L).build());
+        addTurn(1, "Merhaba", "Selam");
+        addTurn(3, "Java mı Go mu?", "Java");
+        when(translationService.generateContent(anyString())).thenThrow(new RuntimeException("AI servisine ulaşılamadı"));
+
+        service.onTurnCompleted(USER_ID);
+
+        assertThat(stored.get().getSummary()).isEqualTo("Eski özet");
+        assertThat(stored.get().getCoveredUntilMessageId()).isZero();
+        verify(summaryRepository, never()).save(any());
+    }
+
+    @Test
+    void blankSummaryDoesNotAdvanceCoverage() {
+        addTurn(1, "Merhaba", "Selam");
+        addTurn(3, "Java mı Go mu?", "Java");
+        when(translationService.generateContent(anyString())).thenReturn("  ");
+
+        service.onTurnCompleted(USER_ID);
+
+        assertThat(stored.get()).isNull();
+    }
+}
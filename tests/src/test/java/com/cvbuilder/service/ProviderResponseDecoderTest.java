@@ -0,0 +1,94 @@
+package com.cvbuilder.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProviderResponseDecoderTest {
+
+    @Test
+    void readsOpenAiMessage() throws Exception {
+        String json = """
+                {"id":"x","object":"chat.completion","usage":{"total_tokens":12},
+                 "choices":[{"index":0,"message":{"role":"assistant","content":"Merhaba \\"dünya\\""},"finish_reason":"stop"}]}
+                """;
+
+        assertThat(ProviderResponseDecoder.extract(json, ProviderResponseDecoder.OPENAI_MESSAGE))
+                .isEqualTo("Merhaba \"dünya\"");
+    }
+
+    @Test
+    void readsGeminiTextWhenBothPathsAreGiven() throws Exception {
+        String json = """
+                {"candidates":[{"content":{"role":"model","parts":[{"text":"Birinci"},{"text":"İkinci"}]}}],
+                 "usageMetadata":{"totalTokenCount":5}}
+                """;
+
+        assertThat(ProviderResponseDecoder.extract(json,
+                ProviderResponseDecoder.OPENAI_MESSAGE, ProviderResponseDecoder.GEMINI_TEXT)).isEqualTo("Birinci");
+    }
+
+    @Test
+    void wildcardJoinsAllParts() throws Exception {
+        String json = """
+                {"candidates":[{"content":{"parts":[{"text":"Mer"},{"inlineData":{"x":[1,2]}},{"text":"haba"}]},
+                 "safetyRatings":[]}]}
+                """;
+
+        assertThat(ProviderResponseDecoder.extract(json, ProviderResponseDecoder.GEMINI_DELTA)).isEqualTo("Merhaba");
+    }
+
+    @Test
+    void readsOpenAiStreamingDelta() throws Exception {
+        assertThat(ProviderResponseDecoder.extract("{\"choices\":[{\"delta\":{\"content\":\" parça\"}}]}",
+                ProviderResponseDecoder.OPENAI_DELTA)).isEqualTo(" parça");
+        // Son parçada içerik yoktur
+        assertThat(ProviderResponseDecoder.extract("{\"choices\":[{\"delta\":{},\"finish_reason\":\"stop\"}]}",
+                ProviderResponseDecoder.OPENAI_DELTA)).isNull();
+    }
+
+    @Test
+    void onlyFirstArrayElementIsRead() throws Exception {
+        String json = "{\"choices\":[{\"message\":{\"role\":\"assistant\"}},{\"message\":{\"content\":\"ikinci\"}}]}";
+
+        assertThat(ProviderResponseDecoder.extract(json, ProviderResponseDecoder.OPENAI_MESSAGE)).isNull();
+    }
+
+    @Test
+    void missingOrWrongShapedPathGivesNull() throws Exception {
+        assertThat(ProviderResponseDecoder.extract(null, ProviderResponseDecoder.OPENAI_MESSAGE)).isNull();
+        assertThat(ProviderResponseDecoder.extract("[]", ProviderResponseDecoder.OPENAI_MESSAGE)).isNull();
+        assertThat(ProviderResponseDecoder.extract("{\"error\":{\"message\":\"kota\"}}",
+                ProviderResponseDecoder.OPENAI_MESSAGE)).isNull();
+        assertThat(ProviderResponseDecoder.extract("{\"choices\":{\"message\":\"x\"}}",
+                ProviderResponseDecoder.OPENAI_MESSAGE)).isNull();
+        assertThat(ProviderResponseDecoder.extract("{\"choices\":[{\"message\":{\"content\":42}}]}",
+                ProviderResponseDecoder.OPENAI_MESSAGE)).isNull();
+    }
+
+    @Test
+    void readingStopsOnceTargetIsFound() throws Exception {
+        // Hedeften sonraki bozuk kısım okunmaz
+        assertThat(ProviderResponseDecoder.extract("{\"choices\":[{\"message\":{\"content\":\"tamam\"}}]}, bozuk",
+                ProviderResponseDecoder.OPENAI_MESSAGE)).isEqualTo("tamam");
+    }
+
+    @Test
+    void invalidJsonBeforeTargetThrows() {
+        assertThatThrownBy(() -> ProviderResponseDecoder.extract("{\"choices\":[{\"message\":",
+                ProviderResponseDecoder.OPENAI_MESSAGE)).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> ProviderResponseDecoder.extract("{choices}",
+                ProviderResponseDecoder.OPENAI_MESSAGE)).isInstanceOf(JsonParseException.class);
+    }
+
+    @Test
+    void bracketsOnlyTextCountsAsBlank() {
+        assertThat(ProviderResponseDecoder.isBlankOrBracketsOnly(null)).isTrue();
+        assertThat(ProviderResponseDecoder.isBlankOrBracketsOnly(" { } [ ]\n( )")).isTrue();
+        assertThat(ProviderResponseDecoder.isBlankOrBracketsOnly("{ \"a\": 1 }")).isFalse();
+    }
+}
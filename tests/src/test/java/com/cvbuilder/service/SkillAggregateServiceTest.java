@@ -0,0 +1,191 @@
+package com.cvbuilder.service;
+
+import com.cvbuilder.entity.JobPosting;
+import com.cvbuilder.entity.SkillAggregate;
+import com.cvbuilder.entity.SkillAggregateArea;
+import com.cvbuilder.repository.JobPostingRepository;
+import com.cvbuilder.repository.SkillAggregateAreaRepository;
+import com.cvbuilder.repository.SkillAggregateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Beceri sayılarının ilan kaydıyla artırılması (upsert) ve alanın ilk doldurulması.
+ * Arka plan işi ve transaction'lar aynı thread'de çalıştırılır; SQL kilit çağrıları sadece doğrulanır.
+ */
+class SkillAggregateServiceTest {
+
+    private static final LocalDate MARCH = LocalDate.of(2026, 3, 1);
+
+    private SkillAggregateRepository aggregateRepository;
+    private SkillAggregateAreaRepository areaRepository;
+    private JobPostingRepository jobPostingRepository;
+    private JdbcTemplate jdbcTemplate;
+    private SkillAggregateService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        aggregateRepository = mock(SkillAggregateRepository.class);
+        areaRepository = mock(SkillAggregateAreaRepository.class);
+        jobPostingRepository = mock(JobPostingRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(inv -> ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+        doAnswer(inv -> {
+            ((Consumer<Object>) inv.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+        doAnswer(inv -> {
+            ((Runnable) inv.getArgument(0)).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+
+        service = new SkillAggregateService(aggregateRepository, areaRepository, jobPostingRepository,
+                jdbcTemplate, transactionTemplate, executor);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "maxTrackedAreas", 500);
+        ReflectionTestUtils.setField(service, "seedPageSize", 2);
+    }
+
+    private static Date march(int day) {
+        return Timestamp.valueOf(LocalDateTime.of(2026, 3, day, 12, 0));
+    }
+
+    @Test
+    void postingIncrementsEachDistinctSkillOncePerMatchingArea() {
+        when(areaRepository.findAreaKeysMatchingPosition("Senior Java Developer")).thenReturn(List.of("java", "java developer"));
+        JobPosting job = JobPosting.builder().position("Senior Java Developer")
+                .requiredSkills("Java, Spring; java\nDocker").createdAt(march(18)).build();
+
+        service.recordAdded(job);
+
+        for (String area : List.of("java", "java developer")) {
+            verify(aggregateRepository).increment(area, "java", MARCH, 1);
+            verify(aggregateRepository).increment(area, "spring", MARCH, 1);
+            verify(aggregateRepository).increment(area, "docker", MARCH, 1);
+        }
+        verify(aggregateRepository, never()).increment(anyString(), anyString(), any(), eq(2L));
+    }
+
+    @Test
+    void postingTakesRegistrationLockBeforeAreaLocks() {
+        when(areaRepository.findAreaKeysMatchingPosition(anyString())).thenReturn(List.of("java"));
+
+        service.recordAdded(JobPosting.builder().position("Java Developer").requiredSkills("Java").build());
+
+        InOrder order = inOrder(jdbcTemplate, aggregateRepository);
+        order.verify(jdbcTemplate).execute(startsWith("SELECT pg_advisory_xact_lock_shared(" + 0x736B696C6C616767L));
+        order.verify(jdbcTemplate).execute("SELECT pg_advisory_xact_lock_shared(" + 0x736B6167 + ", " + "java".hashCode() + ")");
+        order.verify(aggregateRepository).increment(eq("java"), eq("java"), any(), eq(1L));
+    }
+
+    @Test
+    void postingWithoutSkillsOrWhenDisabledIsIgnored() {
+        service.recordAdded(JobPosting.builder().position("Java Developer").requiredSkills(" , ;").build());
+        ReflectionTestUtils.setField(service, "enabled", false);
+        service.recordAdded(JobPosting.builder().position("Java Developer").requiredSkills("Java").build());
+
+        verifyNoInteractions(aggregateRepository);
+    }
+
+    @Test
+    void untrackedAreaIsRegisteredAndSeededInBackground() {
+        SkillAggregateArea[] saved = new SkillAggregateArea[1];
+        when(areaRepository.findByAreaKey("java developer")).thenAnswer(inv -> Optional.ofNullable(saved[0]));
+        when(areaRepository.save(any())).thenAnswer(inv -> saved[0] = inv.getArgument(0));
+        when(jobPostingRepository.findSkillRowsByPosition(eq("java developer"), eq(0L), any()))
+                .thenReturn(List.of(new Object[]{1L, "Java, Spring", march(2)}, new Object[]{4L, "java, Docker", march(20)}));
+        when(jobPostingRepository.findSkillRowsByPosition(eq("java developer"), eq(4L), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{9L, "Java", Timestamp.valueOf(LocalDateTime.of(2026, 4, 1, 9, 0))}));
+
+        Map<String, Integer> result = service.topSkills("  Java   Developer ", null, 10);
+
+        // Doldurma bitene kadar çağıran ilanlardan hesaplar
+        assertThat(result).isEmpty();
+        verify(aggregateRepository).deleteByAreaKey("java developer");
+
+        ArgumentCaptor<List<SkillAggregate>> rows = ArgumentCaptor.forClass(List.class);
+        verify(aggregateRepository).saveAll(rows.capture());
+        Map<String, Long> counts = rows.getValue().stream().collect(Collectors.toMap(
+                row -> row.getSkill() + "@" + row.getBucketMonth(), SkillAggregate::getPostingCount));
+        assertThat(counts).containsOnly(
+                Map.entry("java@2026-03-01", 2L),
+                Map.entry("spring@2026-03-01", 1L),
+                Map.entry("docker@2026-03-01", 1L),
+                Map.entry("java@2026-04-01", 1L));
+        assertThat(saved[0].getSeededAt()).isNotNull();
+        assertThat(saved[0].getSeededPostings()).isEqualTo(3L);
+    }
+
+    @Test
+    void areaSeededByAnotherInstanceIsNotRescanned() {
+        SkillAggregateArea area = SkillAggregateArea.builder().areaKey("java").build();
+        // topSkills doldurulmamış görür; kilit alındığında başka örnek doldurmuş olur
+        when(areaRepository.findByAreaKey("java")).thenReturn(Optional.of(area), Optional.of(area), Optional.of(
+                SkillAggregateArea.builder().areaKey("java").seededAt(LocalDateTime.now()).build()));
+
+        service.topSkills("java", null, 10);
+
+        verify(aggregateRepository, never()).deleteByAreaKey(anyString());
+        verify(jobPostingRepository, never()).findSkillRowsByPosition(anyString(), anyLong(), any());
+    }
+
+    @Test
+    void areaLimitStopsRegistration() {
+        ReflectionTestUtils.setField(service, "maxTrackedAreas", 1);
+        when(areaRepository.findByAreaKey("go")).thenReturn(Optional.empty());
+        when(areaRepository.count()).thenReturn(1L);
+
+        assertThat(service.topSkills("go", null, 10)).isEmpty();
+
+        verify(areaRepository, never()).save(any());
+        verify(aggregateRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void seededAreaReadsTopSkillsFromAggregates() {
+        when(areaRepository.findByAreaKey("java")).thenReturn(Optional.of(
+                SkillAggregateArea.builder().areaKey("java").seededAt(LocalDateTime.now()).build()));
+        when(aggregateRepository.findTopSkills(eq("java"), eq(MARCH), any())).thenReturn(List.of(
+                new Object[]{"java", 12L}, new Object[]{"spring", 5L}, new Object[]{"kotlin", 0L}));
+
+        Map<String, Integer> result = service.topSkills("Java", march(18), 10);
+
+        assertThat(result).containsExactly(Map.entry("java", 12), Map.entry("spring", 5));
+    }
+}
@@ -0,0 +1,79 @@
+package com.cvbuilder.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DomainRateLimiterTest {
+
+    @Test
+    void concurrencyLimitSaturatesUntilRelease() {
+        DomainRateLimiter limiter = new DomainRateLimiter(2, 0);
+
+        assertThat(limiter.tryAcquire("kariyer.net")).isZero();
+        assertThat(limiter.tryAcquire("kariyer.net")).isZero();
+        assertThat(limiter.tryAcquire("kariyer.net")).isEqualTo(DomainRateLimiter.SATURATED);
+
+        limiter.release("kariyer.net");
+        assertThat(limiter.tryAcquire("kariyer.net")).isZero();
+    }
+
+    @Test
+    void intervalReturnsRemainingWait() {
+        DomainRateLimiter limiter = new DomainRateLimiter(5, 60_000);
+
+        assertThat(limiter.tryAcquire("kariyer.net")).isZero();
+        long wait = limiter.tryAcquire("kariyer.net");
+        assertThat(wait).isPositive().isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(60));
+    }
+
+    @Test
+    void domainsDoNotWaitForEachOther() {
+        DomainRateLimiter limiter = new DomainRateLimiter(1, 60_000);
+
+        assertThat(limiter.tryAcquire("kariyer.net")).isZero();
+        assertThat(limiter.tryAcquire("linkedin.com")).isZero();
+        assertThat(limiter.domainCount()).isEqualTo(2);
+    }
+
+    @Test
+    void idleDomainsAreEvicted() {
+        DomainRateLimiter limiter = new DomainRateLimiter(1, 0);
+        limiter.tryAcquire("kariyer.net");
+        limiter.release("kariyer.net");
+        limiter.tryAcquire("linkedin.com");
+
+        // linkedin.com izni hâlâ tutuluyor
+        assertThat(limiter.evictIdle()).isEqualTo(1);
+        assertThat(limiter.domainCount()).isEqualTo(1);
+        assertThat(limiter.tryAcquire("linkedin.com")).isEqualTo(DomainRateLimiter.SATURATED);
+
+        limiter.release("linkedin.com");
+        assertThat(limiter.evictIdle()).isEqualTo(1);
+        assertThat(limiter.domainCount()).isZero();
+    }
+
+    @Test
+    void domainWithinIntervalIsNotEvicted() {
+        DomainRateLimiter limiter = new DomainRateLimiter(1, 60_000);
+        limiter.tryAcquire("kariyer.net");
+        limiter.release("kariyer.net");
+
+        // Silinseydi aralık dolmadan yeni istek başlayabilirdi
+        assertThat(limiter.evictIdle()).isZero();
+        assertThat(limiter.tryAcquire("kariyer.net")).isPositive();
+    }
+
+    @Test
+    void evictedDomainStartsAgain() {
+        DomainRateLimiter limiter = new DomainRateLimiter(1, 0);
+        limiter.tryAcquire("kariyer.net");
+        limiter.release("kariyer.net");
+        limiter.evictIdle();
+
+        assertThat(limiter.tryAcquire("kariyer.net")).isZero();
+        assertThat(limiter.tryAcquire("kariyer.net")).isEqualTo(DomainRateLimiter.SATURATED);
+    }
+}
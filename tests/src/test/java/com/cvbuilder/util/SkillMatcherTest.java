@@ -0,0 +1,91 @@
+package com.cvbuilder.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SkillMatcherTest {
+
+    @Test
+    void wholeWordsOnly() {
+        SkillMatcher matcher = SkillMatcher.of(List.of("java", "javascript", "go"));
+
+        assertThat(matcher.findCanonical("JavaScript ve Java biliyorum")).containsExactly("javascript", "java");
+        assertThat(matcher.findCanonical("Google, golang")).isEmpty();
+        assertThat(matcher.findCanonical("Go/Java")).containsExactly("go", "java");
+    }
+
+    @Test
+    void turkishLettersFoldBothWays() {
+        SkillMatcher matcher = SkillMatcher.of(List.of("yazilim", "İletişim"));
+
+        assertThat(matcher.findCanonical("YAZILIM geliştirme, iletisim becerisi"))
+                .containsExactly("yazilim", "İletişim");
+        assertThat(SkillMatcher.fold("IıİiÇĞÖŞÜ")).isEqualTo("iiiicgosu");
+    }
+
+    @Test
+    void matchKeepsOriginalTextAndPositions() {
+        SkillMatcher matcher = SkillMatcher.of(List.of("yazilim"));
+        String text = "Kıdemli Yazılım Mühendisi";
+
+        List<SkillMatcher.Match> matches = matcher.findAll(text);
+
+        assertThat(matches).hasSize(1);
+        SkillMatcher.Match match = matches.get(0);
+        assertThat(match.getText()).isEqualTo("Yazılım");
+        assertThat(text.substring(match.getStart(), match.getEnd())).isEqualTo("Yazılım");
+        assertThat(match.getCanonical()).isEqualTo("yazilim");
+    }
+
+    @Test
+    void symbolTermsNeedNoWordBoundary() {
+        SkillMatcher matcher = SkillMatcher.of(List.of("c++", ".net", "c#", "node.js"));
+
+        assertThat(matcher.findCanonical("C++, ASP.NET Core, C# ve Node.js"))
+                .containsExactly("c++", ".net", "c#", "node.js");
+    }
+
+    @Test
+    void overlappingTermsAreAllReportedInEndOrder() {
+        SkillMatcher matcher = SkillMatcher.of(List.of("spring", "spring boot", "boot"));
+
+        List<SkillMatcher.Match> matches = matcher.findAll("Spring Boot");
+
+        assertThat(matches).extracting(SkillMatcher.Match::getCanonical).containsExactly("spring", "spring boot", "boot");
+    }
+
+    @Test
+    void aliasesMapToCanonicalOnce() {
+        Map<String, String> dictionary = new LinkedHashMap<>();
+        dictionary.put("kubernetes", "kubernetes");
+        dictionary.put("k8s", "kubernetes");
+        dictionary.put("postgres", "postgresql");
+        dictionary.put("PostgreSQL", "postgresql");
+        SkillMatcher matcher = SkillMatcher.of(dictionary);
+
+        assertThat(matcher.findCanonical("K8s üzerinde Postgres; Kubernetes ve PostgreSQL"))
+                .containsExactly("kubernetes", "postgresql");
+    }
+
+    @Test
+    void firstDefinitionOfSameSpellingWins() {
+        Map<String, String> dictionary = new LinkedHashMap<>();
+        dictionary.put("JS", "javascript");
+        dictionary.put("js", "json");
+
+        assertThat(SkillMatcher.of(dictionary).findCanonical("js")).containsExactly("javascript");
+    }
+
+    @Test
+    void emptyInputsGiveNoMatches() {
+        assertThat(SkillMatcher.of(List.of()).findAll("java")).isEmpty();
+        assertThat(SkillMatcher.of(List.of("java", " ")).findAll(null)).isEmpty();
+        assertThat(SkillMatcher.of(List.of("java")).containsAny("")).isFalse();
+        assertThat(SkillMatcher.of(List.of("java")).containsAny("Java 17")).isTrue();
+    }
+}
@@ -0,0 +1,44 @@
+package com.cvbuilder.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenEstimatorTest {
+
+    @Test
+    void estimateRoundsUp() {
+        assertThat(TokenEstimator.estimate(null)).isZero();
+        assertThat(TokenEstimator.estimate("")).isZero();
+        assertThat(TokenEstimator.estimate("a")).isEqualTo(1);
+        assertThat(TokenEstimator.estimate("1234567")).isEqualTo(2);
+        assertThat(TokenEstimator.estimate("12345678")).isEqualTo(3);
+    }
+
+    @Test
+    void textWithinBudgetIsUnchanged() {
+        assertThat(TokenEstimator.truncate("Merhaba dünya", 10)).isEqualTo("Merhaba dünya");
+        assertThat(TokenEstimator.truncate(null, 10)).isEmpty();
+    }
+
+    @Test
+    void longTextIsCutAtWordBoundaryWithEllipsis() {
+        String text = "Java Spring Boot ile mikroservis geliştirdim ve Kubernetes üzerinde çalıştırdım";
+
+        String truncated = TokenEstimator.truncate(text, 6);
+
+        assertThat(truncated).isEqualTo("Java Spring Boot...");
+        assertThat(truncated.length()).isLessThanOrEqualTo(21);
+    }
+
+    @Test
+    void wordWithoutSpacesIsCutMidWord() {
+        assertThat(TokenEstimator.truncate("abcdefghijklmnopqrstuvwxyz", 4)).isEqualTo("abcdefghijk...");
+    }
+
+    @Test
+    void tinyBudgetCutsWithoutEllipsis() {
+        assertThat(TokenEstimator.truncate("abcdefgh", 0)).isEmpty();
+        assertThat(TokenEstimator.truncate("abcdefgh", 1)).isEqualTo("abc");
+    }
+}
@@ -0,0 +1,52 @@
+package com.cvbuilder.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TsQueryBuilderTest {
+
+    @Test
+    void wordsBecomePrefixTermsJoinedWithAnd() {
+        assertThat(TsQueryBuilder.prefixQuery("Backend Developer"))
+                .isEqualTo("'Backend':* & 'Developer':*");
+    }
+
+    @Test
+    void turkishStemIsSearchedAsPrefix() {
+        // "yazılım" araması "yazılımcı" ve "yazılımları" kelimelerini de bulmalı
+        assertThat(TsQueryBuilder.prefixQuery("yazılım")).isEqualTo("'yazılım':*");
+    }
+
+    @Test
+    void shortWordsAreMatchedExactly() {
+        assertThat(TsQueryBuilder.prefixQuery("go ai c++")).isEqualTo("'go' & 'ai' & 'c++'");
+    }
+
+    @Test
+    void dottedTermsStayOneQuotedWord() {
+        assertThat(TsQueryBuilder.prefixQuery("node.js")).isEqualTo("'node.js':*");
+    }
+
+    @Test
+    void quotesAndBackslashesCannotBreakTheQuery() {
+        assertThat(TsQueryBuilder.prefixQuery("o'reilly \\java")).isEqualTo("'oreilly':* & 'java':*");
+    }
+
+    @Test
+    void operatorCharactersStayInsideQuotes() {
+        assertThat(TsQueryBuilder.prefixQuery("a&b | !(x)")).isEqualTo("'a&b' & '!(x)'");
+    }
+
+    @Test
+    void blankOrSymbolOnlyInputGivesEmptyQuery() {
+        assertThat(TsQueryBuilder.prefixQuery(null)).isEmpty();
+        assertThat(TsQueryBuilder.prefixQuery("   ")).isEmpty();
+        assertThat(TsQueryBuilder.prefixQuery("- | &")).isEmpty();
+    }
+
+    @Test
+    void extraWhitespaceIsIgnored() {
+        assertThat(TsQueryBuilder.prefixQuery("  veri \t bilimi\n")).isEqualTo("'veri':* & 'bilimi':*");
+    }
+}
@@ -0,0 +1,45 @@
+package com.cvbuilder.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UrlCanonicalizerTest {
+
+    @Test
+    void schemeHostPortFragmentAndTrailingSlashAreNormalized() {
+        assertThat(UrlCanonicalizer.canonicalize(" HTTPS://Example.COM:443/ilan/123/#basvur "))
+                .isEqualTo("https://example.com/ilan/123");
+    }
+
+    @Test
+    void nonDefaultPortIsKept() {
+        assertThat(UrlCanonicalizer.canonicalize("http://example.com:8080/ilan"))
+                .isEqualTo("http://example.com:8080/ilan");
+    }
+
+    @Test
+    void adTrackingParamsAreDroppedAndRestSorted() {
+        assertThat(UrlCanonicalizer.canonicalize("https://example.com/ilan?utm_source=x&id=5&gclid=a&fbclid=b&UTM_Medium=y&a=1"))
+                .isEqualTo("https://example.com/ilan?a=1&id=5");
+    }
+
+    @Test
+    void refAndSourceParamsAreKept() {
+        // Bazı siteler ilanı bu parametrelerle belirler; silinirse farklı ilanlar aynı anahtara düşer
+        assertThat(UrlCanonicalizer.canonicalize("https://example.com/ilan?source=42&ref=abc"))
+                .isEqualTo("https://example.com/ilan?ref=abc&source=42");
+    }
+
+    @Test
+    void unparsableUrlIsReturnedTrimmed() {
+        assertThat(UrlCanonicalizer.canonicalize("  ilan 123 ")).isEqualTo("ilan 123");
+        assertThat(UrlCanonicalizer.canonicalize(null)).isEmpty();
+    }
+
+    @Test
+    void hostDropsWwwPrefix() {
+        assertThat(UrlCanonicalizer.host("https://WWW.Kariyer.net/is-ilani/1")).isEqualTo("kariyer.net");
+        assertThat(UrlCanonicalizer.host("ilan")).isEmpty();
+    }
+}
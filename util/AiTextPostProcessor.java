@@ -0,0 +1,399 @@
+package com.cvbuilder.util;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * AI çıktılarının son işlemleri: kalıntı temizliği, cümle sayısı ayarı ve teknik terim çıkarımı.
+ * Tüm desenler sınıf yüklenirken bir kez derlenir; her çağrıda String.replaceAll/split/matches ile
+ * yeniden derleme yapılmaz. Metotlar durumsuzdur (stateless) ve thread-safe'tir.
+ */
+public final class AiTextPostProcessor {
+
+    private static final Locale TR = new Locale("tr", "TR");
+
+    // --- cleanAIText: AI kalıntıları (sıra korunur; her desen bir öncekinin sonucuna uygulanır)
+    private static final Pattern[] AI_ARTIFACTS = {
+            Pattern.compile("(?i)\\b(ai|yapay zeka|artificial intelligence|oluşturuldu|üretildi|generated|created by|created with|automatically generated)\\b"),
+            Pattern.compile("(?i)\\b(bu metin|bu özet|bu cv|bu özgeçmiş|this text|this summary|this cv|this resume)\\b"),
+            Pattern.compile("(?i)\\b(lütfen|please|not:|note:|important:|dikkat:|attention:)\\b"),
+            Pattern.compile("(?i)\\b(as an ai|as a language model|i am an ai|ben bir ai|yapay zeka olarak)\\b"),
+            Pattern.compile("(?i)\\b(here is|işte|aşağıda|below is|following is)\\b")
+    };
+    // Markdown, HTML ve işaret karakterleri
+    private static final Pattern[] MARKUP = {
+            Pattern.compile("```\\w*"),
+            Pattern.compile("\\*\\*"),
+            Pattern.compile("##+"),
+            Pattern.compile("^#+\\s*"),
+            Pattern.compile("[*_`]"),
+            Pattern.compile("<[^>]+>"),
+            Pattern.compile("[→•✓]")
+    };
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern LEADING_BRACKETS = Pattern.compile("^[\"'\\(\\)\\[\\]\\{\\}\\s]+");
+    private static final Pattern TRAILING_BRACKETS = Pattern.compile("[\"'\\(\\)\\[\\]\\{\\}\\s]+$");
+    private static final Pattern LABEL_PREFIX = Pattern.compile("^\\s*(özet|summary|cv|özgeçmiş|resume):\\s*");
+
+    // --- removeAIPrefixText: "Aşağıdaki metin ... :" gibi açıklama ön ekleri
+    private static final Pattern[] EXPLANATION_PREFIXES = {
+            Pattern.compile("(?i)^.*?aşağıdaki metin[^:]*:\\s*"),
+            Pattern.compile("(?i)^.*?aşağıdaki metni[^:]*:\\s*"),
+            Pattern.compile("(?i)^.*?anlamını bozmadan[^:]*:\\s*"),
+            Pattern.compile("(?i)^.*?profesyonel bir dille[^:]*:\\s*"),
+            Pattern.compile("(?i)^.*?düzeltildi[^:]*:\\s*"),
+            Pattern.compile("(?i)^.*?düzeltilmiştir[^:]*:\\s*")
+    };
+
+    // --- cleanDescription: JSON kalıntıları
+    private static final Pattern CURLY_BLOCK = Pattern.compile("\\{[^}]*\\}");
+    private static final Pattern SQUARE_BLOCK = Pattern.compile("\\[[^\\]]*\\]");
+    private static final Pattern QUOTED = Pattern.compile("\"([^\"]*)\"");
+    private static final Pattern LEADING_PUNCTUATION = Pattern.compile("^[,\\s:;\\-]+");
+    private static final Pattern TRAILING_PUNCTUATION = Pattern.compile("[,\\s:;\\-]+$");
+
+    // --- cümle işlemleri
+    private static final Pattern SENTENCE_SPLIT = Pattern.compile("[.!?]+");
+    private static final Pattern SENTENCE_BOUNDARY = Pattern.compile("(?<=[.!?])\\s+");
+    private static final Pattern LIST_MARKER = Pattern.compile("^[-•*\\s]+");
+    private static final Pattern LIST_SEPARATOR = Pattern.compile("[,;]");
+
+    // --- teknik terimler: "X ile", "X kullanarak" kalıpları
+    private static final Pattern TOOL_PHRASE = Pattern.compile(
+            "\\b([a-zA-Z]+(?:\\s+[a-zA-Z]+)?)\\s+(ile|kullanarak|ile\\s+backend|ile\\s+frontend)",
+            Pattern.CASE_INSENSITIVE);
+
+    // Açıklamalarda korunması gereken teknoloji isimleri; otomat bir kez derlenir
+    private static final SkillMatcher TECH_TERM_MATCHER = SkillMatcher.of(Map.ofEntries(
+            Map.entry("java", "java"), Map.entry("python", "python"), Map.entry("javascript", "javascript"),
+            Map.entry("typescript", "typescript"), Map.entry("react", "react"), Map.entry("angular", "angular"),
+            Map.entry("vue", "vue"), Map.entry("node.js", "node.js"), Map.entry("nodejs", "node.js"),
+            Map.entry("spring", "spring"), Map.entry("spring boot", "spring boot"), Map.entry("django", "django"),
+            Map.entry("flask", "flask"), Map.entry("express", "express"), Map.entry("laravel", "laravel"),
+            Map.entry("php", "php"), Map.entry("c#", "c#"), Map.entry("c++", "c++"), Map.entry("c", "c"),
+            Map.entry("sql", "sql"), Map.entry("mysql", "mysql"), Map.entry("postgresql", "postgresql"),
+            Map.entry("mongodb", "mongodb"), Map.entry("redis", "redis"), Map.entry("oracle", "oracle"),
+            Map.entry("sqlite", "sqlite"), Map.entry("html", "html"), Map.entry("css", "css"),
+            Map.entry("sass", "sass"), Map.entry("less", "less"), Map.entry("bootstrap", "bootstrap"),
+            Map.entry("tailwind", "tailwind"), Map.entry("docker", "docker"), Map.entry("kubernetes", "kubernetes"),
+            Map.entry("aws", "aws"), Map.entry("azure", "azure"), Map.entry("gcp", "gcp"),
+            Map.entry("jenkins", "jenkins"), Map.entry("git", "git"), Map.entry("github", "github"),
+            Map.entry("gitlab", "gitlab"), Map.entry("rest", "rest"), Map.entry("restful", "restful"),
+            Map.entry("api", "api"), Map.entry("graphql", "graphql"), Map.entry("soap", "soap"),
+            Map.entry("microservice", "microservice"), Map.entry("microservices", "microservices"),
+            Map.entry("backend", "backend"), Map.entry("frontend", "frontend"), Map.entry("fullstack", "fullstack"),
+            Map.entry("full-stack", "fullstack"), Map.entry("full stack", "fullstack"),
+            Map.entry("android", "android"), Map.entry("ios", "ios"), Map.entry("swift", "swift"),
+            Map.entry("kotlin", "kotlin"), Map.entry("flutter", "flutter"), Map.entry("react native", "react native"),
+            Map.entry("machine learning", "machine learning"), Map.entry("ml", "ml"), Map.entry("ai", "ai"),
+            Map.entry("deep learning", "deep learning"), Map.entry("tensorflow", "tensorflow"),
+            Map.entry("pytorch", "pytorch"), Map.entry("agile", "agile"), Map.entry("scrum", "scrum"),
+            Map.entry("devops", "devops"), Map.entry("ci/cd", "ci/cd"), Map.entry("cicd", "ci/cd")));
+
+    private static final String[] ADDITIONAL_SENTENCES = {
+            " Bu alanda sürekli kendimi geliştirmeye devam ediyorum.",
+            " Teknik yetkinliğimi artırmak için sürekli öğreniyorum.",
+            " Projelerde başarılı sonuçlar elde etmek için çalışıyorum.",
+            " Takım çalışması ve iletişim becerilerimi geliştiriyorum.",
+            " Yeni teknolojilere adapte olma konusunda hızlıyım.",
+            " Problem çözme ve analitik düşünme yeteneklerimi kullanıyorum.",
+            " Detaylara dikkat eden ve sonuç odaklı çalışan bir profesyonelim.",
+            " Organizasyonlara değer katmayı hedefliyorum.",
+            " Kariyerimde ilerlemek için sürekli çalışıyorum.",
+            " Teknik bilgimi pratik projelerde uyguluyorum."
+    };
+
+    private static final String[] FALLBACK_PAIRS = {
+            "İlgili alanda teknik sorumluluklar üstlenerek projelerin başarıyla tamamlanmasına katkı sağladım. Süreç boyunca modern teknolojileri kullanarak verimli çözümler ürettim.",
+            "Farklı projelerde yer alarak deneyim kazandım. Bu süreçte teknik bilgimi pratiğe dönüştürdüm ve başarılı sonuçlar elde ettim.",
+            "Görevlerim sırasında problem çözme yeteneklerimi geliştirdim. Ekip çalışması ve teknik uygulamalar konularında değerli deneyimler kazandım."
+    };
+
+    private static final String[] DEVELOPMENT_SECOND_SENTENCES = {
+            "Bu süreçte teknik yetkinliğimi artırdım ve projenin başarıyla tamamlanmasına katkı sağladım.",
+            "Geliştirme sürecinde çeşitli teknik zorluklarla karşılaştım ve bunları başarıyla çözdüm.",
+            "Bu deneyim sayesinde modern geliştirme pratiklerini öğrendim ve uyguladım.",
+            "Projelerin başarıyla tamamlanması için etkili çözümler ürettim ve değerli deneyimler kazandım."
+    };
+
+    private static final String[] WORK_SECOND_SENTENCES = {
+            "Bu deneyim sayesinde problem çözme ve takım çalışması konularında kendimi geliştirdim.",
+            "Görevlerim sırasında teknik bilgimi pratiğe dönüştürdüm ve başarılı sonuçlar elde ettim.",
+            "Bu süreçte ekip içi işbirliği ve teknik problem çözme konularında deneyim kazandım.",
+            "Çalıştığım projelerde aktif rol alarak farklı teknolojileri öğrendim ve uyguladım."
+    };
+
+    private static final String[] PROJECT_SECOND_SENTENCES = {
+            "Projenin başarıyla tamamlanmasına katkı sağladım ve bu süreçte değerli deneyimler kazandım.",
+            "Bu projede çeşitli teknik görevler üstlendim ve başarılı sonuçlar elde ettim.",
+            "Projenin geliştirilmesi sırasında yaratıcı çözümler ürettim ve teknik yetkinliğimi artırdım.",
+            "Projede aktif olarak çalışarak modern teknolojileri öğrendim ve uyguladım."
+    };
+
+    private static final String[] TECHNOLOGY_SECOND_SENTENCES = {
+            "Bu teknolojileri kullanarak kaliteli çözümler ürettim ve projelerin başarıyla tamamlanmasına katkı sağladım.",
+            "Teknolojileri etkin bir şekilde uygulayarak teknik yetkinliğimi geliştirdim ve başarılı sonuçlar elde ettim.",
+            "Bu araçları kullanarak çeşitli projelerde yer aldım ve değerli deneyimler kazandım.",
+            "Modern teknolojilerle çalışarak problem çözme yeteneklerimi geliştirdim ve etkili çözümler ürettim."
+    };
+
+    private static final String[] GENERIC_SECOND_SENTENCES = {
+            "Bu süreçte başarılı sonuçlar elde ettim ve deneyimlerimi artırdım.",
+            "Çalışmalarım sırasında teknik bilgimi geliştirdim ve önemli başarılar elde ettim.",
+            "Bu deneyim sayesinde farklı projelerde yer alarak kendimi geliştirdim.",
+            "Süreç boyunca aktif rol alarak değerli deneyimler kazandım ve başarılı sonuçlar elde ettim."
+    };
+
+    private AiTextPostProcessor() {
+    }
+
+    /**
+     * AI metninden kalıntıları temizle (ATS uyumlu, doğal metin)
+     */
+    public static String cleanAIText(String text) {
+        if (text == null || text.isBlank()) return "";
+
+        // "Aşağıdaki metin, anlamını bozmadan..." gibi ön ek metinlerini temizle
+        text = removeAIPrefixText(text);
+
+        for (Pattern pattern : AI_ARTIFACTS) text = pattern.matcher(text).replaceAll("");
+        for (Pattern pattern : MARKUP) text = pattern.matcher(text).replaceAll("");
+
+        // Satır sonları dahil tüm boşluklar tek boşluğa iner
+        text = WHITESPACE.matcher(text).replaceAll(" ");
+
+        // Başta ve sonda gereksiz karakterleri temizle
+        text = LEADING_BRACKETS.matcher(text).replaceAll("");
+        text = TRAILING_BRACKETS.matcher(text).replaceAll("");
+
+        // Cümle başlarında gereksiz kelimeleri temizle
+        text = LABEL_PREFIX.matcher(text).replaceAll("");
+
+        return text.trim();
+    }
+
+    /**
+     * AI yanıtından "Aşağıdaki metin, anlamını bozmadan..." gibi ön ek metinlerini temizle
+     */
+    public static String removeAIPrefixText(String text) {
+        if (text == null || text.isBlank()) return text;
+
+        for (Pattern pattern : EXPLANATION_PREFIXES) text = pattern.matcher(text).replaceAll("");
+
+        // İki nokta üst üste metnin ilk yarısındaysa muhtemelen açıklama var; sonrasını al
+        int colonIndex = text.indexOf(':');
+        if (colonIndex > 0 && colonIndex < text.length() / 2) {
+            String beforeColon = text.substring(0, colonIndex).toLowerCase();
+            if (beforeColon.contains("metin") || beforeColon.contains("düzelt") || beforeColon.contains("profesyonel")) {
+                text = text.substring(colonIndex + 1).trim();
+            }
+        }
+
+        return text.trim();
+    }
+
+    /**
+     * Açıklama metinlerindeki format sorunlarını temizle (süslü parantez, JSON kalıntıları vb.)
+     */
+    public static String cleanDescription(String text) {
+        if (text == null || text.isBlank()) return "";
+
+        text = CURLY_BLOCK.matcher(text).replaceAll("");
+        text = text.replace("{", "").replace("}", "");
+        text = SQUARE_BLOCK.matcher(text).replaceAll("");
+        text = QUOTED.matcher(text).replaceAll("$1"); // Tırnak içindeki metin korunur, tırnaklar kalkar
+
+        text = WHITESPACE.matcher(text).replaceAll(" ").trim();
+
+        text = LEADING_PUNCTUATION.matcher(text).replaceAll("");
+        text = TRAILING_PUNCTUATION.matcher(text).replaceAll("");
+
+        return text.trim();
+    }
+
+    /**
+     * Cümle sayısını kontrol et ve gerekirse ayarla
+     */
+    public static String ensureSentenceCount(String text, int min, int max) {
+        if (text == null || text.isEmpty()) return text;
+
+        String[] sentences = SENTENCE_SPLIT.split(text);
+        int count = sentences.length;
+
+        if (count < min) {
+            // Eksik cümleler ekle (çeşitli cümlelerle)
+            StringBuilder sb = new StringBuilder(text.trim());
+            if (!endsWithTerminator(sb)) sb.append(".");
+
+            for (int i = count; i < min && i - count < ADDITIONAL_SENTENCES.length; i++) {
+                sb.append(ADDITIONAL_SENTENCES[(i - count) % ADDITIONAL_SENTENCES.length]);
+            }
+
+            // Eğer hala eksikse, genel cümleler ekle
+            while (SENTENCE_SPLIT.split(sb).length < min) {
+                sb.append(" Bu konuda deneyimli ve yetkin bir profesyonelim.");
+            }
+
+            return sb.toString();
+        } else if (count > max) {
+            // Fazla cümleleri kısalt
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < max; i++) {
+                if (i > 0) sb.append(" ");
+                String sentence = sentences[i].trim();
+                sb.append(sentence);
+                if (!endsWithTerminator(sentence)) sb.append(".");
+            }
+            return sb.toString();
+        }
+
+        return text;
+    }
+
+    /**
+     * En az belirtilen sayıda cümle olduğundan emin ol
+     */
+    public static String ensureMinimumSentences(String text, int minSentences) {
+        if (text == null || text.isBlank()) return text;
+
+        int count = SENTENCE_SPLIT.split(text).length;
+        if (count < minSentences) {
+            StringBuilder sb = new StringBuilder(text.trim());
+            for (int i = count; i < minSentences; i++) {
+                if (!endsWithTerminator(sb)) sb.append(".");
+                sb.append(" Bu görevde başarılı sonuçlar elde ettim.");
+            }
+            return sb.toString();
+        }
+
+        return text;
+    }
+
+    /**
+     * Tam olarak 2 mantıklı cümle olduğundan emin ol (proje/deneyim için).
+     * 25 karakterden kısa parçalar cümle sayılmaz; tek cümle kalırsa uygun bir devam cümlesi eklenir.
+     */
+    public static String ensureExactlyTwoSentences(String text) {
+        if (text == null || text.isBlank()) return randomOf(FALLBACK_PAIRS);
+
+        // Önce tüm metni temizle (Görünmez karakterler, süslü parantezler vb.)
+        text = cleanDescription(text);
+
+        List<String> validSentences = new ArrayList<>(2);
+        for (String s : SENTENCE_BOUNDARY.split(text)) {
+            String trimmed = LIST_MARKER.matcher(s.trim()).replaceAll("");
+            trimmed = WHITESPACE.matcher(trimmed).replaceAll(" ");
+
+            // Cümle en az 25 karakter olmalı ki anlamlı olsun
+            if (trimmed.length() > 25) {
+                validSentences.add(endsWithTerminator(trimmed) ? trimmed : trimmed + ".");
+                if (validSentences.size() == 2) break;
+            }
+        }
+
+        if (validSentences.isEmpty()) return randomOf(FALLBACK_PAIRS);
+
+        String first = validSentences.get(0);
+        String second = validSentences.size() >= 2 ? validSentences.get(1) : generateSecondSentence(first);
+        if (!endsWithTerminator(second)) second += ".";
+        return first + " " + second;
+    }
+
+    /**
+     * İlk cümleye göre mantıklı ikinci cümle oluştur - Çeşitli varyasyonlar
+     */
+    public static String generateSecondSentence(String firstSentence) {
+        String lower = firstSentence.toLowerCase();
+        if (lower.contains("geliştirdim") || lower.contains("geliştirme")) return randomOf(DEVELOPMENT_SECOND_SENTENCES);
+        if (lower.contains("çalıştım") || lower.contains("görev")) return randomOf(WORK_SECOND_SENTENCES);
+        if (lower.contains("proje") || lower.contains("projesi")) return randomOf(PROJECT_SECOND_SENTENCES);
+        if (lower.contains("teknoloji") || lower.contains("teknolojiler")) return randomOf(TECHNOLOGY_SECOND_SENTENCES);
+        return randomOf(GENERIC_SECOND_SENTENCES);
+    }
+
+    /**
+     * Orijinal açıklamadan teknik terimleri çıkar (Java, Python, backend, frontend, API vb.)
+     */
+    public static String extractTechnicalTerms(String text) {
+        if (text == null || text.isBlank()) return "";
+
+        // Teknoloji isimlerini tek geçişte bul (kelime sınırları otomat içinde kontrol edilir);
+        // orijinal metinde nasıl yazılmışsa öyle alınır
+        Map<String, String> found = new LinkedHashMap<>();
+        for (SkillMatcher.Match match : TECH_TERM_MATCHER.findAll(text)) {
+            found.putIfAbsent(match.getCanonical(), match.getText());
+        }
+        Set<String> techTerms = new LinkedHashSet<>(found.values());
+
+        // "ile", "kullanarak" gibi ifadelerden sonra gelen terimleri bul
+        Matcher matcher = TOOL_PHRASE.matcher(text);
+        while (matcher.find()) {
+            String term = matcher.group(1).trim();
+            if (TECH_TERM_MATCHER.containsAny(term)) techTerms.add(term);
+        }
+
+        // "backend", "frontend" gibi tek başına geçen terimleri de bul
+        String lowerText = text.toLowerCase();
+        if (lowerText.contains("backend")) techTerms.add("backend");
+        if (lowerText.contains("frontend")) techTerms.add("frontend");
+
+        return String.join(", ", techTerms);
+    }
+
+    /**
+     * Cümlede teknik terimlerin geçtiğinden emin ol, yoksa ekle
+     */
+    public static String ensureTechnicalTermsInDescription(String desc, String techTerms) {
+        if (techTerms == null || techTerms.isBlank() || desc == null || desc.isBlank()) {
+            return desc;
+        }
+
+        String lowerDesc = desc.toLowerCase();
+        List<String> missingTerms = new ArrayList<>();
+        for (String term : LIST_SEPARATOR.split(techTerms)) {
+            String trimmed = term.trim();
+            if (!trimmed.isEmpty() && !lowerDesc.contains(trimmed.toLowerCase())) {
+                missingTerms.add(trimmed);
+            }
+        }
+        if (missingTerms.isEmpty()) return desc;
+
+        // Eksik teknik terimleri doğal bir şekilde cümleye ekle (en fazla 3)
+        String termsToAdd = String.join(", ", missingTerms.subList(0, Math.min(3, missingTerms.size())));
+        if (!desc.contains(".")) {
+            return desc.trim() + ". Bu görevde " + termsToAdd + " teknolojilerini/becerilerini aktif olarak kullandım.";
+        }
+        String[] sentences = desc.split("\\.", 2);
+        String secondSentence = sentences.length >= 2 ? sentences[1].trim() : "";
+        if (!secondSentence.isEmpty()) {
+            return sentences[0].trim() + ". " + secondSentence + " Bu süreçte " + termsToAdd + " teknolojilerini/becerilerini kullandım.";
+        }
+        return desc.trim() + " Bu görevde " + termsToAdd + " teknolojilerini/becerilerini aktif olarak kullandım.";
+    }
+
+    /**
+     * Metinde geçen becerileri (virgül/noktalı virgül ayrımlı listeden) döner.
+     */
+    public static String findIntersection(String text, String skills) {
+        if (text == null || skills == null || skills.isBlank()) return "";
+        Set<String> match = new HashSet<>();
+        String tLower = text.toLowerCase(TR);
+        for (String s : LIST_SEPARATOR.split(skills)) {
+            String sTrim = s.trim().toLowerCase(TR);
+            if (!sTrim.isEmpty() && tLower.contains(sTrim)) match.add(s.trim());
+        }
+        return String.join(", ", match);
+    }
+
+    private static boolean endsWithTerminator(CharSequence text) {
+        if (text.length() == 0) return false;
+        char last = text.charAt(text.length() - 1);
+        return last == '.' || last == '!' || last == '?';
+    }
+
+    private static String randomOf(String[] options) {
+        return options[ThreadLocalRandom.current().nextInt(options.length)];
+    }
+}
@@ -0,0 +1,118 @@
+package com.cvbuilder.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Basit devre kesici (CLOSED -> OPEN -> HALF_OPEN -> CLOSED).
+ * - CLOSED: istekler geçer; art arda hata eşiği aşılırsa OPEN olur.
+ * - OPEN: istekler hemen reddedilir; bekleme süresi dolunca HALF_OPEN olur.
+ * - HALF_OPEN: sınırlı sayıda deneme (probe) isteği geçer; başarılı olursa CLOSED, hata olursa tekrar OPEN.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenMaxProbes;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures = 0;
+    private int probesInFlight = 0;
+    private long openedAtNanos = 0;
+
+    private final Map<String, AtomicLong> transitions = new LinkedHashMap<>();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    public CircuitBreaker(String name, int failureThreshold, long openDurationMillis, int halfOpenMaxProbes) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, openDurationMillis));
+        this.halfOpenMaxProbes = Math.max(1, halfOpenMaxProbes);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * İstek gönderilebilir mi? true dönerse sonuç mutlaka onSuccess/onFailure/onIgnored ile bildirilmelidir.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAtNanos < openDurationNanos) {
+                rejectedCount.incrementAndGet();
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= halfOpenMaxProbes) {
+                rejectedCount.incrementAndGet();
+                return false;
+            }
+            probesInFlight++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+            transitionTo(State.CLOSED);
+        }
+        consecutiveFailures = 0;
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+            open();
+            return;
+        }
+        if (state == State.CLOSED && ++consecutiveFailures >= failureThreshold) {
+            open();
+        }
+    }
+
+    /**
+     * Sonucu sayılmayan istek (örn: hedge yarışını kaybedip iptal edilen).
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized Map<String, Object> snapshot() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("state", state.name());
+        row.put("consecutiveFailures", consecutiveFailures);
+        row.put("rejected", rejectedCount.get());
+        Map<String, Long> counts = new LinkedHashMap<>();
+        transitions.forEach((k, v) -> counts.put(k, v.get()));
+        row.put("transitions", counts);
+        return row;
+    }
+
+    private void open() {
+        openedAtNanos = System.nanoTime();
+        consecutiveFailures = 0;
+        transitionTo(State.OPEN);
+    }
+
+    private void transitionTo(State next) {
+        if (state == next) return;
+        transitions.computeIfAbsent(state.name() + "->" + next.name(), k -> new AtomicLong()).incrementAndGet();
+        state = next;
+        if (next == State.CLOSED) probesInFlight = 0;
+    }
+}
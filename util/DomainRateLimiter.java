@@ -0,0 +1,99 @@
+package com.cvbuilder.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Alan adı (host) başına nezaket sınırı: aynı siteye en fazla N eş zamanlı istek ve
+ * ardışık iki isteğin başlangıcı arasında en az minInterval süre.
+ * Farklı siteler birbirini beklemez. Bloklamaz: tryAcquire() izni hemen verir ya da vermez;
+ * bekleme çağıranın kuyruğu/zamanlayıcısı ile yapılır. Verilen izin release() ile bırakılır.
+ * Site durumları istek geldikçe oluşur; boşta kalanlar evictIdle() ile silinir.
+ */
+public class DomainRateLimiter {
+
+    /**
+     * tryAcquire sonucu: eş zamanlılık sınırı dolu, bir izin bırakılınca tekrar denenmeli.
+     */
+    public static final long SATURATED = -1;
+
+    // Durum boşta kalıp silinmek üzere işaretlenmiş; çağıran yeni durumla tekrar dener
+    private static final long RETIRED = Long.MIN_VALUE;
+
+    private final int maxConcurrentPerDomain;
+    private final long minIntervalNanos;
+    private final ConcurrentMap<String, DomainState> domains = new ConcurrentHashMap<>();
+
+    public DomainRateLimiter(int maxConcurrentPerDomain, long minIntervalMillis) {
+        this.maxConcurrentPerDomain = Math.max(1, maxConcurrentPerDomain);
+        this.minIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, minIntervalMillis));
+    }
+
+    /**
+     * İzin verildiyse 0 döner (başlangıç zamanı ayrılmıştır); aralık dolmadıysa kaç nanosaniye
+     * sonra tekrar denenmesi gerektiğini, eş zamanlılık doluysa SATURATED döner.
+     */
+    public long tryAcquire(String domain) {
+        String key = key(domain);
+        while (true) {
+            DomainState state = domains.computeIfAbsent(key, d -> new DomainState());
+            long result = state.tryAcquire(maxConcurrentPerDomain, minIntervalNanos);
+            if (result != RETIRED) return result;
+            domains.remove(key, state);
+        }
+    }
+
+    public void release(String domain) {
+        // İzin tutulan durum boşta sayılmadığı için silinmiş olamaz
+        DomainState state = domains.get(key(domain));
+        if (state != null) state.release();
+    }
+
+    /**
+     * Eş zamanlı isteği olmayan ve bekleme aralığı dolmuş siteleri siler, silinen site sayısını döner.
+     * Silinen site sonraki istekte sıfırdan başlar; aralık zaten dolduğu için sınır gevşemez.
+     */
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Map.Entry<String, DomainState> entry : domains.entrySet()) {
+            if (entry.getValue().retireIfIdle(now) && domains.remove(entry.getKey(), entry.getValue())) evicted++;
+        }
+        return evicted;
+    }
+
+    public int domainCount() {
+        return domains.size();
+    }
+
+    private static String key(String domain) {
+        return domain == null ? "" : domain;
+    }
+
+    private static final class DomainState {
+        int inFlight;
+        long nextStartNanos = System.nanoTime();
+        boolean retired;
+
+        synchronized long tryAcquire(int maxConcurrent, long intervalNanos) {
+            if (retired) return RETIRED;
+            if (inFlight >= maxConcurrent) return SATURATED;
+            long now = System.nanoTime();
+            if (nextStartNanos - now > 0) return nextStartNanos - now;
+            inFlight++;
+            nextStartNanos = now + intervalNanos;
+            return 0;
+        }
+
+        synchronized void release() {
+            if (inFlight > 0) inFlight--;
+        }
+
+        synchronized boolean retireIfIdle(long now) {
+            if (inFlight == 0 && nextStartNanos - now <= 0) retired = true;
+            return retired;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.cvbuilder.util;
+
+import java.util.Arrays;
+
+/**
+ * Son N gecikme ölçümünü tutan basit halka tampon (ring buffer).
+ * Yüzdelik (percentile) hesapları son örnekler üzerinden yapılır.
+ */
+public class LatencyHistogram {
+
+    private final long[] samples;
+    private int next = 0;
+    private int size = 0;
+    private long totalCount = 0;
+
+    public LatencyHistogram(int capacity) {
+        this.samples = new long[Math.max(1, capacity)];
+    }
+
+    public synchronized void record(long millis) {
+        samples[next] = Math.max(0, millis);
+        next = (next + 1) % samples.length;
+        if (size < samples.length) size++;
+        totalCount++;
+    }
+
+    /**
+     * @param percentile 0.0 - 1.0 arası (örn: 0.95)
+     * @return örnek yoksa -1
+     */
+    public synchronized long percentile(double percentile) {
+        if (size == 0) return -1;
+        long[] copy = Arrays.copyOf(samples, size);
+        Arrays.sort(copy);
+        int index = (int) Math.ceil(Math.min(1.0, Math.max(0.0, percentile)) * size) - 1;
+        return copy[Math.max(0, Math.min(size - 1, index))];
+    }
+
+    public synchronized int sampleCount() {
+        return size;
+    }
+
+    public synchronized long totalCount() {
+        return totalCount;
+    }
+}
@@ -0,0 +1,109 @@
+package com.cvbuilder.util;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Aynı anahtarla eş zamanlı gelen istekleri birleştirir (single-flight).
+ * Anahtar için uçuşta bir işlem varsa yeni işlem başlatılmaz, mevcut sonuç paylaşılır.
+ * İşlem bitince anahtar silinir; sonraki çağrı yeni işlem başlatır.
+ * Bekleyenlerin hepsi vazgeçerse (future'larını iptal ederse) işlemin future'ı da iptal edilir.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * Çağıranlara paylaşılan future'ın kopyası verilir; bir çağıranın iptali diğerlerini etkilemez.
+     * Son bekleyen de iptal ederse action'ın döndürdüğü future iptal edilir.
+     */
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> action) {
+        while (true) {
+            Flight<V> created = new Flight<>();
+            Flight<V> existing = inFlight.putIfAbsent(key, created);
+            if (existing == null) {
+                executed.incrementAndGet();
+                created.shared.whenComplete((v, e) -> inFlight.remove(key, created));
+                CompletableFuture<V> waiter = created.join();
+                created.start(action);
+                return waiter;
+            }
+            CompletableFuture<V> waiter = existing.join();
+            if (waiter != null) {
+                coalesced.incrementAndGet();
+                return waiter;
+            }
+            // Bekleyeni kalmamış, iptal edilmekte olan işlem; yerine yenisi başlatılır
+            inFlight.remove(key, existing);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    public long executedCount() {
+        return executed.get();
+    }
+
+    public long coalescedCount() {
+        return coalesced.get();
+    }
+
+    private static final class Flight<V> {
+        private final CompletableFuture<V> shared = new CompletableFuture<>();
+        private CompletableFuture<V> running;
+        private int waiters;
+        private boolean abandoned;
+
+        /**
+         * Yeni bir bekleyen ekler; işlem bekleyensiz kalıp iptal edildiyse null döner.
+         */
+        synchronized CompletableFuture<V> join() {
+            if (abandoned) return null;
+            waiters++;
+            CompletableFuture<V> waiter = shared.copy();
+            waiter.whenComplete((v, e) -> {
+                if (e instanceof CancellationException && !shared.isDone()) leave();
+            });
+            return waiter;
+        }
+
+        void start(Supplier<CompletableFuture<V>> action) {
+            CompletableFuture<V> future;
+            try {
+                future = action.get();
+            } catch (RuntimeException e) {
+                shared.completeExceptionally(e);
+                return;
+            }
+            boolean cancel;
+            synchronized (this) {
+                running = future;
+                cancel = abandoned;
+            }
+            if (cancel) future.cancel(true);
+            future.whenComplete((v, e) -> {
+                if (e != null) shared.completeExceptionally(e);
+                else shared.complete(v);
+            });
+        }
+
+        private void leave() {
+            CompletableFuture<V> toCancel;
+            synchronized (this) {
+                if (--waiters > 0 || abandoned) return;
+                abandoned = true;
+                toCancel = running;
+            }
+            if (toCancel != null) toCancel.cancel(true);
+            shared.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.cvbuilder.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * İlanlardaki requiredSkills metnini beceri listesine ayırır.
+ * Beceriler virgül, noktalı virgül veya yeni satırla ayrılmış olabilir; sonuç Türkçe
+ * kurallarla küçük harfe çevrilir ve tek karakterlik parçalar atılır.
+ * Beceri sayımları ilan başınadır: bir ilan aynı beceriyi kaç kez yazarsa yazsın {@link #distinct}
+ * o beceriyi bir kez verir. Pazar analizinin önceden toplanmış sayıları ve ilanlardan yapılan hesap
+ * bu kuralı paylaşır.
+ */
+public final class SkillListParser {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[,;\\n\\r]+");
+    private static final Locale TR = Locale.forLanguageTag("tr");
+    // Daha uzun parçalar beceri değil cümledir (skill_aggregates.skill kolon sınırı)
+    private static final int MAX_SKILL_LENGTH = 255;
+
+    private SkillListParser() {
+    }
+
+    public static List<String> parse(String requiredSkills) {
+        List<String> result = new ArrayList<>();
+        if (requiredSkills == null || requiredSkills.isBlank()) return result;
+        for (String part : SEPARATORS.split(requiredSkills)) {
+            String trimmed = part.trim();
+            if (trimmed.length() > 1) {
+                result.add(trimmed.toLowerCase(TR));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * İlandaki beceriler, her biri bir kez (ilk geçiş sırasıyla).
+     */
+    public static Set<String> distinct(String requiredSkills) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String skill : parse(requiredSkills)) {
+            if (skill.length() <= MAX_SKILL_LENGTH) result.add(skill);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,211 @@
+package com.cvbuilder.util;
+
+import java.util.*;
+
+/**
+ * Çok kalıplı (multi-pattern) beceri eşleştirici - Aho-Corasick otomatı.
+ * Sözlük bir kez derlenir; her metin tek geçişte taranır (terim sayısından bağımsız, O(metin + eşleşme)).
+ * - Harf katlama Türkçe uyumludur: I/ı/İ/i aynı sayılır, ç/ğ/ö/ş/ü ASCII karşılığına indirilir
+ *   ("yazilim" = "Yazılım"). Katlama karakter başına 1:1 olduğu için eşleşme konumları orijinal metinle aynıdır.
+ * - Kelime sınırı: terimin ilk/son karakteri harf veya rakamsa, öncesi/sonrası harf veya rakam olamaz
+ *   ("java" "javascript" içinde eşleşmez, "c++" ve ".net" gibi terimler yine bulunur).
+ * - Alias: birden fazla yazım aynı kanonik beceriye bağlanabilir ("k8s" -> "kubernetes").
+ * Derlendikten sonra değişmez; thread-safe olarak paylaşılabilir.
+ */
+public final class SkillMatcher {
+
+    /**
+     * Metinde bulunan tek bir eşleşme.
+     */
+    public static final class Match {
+        private final int start;
+        private final int end;
+        private final String text;
+        private final String canonical;
+
+        Match(int start, int end, String text, String canonical) {
+            this.start = start;
+            this.end = end;
+            this.text = text;
+            this.canonical = canonical;
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        public int getEnd() {
+            return end;
+        }
+
+        /** Metinde geçtiği haliyle (orijinal yazım) */
+        public String getText() {
+            return text;
+        }
+
+        public String getCanonical() {
+            return canonical;
+        }
+    }
+
+    private final List<Map<Character, Integer>> transitions;
+    private final int[] failure;
+    // Çıktısı olan en yakın failure atası (0 = yok); eşleşme toplarken tüm zinciri gezmemek için
+    private final int[] outputLink;
+    private final int[][] outputs;
+    private final int[] patternLengths;
+    private final boolean[] checkStartBoundary;
+    private final boolean[] checkEndBoundary;
+    private final String[] canonicals;
+
+    private SkillMatcher(Map<String, String> termToCanonical) {
+        List<Map<Character, Integer>> next = new ArrayList<>();
+        List<List<Integer>> out = new ArrayList<>();
+        next.add(new HashMap<>());
+        out.add(new ArrayList<>());
+
+        List<String> folded = new ArrayList<>();
+        List<String> canonicalList = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (Map.Entry<String, String> entry : termToCanonical.entrySet()) {
+            String term = entry.getKey() == null ? "" : entry.getKey().trim();
+            String key = fold(term);
+            if (key.isEmpty() || !seen.add(key)) continue; // Aynı yazımın ilk tanımı geçerli
+            folded.add(key);
+            canonicalList.add(entry.getValue() != null ? entry.getValue() : term);
+        }
+
+        int patternCount = folded.size();
+        this.patternLengths = new int[patternCount];
+        this.checkStartBoundary = new boolean[patternCount];
+        this.checkEndBoundary = new boolean[patternCount];
+        this.canonicals = canonicalList.toArray(new String[0]);
+
+        for (int p = 0; p < patternCount; p++) {
+            String key = folded.get(p);
+            int node = 0;
+            for (int i = 0; i < key.length(); i++) {
+                char c = key.charAt(i);
+                Integer child = next.get(node).get(c);
+                if (child == null) {
+                    child = next.size();
+                    next.get(node).put(c, child);
+                    next.add(new HashMap<>());
+                    out.add(new ArrayList<>());
+                }
+                node = child;
+            }
+            out.get(node).add(p);
+            patternLengths[p] = key.length();
+            checkStartBoundary[p] = Character.isLetterOrDigit(key.charAt(0));
+            checkEndBoundary[p] = Character.isLetterOrDigit(key.charAt(key.length() - 1));
+        }
+
+        int nodeCount = next.size();
+        this.failure = new int[nodeCount];
+        this.outputLink = new int[nodeCount];
+
+        // BFS ile failure ve çıktı bağlantıları
+        Deque<Integer> queue = new ArrayDeque<>(next.get(0).values());
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (Map.Entry<Character, Integer> edge : next.get(node).entrySet()) {
+                char c = edge.getKey();
+                int child = edge.getValue();
+                int fallback = failure[node];
+                while (fallback != 0 && !next.get(fallback).containsKey(c)) {
+                    fallback = failure[fallback];
+                }
+                Integer target = node == 0 ? null : next.get(fallback).get(c);
+                failure[child] = target != null ? target : 0;
+                outputLink[child] = out.get(failure[child]).isEmpty() ? outputLink[failure[child]] : failure[child];
+                queue.add(child);
+            }
+        }
+
+        this.transitions = next;
+        this.outputs = new int[nodeCount][];
+        for (int i = 0; i < nodeCount; i++) {
+            outputs[i] = out.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * @param termToCanonical terim (veya alias) -> kanonik beceri adı
+     */
+    public static SkillMatcher of(Map<String, String> termToCanonical) {
+        return new SkillMatcher(termToCanonical);
+    }
+
+    /**
+     * Her terim kendi kanonik adıdır.
+     */
+    public static SkillMatcher of(Collection<String> terms) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (String term : terms) map.put(term, term);
+        return new SkillMatcher(map);
+    }
+
+    /**
+     * Metindeki tüm (örtüşenler dahil) eşleşmeler, bitiş konumuna göre sıralı.
+     */
+    public List<Match> findAll(String text) {
+        List<Match> matches = new ArrayList<>();
+        if (text == null || text.isEmpty() || outputs.length <= 1) return matches;
+
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = foldChar(text.charAt(i));
+            while (state != 0 && !transitions.get(state).containsKey(c)) {
+                state = failure[state];
+            }
+            state = transitions.get(state).getOrDefault(c, 0);
+
+            for (int node = outputs[state].length > 0 ? state : outputLink[state]; node != 0; node = outputLink[node]) {
+                for (int p : outputs[node]) {
+                    int start = i - patternLengths[p] + 1;
+                    int end = i + 1;
+                    if (checkStartBoundary[p] && start > 0 && Character.isLetterOrDigit(text.charAt(start - 1))) continue;
+                    if (checkEndBoundary[p] && end < text.length() && Character.isLetterOrDigit(text.charAt(end))) continue;
+                    matches.add(new Match(start, end, text.substring(start, end), canonicals[p]));
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Metinde geçen kanonik beceriler (ilk geçiş sırasıyla, tekrarsız).
+     */
+    public Set<String> findCanonical(String text) {
+        Set<String> result = new LinkedHashSet<>();
+        for (Match match : findAll(text)) result.add(match.getCanonical());
+        return result;
+    }
+
+    public boolean containsAny(String text) {
+        return !findAll(text).isEmpty();
+    }
+
+    /**
+     * Türkçe uyumlu, karakter başına 1:1 harf katlama.
+     */
+    public static String fold(String text) {
+        if (text == null) return "";
+        char[] chars = new char[text.length()];
+        for (int i = 0; i < chars.length; i++) chars[i] = foldChar(text.charAt(i));
+        return new String(chars);
+    }
+
+    private static char foldChar(char c) {
+        switch (c) {
+            case 'I': case 'ı': case 'İ': return 'i';
+            case 'Ç': case 'ç': return 'c';
+            case 'Ğ': case 'ğ': return 'g';
+            case 'Ö': case 'ö': return 'o';
+            case 'Ş': case 'ş': return 's';
+            case 'Ü': case 'ü': return 'u';
+            default: return Character.toLowerCase(c);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.cvbuilder.util;
+
+/**
+ * Tokenizer kullanmadan yaklaşık token hesabı.
+ * LLM tokenizer'larında Türkçe metin ortalama ~3.5 karakter/token civarındadır;
+ * bütçe aşımı riskine karşı hesap yukarı yuvarlanır.
+ */
+public final class TokenEstimator {
+
+    private static final double CHARS_PER_TOKEN = 3.5;
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(String text) {
+        if (text == null || text.isEmpty()) return 0;
+        return (int) Math.ceil(text.length() / CHARS_PER_TOKEN);
+    }
+
+    /**
+     * Metni yaklaşık token bütçesine sığdırır; mümkünse kelime sınırından keser ve "..." ekler.
+     */
+    public static String truncate(String text, int maxTokens) {
+        if (text == null) return "";
+        int maxChars = (int) Math.floor(Math.max(0, maxTokens) * CHARS_PER_TOKEN);
+        if (text.length() <= maxChars) return text;
+        if (maxChars <= 3) return text.substring(0, maxChars);
+
+        int cut = maxChars - 3;
+        int space = text.lastIndexOf(' ', cut);
+        if (space > cut / 2) cut = space;
+        return text.substring(0, cut).trim() + "...";
+    }
+}
@@ -0,0 +1,39 @@
+package com.cvbuilder.util;
+
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+
+/**
+ * Serbest metinden PostgreSQL to_tsquery girdisi üretir.
+ * Her kelime tırnak içinde ve önek olarak (":*") aranır, kelimeler AND (&) ile bağlanır; böylece
+ * "yazılım" araması "yazılımcı", "java" araması "javascript" gibi aynı başlangıçlı kelimeleri de bulur
+ * (plainto_tsquery sadece tam kelimeyi eşleştirir). Kelimenin ayrıştırılması tırnak içinde PostgreSQL'e
+ * bırakılır ("node.js" tek lexeme kalır). 3 harf/rakamdan kısa kelimeler ("c", "go") tam eşleştirilir.
+ * Kelime ortasındaki eşleşmeler (örn: "script" ile "javascript") tam metin aramayla bulunmaz; LIKE
+ * taramasına göre bilinen geri çağırma (recall) kaybıdır.
+ */
+public final class TsQueryBuilder {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // Tırnak içinde sadece bu ikisi özeldir
+    private static final Pattern QUOTE_CHARS = Pattern.compile("['\\\\]");
+    private static final int MIN_PREFIX_LENGTH = 3;
+
+    private TsQueryBuilder() {
+    }
+
+    /**
+     * Aranacak kelime yoksa boş string döner.
+     */
+    public static String prefixQuery(String text) {
+        if (text == null || text.isBlank()) return "";
+        StringJoiner joiner = new StringJoiner(" & ");
+        for (String token : WHITESPACE.split(text.trim())) {
+            String word = QUOTE_CHARS.matcher(token).replaceAll("");
+            long alphanumerics = word.codePoints().filter(Character::isLetterOrDigit).count();
+            if (alphanumerics == 0) continue;
+            joiner.add(alphanumerics >= MIN_PREFIX_LENGTH ? "'" + word + "':*" : "'" + word + "'");
+        }
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,72 @@
+package com.cvbuilder.util;
+
+import java.net.URI;
+import java.util.*;
+
+/**
+ * Aynı ilanın farklı yazılmış URL'lerini tek bir anahtara indirger:
+ * şema/host küçük harf, varsayılan port ve fragment (#...) atılır, reklam takip parametreleri
+ * (utm_*, gclid, fbclid) silinir (ref, source gibi parametreler bazı sitelerde ilanı belirlediği için kalır), kalan query parametreleri sıralanır, sondaki "/" kaldırılır.
+ * URL çözümlenemezse kırpılmış hali döner.
+ */
+public final class UrlCanonicalizer {
+
+    private static final Set<String> TRACKING_PARAMS = Set.of("gclid", "fbclid");
+
+    private UrlCanonicalizer() {
+    }
+
+    public static String canonicalize(String url) {
+        if (url == null) return "";
+        String trimmed = url.trim();
+        try {
+            URI uri = new URI(trimmed);
+            if (uri.getScheme() == null || uri.getHost() == null) return trimmed;
+
+            String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+            String host = uri.getHost().toLowerCase(Locale.ROOT);
+            int port = uri.getPort();
+            boolean defaultPort = port == -1 || ("http".equals(scheme) && port == 80) || ("https".equals(scheme) && port == 443);
+
+            String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+            if (path.length() > 1 && path.endsWith("/")) path = path.substring(0, path.length() - 1);
+
+            StringBuilder sb = new StringBuilder(scheme).append("://").append(host);
+            if (!defaultPort) sb.append(':').append(port);
+            sb.append(path);
+
+            String query = canonicalQuery(uri.getRawQuery());
+            if (!query.isEmpty()) sb.append('?').append(query);
+            return sb.toString();
+        } catch (Exception e) {
+            return trimmed;
+        }
+    }
+
+    /**
+     * Host (www. öneki olmadan); çözümlenemezse boş.
+     */
+    public static String host(String url) {
+        try {
+            String host = new URI(url.trim()).getHost();
+            if (host == null) return "";
+            host = host.toLowerCase(Locale.ROOT);
+            return host.startsWith("www.") ? host.substring(4) : host;
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    private static String canonicalQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) return "";
+        List<String> params = new ArrayList<>();
+        for (String param : rawQuery.split("&")) {
+            if (param.isEmpty()) continue;
+            String name = param.split("=", 2)[0].toLowerCase(Locale.ROOT);
+            if (name.startsWith("utm_") || TRACKING_PARAMS.contains(name)) continue;
+            params.add(param);
+        }
+        Collections.sort(params);
+        return String.join("&", params);
+    }
+}